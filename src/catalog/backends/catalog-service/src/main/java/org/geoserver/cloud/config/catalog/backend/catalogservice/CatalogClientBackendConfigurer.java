@@ -8,9 +8,11 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.geoserver.GeoServerConfigurationLock;
 import org.geoserver.catalog.plugin.ExtendedCatalogFacade;
+import org.geoserver.catalog.plugin.RepositoryCatalogFacade;
 import org.geoserver.cloud.catalog.client.impl.CatalogClientCatalogFacade;
 import org.geoserver.cloud.catalog.client.impl.CatalogClientConfiguration;
 import org.geoserver.cloud.catalog.client.impl.CatalogClientGeoServerFacade;
+import org.geoserver.cloud.catalog.client.impl.CatalogClientReplicatedCatalogFacade;
 import org.geoserver.cloud.catalog.client.impl.CatalogClientResourceStore;
 import org.geoserver.cloud.config.catalog.backend.core.GeoServerBackendConfigurer;
 import org.geoserver.config.GeoServerFacade;
@@ -57,7 +59,17 @@ public class CatalogClientBackendConfigurer implements GeoServerBackendConfigure
         throw new UnsupportedOperationException("implement");
     }
 
+    /**
+     * @return the {@code catalog-service} catalog facade, or its in-memory replica if {@code
+     *     geoserver.backend.catalog-service.mode=replicated}
+     */
     public @Override @Bean ExtendedCatalogFacade catalogFacade() {
+        if (catalogClientConfig.getMode() == CatalogClientProperties.Mode.REPLICATED) {
+            log.info("Replicating the catalog-service catalog in memory");
+            RepositoryCatalogFacade remote =
+                    (RepositoryCatalogFacade) catalogClientFacade.getSubject();
+            return new CatalogClientReplicatedCatalogFacade(remote);
+        }
         return catalogClientFacade;
     }
 
@@ -84,7 +96,12 @@ public class CatalogClientBackendConfigurer implements GeoServerBackendConfigure
         "wmtsLoader"
     })
     public @Override @Bean GeoServerLoader geoServerLoaderImpl() {
-        return new CatalogClientGeoServerLoader(resourceLoader());
+        ExtendedCatalogFacade catalogFacade = catalogFacade();
+        CatalogClientReplicatedCatalogFacade replica =
+                catalogFacade instanceof CatalogClientReplicatedCatalogFacade
+                        ? (CatalogClientReplicatedCatalogFacade) catalogFacade
+                        : null;
+        return new CatalogClientGeoServerLoader(resourceLoader(), replica);
     }
 
     public @Override @Bean GeoServerResourceLoader resourceLoader() {
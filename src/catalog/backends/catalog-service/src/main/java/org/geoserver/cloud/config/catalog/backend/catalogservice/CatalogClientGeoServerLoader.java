@@ -8,12 +8,14 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.geoserver.catalog.Catalog;
 import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.cloud.catalog.client.impl.CatalogClientReplicatedCatalogFacade;
 import org.geoserver.config.GeoServer;
 import org.geoserver.config.GeoServerInfo;
 import org.geoserver.config.GeoServerLoader;
 import org.geoserver.config.util.XStreamPersister;
 import org.geoserver.platform.GeoServerResourceLoader;
 import org.opengis.filter.Filter;
+import org.springframework.lang.Nullable;
 
 import java.io.IOException;
 
@@ -21,8 +23,21 @@ import java.io.IOException;
 @Slf4j
 public class CatalogClientGeoServerLoader extends GeoServerLoader {
 
+    private final CatalogClientReplicatedCatalogFacade replica;
+
     public CatalogClientGeoServerLoader(GeoServerResourceLoader resourceLoader) {
+        this(resourceLoader, null);
+    }
+
+    /**
+     * @param replica the catalog replica to populate when the catalog is loaded, or {@code null} if
+     *     the catalog is not replicated
+     */
+    public CatalogClientGeoServerLoader(
+            GeoServerResourceLoader resourceLoader,
+            @Nullable CatalogClientReplicatedCatalogFacade replica) {
         super(resourceLoader);
+        this.replica = replica;
     }
 
     protected @Override void initializeDefaultStyles(Catalog catalog) throws IOException {
@@ -36,6 +51,12 @@ public class CatalogClientGeoServerLoader extends GeoServerLoader {
     }
 
     protected @Override void loadCatalog(Catalog catalog, XStreamPersister xp) throws Exception {
+        if (replica != null) {
+            // no point in starting up with an empty catalog, let it fail if the service is down
+            log.info("Replicating the catalog-service catalog...");
+            replica.replicate();
+            return;
+        }
         log.info("Checking catalog service health...");
         try {
             int count = catalog.count(WorkspaceInfo.class, Filter.INCLUDE);
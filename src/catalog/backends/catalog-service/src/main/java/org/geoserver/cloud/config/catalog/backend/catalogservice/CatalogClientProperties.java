@@ -21,4 +21,14 @@ public @Data class CatalogClientProperties {
     private boolean enabled;
     private String url;
     private File cacheDirectory;
+
+    /** How the catalog is accessed, defaults to {@link Mode#REMOTE} */
+    private Mode mode = Mode.REMOTE;
+
+    public enum Mode {
+        /** Every catalog lookup not in the backend caches is a call to the catalog-service */
+        REMOTE,
+        /** The catalog is replicated in memory and kept current through remote events */
+        REPLICATED
+    }
 }
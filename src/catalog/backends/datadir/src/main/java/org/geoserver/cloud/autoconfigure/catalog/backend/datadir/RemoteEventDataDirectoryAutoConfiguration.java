@@ -8,10 +8,19 @@ import org.geoserver.catalog.plugin.ExtendedCatalogFacade;
 import org.geoserver.cloud.autoconfigure.catalog.event.ConditionalOnCatalogEvents;
 import org.geoserver.cloud.event.remote.datadir.RemoteEventDataDirectoryProcessor;
 import org.geoserver.config.plugin.RepositoryGeoServerFacade;
+import org.springframework.beans.factory.BeanInitializationException;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+/**
+ * Applies remote catalog and configuration events to the local copy of the catalog held by each
+ * service instance with the data directory backend.
+ *
+ * <p>Fails to start if {@code geoserver.bus.lazy-payloads.enabled=true}, since add events without
+ * the added object can't be applied to the local copy of the catalog.
+ */
 @Configuration(proxyBeanMethods = false)
 @ConditionalOnDataDirectoryEnabled
 @ConditionalOnCatalogEvents
@@ -19,7 +28,14 @@ public class RemoteEventDataDirectoryAutoConfiguration {
 
     public @Bean RemoteEventDataDirectoryProcessor dataDirectoryRemoteEventProcessor(
             @Qualifier("geoserverFacade") RepositoryGeoServerFacade configFacade,
-            @Qualifier("catalogFacade") ExtendedCatalogFacade catalogFacade) {
+            @Qualifier("catalogFacade") ExtendedCatalogFacade catalogFacade,
+            @Value("${geoserver.bus.lazy-payloads.enabled:false}") boolean lazyPayloads) {
+        if (lazyPayloads) {
+            throw new BeanInitializationException(
+                    "Lazy payloads (geoserver.bus.lazy-payloads.enabled=true) are not supported by"
+                            + " the data directory backend, add events need to carry the added"
+                            + " object to be applied to each service instance's own catalog");
+        }
         return new RemoteEventDataDirectoryProcessor(configFacade, catalogFacade);
     }
 }
@@ -126,7 +126,15 @@ public class RemoteEventDataDirectoryProcessor {
         log.debug("Handling remote add event {}({})", type, objectId);
         final Info object = event.getObject();
         if (object == null) {
-            log.error("Remote add event didn't send the object payload for {}({})", type, objectId);
+            // lazy add events can't be applied, the local catalog is built from the events and
+            // the object's location in the data directory can't be known from its id. Rejected at
+            // startup for this service instance, but may still come from a misconfigured one
+            log.error(
+                    "Remote add event didn't send the object payload for {}({}). Lazy payloads"
+                            + " (geoserver.bus.lazy-payloads.enabled) are not supported by the data"
+                            + " directory backend",
+                    type,
+                    objectId);
             return;
         }
         switch (type) {
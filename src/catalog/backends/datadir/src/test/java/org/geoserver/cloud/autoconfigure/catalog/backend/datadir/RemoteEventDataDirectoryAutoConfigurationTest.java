@@ -0,0 +1,54 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.autoconfigure.catalog.backend.datadir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.geoserver.catalog.plugin.ExtendedCatalogFacade;
+import org.geoserver.cloud.event.remote.datadir.RemoteEventDataDirectoryProcessor;
+import org.geoserver.config.plugin.RepositoryGeoServerFacade;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.BeanInitializationException;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+/** @since 1.0 */
+class RemoteEventDataDirectoryAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner =
+            new ApplicationContextRunner()
+                    .withBean(
+                            "geoserverFacade",
+                            RepositoryGeoServerFacade.class,
+                            () -> mock(RepositoryGeoServerFacade.class))
+                    .withBean(
+                            "catalogFacade",
+                            ExtendedCatalogFacade.class,
+                            () -> mock(ExtendedCatalogFacade.class))
+                    .withPropertyValues("geoserver.backend.data-directory.enabled=true")
+                    .withConfiguration(
+                            AutoConfigurations.of(RemoteEventDataDirectoryAutoConfiguration.class));
+
+    @Test
+    void testRemoteEventProcessor() {
+        contextRunner.run(
+                context ->
+                        assertThat(context).hasSingleBean(RemoteEventDataDirectoryProcessor.class));
+    }
+
+    @Test
+    void testLazyPayloadsRejected() {
+        contextRunner
+                .withPropertyValues("geoserver.bus.lazy-payloads.enabled=true")
+                .run(
+                        context ->
+                                assertThat(context)
+                                        .getFailure()
+                                        .hasRootCauseInstanceOf(BeanInitializationException.class)
+                                        .hasMessageContaining(
+                                                "geoserver.bus.lazy-payloads.enabled"));
+    }
+}
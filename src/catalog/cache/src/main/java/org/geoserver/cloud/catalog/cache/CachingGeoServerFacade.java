@@ -68,6 +68,15 @@ public interface CachingGeoServerFacade extends GeoServerFacade {
      */
     boolean evict(Info info);
 
+    /**
+     * Evicts the cached {@link SettingsInfo} for the given workspace, including a cached {@code
+     * null} value
+     *
+     * @param workspace the settings workspace, can be a proxy as long as it provides a proper
+     *     {@link Info#getId() id}
+     */
+    boolean evictSettings(WorkspaceInfo workspace);
+
     /**
      * Evicts the {@link GeoServerInfo} if cached
      *
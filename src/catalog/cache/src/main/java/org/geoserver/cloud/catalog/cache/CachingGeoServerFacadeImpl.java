@@ -24,6 +24,7 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 
+import java.lang.reflect.Proxy;
 import java.util.Optional;
 
 /** */
@@ -57,35 +58,47 @@ class CachingGeoServerFacadeImpl extends ForwardingGeoServerFacade
             String id = info.getId();
             ValueWrapper cachedValue = cache.get(id);
             cache.evict(id);
-            if (cachedValue != null) {
-                SettingsInfo cached = (SettingsInfo) cachedValue.get();
-                if (cached != null && cached.getWorkspace() != null) {
-                    Object wsKey = CachingGeoServerFacade.settingsKey(cached.getWorkspace());
-                    cache.evict(wsKey);
-                }
-                return true;
+            SettingsInfo cached = cachedValue == null ? null : (SettingsInfo) cachedValue.get();
+            // a non proxied object (e.g. a newly added one) may have a negative cache entry
+            // for its workspace
+            SettingsInfo settings = cached == null && !isProxy(info) ? (SettingsInfo) info : cached;
+            boolean evicted = cachedValue != null;
+            if (settings != null && settings.getWorkspace() != null) {
+                evicted |= evictSettings(settings.getWorkspace());
             }
+            return evicted;
         }
         if (info instanceof ServiceInfo) {
             ServiceInfo service = (ServiceInfo) info;
             Object idKey = CachingGeoServerFacade.serviceByIdKey(service.getId());
             ValueWrapper cachedValue = cache.get(idKey);
-            if (cachedValue != null) {
-                ServiceInfo cached = (ServiceInfo) cachedValue.get();
-                cache.evict(idKey);
-                if (cached != null) {
-                    WorkspaceInfo ws = cached.getWorkspace();
-                    Object nameKey = CachingGeoServerFacade.serviceByNameKey(ws, cached.getName());
-                    Object typeKey = CachingGeoServerFacade.serviceByTypeKey(ws, cached.getClass());
-                    cache.evict(nameKey);
-                    cache.evict(typeKey);
-                }
-                return true;
+            cache.evict(idKey);
+            ServiceInfo cached = cachedValue == null ? null : (ServiceInfo) cachedValue.get();
+            // a non proxied object (e.g. a newly added one) may have negative cache entries
+            // for its workspace, name, and type
+            ServiceInfo target = cached == null && !isProxy(info) ? service : cached;
+            boolean evicted = cachedValue != null;
+            if (target != null) {
+                WorkspaceInfo ws = target.getWorkspace();
+                Object nameKey = CachingGeoServerFacade.serviceByNameKey(ws, target.getName());
+                Object typeKey = CachingGeoServerFacade.serviceByTypeKey(ws, target.getClass());
+                evicted |= cache.evictIfPresent(nameKey);
+                evicted |= cache.evictIfPresent(typeKey);
             }
+            return evicted;
         }
         return false;
     }
 
+    @Override
+    public boolean evictSettings(@NonNull WorkspaceInfo workspace) {
+        return cache.evictIfPresent(CachingGeoServerFacade.settingsKey(workspace));
+    }
+
+    private static boolean isProxy(Info info) {
+        return Proxy.isProxyClass(info.getClass());
+    }
+
     static <T extends ServiceInfo> T cachePutIncludeNull(
             @NonNull Object key, @NonNull Cache cache, T service) {
 
@@ -134,6 +147,15 @@ class CachingGeoServerFacadeImpl extends ForwardingGeoServerFacade
         super.save(geoServer);
     }
 
+    /**
+     * Evicts the settings entry for the settings' workspace, which may be a cached {@code null}
+     * value
+     */
+    public @Override void add(SettingsInfo settings) {
+        super.add(settings);
+        evict(settings);
+    }
+
     public @Override SettingsInfo getSettings(WorkspaceInfo workspace) {
         SettingsInfo settings;
         Object key = CachingGeoServerFacade.settingsKey(workspace);
@@ -183,6 +205,15 @@ class CachingGeoServerFacadeImpl extends ForwardingGeoServerFacade
         super.save(logging);
     }
 
+    /**
+     * Evicts the service entries for the service's workspace, name, and type, which may be cached
+     * {@code null} values
+     */
+    public @Override void add(ServiceInfo service) {
+        super.add(service);
+        evict(service);
+    }
+
     public @Override void remove(ServiceInfo service) {
         evict(service);
         super.remove(service);
@@ -26,8 +26,10 @@ import org.geoserver.cloud.event.config.GeoServerInfoModified;
 import org.geoserver.cloud.event.config.GeoServerInfoSet;
 import org.geoserver.cloud.event.config.LoggingInfoModified;
 import org.geoserver.cloud.event.config.LoggingInfoSet;
+import org.geoserver.cloud.event.config.ServiceAdded;
 import org.geoserver.cloud.event.config.ServiceModified;
 import org.geoserver.cloud.event.config.ServiceRemoved;
+import org.geoserver.cloud.event.config.SettingsAdded;
 import org.geoserver.cloud.event.config.SettingsModified;
 import org.geoserver.cloud.event.config.SettingsRemoved;
 import org.geoserver.cloud.event.info.ConfigInfoType;
@@ -107,6 +109,25 @@ public @Service class RemoteEventCacheEvictor {
     @EventListener(classes = {SettingsModified.class})
     public void onSettingsInfoModifyEvent(SettingsModified event) {
         evictConfigEntry(event);
+        evictSettings(event, event.getWorkspaceId());
+    }
+
+    /**
+     * Evicts a possibly cached {@code null} settings entry for the new settings' workspace, as
+     * {@link CachingGeoServerFacade} caches negative lookups by workspace
+     */
+    @EventListener(classes = {SettingsAdded.class})
+    public void onSettingsInfoAddEvent(SettingsAdded event) {
+        evictEntry(event, () -> config.evict(event.getObject()));
+    }
+
+    /**
+     * Evicts possibly cached {@code null} service entries for the new service's workspace, name,
+     * and type, as {@link CachingGeoServerFacade} caches negative lookups
+     */
+    @EventListener(classes = {ServiceAdded.class})
+    public void onServiceInfoAddEvent(ServiceAdded event) {
+        evictEntry(event, () -> config.evict(event.getObject()));
     }
 
     @EventListener(classes = {ServiceModified.class})
@@ -117,6 +138,7 @@ public @Service class RemoteEventCacheEvictor {
     @EventListener(classes = {SettingsRemoved.class})
     public void onSettingsInfoRemoveEvent(SettingsRemoved event) {
         evictConfigEntry(event);
+        evictSettings(event, event.getWorkspaceId());
     }
 
     @EventListener(classes = {ServiceRemoved.class})
@@ -175,6 +197,17 @@ public @Service class RemoteEventCacheEvictor {
                 });
     }
 
+    private void evictSettings(InfoEvent<?, ?> event, String workspaceId) {
+        if (null == workspaceId) return;
+        evictEntry(
+                event,
+                () -> {
+                    WorkspaceInfo workspace =
+                            ResolvingProxy.create(workspaceId, WorkspaceInfo.class);
+                    return config.evictSettings(workspace);
+                });
+    }
+
     private void evictEntry(InfoEvent<?, ?> event, BooleanSupplier evictor) {
         event.remote()
                 .ifPresent(
@@ -167,6 +167,50 @@ public class CachingGeoServerFacadeTest {
         assertNull(cache.get(CachingGeoServerFacade.settingsKey(ws)));
     }
 
+    public @Test void testGetSettingsCachesNull() {
+        WorkspaceInfo ws2 = stub(WorkspaceInfo.class, 2);
+        when(mock.getSettings(same(ws2))).thenReturn(null);
+
+        for (int i = 0; i < 3; i++) assertNull(caching.getSettings(ws2));
+        verify(mock, times(1)).getSettings(same(ws2));
+        assertNotNull(cache.get(CachingGeoServerFacade.settingsKey(ws2)));
+    }
+
+    public @Test void testAddSettingsInfoEvictsNegativeEntry() {
+        when(mock.getSettings(same(ws))).thenReturn(null);
+        assertNull(caching.getSettings(ws));
+        assertNotNull(cache.get(CachingGeoServerFacade.settingsKey(ws)));
+
+        caching.add(settings);
+        assertNull(cache.get(CachingGeoServerFacade.settingsKey(ws)));
+
+        when(mock.getSettings(same(ws))).thenReturn(settings);
+        assertSame(settings, caching.getSettings(ws));
+    }
+
+    public @Test void testEvictSettings() {
+        assertSame(settings, caching.getSettings(ws));
+        WorkspaceInfo wsProxy = ResolvingProxy.create(ws.getId(), WorkspaceInfo.class);
+        assertTrue(caching.evictSettings(wsProxy));
+        assertFalse(caching.evictSettings(wsProxy));
+        assertNull(cache.get(CachingGeoServerFacade.settingsKey(ws)));
+    }
+
+    public @Test void testAddServiceInfoEvictsNegativeEntries() {
+        TestService1 service = wsService1;
+        when(mock.getService(same(ws), eq(TestService1.class))).thenReturn(null);
+        ServiceInfoKey typeKey = ServiceInfoKey.byType(ws, service.getClass());
+
+        assertNull(caching.getService(ws, TestService1.class));
+        assertNotNull(cache.get(typeKey));
+
+        caching.add(service);
+        assertNull(cache.get(typeKey));
+
+        when(mock.getService(same(ws), eq(TestService1.class))).thenReturn(service);
+        assertSame(service, caching.getService(ws, TestService1.class));
+    }
+
     public @Test void testGetLogging() {
         assertSameTimesN(logging, caching::getLogging, 3);
         verify(mock, times(1)).getLogging();
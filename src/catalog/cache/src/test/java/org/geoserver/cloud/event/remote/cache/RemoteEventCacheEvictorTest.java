@@ -40,6 +40,7 @@ import org.geoserver.cloud.event.config.LoggingInfoModified;
 import org.geoserver.cloud.event.config.LoggingInfoSet;
 import org.geoserver.cloud.event.config.ServiceModified;
 import org.geoserver.cloud.event.config.ServiceRemoved;
+import org.geoserver.cloud.event.config.SettingsAdded;
 import org.geoserver.cloud.event.config.SettingsModified;
 import org.geoserver.cloud.event.config.SettingsRemoved;
 import org.geoserver.cloud.event.info.InfoEvent;
@@ -354,6 +355,26 @@ public class RemoteEventCacheEvictorTest {
                 "expected workspace settings entry to be evicted");
     }
 
+    public @Test void testRemoteSettingsInfoAddEvictsNegativeEntry() {
+        WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+        ws.setId("fakews");
+        SettingsInfoImpl settings = new SettingsInfoImpl();
+        settings.setId("fakesettings");
+        settings.setWorkspace(ws);
+
+        Object workspaceSettingsKey = CachingGeoServerFacade.settingsKey(ws);
+        configCache.put(workspaceSettingsKey, null);
+        assertNotNull(configCache.get(workspaceSettingsKey));
+
+        Mockito.clearInvocations(evictor);
+        SettingsAdded event = publishRemote(SettingsAdded.createLocal(123L, settings));
+
+        Mockito.verify(evictor, times(1)).onSettingsInfoAddEvent(same(event));
+        assertNull(
+                configCache.get(workspaceSettingsKey),
+                "expected negative workspace settings entry to be evicted");
+    }
+
     public @Test void testRemoteSettingsInfoRemoveEvent() {
         WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
         ws.setId("fakews");
@@ -19,6 +19,7 @@ import org.geoserver.catalog.StyleInfo;
 import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.impl.ModificationProxy;
 import org.geoserver.catalog.impl.ResolvingProxy;
+import org.geoserver.catalog.plugin.BatchIdLookup;
 import org.geoserver.catalog.plugin.RepositoryCatalogFacade;
 import org.geoserver.catalog.plugin.forwarding.ResolvingCatalogFacadeDecorator;
 import org.geoserver.catalog.plugin.resolving.CatalogPropertyResolver;
@@ -27,8 +28,13 @@ import org.geoserver.catalog.plugin.resolving.ResolvingProxyResolver;
 import org.geoserver.cloud.catalog.client.repository.CatalogClientRepository;
 
 import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * {@link CatalogFacade} for {@code catalog-service}, being a {@link
@@ -59,8 +65,15 @@ import java.util.function.Supplier;
  *             {@link CollectionPropertiesInitializer})
  *       </ul>
  * </ul>
+ *
+ * <p>Implements {@link BatchIdLookup} through the catalog service's fetch by ids endpoint, so
+ * resolving many references costs one round trip to the catalog service instead of one per
+ * reference. The {@link ResolvingProxyResolver#batching batching} proxy resolver uses it to look up
+ * all the references of the same type of each object, or of all the objects of a batch call, at
+ * once.
  */
-public class CatalogClientCatalogFacade extends ResolvingCatalogFacadeDecorator {
+public class CatalogClientCatalogFacade extends ResolvingCatalogFacadeDecorator
+        implements BatchIdLookup {
 
     public CatalogClientCatalogFacade(@NonNull RepositoryCatalogFacade rawFacade) {
         super(rawFacade);
@@ -71,7 +84,7 @@ public class CatalogClientCatalogFacade extends ResolvingCatalogFacadeDecorator
         super.setCatalog(catalog);
 
         final ResolvingProxyResolver<CatalogInfo> proxyResolver =
-                ResolvingProxyResolver.of(catalog, true);
+                ResolvingProxyResolver.<CatalogInfo>of(catalog, true).batching(this);
         final CatalogPropertyResolver<CatalogInfo> catalogPropertyResolver =
                 CatalogPropertyResolver.of(catalog);
         final CollectionPropertiesInitializer<CatalogInfo> collectionInitializer =
@@ -90,6 +103,18 @@ public class CatalogClientCatalogFacade extends ResolvingCatalogFacadeDecorator
                                 .andThen(catalogPropertyResolver) //
                                 .andThen(collectionInitializer);
 
+        // resolver supplier for batch calls, resolves the references of all the objects at once
+        Supplier<UnaryOperator<List<CatalogInfo>>> batchResolver =
+                () -> {
+                    final ResolvingProxyResolver<CatalogInfo> memoizing = proxyResolver.memoizing();
+                    final Function<CatalogInfo, CatalogInfo> postResolver =
+                            catalogPropertyResolver.andThen(collectionInitializer);
+                    return list ->
+                            memoizing.resolveAll(list).stream()
+                                    .map(postResolver)
+                                    .collect(Collectors.toList());
+                };
+
         setInboundResolver(
                 o -> {
                     if (o instanceof Proxy) {
@@ -100,14 +125,27 @@ public class CatalogClientCatalogFacade extends ResolvingCatalogFacadeDecorator
                     return o;
                 });
 
-        setInnerResolver(repo(WorkspaceInfo.class), cast(outboundResolver), streamResolver);
-        setInnerResolver(repo(NamespaceInfo.class), cast(outboundResolver), streamResolver);
-        setInnerResolver(repo(StoreInfo.class), cast(outboundResolver), streamResolver);
-        setInnerResolver(repo(ResourceInfo.class), cast(outboundResolver), streamResolver);
-        setInnerResolver(repo(LayerInfo.class), cast(outboundResolver), streamResolver);
-        setInnerResolver(repo(LayerGroupInfo.class), cast(outboundResolver), streamResolver);
-        setInnerResolver(repo(StyleInfo.class), cast(outboundResolver), streamResolver);
-        setInnerResolver(repo(MapInfo.class), cast(outboundResolver), streamResolver);
+        setInnerResolver(
+                repo(WorkspaceInfo.class), cast(outboundResolver), streamResolver, batchResolver);
+        setInnerResolver(
+                repo(NamespaceInfo.class), cast(outboundResolver), streamResolver, batchResolver);
+        setInnerResolver(
+                repo(StoreInfo.class), cast(outboundResolver), streamResolver, batchResolver);
+        setInnerResolver(
+                repo(ResourceInfo.class), cast(outboundResolver), streamResolver, batchResolver);
+        setInnerResolver(
+                repo(LayerInfo.class), cast(outboundResolver), streamResolver, batchResolver);
+        setInnerResolver(
+                repo(LayerGroupInfo.class), cast(outboundResolver), streamResolver, batchResolver);
+        setInnerResolver(
+                repo(StyleInfo.class), cast(outboundResolver), streamResolver, batchResolver);
+        setInnerResolver(
+                repo(MapInfo.class), cast(outboundResolver), streamResolver, batchResolver);
+    }
+
+    public @Override <T extends CatalogInfo> Stream<T> findAllById(
+            @NonNull Class<T> type, @NonNull Set<String> ids) {
+        return repo(type).findAllById(ids, type);
     }
 
     @SuppressWarnings("unchecked")
@@ -122,10 +160,12 @@ public class CatalogClientCatalogFacade extends ResolvingCatalogFacadeDecorator
     private <T extends CatalogInfo> void setInnerResolver( //
             CatalogClientRepository<T> catalogClientRepository, //
             Function<T, T> objectResolver, //
-            Supplier<Function<CatalogInfo, CatalogInfo>> memoizingResolver) {
+            Supplier<Function<CatalogInfo, CatalogInfo>> memoizingResolver, //
+            Supplier<UnaryOperator<List<CatalogInfo>>> batchResolver) {
 
         catalogClientRepository.setObjectResolver(objectResolver);
         catalogClientRepository.setStreamResolver(memoizingResolver);
+        catalogClientRepository.setBatchResolver(batchResolver);
     }
 
     protected @Override RepositoryCatalogFacade facade() {
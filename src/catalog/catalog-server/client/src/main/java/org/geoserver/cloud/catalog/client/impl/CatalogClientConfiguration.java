@@ -6,9 +6,12 @@ package org.geoserver.cloud.catalog.client.impl;
 
 import org.geoserver.catalog.plugin.RepositoryCatalogFacade;
 import org.geoserver.catalog.plugin.RepositoryCatalogFacadeImpl;
+import org.geoserver.cloud.catalog.client.reactivefeign.BlockingBridge;
 import org.geoserver.cloud.catalog.client.reactivefeign.BlockingResourceStoreClient;
+import org.geoserver.cloud.catalog.client.reactivefeign.ReactiveCatalogClient;
 import org.geoserver.cloud.catalog.client.reactivefeign.ReactiveConfigClient;
 import org.geoserver.cloud.catalog.client.reactivefeign.ReactiveResourceStoreClient;
+import org.geoserver.cloud.catalog.client.reactivefeign.RevalidatingExchangeFilter;
 import org.geoserver.cloud.catalog.client.repository.CatalogClientConfigRepository;
 import org.geoserver.cloud.catalog.client.repository.CatalogClientLayerGroupRepository;
 import org.geoserver.cloud.catalog.client.repository.CatalogClientLayerRepository;
@@ -19,15 +22,31 @@ import org.geoserver.cloud.catalog.client.repository.CatalogClientResourceReposi
 import org.geoserver.cloud.catalog.client.repository.CatalogClientStoreRepository;
 import org.geoserver.cloud.catalog.client.repository.CatalogClientStyleRepository;
 import org.geoserver.cloud.catalog.client.repository.CatalogClientWorkspaceRepository;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.util.unit.DataSize;
+
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
 
 @Configuration
 @Import(CatalogClientRepositoryConfiguration.class)
 public class CatalogClientConfiguration {
 
+    /** Names of the caches used by the backend caching catalog and geoserver facades */
+    private static final List<String> BACKEND_CACHE_NAMES = List.of("gs-catalog", "gs-config");
+
     private @Autowired CatalogClientWorkspaceRepository cloudWorkspaceRepository;
     private @Autowired CatalogClientNamespaceRepository cloudNamespaceRepository;
     private @Autowired CatalogClientStoreRepository cloudStoreRepository;
@@ -39,6 +58,7 @@ public class CatalogClientConfiguration {
 
     private @Autowired ReactiveConfigClient configClient;
     private @Autowired ReactiveResourceStoreClient resourceStoreClient;
+    private @Autowired BlockingBridge blockingBridge;
 
     public @Bean CatalogClientCatalogFacade rawCatalogServiceFacade() {
         RepositoryCatalogFacade rawFacade = new RepositoryCatalogFacadeImpl();
@@ -55,18 +75,80 @@ public class CatalogClientConfiguration {
         return facade;
     }
 
+    /**
+     * Keeps copies of the catalog and config responses and revalidates them with conditional
+     * requests, if {@code geoserver.backend.catalog-service.revalidation.enabled=true}
+     */
+    @Bean
+    @ConditionalOnProperty(
+            name = "geoserver.backend.catalog-service.revalidation.enabled",
+            havingValue = "true")
+    public RevalidatingExchangeFilter catalogClientRevalidatingFilter(
+            @Value("${geoserver.backend.catalog-service.revalidation.max-entries:1000}")
+                    int maxEntries,
+            @Value("${geoserver.backend.catalog-service.revalidation.max-entry-size:1MB}")
+                    DataSize maxEntrySize) {
+        return new RevalidatingExchangeFilter(maxEntries, (int) maxEntrySize.toBytes());
+    }
+
+    /**
+     * Follows the catalog-service change stream to evict cached entries upon catalog and config
+     * changes without the events bus, if {@code
+     * geoserver.backend.catalog-service.events.enabled=true}. When the stream starts afresh, the
+     * catalog replica, if any, is replicated again, as changes may have been missed.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(
+            name = "geoserver.backend.catalog-service.events.enabled",
+            havingValue = "true")
+    public CatalogClientEventStream catalogClientEventStream(
+            ReactiveCatalogClient catalogClient,
+            ApplicationEventPublisher eventPublisher,
+            ObjectProvider<CacheManager> cacheManager,
+            ObjectProvider<CatalogClientReplicatedCatalogFacade> replica,
+            @Value("${geoserver.backend.catalog-service.events.min-backoff:1s}")
+                    Duration minBackoff,
+            @Value("${geoserver.backend.catalog-service.events.max-backoff:30s}")
+                    Duration maxBackoff) {
+
+        Runnable evictAll =
+                () ->
+                        cacheManager.ifAvailable(
+                                manager ->
+                                        BACKEND_CACHE_NAMES.stream()
+                                                .map(manager::getCache)
+                                                .flatMap(Optional::ofNullable)
+                                                .forEach(Cache::clear));
+        Runnable reset =
+                () -> {
+                    evictAll.run();
+                    replica.ifAvailable(
+                            facade -> Schedulers.boundedElastic().schedule(facade::replicate));
+                };
+        return new CatalogClientEventStream(
+                catalogClient::events, eventPublisher::publishEvent, reset, minBackoff, maxBackoff);
+    }
+
     public @Bean CatalogClientConfigRepository catalogServiceConfigRepository() {
-        return new CatalogClientConfigRepository(configClient);
+        CatalogClientConfigRepository repository = new CatalogClientConfigRepository(configClient);
+        repository.setBlockingBridge(blockingBridge);
+        return repository;
     }
 
     public @Bean CatalogClientGeoServerFacade catalogServiceGeoServerFacade() {
         return new CatalogClientGeoServerFacade(catalogServiceConfigRepository());
     }
 
-    public @Bean CatalogClientResourceStore catalogServiceResourceStore() {
+    public @Bean CatalogClientResourceStore catalogServiceResourceStore(
+            @Value("${geoserver.backend.catalog-service.resource-cache.max-entries:1000}")
+                    int maxEntries,
+            @Value("${geoserver.backend.catalog-service.resource-cache.ttl:10s}") Duration ttl) {
         BlockingResourceStoreClient blockingClient =
                 new BlockingResourceStoreClient(resourceStoreClient);
-        return new CatalogClientResourceStore(blockingClient);
+        blockingClient.setBlockingBridge(blockingBridge);
+        CatalogClientResourceStore store = new CatalogClientResourceStore(blockingClient);
+        store.configureDescriptorCache(maxEntries, ttl);
+        return store;
     }
 
     // @ConditionalOnProperty(name = "reactive.feign.jetty", havingValue = "true")
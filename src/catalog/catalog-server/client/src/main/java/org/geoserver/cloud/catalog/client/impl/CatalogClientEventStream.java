@@ -0,0 +1,173 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.impl;
+
+import feign.FeignException;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.cloud.event.ChangeStreamEntry;
+import org.geoserver.cloud.event.UpdateSequenceEvent;
+import org.geoserver.cloud.event.info.InfoEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import reactor.util.retry.Retry.RetrySignal;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Follows the catalog-service change stream and publishes the {@link InfoEvent}s it gets as remote
+ * events, so that the backend caches are evicted as they'd be with the events bus, but without a
+ * message broker.
+ *
+ * <p>Keeps track of the {@link ChangeStreamEntry position} of the last entry received, to resume
+ * the stream from there when the connection is lost. If there's no position to resume from, either
+ * at startup or because the catalog-service no longer holds the events since then, as when the
+ * stream is resumed from another catalog-service instance, the stream is started afresh and all
+ * cached entries are evicted, once the catalog-service acknowledges the new stream.
+ *
+ * @since 1.0
+ */
+@Slf4j(topic = "org.geoserver.cloud.catalog.client.events")
+public class CatalogClientEventStream implements AutoCloseable {
+
+    /** {@link InfoEvent#getOrigin() origin} of the events published by this stream */
+    public static final String ORIGIN = "catalog-service";
+
+    private final BiFunction<String, Long, Flux<ChangeStreamEntry>> source;
+    private final Consumer<InfoEvent<?, ?>> publisher;
+    private final Runnable evictAll;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+
+    /** Last entry received, {@code null} if the stream is to be started afresh */
+    private volatile ChangeStreamEntry position;
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong resets = new AtomicLong();
+
+    private Disposable subscription;
+
+    /**
+     * @param source the change stream resumed after a given epoch and offset
+     * @param publisher publishes the received events to the application context
+     * @param evictAll evicts all cached catalog and configuration entries
+     */
+    public CatalogClientEventStream(
+            @NonNull BiFunction<String, Long, Flux<ChangeStreamEntry>> source,
+            @NonNull Consumer<InfoEvent<?, ?>> publisher,
+            @NonNull Runnable evictAll,
+            @NonNull Duration minBackoff,
+            @NonNull Duration maxBackoff) {
+        this.source = source;
+        this.publisher = publisher;
+        this.evictAll = evictAll;
+        this.minBackoff = minBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        start();
+    }
+
+    public synchronized void start() {
+        if (subscription != null) return;
+        log.info("Following the catalog-service change stream");
+        subscription =
+                Flux.defer(this::resume)
+                        .doOnNext(this::onEvent)
+                        .onErrorResume(CatalogClientEventStream::isGone, this::restart)
+                        .repeatWhen(completed -> completed.delayElements(minBackoff))
+                        .retryWhen(
+                                Retry.backoff(Long.MAX_VALUE, minBackoff)
+                                        .maxBackoff(maxBackoff)
+                                        .transientErrors(true)
+                                        .doBeforeRetry(this::onRetry))
+                        .subscribe();
+    }
+
+    private Flux<ChangeStreamEntry> resume() {
+        final ChangeStreamEntry last = position;
+        return last == null
+                ? source.apply(null, null)
+                : source.apply(last.getEpoch(), last.getOffset());
+    }
+
+    void onEvent(ChangeStreamEntry entry) {
+        final UpdateSequenceEvent<?> event = entry.getEvent();
+        if (event instanceof InfoEvent) {
+            received.incrementAndGet();
+            event.setRemote(true);
+            event.setOrigin(ORIGIN);
+            try {
+                publisher.accept((InfoEvent<?, ?>) event);
+            } catch (RuntimeException e) {
+                log.error("Error publishing catalog-service event {}", event, e);
+            }
+        } else if (position == null) {
+            // the catalog-service acknowledged a new stream, any change before it may be missed
+            log.info(
+                    "Change stream started at update sequence {}, evicting all",
+                    event == null ? null : event.getUpdateSequence());
+            evictAll.run();
+            resets.incrementAndGet();
+        }
+        position = new ChangeStreamEntry(entry.getEpoch(), entry.getOffset(), null);
+    }
+
+    private void onRetry(RetrySignal signal) {
+        log.warn(
+                "Catalog-service change stream failed, resuming since {}: {}",
+                position,
+                signal.failure().getMessage());
+    }
+
+    private Mono<ChangeStreamEntry> restart(Throwable gone) {
+        log.warn(
+                "Catalog-service events since {} are no longer available, starting afresh",
+                position);
+        position = null;
+        return Mono.empty();
+    }
+
+    private static boolean isGone(Throwable error) {
+        return error instanceof FeignException
+                && ((FeignException) error).status() == HttpStatus.GONE.value();
+    }
+
+    /** @return the epoch and offset to resume the stream from, if any */
+    public Optional<ChangeStreamEntry> getPosition() {
+        return Optional.ofNullable(position);
+    }
+
+    /** @return number of catalog and config events received */
+    public long getReceived() {
+        return received.get();
+    }
+
+    /** @return number of times the stream was started afresh and all cached entries evicted */
+    public long getResets() {
+        return resets.get();
+    }
+
+    public synchronized @Override void close() {
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+    }
+}
@@ -0,0 +1,523 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.impl;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.Info;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.MapInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.plugin.CatalogInfoRepository;
+import org.geoserver.catalog.plugin.DefaultMemoryCatalogFacade;
+import org.geoserver.catalog.plugin.Patch;
+import org.geoserver.catalog.plugin.RepositoryCatalogFacade;
+import org.geoserver.catalog.plugin.forwarding.ForwardingExtendedCatalogFacade;
+import org.geoserver.catalog.plugin.resolving.CatalogPropertyResolver;
+import org.geoserver.catalog.plugin.resolving.CollectionPropertiesInitializer;
+import org.geoserver.catalog.plugin.resolving.ResolvingProxyResolver;
+import org.geoserver.cloud.event.catalog.CatalogInfoAdded;
+import org.geoserver.cloud.event.catalog.CatalogInfoModified;
+import org.geoserver.cloud.event.catalog.CatalogInfoRemoved;
+import org.geoserver.cloud.event.catalog.DefaultDataStoreSet;
+import org.geoserver.cloud.event.catalog.DefaultNamespaceSet;
+import org.geoserver.cloud.event.catalog.DefaultWorkspaceSet;
+import org.geoserver.cloud.event.info.ConfigInfoType;
+import org.geoserver.cloud.event.info.InfoEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link CatalogClientCatalogFacade} alternative for {@code catalog-service} consumers that keeps a
+ * full in-memory replica of the catalog, so that reads, including list queries, never leave the
+ * JVM.
+ *
+ * <p>The replica is a {@link DefaultMemoryCatalogFacade}, {@link #replicate() bootstrapped} with a
+ * single streaming {@code findAll} per object type, and kept current by applying the remote {@link
+ * CatalogInfoAdded added}, {@link CatalogInfoModified modified}, and {@link CatalogInfoRemoved
+ * removed} events, whether they come from the events bus or the catalog-service change stream.
+ *
+ * <p>Writes go through the {@code catalog-service} first, and are applied to the replica once it
+ * accepted them. Events for changes already applied, like the ones for this instance's own writes
+ * coming back from the change stream, are ignored or re-applied with no effect. The events for this
+ * instance's own additions may even come back before the addition is applied to the replica; they
+ * are ignored while the addition is in flight, so the replica ends up holding the added object and
+ * not a copy of it.
+ *
+ * @since 1.0
+ */
+@Slf4j(topic = "org.geoserver.cloud.catalog.client.replica")
+public class CatalogClientReplicatedCatalogFacade extends ForwardingExtendedCatalogFacade {
+
+    /** Replicated object types, in the order they're replicated, referenced types first */
+    private static final List<Class<? extends CatalogInfo>> TYPES =
+            List.of(
+                    WorkspaceInfo.class,
+                    NamespaceInfo.class,
+                    StyleInfo.class,
+                    StoreInfo.class,
+                    ResourceInfo.class,
+                    LayerInfo.class,
+                    LayerGroupInfo.class,
+                    MapInfo.class);
+
+    private final RepositoryCatalogFacade remote;
+    private final DefaultMemoryCatalogFacade local;
+
+    /** Guards the replica updates, reads go straight to the replica's concurrent lookups */
+    private final Object lock = new Object();
+
+    /** Remote events received while replicating, to apply again to the new replica */
+    private List<InfoEvent<?, ?>> pending;
+
+    /** Ids of the objects being added through this facade, whose add events to ignore */
+    private final Set<String> addsInFlight = ConcurrentHashMap.newKeySet();
+
+    /** @param remote the raw {@code catalog-service} facade to replicate and write through */
+    public CatalogClientReplicatedCatalogFacade(@NonNull RepositoryCatalogFacade remote) {
+        this(remote, new DefaultMemoryCatalogFacade());
+    }
+
+    private CatalogClientReplicatedCatalogFacade(
+            RepositoryCatalogFacade remote, DefaultMemoryCatalogFacade local) {
+        super(local);
+        this.remote = remote;
+        this.local = local;
+    }
+
+    /**
+     * Replaces the replica contents by the current {@code catalog-service} catalog. The replica
+     * being replaced keeps serving reads and applying remote events until the new one is complete,
+     * and the events received meanwhile are applied to the new one as well.
+     */
+    public synchronized void replicate() {
+        final long start = System.nanoTime();
+        synchronized (lock) {
+            pending = new ArrayList<>();
+        }
+        try {
+            DefaultMemoryCatalogFacade staging = new DefaultMemoryCatalogFacade(requireCatalog());
+            Function<CatalogInfo, CatalogInfo> resolver = resolver(staging);
+            int count = 0;
+            for (Class<? extends CatalogInfo> type : TYPES) {
+                count += replicate(type, staging, resolver);
+            }
+            // layer groups may contain layer groups replicated after them
+            try (Stream<LayerGroupInfo> groups = staging.getLayerGroupRepository().findAll()) {
+                groups.forEach(resolver::apply);
+            }
+            replicateDefaults(staging);
+            synchronized (lock) {
+                local.setWorkspaceRepository(staging.getWorkspaceRepository());
+                local.setNamespaceRepository(staging.getNamespaceRepository());
+                local.setStyleRepository(staging.getStyleRepository());
+                local.setStoreRepository(staging.getStoreRepository());
+                local.setResourceRepository(staging.getResourceRepository());
+                local.setLayerRepository(staging.getLayerRepository());
+                local.setLayerGroupRepository(staging.getLayerGroupRepository());
+                local.setMapRepository(staging.getMapRepository());
+                pending.forEach(this::apply);
+            }
+            log.info(
+                    "Replicated {} catalog objects from the catalog-service in {} ms",
+                    count,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } finally {
+            synchronized (lock) {
+                pending = null;
+            }
+        }
+    }
+
+    private <T extends CatalogInfo> int replicate(
+            Class<T> type,
+            RepositoryCatalogFacade target,
+            Function<CatalogInfo, CatalogInfo> resolver) {
+        CatalogInfoRepository<T> source = remote.repository(type);
+        CatalogInfoRepository<T> replica = target.repository(type);
+        AtomicInteger count = new AtomicInteger();
+        try (Stream<T> all = source.findAll()) {
+            all.map(resolver::apply)
+                    .map(type::cast)
+                    .forEach(
+                            info -> {
+                                replica.add(info);
+                                count.incrementAndGet();
+                            });
+        }
+        log.debug("Replicated {} {}s", count, type.getSimpleName());
+        return count.get();
+    }
+
+    private void replicateDefaults(DefaultMemoryCatalogFacade staging) {
+        WorkspaceInfo defaultWorkspace = remote.getDefaultWorkspace();
+        if (defaultWorkspace != null) {
+            staging.setDefaultWorkspace(staging.getWorkspace(defaultWorkspace.getId()));
+        }
+        NamespaceInfo defaultNamespace = remote.getDefaultNamespace();
+        if (defaultNamespace != null) {
+            staging.setDefaultNamespace(staging.getNamespace(defaultNamespace.getId()));
+        }
+        try (Stream<DataStoreInfo> stores = remote.getStoreRepository().getDefaultDataStores()) {
+            stores.forEach(
+                    store -> {
+                        WorkspaceInfo ws = staging.getWorkspace(store.getWorkspace().getId());
+                        DataStoreInfo ds = staging.getStore(store.getId(), DataStoreInfo.class);
+                        if (ws != null && ds != null) staging.setDefaultDataStore(ws, ds);
+                    });
+        }
+    }
+
+    @EventListener(CatalogInfoAdded.class)
+    public void onRemoteAdd(CatalogInfoAdded event) {
+        onRemoteEvent(event);
+    }
+
+    @EventListener(CatalogInfoModified.class)
+    public void onRemoteModify(CatalogInfoModified event) {
+        onRemoteEvent(event);
+    }
+
+    @EventListener(CatalogInfoRemoved.class)
+    public void onRemoteRemove(CatalogInfoRemoved event) {
+        onRemoteEvent(event);
+    }
+
+    private void onRemoteEvent(InfoEvent<?, ?> event) {
+        if (event.isLocal()) {
+            return;
+        }
+        synchronized (lock) {
+            if (pending != null) {
+                pending.add(event);
+            }
+            if (event instanceof CatalogInfoAdded && addsInFlight.contains(event.getObjectId())) {
+                log.debug("Ignoring echo of in-flight addition {}", event);
+                return;
+            }
+            apply(event);
+        }
+    }
+
+    private void apply(InfoEvent<?, ?> event) {
+        try {
+            if (event instanceof CatalogInfoAdded) {
+                applyAdd((CatalogInfoAdded) event);
+            } else if (event instanceof DefaultWorkspaceSet) {
+                String id = ((DefaultWorkspaceSet) event).getNewWorkspaceId();
+                local.setDefaultWorkspace(id == null ? null : local.getWorkspace(id));
+            } else if (event instanceof DefaultNamespaceSet) {
+                String id = ((DefaultNamespaceSet) event).getNewNamespaceId();
+                local.setDefaultNamespace(id == null ? null : local.getNamespace(id));
+            } else if (event instanceof DefaultDataStoreSet) {
+                applyDefaultDataStore((DefaultDataStoreSet) event);
+            } else if (event instanceof CatalogInfoModified) {
+                applyModify((CatalogInfoModified) event);
+            } else if (event instanceof CatalogInfoRemoved) {
+                find(local, event.getObjectType(), event.getObjectId())
+                        .ifPresent(this::removeLocal);
+            }
+        } catch (RuntimeException e) {
+            log.error("Error applying remote event {} to the catalog replica", event, e);
+        }
+    }
+
+    private void applyAdd(CatalogInfoAdded event) {
+        final ConfigInfoType type = event.getObjectType();
+        final String id = event.getObjectId();
+        if (find(local, type, id).isPresent()) {
+            log.trace("{}({}) already replicated", type, id);
+            return;
+        }
+        Optional<CatalogInfo> object = Optional.ofNullable(event.getObject());
+        if (object.isEmpty()) {
+            // lazy payload
+            object = find(remote, type, id);
+        }
+        object.map(resolver(local)).ifPresent(this::addLocal);
+    }
+
+    private void applyModify(CatalogInfoModified event) {
+        final ConfigInfoType type = event.getObjectType();
+        final String id = event.getObjectId();
+        Optional<CatalogInfo> replica = find(local, type, id);
+        if (replica.isEmpty()) {
+            log.debug("{}({}) not replicated yet, fetching it upon {}", type, id, event);
+            find(remote, type, id).map(resolver(local)).ifPresent(this::addLocal);
+        } else if (event.getPatch() == null) {
+            log.error("Remote event didn't send the patch payload {}", event);
+        } else {
+            local.update(replica.get(), resolve(event.getPatch(), resolver(local)));
+        }
+    }
+
+    private void applyDefaultDataStore(DefaultDataStoreSet event) {
+        WorkspaceInfo workspace = local.getWorkspace(event.getWorkspaceId());
+        if (workspace != null) {
+            String storeId = event.getDefaultDataStoreId();
+            DataStoreInfo store =
+                    storeId == null ? null : local.getStore(storeId, DataStoreInfo.class);
+            local.setDefaultDataStore(workspace, store);
+        }
+    }
+
+    private void addLocal(CatalogInfo info) {
+        CatalogInfoRepository<CatalogInfo> repository = local.repositoryFor(info);
+        repository.add(info);
+    }
+
+    private void removeLocal(CatalogInfo info) {
+        // the facade also unsets the default workspace and namespace if removed
+        if (info instanceof WorkspaceInfo) local.remove((WorkspaceInfo) info);
+        else if (info instanceof NamespaceInfo) local.remove((NamespaceInfo) info);
+        else {
+            CatalogInfoRepository<CatalogInfo> repository = local.repositoryFor(info);
+            repository.remove(info);
+        }
+    }
+
+    /**
+     * @return resolves the {@code ResolvingProxy} references of the incoming objects to the objects
+     *     in {@code target}, and sets their catalog and collection properties as {@link
+     *     CatalogClientCatalogFacade} does
+     */
+    private Function<CatalogInfo, CatalogInfo> resolver(RepositoryCatalogFacade target) {
+        final Catalog catalog = requireCatalog();
+        ResolvingProxyResolver<CatalogInfo> proxyResolver =
+                new ResolvingProxyResolver<>(
+                        catalog,
+                        (info, proxy) -> log.debug("Reference {} not replicated", info.getId())) {
+                    protected @Override <I extends Info> I doResolveProxy(I proxy) {
+                        return findReference(target, proxy);
+                    }
+                };
+        return proxyResolver
+                .andThen(CatalogPropertyResolver.of(catalog))
+                .andThen(CollectionPropertiesInitializer.instance());
+    }
+
+    private Patch resolve(Patch patch, Function<CatalogInfo, CatalogInfo> resolver) {
+        Patch resolved = new Patch();
+        for (Patch.Property p : patch.getPatches()) {
+            resolved.add(p.getName(), resolveValue(p.getValue(), resolver));
+        }
+        return resolved;
+    }
+
+    private Object resolveValue(Object value, Function<CatalogInfo, CatalogInfo> resolver) {
+        if (value instanceof CatalogInfo) {
+            return resolver.apply((CatalogInfo) value);
+        }
+        if (value instanceof List || value instanceof Set) {
+            Stream<Object> values =
+                    ((Collection<?>) value).stream().map(v -> resolveValue(v, resolver));
+            return value instanceof List
+                    ? values.collect(Collectors.toCollection(ArrayList::new))
+                    : values.collect(Collectors.toCollection(LinkedHashSet::new));
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <I extends Info> I findReference(RepositoryCatalogFacade facade, I proxy) {
+        return (I)
+                TYPES.stream()
+                        .filter(type -> type.isInstance(proxy))
+                        .findFirst()
+                        .flatMap(type -> findById(facade, type, proxy.getId()))
+                        .orElse(null);
+    }
+
+    private static Optional<CatalogInfo> find(
+            RepositoryCatalogFacade facade, ConfigInfoType type, String id) {
+        return TYPES.stream()
+                .filter(type::isA)
+                .findFirst()
+                .flatMap(repositoryType -> findById(facade, repositoryType, id));
+    }
+
+    private static <T extends CatalogInfo> Optional<CatalogInfo> findById(
+            RepositoryCatalogFacade facade, Class<T> type, String id) {
+        CatalogInfoRepository<T> repository = facade.repository(type);
+        return repository.findById(id, type).map(CatalogInfo.class::cast);
+    }
+
+    private Catalog requireCatalog() {
+        Catalog catalog = getCatalog();
+        if (catalog == null) {
+            throw new IllegalStateException("Catalog not set");
+        }
+        return catalog;
+    }
+
+    //
+    // Writes go through the catalog-service, then to the replica
+    //
+
+    /**
+     * Adds {@code info} to the catalog-service and then to the replica, ignoring the remote event
+     * for the addition if it arrives in between
+     */
+    private <T extends CatalogInfo> T add(
+            T info, Consumer<T> remoteAdd, UnaryOperator<T> localAdd) {
+        final String id = info.getId();
+        addsInFlight.add(id);
+        try {
+            remoteAdd.accept(info);
+            synchronized (lock) {
+                // may only happen if a replication replayed the event meanwhile
+                Optional<CatalogInfo> replicated = find(local, ConfigInfoType.valueOf(info), id);
+                if (replicated.isPresent()) {
+                    log.debug("{} already replicated", replicated.get());
+                    @SuppressWarnings("unchecked")
+                    T existing = (T) replicated.get();
+                    return existing;
+                }
+                return localAdd.apply(info);
+            }
+        } finally {
+            addsInFlight.remove(id);
+        }
+    }
+
+    public @Override StoreInfo add(StoreInfo store) {
+        return add(store, remote::add, super::add);
+    }
+
+    public @Override void remove(StoreInfo store) {
+        remote.remove(store);
+        synchronized (lock) {
+            super.remove(store);
+        }
+    }
+
+    public @Override void setDefaultDataStore(WorkspaceInfo workspace, DataStoreInfo store) {
+        remote.setDefaultDataStore(workspace, store);
+        synchronized (lock) {
+            super.setDefaultDataStore(workspace, store);
+        }
+    }
+
+    public @Override ResourceInfo add(ResourceInfo resource) {
+        return add(resource, remote::add, super::add);
+    }
+
+    public @Override void remove(ResourceInfo resource) {
+        remote.remove(resource);
+        synchronized (lock) {
+            super.remove(resource);
+        }
+    }
+
+    public @Override LayerInfo add(LayerInfo layer) {
+        return add(layer, remote::add, super::add);
+    }
+
+    public @Override void remove(LayerInfo layer) {
+        remote.remove(layer);
+        synchronized (lock) {
+            super.remove(layer);
+        }
+    }
+
+    public @Override MapInfo add(MapInfo map) {
+        return add(map, remote::add, super::add);
+    }
+
+    public @Override void remove(MapInfo map) {
+        remote.remove(map);
+        synchronized (lock) {
+            super.remove(map);
+        }
+    }
+
+    public @Override LayerGroupInfo add(LayerGroupInfo layerGroup) {
+        return add(layerGroup, remote::add, super::add);
+    }
+
+    public @Override void remove(LayerGroupInfo layerGroup) {
+        remote.remove(layerGroup);
+        synchronized (lock) {
+            super.remove(layerGroup);
+        }
+    }
+
+    public @Override NamespaceInfo add(NamespaceInfo namespace) {
+        return add(namespace, remote::add, super::add);
+    }
+
+    public @Override void remove(NamespaceInfo namespace) {
+        remote.remove(namespace);
+        synchronized (lock) {
+            super.remove(namespace);
+        }
+    }
+
+    public @Override void setDefaultNamespace(NamespaceInfo defaultNamespace) {
+        remote.setDefaultNamespace(defaultNamespace);
+        synchronized (lock) {
+            super.setDefaultNamespace(defaultNamespace);
+        }
+    }
+
+    public @Override WorkspaceInfo add(WorkspaceInfo workspace) {
+        return add(workspace, remote::add, super::add);
+    }
+
+    public @Override void remove(WorkspaceInfo workspace) {
+        remote.remove(workspace);
+        synchronized (lock) {
+            super.remove(workspace);
+        }
+    }
+
+    public @Override void setDefaultWorkspace(WorkspaceInfo workspace) {
+        remote.setDefaultWorkspace(workspace);
+        synchronized (lock) {
+            super.setDefaultWorkspace(workspace);
+        }
+    }
+
+    public @Override StyleInfo add(StyleInfo style) {
+        return add(style, remote::add, super::add);
+    }
+
+    public @Override void remove(StyleInfo style) {
+        remote.remove(style);
+        synchronized (lock) {
+            super.remove(style);
+        }
+    }
+
+    public @Override <I extends CatalogInfo> I update(final I info, final Patch patch) {
+        remote.update(info, patch);
+        synchronized (lock) {
+            return super.update(info, patch);
+        }
+    }
+}
@@ -15,13 +15,11 @@ import org.geoserver.platform.resource.Resource;
 import org.geoserver.platform.resource.ResourceListener;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
-import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
@@ -55,41 +53,30 @@ class CatalogClientResource implements Resource {
         return store.getLockProvider().acquire(path());
     }
 
-    private byte[] toByteArray(org.springframework.core.io.Resource buff) {
-        try (InputStream in = buff.getInputStream()) {
-            byte[] array = ByteStreams.toByteArray(in);
-            return array;
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
-    }
-
     public @Override byte[] getContents() throws IOException {
-        org.springframework.core.io.Resource contents = store.getFileContent(path());
-        return toByteArray(contents);
+        try (InputStream in = in()) {
+            return ByteStreams.toByteArray(in);
+        }
     }
 
     public @Override void setContents(byte[] contents) throws IOException {
-        store.put(path(), ByteBuffer.wrap(contents));
+        store.put(path(), new ByteArrayInputStream(contents));
     }
 
+    /** Reads the local copy of the contents, fetched from the catalog-service if out of date */
     public @Override InputStream in() {
+        return store.in(this);
+    }
+
+    /** Streams the contents to the catalog-service as they're written, until closed */
+    public @Override OutputStream out() {
         try {
-            return new ByteArrayInputStream(getContents());
+            return store.put(path());
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
-    public @Override OutputStream out() {
-        return new ByteArrayOutputStream() {
-            public @Override void close() throws IOException {
-                ByteBuffer buff = ByteBuffer.wrap(super.buf, 0, super.count);
-                store.put(path(), buff);
-            }
-        };
-    }
-
     public @Override File file() {
         return store.file(this);
     }
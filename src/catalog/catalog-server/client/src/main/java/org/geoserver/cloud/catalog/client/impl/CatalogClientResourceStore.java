@@ -13,6 +13,8 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.geoserver.cloud.catalog.client.reactivefeign.BlockingResourceStoreClient;
 import org.geoserver.cloud.catalog.client.reactivefeign.ReactiveResourceStoreClient.ResourceDescriptor;
+import org.geoserver.cloud.catalog.client.repository.SingleFlight;
+import org.geoserver.cloud.event.GeoServerEvent;
 import org.geoserver.platform.resource.FileSystemResourceStore;
 import org.geoserver.platform.resource.LockProvider;
 import org.geoserver.platform.resource.MemoryLockProvider;
@@ -24,18 +26,21 @@ import org.geoserver.platform.resource.ResourceListener;
 import org.geoserver.platform.resource.ResourceNotification;
 import org.geoserver.platform.resource.ResourceNotificationDispatcher;
 import org.geoserver.platform.resource.ResourceStore;
+import org.springframework.context.event.EventListener;
 import org.springframework.util.Assert;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
-import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Duration;
+import java.util.List;
 import java.util.stream.Stream;
 
 /** */
@@ -43,6 +48,9 @@ import java.util.stream.Stream;
 public class CatalogClientResourceStore implements ResourceStore {
     private static final NullLockProvider NULL_LOCK_PROVIDER = new NullLockProvider();
 
+    public static final int DEFAULT_DESCRIPTOR_CACHE_SIZE = 1000;
+    public static final Duration DEFAULT_DESCRIPTOR_CACHE_TTL = Duration.ofSeconds(10);
+
     /** LockProvider used to secure resources for exclusive access */
     private @Getter @Setter @NonNull LockProvider lockProvider = NULL_LOCK_PROVIDER;
 
@@ -100,21 +108,51 @@ public class CatalogClientResourceStore implements ResourceStore {
         return local;
     }
 
-    private Map<String, ResourceDescriptor> dumbCache = new ConcurrentHashMap<>();
+    /** Shares the result of in-flight descriptor lookups with concurrent ones for the same path */
+    private final SingleFlight inFlight = new SingleFlight();
 
-    public @Override CatalogClientResource get(String path) {
-        try {
-            // ResourceDescriptor descriptor = remoteStore.describe(path);
-            ResourceDescriptor descriptor = dumbCache.computeIfAbsent(path, remoteStore::describe);
-            return toResource(descriptor);
-        } catch (RuntimeException e) {
-            e.printStackTrace();
-            throw e;
+    private ResourceDescriptorCache descriptors =
+            new ResourceDescriptorCache(
+                    DEFAULT_DESCRIPTOR_CACHE_SIZE, DEFAULT_DESCRIPTOR_CACHE_TTL);
+
+    /**
+     * @param maxEntries maximum number of resource descriptors to cache, zero disables the cache
+     * @param ttl time after which a cached resource descriptor is fetched again from the
+     *     catalog-service
+     */
+    public void configureDescriptorCache(int maxEntries, @NonNull Duration ttl) {
+        this.descriptors = new ResourceDescriptorCache(maxEntries, ttl);
+    }
+
+    /**
+     * Evicts all cached resource descriptors upon a remote event. There are no resource change
+     * events, but resources are mostly changed alongside the catalog or config objects that refer
+     * to them. Contents cached on the local disk are kept, they're revalidated against the
+     * resource's last modified time.
+     */
+    @EventListener(GeoServerEvent.class)
+    public void onRemoteEvent(GeoServerEvent<?> event) {
+        if (event.isRemote()) {
+            descriptors.invalidateAll();
         }
     }
 
+    public @Override CatalogClientResource get(String path) {
+        return toResource(descriptors.get(path, this::describe));
+    }
+
+    /** Fetches the descriptor for {@code path}, sharing the in-flight call for the same path */
+    private ResourceDescriptor describe(String path) {
+        return inFlight.call(List.of("describe", path), () -> remoteStore.describe(path));
+    }
+
     public @Override boolean remove(String path) {
-        boolean deleted = remoteStore.delete(path);
+        boolean deleted;
+        try {
+            deleted = remoteStore.delete(path);
+        } finally {
+            descriptors.invalidate(path);
+        }
         if (deleted) {
             localStore.get(path).delete();
         }
@@ -122,7 +160,13 @@ public class CatalogClientResourceStore implements ResourceStore {
     }
 
     public @Override boolean move(String path, String target) {
-        ResourceDescriptor moved = remoteStore.move(path, target).orElse(null);
+        ResourceDescriptor moved;
+        try {
+            moved = remoteStore.move(path, target).orElse(null);
+        } finally {
+            descriptors.invalidate(path);
+            descriptors.invalidate(target);
+        }
         localStore.move(path, target);
         return moved != null && target.equals(moved.getPath());
     }
@@ -146,12 +190,45 @@ public class CatalogClientResourceStore implements ResourceStore {
         public @Override void changed(ResourceNotification notification) {}
     }
 
-    org.springframework.core.io.Resource getFileContent(String path) throws IOException {
-        return remoteStore.getFileContent(path);
+    /**
+     * @return the contents of the local copy of {@code resource}, fetching it first if missing or
+     *     its last modified time doesn't match the current one in the catalog-service
+     */
+    InputStream in(@NonNull CatalogClientResource resource) {
+        if (!resource.isFile()) {
+            // let the catalog-service report the error
+            return remoteStore.getFileContent(resource.path());
+        }
+        try {
+            return new FileInputStream(file(resource));
+        } catch (FileNotFoundException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
-    void put(String path, ByteBuffer contents) {
-        remoteStore.put(path, contents);
+    void put(String path, InputStream contents) {
+        try {
+            descriptors.put(remoteStore.put(path, contents));
+        } catch (RuntimeException e) {
+            descriptors.invalidate(path);
+            throw e;
+        }
+    }
+
+    OutputStream put(String path) throws IOException {
+        return new FilterOutputStream(remoteStore.put(path)) {
+            public @Override void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            public @Override void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    descriptors.invalidate(path);
+                }
+            }
+        };
     }
 
     Stream<CatalogClientResource> list(String path) {
@@ -163,8 +240,9 @@ public class CatalogClientResourceStore implements ResourceStore {
     }
 
     /**
-     * @param catalogServiceResource
-     * @return
+     * @return the local copy of {@code resource}, fetching it first if missing or its last modified
+     *     time doesn't match the current one in the catalog-service, regardless of the one {@code
+     *     resource} was obtained with
      */
     File file(@NonNull CatalogClientResource resource) {
         final Resource local = localStore.get(resource.path());
@@ -175,7 +253,7 @@ public class CatalogClientResourceStore implements ResourceStore {
         }
 
         boolean localIsFile = Type.RESOURCE.equals(local.getType());
-        boolean localAndRemoteUpToDate = resource.lastmodified() == local.lastmodified();
+        boolean localAndRemoteUpToDate = remote.lastmodified() == local.lastmodified();
 
         if (localIsFile && localAndRemoteUpToDate) {
             return local.file();
@@ -190,12 +268,13 @@ public class CatalogClientResourceStore implements ResourceStore {
 
     File dir(@NonNull CatalogClientResource resource) {
         final Resource local = localStore.get(resource.path());
-        final CatalogClientResource remote = get(resource.path());
+        CatalogClientResource remote = get(resource.path());
         if (!remote.exists()) {
             ResourceDescriptor descriptor = resource.getDescriptor();
             descriptor.setType(Type.DIRECTORY);
             ResourceDescriptor created = remoteStore.create(resource.path(), descriptor);
-            resource = toResource(created);
+            descriptors.put(created);
+            remote = toResource(created);
         }
         if (remote.isFile()) {
             throw new IllegalStateException(remote.path() + " is a file, not a directory");
@@ -208,7 +287,7 @@ public class CatalogClientResourceStore implements ResourceStore {
                         "Unable to delete local copy of directory " + resource.path());
             }
             File localDirectory = local.dir();
-            boolean localAndRemoteUpToDate = resource.lastmodified() == local.lastmodified();
+            boolean localAndRemoteUpToDate = remote.lastmodified() == local.lastmodified();
             if (!localAndRemoteUpToDate) {
                 localDirectory.setLastModified(remote.lastmodified());
             }
@@ -234,7 +313,7 @@ public class CatalogClientResourceStore implements ResourceStore {
                     "Updating remote resource {} to local cache: {}",
                     remote.path(),
                     file.getAbsolutePath());
-            try (InputStream in = remote.in();
+            try (InputStream in = remoteStore.getFileContent(remote.path());
                     OutputStream out = local.out()) {
                 ByteStreams.copy(in, out);
                 log.debug("Local cache updated: {}", file.getAbsolutePath());
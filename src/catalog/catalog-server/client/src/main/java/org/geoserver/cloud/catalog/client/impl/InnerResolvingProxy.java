@@ -31,6 +31,7 @@ import org.geoserver.catalog.impl.ModificationProxy;
 import org.geoserver.catalog.impl.ResolvingProxy;
 import org.geoserver.catalog.impl.ResourceInfoImpl;
 import org.geoserver.catalog.impl.StoreInfoImpl;
+import org.geoserver.catalog.plugin.BatchIdLookup;
 import org.geoserver.catalog.plugin.Patch;
 import org.geoserver.config.GeoServerFacade;
 import org.geoserver.config.GeoServerInfo;
@@ -41,15 +42,26 @@ import org.springframework.lang.Nullable;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Resolves {@link ResolvingProxy} references based only on {@link CatalogInfo#getId() id} using
  * {@link CatalogFacade} instead of {@link Catalog} like {@link ResolvingProxy#resolve(Catalog,
  * Object)}
+ *
+ * <p>If the facade is a {@link BatchIdLookup}, the layers and styles of layer groups, and the
+ * styles of layers, are looked up with a single call per type.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -236,10 +248,13 @@ public class InnerResolvingProxy {
 
     protected void resolveInternal(LayerInfo layer) {
         layer.setResource(resolve(layer.getResource()));
-        layer.setDefaultStyle(resolve(layer.getDefaultStyle()));
+        List<StyleInfo> styleRefs = new ArrayList<>(layer.getStyles());
+        styleRefs.add(layer.getDefaultStyle());
+        Map<String, CatalogInfo> prefetched = prefetch(StyleInfo.class, styleRefs);
+        layer.setDefaultStyle(resolve(layer.getDefaultStyle(), prefetched));
         LinkedHashSet<StyleInfo> styles = new LinkedHashSet<StyleInfo>();
         for (StyleInfo s : layer.getStyles()) {
-            styles.add(resolve(s));
+            styles.add(resolve(s, prefetched));
         }
         ((LayerInfoImpl) layer).setStyles(styles);
     }
@@ -253,22 +268,71 @@ public class InnerResolvingProxy {
     protected void resolveInternal(LayerGroupInfo layerGroup) {
         LayerGroupInfoImpl lg = (LayerGroupInfoImpl) layerGroup;
 
+        Map<String, CatalogInfo> prefetched = new HashMap<>();
+        prefetched.putAll(prefetch(LayerInfo.class, lg.getLayers()));
+        prefetched.putAll(prefetch(LayerGroupInfo.class, lg.getLayers()));
+        prefetched.putAll(prefetch(StyleInfo.class, lg.getStyles()));
+
         for (int i = 0; i < lg.getLayers().size(); i++) {
             PublishedInfo l = lg.getLayers().get(i);
             if (l != null) {
-                lg.getLayers().set(i, resolve(l));
+                lg.getLayers().set(i, resolve(l, prefetched));
             }
         }
 
         for (int i = 0; i < lg.getStyles().size(); i++) {
             StyleInfo s = lg.getStyles().get(i);
             if (s != null) {
-                lg.getStyles().set(i, resolve(s));
+                lg.getStyles().set(i, resolve(s, prefetched));
             }
         }
         lg.setWorkspace(resolve(lg.getWorkspace()));
     }
 
+    /**
+     * Resolves {@code unresolved} with the object in {@code prefetched} if it's a reference to it,
+     * or through the facade otherwise
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends Info> T resolve(final T unresolved, Map<String, CatalogInfo> prefetched) {
+        if (unresolved != null && isResolvingProxy(unresolved)) {
+            CatalogInfo found = prefetched.get(unresolved.getId());
+            if (found != null) return resolve((T) found);
+        }
+        return resolve(unresolved);
+    }
+
+    /**
+     * Looks up the objects {@code refs} of type {@code type} point to with a single call, if the
+     * facade is a {@link BatchIdLookup} and there are more than one
+     *
+     * @return the objects found by id, empty if not looked up
+     */
+    private Map<String, CatalogInfo> prefetch(
+            Class<? extends CatalogInfo> type, Collection<? extends Info> refs) {
+        if (!(catalog instanceof BatchIdLookup)) return Collections.emptyMap();
+        Set<String> ids =
+                refs.stream()
+                        .filter(type::isInstance)
+                        .filter(this::isResolvingProxy)
+                        .map(Info::getId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet());
+        if (ids.size() < 2) return Collections.emptyMap();
+        try (Stream<? extends CatalogInfo> found =
+                ((BatchIdLookup) catalog).findAllById(type, ids)) {
+            return found.map(i -> (CatalogInfo) ModificationProxy.unwrap(i))
+                    .collect(Collectors.toMap(CatalogInfo::getId, i -> i, (i1, i2) -> i1));
+        } catch (RuntimeException e) {
+            log.warn(
+                    "Error looking up {} {} at once, resolving them one by one",
+                    ids.size(),
+                    type,
+                    e);
+            return Collections.emptyMap();
+        }
+    }
+
     protected StyleInfo resolveInternal(StyleInfo style) {
         // resolve the workspace
         WorkspaceInfo ws = style.getWorkspace();
@@ -0,0 +1,141 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.impl;
+
+import lombok.NonNull;
+
+import org.geoserver.cloud.catalog.client.reactivefeign.ReactiveResourceStoreClient.ResourceDescriptor;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded, least recently used, cache of {@link ResourceDescriptor}s by path, whose entries are
+ * revalidated against the catalog-service once older than the configured time to live.
+ *
+ * <p>Entries are copied in and out, since {@link CatalogClientResource} mutates its descriptor.
+ *
+ * @since 1.0
+ */
+class ResourceDescriptorCache {
+
+    private static class Entry {
+        final ResourceDescriptor descriptor;
+        final long expiresAt;
+
+        Entry(ResourceDescriptor descriptor, long expiresAt) {
+            this.descriptor = descriptor;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+
+    private long hits;
+    private long misses;
+
+    /** Incremented on each invalidation, so that descriptors loaded before it are not cached */
+    private long generation;
+
+    /**
+     * @param maxEntries maximum number of descriptors to keep, zero disables the cache
+     * @param ttl time after which a descriptor is fetched again
+     */
+    ResourceDescriptorCache(int maxEntries, @NonNull Duration ttl) {
+        this(maxEntries, ttl, Clock.systemUTC());
+    }
+
+    ResourceDescriptorCache(int maxEntries, @NonNull Duration ttl, @NonNull Clock clock) {
+        if (maxEntries < 0) throw new IllegalArgumentException("maxEntries must be >= 0");
+        if (ttl.isNegative()) throw new IllegalArgumentException("ttl must be >= 0");
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.entries =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    private static final long serialVersionUID = 1L;
+
+                    protected @Override boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                        return size() > ResourceDescriptorCache.this.maxEntries;
+                    }
+                };
+    }
+
+    /**
+     * @return a copy of the cached descriptor for {@code path} if it hasn't expired, or of the one
+     *     obtained from {@code loader} otherwise
+     */
+    ResourceDescriptor get(@NonNull String path, Function<String, ResourceDescriptor> loader) {
+        final long loadGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(path);
+            if (entry != null && entry.expiresAt > clock.millis()) {
+                hits++;
+                return copy(entry.descriptor);
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+        // don't hold the lock during the remote call
+        ResourceDescriptor loaded = loader.apply(path);
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                put(path, loaded);
+            }
+        }
+        return copy(loaded);
+    }
+
+    /** Caches a copy of {@code descriptor}, as the most up to date one for its path */
+    void put(@NonNull ResourceDescriptor descriptor) {
+        put(descriptor.getPath(), descriptor);
+    }
+
+    private void put(String path, ResourceDescriptor descriptor) {
+        if (maxEntries == 0) return;
+        Entry entry = new Entry(copy(descriptor), clock.millis() + ttlMillis);
+        synchronized (this) {
+            entries.put(path, entry);
+        }
+    }
+
+    /** Evicts the descriptors for {@code path} and, in case it's a directory, its children */
+    synchronized void invalidate(@NonNull String path) {
+        final String prefix = path.endsWith("/") ? path : path + "/";
+        entries.keySet().removeIf(p -> p.equals(path) || p.startsWith(prefix));
+        generation++;
+    }
+
+    synchronized void invalidateAll() {
+        entries.clear();
+        generation++;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long hits() {
+        return hits;
+    }
+
+    synchronized long misses() {
+        return misses;
+    }
+
+    private static ResourceDescriptor copy(ResourceDescriptor descriptor) {
+        ResourceDescriptor copy = new ResourceDescriptor();
+        copy.setPath(descriptor.getPath());
+        copy.setType(descriptor.getType());
+        copy.setLastModified(descriptor.getLastModified());
+        return copy;
+    }
+}
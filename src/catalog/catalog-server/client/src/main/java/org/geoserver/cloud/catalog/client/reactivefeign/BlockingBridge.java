@@ -0,0 +1,205 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.reactivefeign;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.lang.Nullable;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Blocks on the catalog-service client calls made through the blocking catalog, configuration, and
+ * resource store APIs.
+ *
+ * <p>Calls from threads that can block are blocked on right away. Calls from non-blocking threads,
+ * which can't block, are handed over to and blocked on by this bridge's executor, rather than the
+ * common {@code ForkJoinPool}, so that they don't starve the parallel streams that share it.
+ *
+ * <p>Reports to its {@link Listener} how long each call took and, for the ones handed over to the
+ * executor, how long they waited to be run, by endpoint.
+ *
+ * @since 1.0
+ */
+@Slf4j(topic = "org.geoserver.cloud.catalog.client")
+public class BlockingBridge implements AutoCloseable {
+
+    /** Bridge to use when none is configured, runs on reactor's bounded elastic scheduler */
+    public static final BlockingBridge DEFAULT =
+            new BlockingBridge(task -> Schedulers.boundedElastic().schedule(task), null);
+
+    public enum Type {
+        /** A thread per call, on JVMs that support virtual threads, {@link #POOL} otherwise */
+        VIRTUAL,
+        /** A bounded thread pool */
+        POOL
+    }
+
+    /** Receives the bridge's measurements */
+    public interface Listener {
+        /** Called once, with the bridge being created */
+        default void bind(BlockingBridge bridge) {}
+
+        /** Called when a call handed over to the executor starts to run */
+        default void waited(String endpoint, long nanos) {}
+
+        /** Called when a call completes, successfully or not */
+        default void completed(String endpoint, long nanos, boolean failed) {}
+    }
+
+    private static final Listener NO_LISTENER = new Listener() {};
+
+    private final Executor executor;
+    private final Listener listener;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    /**
+     * @param executor the executor to block on calls from non-blocking threads
+     * @param listener the listener to report to, may be {@code null}
+     */
+    public BlockingBridge(@NonNull Executor executor, @Nullable Listener listener) {
+        this.executor = executor;
+        this.listener = listener == null ? NO_LISTENER : listener;
+        this.listener.bind(this);
+    }
+
+    /**
+     * @return a new executor of the given type, a {@link Type#VIRTUAL} one if the JVM supports
+     *     virtual threads, or else a pool of up to {@code maxThreads} threads with a queue of up to
+     *     {@code maxQueued} calls
+     */
+    public static ExecutorService newExecutor(@NonNull Type type, int maxThreads, int maxQueued) {
+        if (type == Type.VIRTUAL) {
+            try {
+                ExecutorService executor =
+                        (ExecutorService)
+                                Executors.class
+                                        .getMethod("newVirtualThreadPerTaskExecutor")
+                                        .invoke(null);
+                log.info("Catalog client blocking bridge running on virtual threads");
+                return executor;
+            } catch (ReflectiveOperationException e) {
+                log.info("Virtual threads not supported by this JVM, using a thread pool instead");
+            }
+        }
+        if (maxThreads < 1 || maxQueued < 1) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "maxThreads and maxQueued must be > 0: %d, %d", maxThreads, maxQueued));
+        }
+        log.info(
+                "Catalog client blocking bridge running on up to {} threads, queue of {}",
+                maxThreads,
+                maxQueued);
+        ThreadPoolExecutor pool =
+                new ThreadPoolExecutor(
+                        maxThreads,
+                        maxThreads,
+                        60,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(maxQueued),
+                        threadFactory());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread =
+                    new Thread(runnable, "catalog-client-bridge-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /** @return the number of calls waiting to be run by the executor */
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public void block(@NonNull String endpoint, @NonNull Mono<Void> call) {
+        blockOptional(endpoint, call, null);
+    }
+
+    public <T> Optional<T> blockOptional(@NonNull String endpoint, @NonNull Mono<T> call) {
+        return blockOptional(endpoint, call, null);
+    }
+
+    /**
+     * @param timeout maximum time to wait for the call to complete once it's run, or {@code null}
+     *     to wait indefinitely
+     */
+    public <T> Optional<T> blockOptional(
+            @NonNull String endpoint, @NonNull Mono<T> call, @Nullable Duration timeout) {
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Optional<T> result;
+            if (Schedulers.isInNonBlockingThread()) {
+                result = bridge(endpoint, call, timeout, start);
+            } else {
+                result = block(call, timeout);
+            }
+            failed = false;
+            return result;
+        } finally {
+            listener.completed(endpoint, System.nanoTime() - start, failed);
+        }
+    }
+
+    private <T> Optional<T> bridge(
+            String endpoint, Mono<T> call, Duration timeout, final long start) {
+        queued.incrementAndGet();
+        CompletableFuture<Optional<T>> future;
+        try {
+            future =
+                    CompletableFuture.supplyAsync(
+                            () -> {
+                                queued.decrementAndGet();
+                                listener.waited(endpoint, System.nanoTime() - start);
+                                return block(call, timeout);
+                            },
+                            executor);
+        } catch (RuntimeException rejected) {
+            queued.decrementAndGet();
+            throw rejected;
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    private static <T> Optional<T> block(Mono<T> call, Duration timeout) {
+        return timeout == null ? call.blockOptional() : call.blockOptional(timeout);
+    }
+
+    /** Shuts down the executor, if it's an {@link ExecutorService} */
+    public @Override void close() {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.reactivefeign;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.NonNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BlockingBridge.Listener} reporting the bridge measurements to a {@link MeterRegistry}.
+ *
+ * <p>Registers the following meters:
+ *
+ * <ul>
+ *   <li>{@code geoserver.catalog-client.calls}: timer of the catalog-service calls, tagged with the
+ *       {@code endpoint} and {@code outcome} ({@code success} or {@code error})
+ *   <li>{@code geoserver.catalog-client.bridge.wait}: timer of the time calls from non-blocking
+ *       threads waited to be run by the bridge executor, tagged with the {@code endpoint}
+ *   <li>{@code geoserver.catalog-client.bridge.queued}: gauge of the number of calls waiting to be
+ *       run by the bridge executor
+ * </ul>
+ *
+ * @since 1.0
+ */
+public class BlockingBridgeMetrics implements BlockingBridge.Listener {
+
+    static final String CALLS = "geoserver.catalog-client.calls";
+    static final String WAIT = "geoserver.catalog-client.bridge.wait";
+    static final String QUEUED = "geoserver.catalog-client.bridge.queued";
+
+    private final MeterRegistry registry;
+
+    public BlockingBridgeMetrics(@NonNull MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public @Override void bind(BlockingBridge bridge) {
+        Gauge.builder(QUEUED, bridge, BlockingBridge::getQueued)
+                .description("Catalog-service calls waiting to be run by the blocking bridge")
+                .register(registry);
+    }
+
+    public @Override void waited(String endpoint, long nanos) {
+        Timer.builder(WAIT)
+                .description("Time catalog-service calls waited to be run by the blocking bridge")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public @Override void completed(String endpoint, long nanos, boolean failed) {
+        Timer.builder(CALLS)
+                .description("Blocking catalog-service calls")
+                .tag("endpoint", endpoint)
+                .tag("outcome", failed ? "error" : "success")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
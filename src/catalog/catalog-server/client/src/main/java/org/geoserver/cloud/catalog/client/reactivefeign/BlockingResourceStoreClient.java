@@ -6,6 +6,7 @@ package org.geoserver.cloud.catalog.client.reactivefeign;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 
 import org.geoserver.cloud.catalog.client.reactivefeign.ReactiveResourceStoreClient.ResourceDescriptor;
 
@@ -13,26 +14,39 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
-import java.nio.ByteBuffer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.Duration;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 public class BlockingResourceStoreClient {
 
+    /** Endpoint name the {@link BlockingBridge} reports the calls with */
+    private static final String ENDPOINT = "resources";
+
+    private static final Duration TIMEOUT = Duration.ofMillis(5000);
+
     private final @NonNull ReactiveResourceStoreClient client;
 
+    private @Setter @NonNull BlockingBridge blockingBridge = BlockingBridge.DEFAULT;
+
     public <T> T block(Mono<T> command) {
         return blockOptional(command).orElse(null);
     }
 
     public <T> Optional<T> blockOptional(Mono<T> command) {
-        if (Schedulers.isInNonBlockingThread()) {
-            return CompletableFuture.supplyAsync(command::blockOptional).join();
-        }
-        return command.blockOptional(Duration.ofMillis(5000));
+        return blockingBridge.blockOptional(ENDPOINT, command, TIMEOUT);
+    }
+
+    /**
+     * Like {@link #blockOptional(Mono)} but with no timeout, for content transfers that take as
+     * long as the contents size requires
+     */
+    private <T> T blockTransfer(Mono<T> command) {
+        return blockingBridge.blockOptional(ENDPOINT, command, null).orElse(null);
     }
 
     public <T> Stream<T> async(Flux<T> command) {
@@ -47,12 +61,22 @@ public class BlockingResourceStoreClient {
         return async(client.list(path));
     }
 
-    public @NonNull org.springframework.core.io.Resource getFileContent(String path) {
-        return block(client.getFileContent(path));
+    /** @return a stream that downloads the resource contents as it's read */
+    public @NonNull InputStream getFileContent(String path) {
+        return DataBufferStreams.toInputStream(client.getFileContent(path));
+    }
+
+    /** Uploads the resource contents from {@code contents}, closing it when done */
+    public @NonNull ResourceDescriptor put(String path, @NonNull InputStream contents) {
+        return blockTransfer(client.put(path, DataBufferStreams.fromInputStream(() -> contents)));
     }
 
-    public @NonNull ResourceDescriptor put(String path, ByteBuffer contents) {
-        return block(client.put(path, contents));
+    /**
+     * @return a stream that uploads the resource contents as they're written, and whose {@code
+     *     close()} waits for the upload to complete
+     */
+    public @NonNull OutputStream put(String path) throws IOException {
+        return DataBufferStreams.toOutputStream(contents -> client.put(path, contents));
     }
 
     public @NonNull ResourceDescriptor create(String path, ResourceDescriptor resource) {
@@ -0,0 +1,94 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.reactivefeign;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import lombok.NonNull;
+
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * {@link ConnectionProvider.MeterRegistrar} reporting the catalog-service clients connection pool
+ * to a {@link MeterRegistry}.
+ *
+ * <p>Registers the following gauges, tagged with the catalog-service {@code remote.address}:
+ *
+ * <ul>
+ *   <li>{@code geoserver.catalog-client.connections.active}: connections in use
+ *   <li>{@code geoserver.catalog-client.connections.idle}: connections waiting to be reused
+ *   <li>{@code geoserver.catalog-client.connections.total}: open connections
+ *   <li>{@code geoserver.catalog-client.connections.max}: maximum number of connections
+ *   <li>{@code geoserver.catalog-client.connections.pending}: requests waiting for a connection
+ * </ul>
+ *
+ * @since 1.0
+ */
+public class CatalogClientConnectionMetrics implements ConnectionProvider.MeterRegistrar {
+
+    static final String PREFIX = "geoserver.catalog-client.connections.";
+
+    private final MeterRegistry registry;
+
+    public CatalogClientConnectionMetrics(@NonNull MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public @Override void registerMetrics(
+            String poolName,
+            String id,
+            SocketAddress remoteAddress,
+            ConnectionPoolMetrics metrics) {
+        Tags tags = Tags.of("pool", poolName, "remote.address", String.valueOf(remoteAddress));
+        register(
+                "active",
+                "Connections to the catalog-service in use",
+                tags,
+                metrics,
+                ConnectionPoolMetrics::acquiredSize);
+        register(
+                "idle",
+                "Idle connections to the catalog-service",
+                tags,
+                metrics,
+                ConnectionPoolMetrics::idleSize);
+        register(
+                "total",
+                "Open connections to the catalog-service",
+                tags,
+                metrics,
+                ConnectionPoolMetrics::allocatedSize);
+        register(
+                "max",
+                "Maximum connections to the catalog-service",
+                tags,
+                metrics,
+                ConnectionPoolMetrics::maxAllocatedSize);
+        register(
+                "pending",
+                "Catalog-service requests waiting for a connection",
+                tags,
+                metrics,
+                ConnectionPoolMetrics::pendingAcquireSize);
+    }
+
+    private void register(
+            String name,
+            String description,
+            Tags tags,
+            ConnectionPoolMetrics metrics,
+            ToDoubleFunction<ConnectionPoolMetrics> value) {
+        Gauge.builder(PREFIX + name, metrics, value)
+                .description(description)
+                .tags(tags)
+                .register(registry);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.reactivefeign;
+
+import lombok.Data;
+import lombok.Generated;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the HTTP transport of the catalog-service clients, under the {@code
+ * geoserver.backend.catalog-service.transport} prefix.
+ *
+ * @since 1.0
+ */
+@Generated
+@ConfigurationProperties(prefix = "geoserver.backend.catalog-service.transport")
+public @Data class CatalogClientTransportProperties {
+
+    public enum Protocol {
+        /** HTTP/1.1, a request at a time per connection */
+        HTTP11,
+        /**
+         * HTTP/2 over plain text with prior knowledge, many concurrent requests per connection.
+         * Requires the catalog-service to have {@code server.http2.enabled=true}
+         */
+        H2C
+    }
+
+    /** HTTP protocol to talk to the catalog-service with */
+    private Protocol protocol = Protocol.HTTP11;
+
+    /** Maximum number of connections to the catalog-service, shared by all the clients */
+    private int maxConnections = 100;
+
+    /**
+     * Maximum number of requests waiting for a connection, further requests fail right away. A
+     * negative value means no limit
+     */
+    private int pendingAcquireMaxCount = 1000;
+
+    /** Maximum time a request waits for a connection before failing */
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(45);
+
+    /** Time after which idle connections are closed, unlimited if not set */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    /** Maximum time a connection is kept open, unlimited if not set */
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+
+    /** Whether to reuse the connections for subsequent requests (HTTP keep-alive) */
+    private boolean keepAlive = true;
+
+    /**
+     * Maximum time to wait for response data once a request is sent, unlimited if not set. Mind the
+     * catalog events change stream may stay idle for long periods
+     */
+    private Duration responseTimeout;
+}
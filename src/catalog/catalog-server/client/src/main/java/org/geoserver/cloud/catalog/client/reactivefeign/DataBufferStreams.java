@@ -0,0 +1,268 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.reactivefeign;
+
+import lombok.NonNull;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.lang.ref.Cleaner;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Bridges blocking {@link InputStream}/{@link OutputStream}s and {@link Flux} of {@link
+ * DataBuffer}s, holding only a few chunks in memory at any time regardless of the contents size.
+ *
+ * @since 1.0
+ */
+class DataBufferStreams {
+
+    static final int BUFFER_SIZE = 8192;
+
+    /** Max number of chunks received ahead of the {@link InputStream} reader, or sent ahead */
+    static final int PREFETCH = 8;
+
+    /** Cancels the contents of {@link #toInputStream input streams} no longer referenced */
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private DataBufferStreams() {
+        // utility class
+    }
+
+    /** @return a {@link Flux} that reads {@code in} in chunks, on a blocking-friendly thread */
+    static Flux<DataBuffer> fromInputStream(@NonNull Callable<InputStream> in) {
+        return DataBufferUtils.readInputStream(
+                        in, DefaultDataBufferFactory.sharedInstance, BUFFER_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * @return an {@link InputStream} that consumes {@code contents} as it's read, releasing each
+     *     chunk once read; errors in {@code contents} are thrown as {@link IOException}s. Closing
+     *     the stream before the end cancels {@code contents}. Since {@code contents} may hold a
+     *     pooled HTTP connection, it's also released as soon as the end is reached, or once the
+     *     stream is garbage collected if the caller neither reads it through nor closes it.
+     */
+    static InputStream toInputStream(@NonNull Flux<DataBuffer> contents) {
+        Stream<DataBuffer> chunks =
+                contents.doOnDiscard(DataBuffer.class, DataBufferUtils::release).toStream(PREFETCH);
+        Chunks state = new Chunks(chunks);
+        DataBufferInputStream in = new DataBufferInputStream(state);
+        state.cleanable = CLEANER.register(in, state);
+        return in;
+    }
+
+    /**
+     * @param consumer consumes the {@link Flux} of the contents written to the returned {@link
+     *     OutputStream}, e.g. by sending them as a request body
+     * @return an {@link OutputStream} whose contents are handed over to {@code consumer} as they're
+     *     written, on the writing thread, which blocks while {@code consumer} is {@link #PREFETCH}
+     *     chunks behind; {@link OutputStream#close() close()} waits for {@code consumer} to
+     *     complete, throwing an {@link IOException} if it failed
+     */
+    static OutputStream toOutputStream(@NonNull Function<Flux<DataBuffer>, Mono<?>> consumer) {
+        UploadOutputStream out = new UploadOutputStream();
+        Flux<DataBuffer> contents =
+                Flux.<DataBuffer>create(out::setSink, FluxSink.OverflowStrategy.ERROR)
+                        .limitRate(PREFETCH);
+        out.result = consumer.apply(contents).doFinally(signal -> out.abort()).toFuture();
+        return out;
+    }
+
+    /**
+     * {@link OutputStream} that sends its contents in {@link #BUFFER_SIZE} chunks to a {@link
+     * FluxSink}, only as they're requested
+     */
+    private static class UploadOutputStream extends OutputStream {
+
+        private final Semaphore requested = new Semaphore(0);
+        private volatile FluxSink<DataBuffer> sink;
+        private volatile boolean aborted;
+        private CompletableFuture<?> result;
+
+        private byte[] chunk = new byte[BUFFER_SIZE];
+        private int count;
+        private boolean closed;
+
+        void setSink(FluxSink<DataBuffer> sink) {
+            sink.onRequest(n -> requested.release((int) Math.min(n, PREFETCH)));
+            sink.onDispose(this::abort);
+            this.sink = sink;
+        }
+
+        /** Called once the consumer terminated or cancelled, so the writer doesn't wait forever */
+        void abort() {
+            aborted = true;
+            requested.release();
+        }
+
+        public @Override void write(int b) throws IOException {
+            ensureOpen();
+            if (count == chunk.length) flushChunk();
+            chunk[count++] = (byte) b;
+        }
+
+        public @Override void write(byte[] b, int off, int len) throws IOException {
+            ensureOpen();
+            while (len > 0) {
+                if (count == chunk.length) flushChunk();
+                int n = Math.min(len, chunk.length - count);
+                System.arraycopy(b, off, chunk, count, n);
+                count += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) throw new IOException("Stream closed");
+        }
+
+        private void flushChunk() throws IOException {
+            try {
+                if (!aborted) requested.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for the upload to proceed");
+            }
+            if (aborted) {
+                throw new IOException("Upload ended before all the contents were written", error());
+            }
+            sink.next(DefaultDataBufferFactory.sharedInstance.wrap(chunk, 0, count));
+            chunk = new byte[BUFFER_SIZE];
+            count = 0;
+        }
+
+        private Throwable error() {
+            try {
+                result.getNow(null);
+                return null;
+            } catch (CompletionException e) {
+                return e.getCause();
+            }
+        }
+
+        public @Override void close() throws IOException {
+            if (closed) return;
+            try {
+                if (count > 0) flushChunk();
+                if (sink != null) sink.complete();
+            } finally {
+                closed = true;
+            }
+            try {
+                result.join();
+            } catch (CompletionException e) {
+                throw new IOException(e.getCause());
+            }
+        }
+    }
+
+    /** Chunks of a {@link DataBufferInputStream}, and the cleanup action releasing them */
+    private static class Chunks implements Runnable {
+
+        private final Stream<DataBuffer> stream;
+        private final Iterator<DataBuffer> iterator;
+        private DataBuffer current;
+        private boolean closed;
+        private Cleaner.Cleanable cleanable;
+
+        Chunks(Stream<DataBuffer> stream) {
+            this.stream = stream;
+            this.iterator = stream.iterator();
+        }
+
+        private void releaseCurrent() {
+            if (current != null) {
+                DataBufferUtils.release(current);
+                current = null;
+            }
+        }
+
+        public @Override synchronized void run() {
+            if (!closed) {
+                closed = true;
+                releaseCurrent();
+                stream.close();
+            }
+        }
+    }
+
+    private static class DataBufferInputStream extends InputStream {
+
+        private final Chunks chunks;
+        private boolean eof;
+
+        DataBufferInputStream(Chunks chunks) {
+            this.chunks = chunks;
+        }
+
+        public @Override int read() throws IOException {
+            DataBuffer buffer = nextReadable();
+            return buffer == null ? -1 : buffer.read() & 0xFF;
+        }
+
+        public @Override int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return 0;
+            DataBuffer buffer = nextReadable();
+            if (buffer == null) return -1;
+            int count = Math.min(len, buffer.readableByteCount());
+            buffer.read(b, off, count);
+            return count;
+        }
+
+        public @Override int available() {
+            DataBuffer current = chunks.current;
+            return current == null ? 0 : current.readableByteCount();
+        }
+
+        /**
+         * @return the current chunk if it has readable bytes, or the next one, null at the end, in
+         *     which case the contents are released right away
+         */
+        private DataBuffer nextReadable() throws IOException {
+            if (eof) return null;
+            if (chunks.closed) throw new IOException("Stream closed");
+            while (chunks.current == null || chunks.current.readableByteCount() == 0) {
+                chunks.releaseCurrent();
+                try {
+                    if (!chunks.iterator.hasNext()) {
+                        eof = true;
+                        close();
+                        return null;
+                    }
+                    chunks.current = chunks.iterator.next();
+                } catch (RuntimeException e) {
+                    close();
+                    throw e.getCause() instanceof IOException
+                            ? (IOException) e.getCause()
+                            : new IOException(e);
+                }
+            }
+            return chunks.current;
+        }
+
+        public @Override void close() {
+            chunks.cleanable.clean();
+        }
+    }
+}
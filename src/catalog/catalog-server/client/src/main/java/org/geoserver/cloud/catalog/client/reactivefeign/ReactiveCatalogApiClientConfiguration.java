@@ -4,10 +4,19 @@
  */
 package org.geoserver.cloud.catalog.client.reactivefeign;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import reactivefeign.spring.config.EnableReactiveFeignClients;
 
+import reactor.netty.resources.ConnectionProvider;
+
 @Configuration
 @EnableReactiveFeignClients( //
         defaultConfiguration = ReactiveFeignConfigurationOverrides.class, //
@@ -16,4 +25,46 @@ import reactivefeign.spring.config.EnableReactiveFeignClients;
             ReactiveConfigClient.class, //
             ReactiveResourceStoreClient.class
         })
-public class ReactiveCatalogApiClientConfiguration {}
+@EnableConfigurationProperties(CatalogClientTransportProperties.class)
+public class ReactiveCatalogApiClientConfiguration {
+
+    /**
+     * Connection pool shared by all the catalog-service clients, see {@link
+     * ReactiveFeignConfigurationOverrides#transportWebClientCustomizer}
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider catalogClientConnectionProvider(
+            CatalogClientTransportProperties transport,
+            ObjectProvider<ConnectionProvider.MeterRegistrar> metrics) {
+        ConnectionProvider.Builder builder =
+                ConnectionProvider.builder("catalog-client")
+                        .maxConnections(transport.getMaxConnections())
+                        .pendingAcquireMaxCount(transport.getPendingAcquireMaxCount())
+                        .pendingAcquireTimeout(transport.getPendingAcquireTimeout());
+        if (transport.getMaxIdleTime() != null) {
+            builder.maxIdleTime(transport.getMaxIdleTime());
+        }
+        if (transport.getMaxLifeTime() != null) {
+            builder.maxLifeTime(transport.getMaxLifeTime());
+        }
+        metrics.ifAvailable(registrar -> builder.metrics(true, () -> registrar));
+        return builder.build();
+    }
+
+    /** Reports the catalog-service clients connection pool if metrics are enabled */
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class CatalogClientConnectionMetricsConfiguration {
+
+        @Bean
+        ConnectionProvider.MeterRegistrar catalogClientConnectionMetrics(
+                ObjectProvider<MeterRegistry> meterRegistry,
+                @Value("${geoserver.metrics.enabled:true}") boolean metricsEnabled) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (metricsEnabled && registry != null) {
+                return new CatalogClientConnectionMetrics(registry);
+            }
+            return null;
+        }
+    }
+}
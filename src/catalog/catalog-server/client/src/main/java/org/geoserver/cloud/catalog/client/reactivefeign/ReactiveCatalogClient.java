@@ -16,6 +16,7 @@ import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.impl.ClassMappings;
 import org.geoserver.catalog.plugin.Patch;
 import org.geoserver.catalog.plugin.Query;
+import org.geoserver.cloud.event.ChangeStreamEntry;
 import org.opengis.filter.capability.FunctionName;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -31,6 +32,8 @@ import reactivefeign.spring.config.ReactiveFeignClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @ReactiveFeignClient( //
         name = "catalog-service", //
         url = "${geoserver.backend.catalog-service.uri:}", //
@@ -62,6 +65,12 @@ public interface ReactiveCatalogClient {
             @PathVariable("id") String id,
             @RequestParam(name = "type", required = false) ClassMappings subType);
 
+    @PostMapping(path = "/{endpoint}/ids")
+    <C extends CatalogInfo> Flux<C> findAllById( //
+            @PathVariable("endpoint") String endpoint,
+            @RequestBody List<String> ids,
+            @RequestParam(name = "type", required = false) ClassMappings subType);
+
     @GetMapping(path = "/{endpoint}/name/{name}/first")
     <C extends CatalogInfo> Mono<C> findFirstByName( //
             @PathVariable("endpoint") String endpoint,
@@ -81,6 +90,16 @@ public interface ReactiveCatalogClient {
     <C extends CatalogInfo> Mono<Long> count(
             @PathVariable("endpoint") String endpoint, @RequestBody Query<C> query);
 
+    /**
+     * Change stream of catalog and configuration events, resumed after the {@code offset} of the
+     * {@code epoch} of the last entry received, or preceded by the current update sequence if both
+     * are {@code null}
+     */
+    @GetMapping(path = "/events")
+    Flux<ChangeStreamEntry> events(
+            @RequestParam(name = "epoch", required = false) String epoch,
+            @RequestParam(name = "offset", required = false) Long offset);
+
     @GetMapping(path = "/query/capabilities/functions")
     public Flux<FunctionName> getSupportedFilterFunctionNames();
 
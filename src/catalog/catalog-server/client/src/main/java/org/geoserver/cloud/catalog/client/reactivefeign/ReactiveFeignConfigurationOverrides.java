@@ -4,25 +4,134 @@
  */
 package org.geoserver.cloud.catalog.client.reactivefeign;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
 import feign.Contract;
 import feign.MethodMetadata;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
+import org.geoserver.cloud.catalog.client.impl.CatalogClientConfiguration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.openfeign.support.SpringMvcContract;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactivefeign.webclient.WebClientFeignCustomizer;
+
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.util.List;
 
 @Configuration
 public class ReactiveFeignConfigurationOverrides {
 
+    /**
+     * {@code Accept} header preferring binary Smile, for the endpoints that support it, over JSON,
+     * and anything else for the ones that produce neither (e.g. resource contents)
+     */
+    static final String SMILE_FIRST_ACCEPT =
+            "application/stream+x-jackson-smile, application/x-jackson-smile, "
+                    + "application/stream+json, application/json, */*;q=0.1";
+
     public @Bean Contract reactiveFeignClientContract() {
         return new FallbackContract(new SpringMvcContract(), new Contract.Default());
     }
 
+    /**
+     * Adds the {@link RevalidatingExchangeFilter} to the clients' {@link WebClient} if enabled, see
+     * {@link CatalogClientConfiguration#catalogClientRevalidatingFilter}
+     */
+    public @Bean WebClientFeignCustomizer revalidatingWebClientCustomizer(
+            ObjectProvider<RevalidatingExchangeFilter> revalidatingFilter) {
+        return builder -> revalidatingFilter.ifAvailable(builder::filter);
+    }
+
+    /**
+     * Negotiates the catalog-service response encoding: asks for binary Smile rather than JSON
+     * unless {@code geoserver.backend.catalog-service.smile.enabled=false}. The catalog-service
+     * falls back to JSON if it can't honor it
+     */
+    public @Bean WebClientFeignCustomizer contentNegotiationWebClientCustomizer(
+            ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder,
+            @Value("${geoserver.backend.catalog-service.smile.enabled:true}") boolean smile) {
+        final ObjectMapper smileMapper =
+                smile ? objectMapperBuilder.getObject().factory(new SmileFactory()).build() : null;
+        return builder -> {
+            if (smile) {
+                // with the GeoServer Jackson modules, WebClient's default Smile decoder has none
+                builder.codecs(
+                        codecs ->
+                                codecs.defaultCodecs()
+                                        .jackson2SmileDecoder(
+                                                new Jackson2SmileDecoder(smileMapper)));
+                builder.defaultHeader(HttpHeaders.ACCEPT, SMILE_FIRST_ACCEPT);
+            }
+        };
+    }
+
+    /**
+     * Sets up the clients' HTTP transport as configured by {@link
+     * CatalogClientTransportProperties}, on the connection pool shared by all the clients, see
+     * {@link ReactiveCatalogApiClientConfiguration#catalogClientConnectionProvider}. Also asks for
+     * gzip or deflate compressed responses unless {@code
+     * geoserver.backend.catalog-service.compression.enabled=false}, the catalog-service responds
+     * uncompressed if it can't honor it
+     */
+    public @Bean WebClientFeignCustomizer transportWebClientCustomizer(
+            ObjectProvider<CatalogClientTransportProperties> transportProperties,
+            ObjectProvider<ConnectionProvider> connectionProvider,
+            ObjectProvider<ConnectionProvider.MeterRegistrar> connectionMetrics,
+            @Value("${geoserver.backend.catalog-service.compression.enabled:true}")
+                    boolean compression) {
+        final CatalogClientTransportProperties transport =
+                transportProperties.getIfAvailable(CatalogClientTransportProperties::new);
+        final ConnectionProvider connections = connectionProvider.getIfAvailable();
+        final boolean metrics = connectionMetrics.getIfAvailable() != null;
+        return builder -> {
+            HttpClient httpClient =
+                    connections == null ? HttpClient.create() : HttpClient.create(connections);
+            httpClient = httpClient.keepAlive(transport.isKeepAlive()).compress(compression);
+            if (transport.getProtocol() == CatalogClientTransportProperties.Protocol.H2C) {
+                httpClient = httpClient.protocol(HttpProtocol.H2C);
+            }
+            if (transport.getResponseTimeout() != null) {
+                httpClient = httpClient.responseTimeout(transport.getResponseTimeout());
+            }
+            if (metrics) {
+                // connect, request, and response timings and data sizes, per endpoint
+                httpClient = httpClient.metrics(true, ReactiveFeignConfigurationOverrides::uriTag);
+            }
+            builder.clientConnector(new ReactorClientHttpConnector(httpClient));
+        };
+    }
+
+    /**
+     * @return the request path up to the endpoint name (e.g. {@code /api/v1/catalog/layers}), so
+     *     that object ids and names don't make it to the metrics tags
+     */
+    static String uriTag(String uri) {
+        String path = uri;
+        int query = path.indexOf('?');
+        if (query > -1) path = path.substring(0, query);
+        int end = -1;
+        for (int segment = 0; segment < 5; segment++) {
+            end = path.indexOf('/', end + 1);
+            if (end == -1) return path;
+        }
+        return path.substring(0, end);
+    }
+
     @RequiredArgsConstructor
     private static class FallbackContract implements Contract {
 
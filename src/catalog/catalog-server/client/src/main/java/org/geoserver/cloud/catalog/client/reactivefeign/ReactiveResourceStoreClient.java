@@ -15,14 +15,13 @@ import org.geoserver.platform.resource.Paths;
 import org.geoserver.platform.resource.Resource;
 import org.geoserver.platform.resource.Resource.Type;
 import org.geoserver.platform.resource.ResourceStore;
+import org.springframework.core.io.buffer.DataBuffer;
 
 import reactivefeign.spring.config.ReactiveFeignClient;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.nio.ByteBuffer;
-
 /** Catalog-service client to support {@link ResourceStore} */
 @ReactiveFeignClient( //
         name = "catalog-service", //
@@ -63,11 +62,11 @@ public interface ReactiveResourceStoreClient {
 
     @RequestLine(value = "GET /{path}", decodeSlash = false)
     @Headers("Accept: application/octet-stream")
-    Mono<org.springframework.core.io.Resource> getFileContent(@Param("path") String path);
+    Flux<DataBuffer> getFileContent(@Param("path") String path);
 
     @RequestLine(value = "PUT /{path}", decodeSlash = false)
     @Headers({"Content-Type: application/octet-stream", "Accept: application/json"})
-    Mono<ResourceDescriptor> put(@Param("path") String path, ByteBuffer contents);
+    Mono<ResourceDescriptor> put(@Param("path") String path, Flux<DataBuffer> contents);
 
     @RequestLine(value = "POST /{path}", decodeSlash = false)
     @Headers({"Content-Type: application/json", "Accept: application/json"})
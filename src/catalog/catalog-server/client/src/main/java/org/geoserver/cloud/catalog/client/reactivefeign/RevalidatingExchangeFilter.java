@@ -0,0 +1,245 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.reactivefeign;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ExchangeFilterFunction} for the catalog-service clients that keeps a copy of the responses
+ * that carry an {@code ETag}, and revalidates them with an {@code If-None-Match} request header the
+ * next time the same request is made. If the catalog-service responds with {@code 304 Not
+ * Modified}, the kept copy is replayed as the response, so nothing is downloaded nor processed
+ * server-side.
+ *
+ * <p>{@code GET} requests are keyed by their URL. Other requests are only revalidated if the caller
+ * provides a key for their body through the subscriber context (see {@link #cacheKey(byte[])}), as
+ * it's the case for the catalog queries. Since the {@code ETag}s reflect the catalog state rather
+ * than the response contents, the key must tell apart any two different request bodies.
+ *
+ * <p>Copies are kept as the raw response bytes, so each call decodes its own objects. Up to {@code
+ * maxEntries} responses of at most {@code maxEntrySize} bytes are kept, evicting the least recently
+ * used ones.
+ *
+ * @since 1.0
+ */
+@Slf4j(topic = "org.geoserver.cloud.catalog.client.reactivefeign.revalidation")
+public class RevalidatingExchangeFilter implements ExchangeFilterFunction {
+
+    private static final String CACHE_KEY = RevalidatingExchangeFilter.class.getName() + ".key";
+
+    private final int maxEntrySize;
+    private final Map<String, ValidatedCopy> copies;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public RevalidatingExchangeFilter(int maxEntries, int maxEntrySize) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be > 0: " + maxEntries);
+        }
+        this.maxEntrySize = maxEntrySize;
+        this.copies =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    private static final long serialVersionUID = 1L;
+
+                    protected @Override boolean removeEldestEntry(
+                            Map.Entry<String, ValidatedCopy> eldest) {
+                        return size() > maxEntries;
+                    }
+                };
+    }
+
+    /**
+     * @return a subscriber context making non {@code GET} requests revalidatable, {@code key}
+     *     identifying the request body
+     */
+    public static Context cacheKey(@NonNull String key) {
+        return Context.of(CACHE_KEY, key);
+    }
+
+    /**
+     * @return a subscriber context making non {@code GET} requests revalidatable, keyed by a hash
+     *     of their encoded {@code body}
+     */
+    public static Context cacheKey(@NonNull byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return cacheKey(Base64.getEncoder().encodeToString(digest));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** @return number of responses replayed from a validated copy */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /** @return number of revalidatable responses downloaded */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        synchronized (copies) {
+            return copies.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (copies) {
+            copies.clear();
+        }
+    }
+
+    public @Override Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(
+                context -> {
+                    final String key = key(request, context);
+                    if (key == null) {
+                        return next.exchange(request);
+                    }
+                    final ValidatedCopy copy = get(key);
+                    ClientRequest conditional = request;
+                    if (copy != null) {
+                        conditional =
+                                ClientRequest.from(request)
+                                        .headers(h -> h.setIfNoneMatch(copy.etag))
+                                        .build();
+                    }
+                    return next.exchange(conditional).map(response -> handle(key, copy, response));
+                });
+    }
+
+    private String key(ClientRequest request, ContextView context) {
+        final HttpMethod method = request.method();
+        if (HttpMethod.GET == method) {
+            return method + " " + request.url();
+        }
+        return context.<String>getOrEmpty(CACHE_KEY)
+                .map(bodyKey -> method + " " + request.url() + " " + bodyKey)
+                .orElse(null);
+    }
+
+    private ClientResponse handle(String key, ValidatedCopy copy, ClientResponse response) {
+        if (copy != null && response.statusCode() == HttpStatus.NOT_MODIFIED) {
+            hits.incrementAndGet();
+            log.trace("Not modified, replaying copy of {}", key);
+            return response.mutate()
+                    .statusCode(HttpStatus.OK)
+                    .headers(h -> h.putAll(copy.headers))
+                    .body(Flux.defer(() -> Flux.just(copy.toDataBuffer())))
+                    .build();
+        }
+        final String etag = response.headers().asHttpHeaders().getETag();
+        if (response.statusCode() != HttpStatus.OK || etag == null) {
+            remove(key);
+            return response;
+        }
+        misses.incrementAndGet();
+        final HttpHeaders headers = new HttpHeaders();
+        headers.addAll(response.headers().asHttpHeaders());
+        final Capture capture = new Capture(maxEntrySize);
+        return response.mutate()
+                .body(
+                        body ->
+                                body.doOnNext(capture::append)
+                                        .doOnComplete(() -> keep(key, etag, headers, capture)))
+                .build();
+    }
+
+    private void keep(String key, String etag, HttpHeaders headers, Capture capture) {
+        if (capture.overflown) {
+            remove(key);
+        } else {
+            put(key, new ValidatedCopy(etag, headers, capture.contents.toByteArray()));
+        }
+    }
+
+    private ValidatedCopy get(String key) {
+        synchronized (copies) {
+            return copies.get(key);
+        }
+    }
+
+    private void put(String key, ValidatedCopy copy) {
+        synchronized (copies) {
+            copies.put(key, copy);
+        }
+    }
+
+    private void remove(String key) {
+        synchronized (copies) {
+            copies.remove(key);
+        }
+    }
+
+    /** Copies the response contents as they're consumed, up to a maximum size */
+    private static class Capture {
+        final int maxSize;
+        final ByteArrayOutputStream contents = new ByteArrayOutputStream();
+        boolean overflown;
+
+        Capture(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        void append(DataBuffer buffer) {
+            if (overflown) return;
+            if (contents.size() + buffer.readableByteCount() > maxSize) {
+                // too big to be kept, stop copying
+                overflown = true;
+                contents.reset();
+                return;
+            }
+            // asByteBuffer() doesn't change the buffer's read position
+            ByteBuffer bytes = buffer.asByteBuffer();
+            byte[] array = new byte[bytes.remaining()];
+            bytes.get(array);
+            contents.write(array, 0, array.length);
+        }
+    }
+
+    private static class ValidatedCopy {
+        final String etag;
+        final HttpHeaders headers;
+        final byte[] contents;
+
+        ValidatedCopy(String etag, HttpHeaders headers, byte[] contents) {
+            this.etag = etag;
+            this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+            this.contents = contents;
+        }
+
+        DataBuffer toDataBuffer() {
+            return DefaultDataBufferFactory.sharedInstance.wrap(contents);
+        }
+    }
+}
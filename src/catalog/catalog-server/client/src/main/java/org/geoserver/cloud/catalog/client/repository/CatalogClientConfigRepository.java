@@ -5,11 +5,13 @@
 package org.geoserver.cloud.catalog.client.repository;
 
 import lombok.Getter;
+import lombok.NonNull;
 import lombok.Setter;
 
 import org.geoserver.catalog.Info;
 import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.plugin.Patch;
+import org.geoserver.cloud.catalog.client.reactivefeign.BlockingBridge;
 import org.geoserver.cloud.catalog.client.reactivefeign.ReactiveConfigClient;
 import org.geoserver.config.GeoServerInfo;
 import org.geoserver.config.LoggingInfo;
@@ -18,18 +20,26 @@ import org.geoserver.config.SettingsInfo;
 import org.geoserver.config.plugin.ConfigRepository;
 
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.lang.reflect.Proxy;
+import java.util.Arrays;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /** */
 public class CatalogClientConfigRepository implements ConfigRepository {
 
+    /** Endpoint name the {@link BlockingBridge} reports the calls with */
+    private static final String ENDPOINT = "config";
+
     private @Getter @Setter ReactiveConfigClient client;
 
+    private @Getter @Setter @NonNull BlockingBridge blockingBridge = BlockingBridge.DEFAULT;
+
+    /** Shares the result of in-flight lookups with concurrent identical ones */
+    private final @Getter SingleFlight inFlight = new SingleFlight();
+
     public CatalogClientConfigRepository() {}
 
     public CatalogClientConfigRepository(ReactiveConfigClient configClient) {
@@ -37,21 +47,23 @@ public class CatalogClientConfigRepository implements ConfigRepository {
     }
 
     protected void block(Mono<Void> call) {
-        if (Schedulers.isInNonBlockingThread()) {
-            CompletableFuture.supplyAsync(call::block).join();
-        }
-        call.block();
+        blockingBridge.block(ENDPOINT, call);
     }
 
     protected <U> Optional<U> blockAndReturn(Mono<U> call) {
-        if (Schedulers.isInNonBlockingThread()) {
-            return CompletableFuture.supplyAsync(call::blockOptional).join();
-        }
-        return call.blockOptional();
+        return blockingBridge.blockOptional(ENDPOINT, call);
+    }
+
+    /**
+     * Like {@link #blockAndReturn(Mono)}, but concurrent calls with the same {@code key} share the
+     * result of the one in flight
+     */
+    protected <U> Optional<U> lookup(Supplier<Mono<U>> call, Object... key) {
+        return inFlight.call(Arrays.asList(key), () -> blockAndReturn(call.get()));
     }
 
     public @Override Optional<GeoServerInfo> getGlobal() {
-        return blockAndReturn(client.getGlobal());
+        return lookup(client::getGlobal, "getGlobal");
     }
 
     public @Override void setGlobal(GeoServerInfo global) {
@@ -60,11 +72,15 @@ public class CatalogClientConfigRepository implements ConfigRepository {
     }
 
     public @Override Optional<SettingsInfo> getSettingsById(String id) {
-        return blockAndReturn(client.getSettingsById(id));
+        return lookup(() -> client.getSettingsById(id), "getSettingsById", id);
     }
 
     public @Override Optional<SettingsInfo> getSettingsByWorkspace(WorkspaceInfo workspace) {
-        return blockAndReturn(client.getSettingsByWorkspace(workspace.getId()));
+        final String workspaceId = workspace.getId();
+        return lookup(
+                () -> client.getSettingsByWorkspace(workspaceId),
+                "getSettingsByWorkspace",
+                workspaceId);
     }
 
     public @Override void add(SettingsInfo settings) {
@@ -82,7 +98,7 @@ public class CatalogClientConfigRepository implements ConfigRepository {
     }
 
     public @Override Optional<LoggingInfo> getLogging() {
-        return blockAndReturn(client.getLogging());
+        return lookup(client::getLogging, "getLogging");
     }
 
     public @Override void setLogging(LoggingInfo logging) {
@@ -121,32 +137,55 @@ public class CatalogClientConfigRepository implements ConfigRepository {
 
     public @Override <T extends ServiceInfo> Optional<T> getGlobalService(Class<T> clazz) {
         String typeName = interfaceName(clazz);
-        return blockAndReturn(client.getGlobalServiceByType(typeName).map(clazz::cast));
+        return lookup(
+                () -> client.getGlobalServiceByType(typeName).map(clazz::cast),
+                "getGlobalService",
+                typeName);
     }
 
     public @Override <T extends ServiceInfo> Optional<T> getServiceByWorkspace(
             WorkspaceInfo workspace, Class<T> clazz) {
         String typeName = interfaceName(clazz);
-        return blockAndReturn(
-                client.getServiceByWorkspaceAndType(workspace.getId(), typeName).map(clazz::cast));
+        final String workspaceId = workspace.getId();
+        return lookup(
+                () -> client.getServiceByWorkspaceAndType(workspaceId, typeName).map(clazz::cast),
+                "getServiceByWorkspace",
+                workspaceId,
+                typeName);
     }
 
     public @Override <T extends ServiceInfo> Optional<T> getServiceById(String id, Class<T> clazz) {
-        return blockAndReturn(client.getServiceById(id).filter(clazz::isInstance).map(clazz::cast));
+        return lookup(
+                () -> client.getServiceById(id).filter(clazz::isInstance).map(clazz::cast),
+                "getServiceById",
+                id,
+                clazz);
     }
 
     public @Override <T extends ServiceInfo> Optional<T> getServiceByName(
             String name, Class<T> clazz) {
-        return blockAndReturn(
-                client.getGlobalServiceByName(name).filter(clazz::isInstance).map(clazz::cast));
+        return lookup(
+                () ->
+                        client.getGlobalServiceByName(name)
+                                .filter(clazz::isInstance)
+                                .map(clazz::cast),
+                "getServiceByName",
+                name,
+                clazz);
     }
 
     public @Override <T extends ServiceInfo> Optional<T> getServiceByNameAndWorkspace(
             String name, WorkspaceInfo workspace, Class<T> clazz) {
-        return blockAndReturn(
-                client.getServiceByWorkspaceAndName(workspace.getId(), name)
-                        .filter(clazz::isInstance)
-                        .map(clazz::cast));
+        final String workspaceId = workspace.getId();
+        return lookup(
+                () ->
+                        client.getServiceByWorkspaceAndName(workspaceId, name)
+                                .filter(clazz::isInstance)
+                                .map(clazz::cast),
+                "getServiceByNameAndWorkspace",
+                workspaceId,
+                name,
+                clazz);
     }
 
     /** no-op */
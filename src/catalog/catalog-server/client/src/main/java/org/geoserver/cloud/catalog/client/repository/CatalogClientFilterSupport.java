@@ -5,9 +5,9 @@
 package org.geoserver.cloud.catalog.client.repository;
 
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.Value;
 import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
 
 import org.geotools.filter.Capabilities;
 import org.geotools.filter.visitor.CapabilitiesFilterSplitter;
@@ -48,11 +48,29 @@ import org.opengis.filter.temporal.OverlappedBy;
 import org.opengis.filter.temporal.TContains;
 import org.opengis.filter.temporal.TEquals;
 import org.opengis.filter.temporal.TOverlaps;
+import org.springframework.lang.Nullable;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
-/** */
-@RequiredArgsConstructor
+/**
+ * Splits query filters into the parts the catalog-service can evaluate and the ones that have to be
+ * evaluated client-side, and post-filters the objects returned by the catalog-service with the
+ * latter.
+ *
+ * <p>The filter functions supported by the catalog-service are fetched once, upon first use, and
+ * shared by all the repositories using this instance. If they can't be fetched, only the standard
+ * {@link #CAPABILITIES} are used, and fetching them is retried after {@link
+ * #RETRY_INTERVAL_MILLIS}.
+ *
+ * <p>Reports to its {@link Listener} how many objects were post-filtered, by endpoint, as an
+ * indication of how much data is shipped over the wire just to be thrown away.
+ *
+ * @since 1.0
+ */
+@Slf4j(topic = "org.geoserver.cloud.catalog.client")
 @Accessors(fluent = true, chain = true)
 public class CatalogClientFilterSupport {
 
@@ -103,10 +121,34 @@ public class CatalogClientFilterSupport {
         CAPABILITIES = builder.getContents();
     }
 
-    private Capabilities capabilities;
+    static final long RETRY_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /** Receives the post-filtering measurements */
+    public interface Listener {
+        /** Called for each object post-filtered client-side */
+        default void postFiltered(String endpoint, boolean matched) {}
+    }
+
+    private static final Listener NO_LISTENER = new Listener() {};
+
+    private final Supplier<List<FunctionName>> serverFunctions;
+    private final Listener listener;
+
+    private volatile Capabilities capabilities;
+    private volatile long retryAt;
 
     public CatalogClientFilterSupport(@NonNull List<FunctionName> supportedServerFunctions) {
-        capabilities = createCapabilities(supportedServerFunctions);
+        this(() -> supportedServerFunctions, null);
+    }
+
+    /**
+     * @param serverFunctions supplies the filter functions supported by the catalog-service
+     * @param listener the listener to report to, may be {@code null}
+     */
+    public CatalogClientFilterSupport(
+            @NonNull Supplier<List<FunctionName>> serverFunctions, @Nullable Listener listener) {
+        this.serverFunctions = serverFunctions;
+        this.listener = listener == null ? NO_LISTENER : listener;
     }
 
     public static @Value class PrePostFilterTuple {
@@ -116,11 +158,61 @@ public class CatalogClientFilterSupport {
 
     public PrePostFilterTuple split(@NonNull Filter filter) {
         CapabilitiesFilterSplitter splitter =
-                new CapabilitiesFilterSplitter(capabilities, null, null);
+                new CapabilitiesFilterSplitter(capabilities(), null, null);
         filter.accept(splitter, null);
         return new PrePostFilterTuple(splitter.getFilterPre(), splitter.getFilterPost());
     }
 
+    /**
+     * @return {@code stream} filtered by {@code postFilter}, reporting each object evaluated to the
+     *     {@link Listener}
+     */
+    public <T> Stream<T> postFilter(
+            @NonNull String endpoint, @NonNull Stream<T> stream, @NonNull Filter postFilter) {
+        if (Filter.INCLUDE.equals(postFilter)) {
+            return stream;
+        }
+        log.debug("Post-filtering {} with {}", endpoint, postFilter);
+        return stream.filter(
+                info -> {
+                    boolean matched = postFilter.evaluate(info);
+                    listener.postFiltered(endpoint, matched);
+                    return matched;
+                });
+    }
+
+    private Capabilities capabilities() {
+        Capabilities caps = this.capabilities;
+        if (caps == null) {
+            synchronized (this) {
+                caps = this.capabilities;
+                if (caps == null) {
+                    caps = fetchCapabilities();
+                }
+            }
+        }
+        return caps;
+    }
+
+    private Capabilities fetchCapabilities() {
+        final long now = System.currentTimeMillis();
+        if (now >= retryAt) {
+            try {
+                List<FunctionName> functions = serverFunctions.get();
+                log.debug("Catalog service supports {} filter functions", functions.size());
+                this.capabilities = createCapabilities(functions);
+                return this.capabilities;
+            } catch (RuntimeException e) {
+                log.warn(
+                        "Error getting server-side supported filter function names. Won't use functions for {} seconds.",
+                        TimeUnit.MILLISECONDS.toSeconds(RETRY_INTERVAL_MILLIS),
+                        e);
+                retryAt = now + RETRY_INTERVAL_MILLIS;
+            }
+        }
+        return new Capabilities(CAPABILITIES);
+    }
+
     private static Capabilities createCapabilities(List<FunctionName> supportedFunctionNames) {
         Capabilities builder = new Capabilities(CAPABILITIES);
         for (FunctionName fn : supportedFunctionNames) {
@@ -0,0 +1,53 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.NonNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link CatalogClientFilterSupport.Listener} reporting the post-filtering measurements to a {@link
+ * MeterRegistry}.
+ *
+ * <p>Registers the {@code geoserver.catalog-client.post-filtered} counter of the objects returned
+ * by the catalog-service that had to be filtered client-side, tagged with the {@code endpoint} and
+ * {@code outcome} ({@code matched} or {@code discarded})
+ *
+ * @since 1.0
+ */
+public class CatalogClientFilterSupportMetrics implements CatalogClientFilterSupport.Listener {
+
+    static final String POST_FILTERED = "geoserver.catalog-client.post-filtered";
+
+    private final MeterRegistry registry;
+
+    /** Counters by endpoint, matched and discarded, registered upon first use */
+    private final ConcurrentMap<String, Counter[]> counters = new ConcurrentHashMap<>();
+
+    public CatalogClientFilterSupportMetrics(@NonNull MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public @Override void postFiltered(String endpoint, boolean matched) {
+        Counter[] endpointCounters =
+                counters.computeIfAbsent(
+                        endpoint,
+                        e -> new Counter[] {counter(e, "matched"), counter(e, "discarded")});
+        endpointCounters[matched ? 0 : 1].increment();
+    }
+
+    private Counter counter(String endpoint, String outcome) {
+        return Counter.builder(POST_FILTERED)
+                .description("Catalog-service objects filtered client-side")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
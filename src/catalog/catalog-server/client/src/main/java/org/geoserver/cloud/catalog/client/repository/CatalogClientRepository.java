@@ -6,6 +6,9 @@ package org.geoserver.cloud.catalog.client.repository;
 
 import static org.geotools.filter.visitor.SimplifyingFilterVisitor.simplify;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -17,8 +20,11 @@ import org.geoserver.catalog.impl.ResolvingProxy;
 import org.geoserver.catalog.plugin.CatalogInfoRepository;
 import org.geoserver.catalog.plugin.Patch;
 import org.geoserver.catalog.plugin.Query;
+import org.geoserver.cloud.catalog.client.reactivefeign.BlockingBridge;
 import org.geoserver.cloud.catalog.client.reactivefeign.ReactiveCatalogClient;
+import org.geoserver.cloud.catalog.client.reactivefeign.RevalidatingExchangeFilter;
 import org.geoserver.cloud.catalog.client.repository.CatalogClientFilterSupport.PrePostFilterTuple;
+import org.geotools.jackson.databind.util.ObjectMapperUtil;
 import org.opengis.filter.Filter;
 import org.opengis.filter.capability.FunctionName;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,17 +32,18 @@ import org.springframework.lang.Nullable;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
-import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -46,19 +53,37 @@ public abstract class CatalogClientRepository<CI extends CatalogInfo>
 
     private ReactiveCatalogClient client;
 
+    private BlockingBridge blockingBridge = BlockingBridge.DEFAULT;
+
     private @Setter Function<CI, CI> objectResolver = Function.identity();
     private @Setter Supplier<Function<CatalogInfo, CatalogInfo>> streamResolver =
             () -> Function.identity();
 
+    /**
+     * Resolves all the objects returned by a batch call at once, so their references are also
+     * looked up in batches. Defaults to resolving them one by one with the {@link #streamResolver}
+     */
+    private @Setter Supplier<UnaryOperator<List<CatalogInfo>>> batchResolver;
+
     /** Don't use but through {@link #endpoint()} */
     private String _endpoint;
 
     /**
      * Splits {@link Query} filters into server-side supported and client-side post-processing
-     * filters. Used and created lazily by {@link #findAll(Query)}
+     * filters. Usually shared by all repositories, created lazily by {@link #getFilterSupport()}
+     * otherwise
      */
     private CatalogClientFilterSupport filterSupport;
 
+    /**
+     * Encodes queries to key their responses for revalidation, as they're encoded in the request
+     * body. Created lazily by {@link #objectMapper()} if not set
+     */
+    private ObjectMapper objectMapper;
+
+    /** Shares the result of in-flight lookups with concurrent identical ones */
+    private final SingleFlight inFlight = new SingleFlight();
+
     protected ReactiveCatalogClient client() {
         return client;
     }
@@ -76,6 +101,41 @@ public abstract class CatalogClientRepository<CI extends CatalogInfo>
         this.client = client;
     }
 
+    @Autowired(required = false)
+    public void setBlockingBridge(@NonNull BlockingBridge blockingBridge) {
+        this.blockingBridge = blockingBridge;
+    }
+
+    @Autowired(required = false)
+    public void setFilterSupport(@NonNull CatalogClientFilterSupport filterSupport) {
+        this.filterSupport = filterSupport;
+    }
+
+    @Autowired(required = false)
+    public void setObjectMapper(@NonNull ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    private ObjectMapper objectMapper() {
+        if (this.objectMapper == null) {
+            this.objectMapper = ObjectMapperUtil.newObjectMapper();
+        }
+        return this.objectMapper;
+    }
+
+    /**
+     * @return the context to revalidate the responses to {@code query} with, keyed by its encoded
+     *     form, or an empty context not to revalidate them if it can't be encoded
+     */
+    private Context revalidationKey(Query<?> query) {
+        try {
+            return RevalidatingExchangeFilter.cacheKey(objectMapper().writeValueAsBytes(query));
+        } catch (JsonProcessingException e) {
+            log.debug("Can't encode query, its responses won't be revalidated: {}", query, e);
+            return Context.empty();
+        }
+    }
+
     @SuppressWarnings("unchecked")
     protected <C extends CI> Function<C, C> proxyResolver() {
         return (Function<C, C>) this.objectResolver;
@@ -105,20 +165,11 @@ public abstract class CatalogClientRepository<CI extends CatalogInfo>
     }
 
     protected void block(Mono<Void> call) {
-        if (Schedulers.isInNonBlockingThread()) {
-            CompletableFuture.supplyAsync(call::block).join();
-        }
-        call.block();
+        blockingBridge.block(endpoint(), call);
     }
 
     protected <U> Optional<U> blockOptional(Mono<U> call) {
-        Optional<U> object;
-        if (Schedulers.isInNonBlockingThread()) {
-            object = CompletableFuture.supplyAsync(call::blockOptional).join();
-        } else {
-            object = call.blockOptional();
-        }
-        return object;
+        return blockingBridge.blockOptional(endpoint(), call);
     }
 
     protected <U extends CI> Optional<U> blockAndReturn(Mono<U> call) {
@@ -155,8 +206,9 @@ public abstract class CatalogClientRepository<CI extends CatalogInfo>
     public @Override <U extends CI> Optional<U> findFirstByName(
             @NonNull String name, @NonNull Class<U> infoType) {
         ClassMappings typeArg = typeEnum(infoType);
-        Mono<U> found = client.findFirstByName(endpoint(), name, typeArg);
-        return blockAndReturn(found);
+        return inFlight.call(
+                Arrays.asList(endpoint(), "findFirstByName", name, typeArg),
+                () -> blockAndReturn(client.findFirstByName(endpoint(), name, typeArg)));
     }
 
     public @Override Stream<CI> findAll() {
@@ -184,13 +236,9 @@ public abstract class CatalogClientRepository<CI extends CatalogInfo>
     }
 
     protected <U extends CI> Stream<U> query(Query<U> query, Filter unsupportedFilter) {
-        Stream<U> stream = toStream(client.query(endpoint(), query));
-        if (!Filter.INCLUDE.equals(unsupportedFilter)) {
-            log.debug("Post-filtering with {}", unsupportedFilter);
-            Predicate<? super U> predicate = info -> unsupportedFilter.evaluate(info);
-            stream = stream.filter(predicate);
-        }
-        return stream;
+        Flux<U> flux = client.query(endpoint(), query).contextWrite(revalidationKey(query));
+        Stream<U> stream = toStream(flux);
+        return getFilterSupport().postFilter(endpoint(), stream, unsupportedFilter);
     }
 
     public @Override <U extends CI> long count(@NonNull Class<U> of, @NonNull Filter rawFilter) {
@@ -202,39 +250,70 @@ public abstract class CatalogClientRepository<CI extends CatalogInfo>
         Filter unsupportedFilter = simplify(filters.post());
         Query<U> query = Query.valueOf(of, supportedFilter);
         if (Filter.INCLUDE.equals(unsupportedFilter)) {
-            return blockOptional(client().count(endpoint(), query)).orElse(Long.valueOf(0));
+            Mono<Long> count =
+                    client().count(endpoint(), query).contextWrite(revalidationKey(query));
+            return blockOptional(count).orElse(Long.valueOf(0));
         }
         return query(query, unsupportedFilter).count();
     }
 
     private CatalogClientFilterSupport getFilterSupport() {
         if (this.filterSupport == null) {
-            List<FunctionName> serverFuncions = getServerSupportedFunctions();
-            this.filterSupport = new CatalogClientFilterSupport(serverFuncions);
+            this.filterSupport =
+                    new CatalogClientFilterSupport(this::getServerSupportedFunctions, null);
         }
         return this.filterSupport;
     }
 
     private List<FunctionName> getServerSupportedFunctions() {
-        try {
-            ReactiveCatalogClient client = client();
-            Flux<FunctionName> functionNames = client.getSupportedFilterFunctionNames();
-            List<FunctionName> list = functionNames.toStream().collect(Collectors.toList());
-            return list;
-        } catch (Exception e) {
-            log.warn(
-                    "Error getting server-side supported filter function names. Won't use functions.",
-                    e);
-            return Collections.emptyList();
-        }
+        Flux<FunctionName> functionNames = client().getSupportedFilterFunctionNames();
+        return blockingBridge
+                .blockOptional("query/capabilities/functions", functionNames.collectList())
+                .orElse(Collections.emptyList());
     }
 
     public @Override <U extends CI> Optional<U> findById(
             @NonNull String id, @NonNull Class<U> clazz) {
         ClassMappings typeArg = typeEnum(clazz);
+        return inFlight.call(
+                Arrays.asList(endpoint(), "findById", id, typeArg),
+                () -> blockAndReturn(client.findById(endpoint(), id, typeArg)));
+    }
+
+    /**
+     * Fetches all the objects of type {@code clazz} whose ids are in {@code ids} with a single call
+     * to the catalog service
+     *
+     * @return the objects found, in no particular order, ids not found are just absent
+     */
+    public <U extends CI> Stream<U> findAllById(
+            @NonNull Collection<String> ids, @NonNull Class<U> clazz) {
+        if (ids.isEmpty()) {
+            return Stream.empty();
+        }
+        ClassMappings typeArg = typeEnum(clazz);
+        // sorted, for equal id sets to make equal requests
+        List<String> idList = ids.stream().sorted().collect(Collectors.toList());
+        Flux<U> flux =
+                client.findAllById(endpoint(), idList, typeArg)
+                        .contextWrite(RevalidatingExchangeFilter.cacheKey(idList.toString()));
+        List<CatalogInfo> found =
+                blockOptional(flux.map(CatalogInfo.class::cast).collectList())
+                        .orElse(Collections.emptyList());
+        return resolveAll(found).stream().map(clazz::cast);
+    }
+
+    private List<CatalogInfo> resolveAll(List<CatalogInfo> objects) {
+        if (batchResolver == null) {
+            Function<CatalogInfo, CatalogInfo> resolver = streamResolver.get();
+            return objects.stream().map(resolver).collect(Collectors.toList());
+        }
+        return batchResolver.get().apply(objects);
+    }
 
-        Optional<U> ret = blockAndReturn(client.findById(endpoint(), id, typeArg));
-        return ret;
+    /** @return the {@link SingleFlight} that deduplicates concurrent identical lookups */
+    public SingleFlight getInFlight() {
+        return inFlight;
     }
 
     public @Override void dispose() {
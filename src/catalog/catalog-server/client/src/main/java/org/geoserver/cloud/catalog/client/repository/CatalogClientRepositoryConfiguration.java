@@ -4,15 +4,95 @@
  */
 package org.geoserver.cloud.catalog.client.repository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.geoserver.cloud.catalog.client.reactivefeign.BlockingBridge;
+import org.geoserver.cloud.catalog.client.reactivefeign.BlockingBridgeMetrics;
 import org.geoserver.cloud.catalog.client.reactivefeign.ReactiveCatalogApiClientConfiguration;
+import org.geoserver.cloud.catalog.client.reactivefeign.ReactiveCatalogClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
+import java.util.Collections;
+import java.util.Locale;
+
 @Configuration
 @Import(ReactiveCatalogApiClientConfiguration.class)
 public class CatalogClientRepositoryConfiguration {
 
+    /**
+     * Blocks on the catalog-service calls made from non-blocking threads on a dedicated executor,
+     * as per {@code geoserver.backend.catalog-service.blocking-bridge.*}
+     */
+    @Bean(destroyMethod = "close")
+    public BlockingBridge catalogClientBlockingBridge(
+            @Value("${geoserver.backend.catalog-service.blocking-bridge.type:virtual}") String type,
+            @Value("${geoserver.backend.catalog-service.blocking-bridge.max-threads:64}")
+                    int maxThreads,
+            @Value("${geoserver.backend.catalog-service.blocking-bridge.max-queued:10000}")
+                    int maxQueued,
+            ObjectProvider<BlockingBridge.Listener> listener) {
+        BlockingBridge.Type executorType =
+                BlockingBridge.Type.valueOf(type.toUpperCase(Locale.ROOT));
+        return new BlockingBridge(
+                BlockingBridge.newExecutor(executorType, maxThreads, maxQueued),
+                listener.getIfAvailable());
+    }
+
+    /**
+     * Splits the repositories query filters as per the filter functions supported by the
+     * catalog-service, which are fetched once and shared by all repositories
+     */
+    @Bean
+    public CatalogClientFilterSupport catalogClientFilterSupport(
+            ReactiveCatalogClient client,
+            BlockingBridge catalogClientBlockingBridge,
+            ObjectProvider<CatalogClientFilterSupport.Listener> listener) {
+        return new CatalogClientFilterSupport(
+                () ->
+                        catalogClientBlockingBridge
+                                .blockOptional(
+                                        "query/capabilities/functions",
+                                        client.getSupportedFilterFunctionNames().collectList())
+                                .orElse(Collections.emptyList()),
+                listener.getIfAvailable());
+    }
+
+    /**
+     * Reports the {@link BlockingBridge} and {@link CatalogClientFilterSupport} measurements if
+     * metrics are enabled
+     */
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class CatalogClientMetricsConfiguration {
+
+        @Bean
+        BlockingBridge.Listener catalogClientBlockingBridgeMetrics(
+                ObjectProvider<MeterRegistry> meterRegistry,
+                @Value("${geoserver.metrics.enabled:true}") boolean metricsEnabled) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (metricsEnabled && registry != null) {
+                return new BlockingBridgeMetrics(registry);
+            }
+            return new BlockingBridge.Listener() {};
+        }
+
+        @Bean
+        CatalogClientFilterSupport.Listener catalogClientFilterSupportMetrics(
+                ObjectProvider<MeterRegistry> meterRegistry,
+                @Value("${geoserver.metrics.enabled:true}") boolean metricsEnabled) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (metricsEnabled && registry != null) {
+                return new CatalogClientFilterSupportMetrics(registry);
+            }
+            return new CatalogClientFilterSupport.Listener() {};
+        }
+    }
+
     public @Bean CatalogClientWorkspaceRepository cloudWorkspaceRepository() {
         return new CatalogClientWorkspaceRepository();
     }
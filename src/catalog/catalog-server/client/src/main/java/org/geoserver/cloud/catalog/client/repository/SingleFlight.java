@@ -0,0 +1,94 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.repository;
+
+import lombok.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent identical calls to the catalog-service: while a call for a given key is
+ * in flight, other callers with an equal key wait for and share its result instead of making their
+ * own request, as happens when a cold instance gets many concurrent requests for the same layer.
+ *
+ * <p>Results are only shared while the call is in flight, nothing is cached afterwards. Keys are to
+ * identify the endpoint, operation, and arguments of the call, e.g. {@code List.of(endpoint,
+ * "findById", id, type)}.
+ *
+ * @since 1.0
+ */
+public class SingleFlight {
+
+    private static class Flight extends CompletableFuture<Object> {
+        final Thread owner = Thread.currentThread();
+    }
+
+    private final ConcurrentMap<Object, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong shared = new AtomicLong();
+
+    /**
+     * Runs {@code call} in the calling thread, unless a call for {@code key} is already in flight,
+     * in which case waits for its result, or its exception. A reentrant call for the same key, e.g.
+     * while resolving the references of the object being fetched, is not shared, since it'd wait
+     * for itself.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V call(@NonNull Object key, @NonNull Supplier<V> call) {
+        final Flight mine = new Flight();
+        final Flight current = inFlight.putIfAbsent(key, mine);
+        if (current != null) {
+            if (current.owner == Thread.currentThread()) {
+                calls.incrementAndGet();
+                return call.get();
+            }
+            shared.incrementAndGet();
+            return (V) join(current);
+        }
+        calls.incrementAndGet();
+        try {
+            V result = call.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    /** @return number of calls made */
+    public long getCalls() {
+        return calls.get();
+    }
+
+    /** @return number of calls saved by sharing the result of an in-flight one */
+    public long getShared() {
+        return shared.get();
+    }
+
+    /** @return number of calls currently in flight */
+    public int getInFlight() {
+        return inFlight.size();
+    }
+}
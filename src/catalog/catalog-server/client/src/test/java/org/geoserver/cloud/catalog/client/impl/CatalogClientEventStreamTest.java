@@ -0,0 +1,141 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import feign.FeignException;
+
+import org.geoserver.catalog.impl.WorkspaceInfoImpl;
+import org.geoserver.cloud.event.ChangeStreamEntry;
+import org.geoserver.cloud.event.UpdateSequenceEvent;
+import org.geoserver.cloud.event.catalog.CatalogInfoRemoved;
+import org.geoserver.cloud.event.info.InfoEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+
+/** @since 1.0 */
+class CatalogClientEventStreamTest {
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final List<InfoEvent<?, ?>> published = new CopyOnWriteArrayList<>();
+    private final AtomicInteger evictions = new AtomicInteger();
+
+    private CatalogClientEventStream stream;
+
+    @SuppressWarnings("serial")
+    private static class GoneException extends FeignException {
+        GoneException() {
+            super(410, "Gone");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (stream != null) stream.close();
+    }
+
+    private static ChangeStreamEntry event(String epoch, long offset, long updateSequence) {
+        WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+        ws.setId("ws-" + updateSequence);
+        return new ChangeStreamEntry(
+                epoch, offset, CatalogInfoRemoved.createLocal(updateSequence, ws));
+    }
+
+    private static ChangeStreamEntry ack(String epoch, long offset, long updateSequence) {
+        return new ChangeStreamEntry(
+                epoch, offset, UpdateSequenceEvent.createLocal(updateSequence));
+    }
+
+    /** Serves the scripted responses in order, then nothing */
+    @SafeVarargs
+    private void start(Flux<ChangeStreamEntry>... responses) {
+        List<Flux<ChangeStreamEntry>> script = new ArrayList<>(Arrays.asList(responses));
+        BiFunction<String, Long, Flux<ChangeStreamEntry>> source =
+                (epoch, offset) -> {
+                    requests.add(epoch == null ? null : epoch + "/" + offset);
+                    return script.isEmpty() ? Flux.never() : script.remove(0);
+                };
+        stream =
+                new CatalogClientEventStream(
+                        source,
+                        published::add,
+                        evictions::incrementAndGet,
+                        Duration.ofMillis(1),
+                        Duration.ofMillis(10));
+        stream.start();
+    }
+
+    @Test
+    void testFreshStartEvictsAllAndResumes() throws InterruptedException {
+        start(Flux.just(ack("e1", 4, 10), event("e1", 5, 11)), Flux.just(event("e1", 6, 12)));
+
+        waitFor(() -> requests.size() == 3);
+        assertEquals(Arrays.asList(null, "e1/5", "e1/6"), requests);
+        assertEquals(1, evictions.get());
+        assertEquals(2, published.size());
+        assertTrue(published.get(0).isRemote());
+        assertEquals(CatalogClientEventStream.ORIGIN, published.get(0).getOrigin());
+        assertEquals("e1", stream.getPosition().orElseThrow().getEpoch());
+        assertEquals(6L, stream.getPosition().orElseThrow().getOffset());
+        assertEquals(2, stream.getReceived());
+    }
+
+    @Test
+    void testResumesByOffsetRegardlessOfUpdateSequence() throws InterruptedException {
+        start(
+                Flux.just(ack("e1", 0, 10), event("e1", 1, 12), event("e1", 2, 11)),
+                Flux.just(event("e1", 3, 13)));
+
+        waitFor(() -> requests.size() == 3);
+        assertEquals(Arrays.asList(null, "e1/2", "e1/3"), requests);
+        assertEquals(3, published.size());
+    }
+
+    @Test
+    void testRestartsAfreshWhenEventsAreGone() throws InterruptedException {
+        start(
+                Flux.just(ack("e1", 0, 10)),
+                Flux.error(new GoneException()),
+                Flux.just(ack("e2", 7, 20)));
+
+        waitFor(() -> requests.size() == 4);
+        assertEquals(Arrays.asList(null, "e1/0", null, "e2/7"), requests);
+        assertEquals(2, stream.getResets());
+        assertEquals(0, published.size());
+    }
+
+    @Test
+    void testResumesAfterFailures() throws InterruptedException {
+        start(
+                Flux.just(ack("e1", 0, 10))
+                        .concatWith(Flux.error(new IllegalStateException("connection reset"))),
+                Flux.just(event("e1", 1, 11)));
+
+        waitFor(() -> requests.size() == 3);
+        assertEquals(Arrays.asList(null, "e1/0", "e1/1"), requests);
+        assertEquals(1, stream.getResets());
+        assertEquals(1, published.size());
+    }
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 500 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.event.impl.CatalogAddEventImpl;
+import org.geoserver.catalog.impl.DataStoreInfoImpl;
+import org.geoserver.catalog.impl.FeatureTypeInfoImpl;
+import org.geoserver.catalog.impl.NamespaceInfoImpl;
+import org.geoserver.catalog.impl.ResolvingProxy;
+import org.geoserver.catalog.impl.WorkspaceInfoImpl;
+import org.geoserver.catalog.plugin.CatalogPlugin;
+import org.geoserver.catalog.plugin.DefaultMemoryCatalogFacade;
+import org.geoserver.catalog.plugin.Patch;
+import org.geoserver.cloud.event.catalog.CatalogInfoAdded;
+import org.geoserver.cloud.event.catalog.CatalogInfoModified;
+import org.geoserver.cloud.event.catalog.CatalogInfoRemoved;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+/** @since 1.0 */
+class CatalogClientReplicatedCatalogFacadeTest {
+
+    /** Stands for the catalog-service, holds objects with unresolved references as it'd return */
+    private DefaultMemoryCatalogFacade remote;
+
+    private CatalogClientReplicatedCatalogFacade replica;
+    private CatalogPlugin catalog;
+
+    @BeforeEach
+    void setUp() {
+        remote = new DefaultMemoryCatalogFacade();
+        replica = new CatalogClientReplicatedCatalogFacade(remote);
+        catalog = new CatalogPlugin(replica);
+
+        remote.add(workspace("ws1"));
+        remote.add(namespace("ns1"));
+        remote.setDefaultWorkspace(remote.getWorkspace("ws1"));
+
+        DataStoreInfoImpl store = new DataStoreInfoImpl(null);
+        store.setId("ds1");
+        store.setName("ds1");
+        store.setWorkspace(ResolvingProxy.create("ws1", WorkspaceInfo.class));
+        remote.add(store);
+
+        FeatureTypeInfoImpl featureType = new FeatureTypeInfoImpl(null);
+        featureType.setId("ft1");
+        featureType.setName("ft1");
+        featureType.setNamespace(ResolvingProxy.create("ns1", NamespaceInfo.class));
+        featureType.setStore(ResolvingProxy.create("ds1", DataStoreInfo.class));
+        remote.add(featureType);
+    }
+
+    @Test
+    void testReplicate() {
+        assertNull(replica.getWorkspace("ws1"));
+        replica.replicate();
+
+        WorkspaceInfo workspace = replica.getWorkspace("ws1");
+        NamespaceInfo namespace = replica.getNamespace("ns1");
+        DataStoreInfo store = replica.getStore("ds1", DataStoreInfo.class);
+        FeatureTypeInfo featureType = replica.getResource("ft1", FeatureTypeInfo.class);
+        assertNotNull(workspace);
+        assertNotNull(namespace);
+        assertSame(workspace, replica.getDefaultWorkspace());
+
+        // references point to the replicated objects
+        assertSame(workspace, store.getWorkspace());
+        assertSame(namespace, featureType.getNamespace());
+        assertSame(store, featureType.getStore());
+        assertSame(catalog, store.getCatalog());
+    }
+
+    @Test
+    void testWriteThrough() {
+        replica.replicate();
+        catalog.add(workspace("ws2"));
+        assertNotNull(remote.getWorkspaceByName("ws2"));
+        assertNotNull(replica.getWorkspaceByName("ws2"));
+
+        WorkspaceInfo ws2 = catalog.getWorkspaceByName("ws2");
+        ws2.setName("ws2-renamed");
+        catalog.save(ws2);
+        assertNotNull(remote.getWorkspaceByName("ws2-renamed"));
+        assertNotNull(replica.getWorkspaceByName("ws2-renamed"));
+
+        catalog.remove(catalog.getWorkspaceByName("ws2-renamed"));
+        assertNull(remote.getWorkspaceByName("ws2-renamed"));
+        assertNull(replica.getWorkspaceByName("ws2-renamed"));
+    }
+
+    @Test
+    void testRemoteEvents() {
+        replica.replicate();
+
+        WorkspaceInfoImpl ws2 = workspace("ws2");
+        remote.add(ws2);
+        CatalogInfoAdded added = CatalogInfoAdded.createLocal(2L, addEvent(ws2));
+        added.setRemote(true);
+        replica.onRemoteAdd(added);
+        assertNotNull(replica.getWorkspace("ws2"));
+
+        CatalogInfoModified modified =
+                CatalogInfoModified.createLocal(
+                        3L,
+                        replica.getStore("ds1", StoreInfo.class),
+                        new Patch()
+                                .with(
+                                        "workspace",
+                                        ResolvingProxy.create("ws2", WorkspaceInfo.class)));
+        modified.setRemote(true);
+        replica.onRemoteModify(modified);
+        assertSame(
+                replica.getWorkspace("ws2"),
+                replica.getStore("ds1", StoreInfo.class).getWorkspace());
+
+        CatalogInfoRemoved removed =
+                CatalogInfoRemoved.createLocal(
+                        4L, replica.getResource("ft1", FeatureTypeInfo.class));
+        removed.setRemote(true);
+        replica.onRemoteRemove(removed);
+        assertNull(replica.getResource("ft1", FeatureTypeInfo.class));
+    }
+
+    @Test
+    void testLazyAddEvent() {
+        replica.replicate();
+        WorkspaceInfoImpl ws2 = workspace("ws2");
+        remote.add(ws2);
+        CatalogInfoAdded added = CatalogInfoAdded.createLocal(2L, addEvent(ws2)).withoutObject();
+        added.setRemote(true);
+        replica.onRemoteAdd(added);
+        assertNotNull(replica.getWorkspace("ws2"));
+    }
+
+    /**
+     * The event for an addition made through the replica may come back from the catalog-service
+     * before the replica applied the addition itself
+     */
+    @Test
+    void testEchoOfOwnAdditionArrivingFirst() {
+        remote =
+                new DefaultMemoryCatalogFacade() {
+                    public @Override WorkspaceInfo add(WorkspaceInfo workspace) {
+                        WorkspaceInfo added = super.add(workspace);
+                        // the event carries a copy of the object, as decoded from the wire
+                        CatalogInfoAdded echo =
+                                CatalogInfoAdded.createLocal(
+                                        2L, addEvent(workspace(workspace.getName())));
+                        echo.setRemote(true);
+                        CompletableFuture.runAsync(() -> replica.onRemoteAdd(echo)).join();
+                        return added;
+                    }
+                };
+        replica = new CatalogClientReplicatedCatalogFacade(remote);
+        catalog = new CatalogPlugin(replica);
+        replica.replicate();
+
+        WorkspaceInfoImpl ws2 = workspace("ws2");
+        catalog.add(ws2);
+
+        WorkspaceInfo replicated = replica.getWorkspace("ws2");
+        assertNotNull(replicated);
+        assertSame(replicated, replica.getWorkspaceByName("ws2"));
+        assertEquals(
+                1, replica.getWorkspaces().stream().filter(w -> "ws2".equals(w.getId())).count());
+
+        // a late echo is ignored too
+        CatalogInfoAdded lateEcho = CatalogInfoAdded.createLocal(3L, addEvent(workspace("ws2")));
+        lateEcho.setRemote(true);
+        replica.onRemoteAdd(lateEcho);
+        assertSame(replicated, replica.getWorkspace("ws2"));
+        assertSame(replicated, replica.getWorkspaceByName("ws2"));
+    }
+
+    @Test
+    void testLocalEventsIgnored() {
+        replica.replicate();
+        CatalogInfoRemoved removed =
+                CatalogInfoRemoved.createLocal(2L, replica.getWorkspace("ws1"));
+        replica.onRemoteRemove(removed);
+        assertNotNull(replica.getWorkspace("ws1"));
+    }
+
+    private static CatalogAddEventImpl addEvent(WorkspaceInfo workspace) {
+        CatalogAddEventImpl event = new CatalogAddEventImpl();
+        event.setSource(workspace);
+        return event;
+    }
+
+    private static WorkspaceInfoImpl workspace(String name) {
+        WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+        ws.setId(name);
+        ws.setName(name);
+        return ws;
+    }
+
+    private static NamespaceInfoImpl namespace(String prefix) {
+        NamespaceInfoImpl ns = new NamespaceInfoImpl();
+        ns.setId(prefix);
+        ns.setPrefix(prefix);
+        ns.setURI("http://" + prefix);
+        return ns;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.geoserver.cloud.catalog.client.reactivefeign.BlockingResourceStoreClient;
+import org.geoserver.cloud.catalog.client.reactivefeign.ReactiveResourceStoreClient.ResourceDescriptor;
+import org.geoserver.platform.resource.Resource;
+import org.geoserver.platform.resource.Resource.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/** @since 1.0 */
+class CatalogClientResourceStoreTest {
+
+    private static final String PATH = "styles/style.sld";
+
+    @TempDir File localCache;
+
+    private BlockingResourceStoreClient client;
+    private CatalogClientResourceStore store;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(BlockingResourceStoreClient.class);
+        store = new CatalogClientResourceStore(client, localCache);
+        store.configureDescriptorCache(0, Duration.ZERO);
+    }
+
+    private void remote(String contents, long lastModified) {
+        ResourceDescriptor descriptor = new ResourceDescriptor();
+        descriptor.setPath(PATH);
+        descriptor.setType(Type.RESOURCE);
+        descriptor.setLastModified(lastModified);
+        when(client.describe(eq(PATH))).thenReturn(descriptor);
+        when(client.getFileContent(eq(PATH)))
+                .thenAnswer(
+                        i -> new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String read(Resource resource) throws IOException {
+        try (InputStream in = resource.in()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void testRemoteUpdateRefreshesLocalCopyThroughEarlierHandle() throws IOException {
+        remote("v1", 1000);
+        Resource handle = store.get(PATH);
+        assertEquals("v1", read(handle));
+
+        remote("v2", 2000);
+        assertEquals("v2", read(handle));
+        assertEquals("v2", read(store.get(PATH)));
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.geoserver.cloud.catalog.client.reactivefeign.ReactiveResourceStoreClient.ResourceDescriptor;
+import org.geoserver.platform.resource.Resource.Type;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/** @since 1.0 */
+class ResourceDescriptorCacheTest {
+
+    private final List<String> loaded = new ArrayList<>();
+    private long now = 1000;
+
+    private final Clock clock =
+            new Clock() {
+                public @Override long millis() {
+                    return now;
+                }
+
+                public @Override Instant instant() {
+                    return Instant.ofEpochMilli(now);
+                }
+
+                public @Override ZoneId getZone() {
+                    return ZoneId.of("UTC");
+                }
+
+                public @Override Clock withZone(ZoneId zone) {
+                    return this;
+                }
+            };
+
+    private final Function<String, ResourceDescriptor> loader =
+            path -> {
+                loaded.add(path);
+                ResourceDescriptor d = new ResourceDescriptor();
+                d.setPath(path);
+                d.setType(Type.RESOURCE);
+                d.setLastModified(now);
+                return d;
+            };
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new ResourceDescriptorCache(-1, Duration.ZERO));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new ResourceDescriptorCache(1, Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    void testTimeToLive() {
+        ResourceDescriptorCache cache =
+                new ResourceDescriptorCache(10, Duration.ofSeconds(1), clock);
+        ResourceDescriptor first = cache.get("styles/a.sld", loader);
+        ResourceDescriptor second = cache.get("styles/a.sld", loader);
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(List.of("styles/a.sld"), loaded);
+
+        now += 1000;
+        cache.get("styles/a.sld", loader);
+        assertEquals(List.of("styles/a.sld", "styles/a.sld"), loaded);
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    void testBounded() {
+        ResourceDescriptorCache cache =
+                new ResourceDescriptorCache(2, Duration.ofMinutes(1), clock);
+        cache.get("a", loader);
+        cache.get("b", loader);
+        cache.get("a", loader);
+        cache.get("c", loader);
+        assertEquals(2, cache.size());
+        // b was the least recently used
+        cache.get("a", loader);
+        cache.get("b", loader);
+        assertEquals(List.of("a", "b", "c", "b"), loaded);
+    }
+
+    @Test
+    void testInvalidate() {
+        ResourceDescriptorCache cache =
+                new ResourceDescriptorCache(10, Duration.ofMinutes(1), clock);
+        cache.get("styles", loader);
+        cache.get("styles/a.sld", loader);
+        cache.get("stylesheets/b.css", loader);
+        cache.invalidate("styles");
+        assertEquals(1, cache.size());
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testInvalidatedWhileLoading() {
+        ResourceDescriptorCache cache =
+                new ResourceDescriptorCache(10, Duration.ofMinutes(1), clock);
+        cache.get(
+                "a",
+                path -> {
+                    cache.invalidateAll();
+                    return loader.apply(path);
+                });
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testDisabled() {
+        ResourceDescriptorCache cache =
+                new ResourceDescriptorCache(0, Duration.ofMinutes(1), clock);
+        cache.get("a", loader);
+        cache.get("a", loader);
+        assertEquals(List.of("a", "a"), loaded);
+        assertEquals(0, cache.size());
+    }
+}
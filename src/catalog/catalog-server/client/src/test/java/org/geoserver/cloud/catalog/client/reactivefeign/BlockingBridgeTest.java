@@ -0,0 +1,118 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.reactivefeign;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/** @since 1.0 */
+class BlockingBridgeTest {
+
+    private final List<String> events = new ArrayList<>();
+
+    private final BlockingBridge.Listener listener =
+            new BlockingBridge.Listener() {
+                public @Override synchronized void waited(String endpoint, long nanos) {
+                    events.add("waited:" + endpoint);
+                }
+
+                public @Override synchronized void completed(
+                        String endpoint, long nanos, boolean failed) {
+                    events.add((failed ? "failed:" : "completed:") + endpoint);
+                }
+            };
+
+    private final ExecutorService executor =
+            BlockingBridge.newExecutor(BlockingBridge.Type.POOL, 2, 10);
+
+    private final BlockingBridge bridge = new BlockingBridge(executor, listener);
+
+    @AfterEach
+    void tearDown() {
+        bridge.close();
+    }
+
+    @Test
+    void testPoolExecutor() {
+        assertTrue(executor instanceof ThreadPoolExecutor);
+        assertEquals(2, ((ThreadPoolExecutor) executor).getMaximumPoolSize());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> BlockingBridge.newExecutor(BlockingBridge.Type.POOL, 0, 10));
+    }
+
+    @Test
+    void testVirtualExecutorFallsBackToPool() {
+        ExecutorService virtual = BlockingBridge.newExecutor(BlockingBridge.Type.VIRTUAL, 2, 10);
+        try {
+            assertEquals("ok", Mono.fromCallable(virtual.submit(() -> "ok")::get).block());
+        } finally {
+            virtual.shutdown();
+        }
+    }
+
+    @Test
+    void testBlocksInCallingThread() {
+        final Thread caller = Thread.currentThread();
+        Optional<Thread> thread =
+                bridge.blockOptional("layers", Mono.fromCallable(Thread::currentThread));
+        assertEquals(caller, thread.orElseThrow());
+        assertEquals(List.of("completed:layers"), events);
+    }
+
+    @Test
+    void testHandsOverNonBlockingThreads() {
+        String threadName =
+                Mono.fromCallable(
+                                () ->
+                                        bridge.blockOptional(
+                                                        "layers",
+                                                        Mono.fromCallable(
+                                                                () ->
+                                                                        Thread.currentThread()
+                                                                                .getName()))
+                                                .orElseThrow())
+                        .subscribeOn(Schedulers.parallel())
+                        .block();
+        assertTrue(threadName.startsWith("catalog-client-bridge-"), threadName);
+        assertEquals(List.of("waited:layers", "completed:layers"), events);
+        assertEquals(0, bridge.getQueued());
+    }
+
+    @Test
+    void testEmptyResult() {
+        assertFalse(bridge.blockOptional("styles", Mono.empty()).isPresent());
+        bridge.block("styles", Mono.empty());
+        assertEquals(List.of("completed:styles", "completed:styles"), events);
+    }
+
+    @Test
+    void testErrorsAreUnwrapped() {
+        Mono<Object> call =
+                Mono.fromCallable(() -> bridge.blockOptional("config", Mono.error(failure())))
+                        .subscribeOn(Schedulers.parallel());
+        IllegalStateException e = assertThrows(IllegalStateException.class, call::block);
+        assertEquals("failed", e.getMessage());
+        assertEquals(List.of("waited:config", "failed:config"), events);
+    }
+
+    private static IllegalStateException failure() {
+        return new IllegalStateException("failed");
+    }
+}
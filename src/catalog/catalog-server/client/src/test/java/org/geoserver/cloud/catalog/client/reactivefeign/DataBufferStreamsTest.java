@@ -0,0 +1,216 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.reactivefeign;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.io.ByteStreams;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** @since 1.0 */
+class DataBufferStreamsTest {
+
+    private byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    private Mono<byte[]> join(Flux<DataBuffer> contents) {
+        return DataBufferUtils.join(contents)
+                .map(
+                        buffer -> {
+                            byte[] bytes = new byte[buffer.readableByteCount()];
+                            buffer.read(bytes);
+                            DataBufferUtils.release(buffer);
+                            return bytes;
+                        })
+                .defaultIfEmpty(new byte[0]);
+    }
+
+    @Test
+    void testFromInputStream() {
+        byte[] contents = randomBytes(10 * DataBufferStreams.BUFFER_SIZE + 1);
+        AtomicInteger chunks = new AtomicInteger();
+        Flux<DataBuffer> flux =
+                DataBufferStreams.fromInputStream(() -> new ByteArrayInputStream(contents))
+                        .doOnNext(b -> chunks.incrementAndGet());
+        assertArrayEquals(contents, join(flux).block());
+        assertEquals(11, chunks.get());
+    }
+
+    @Test
+    void testToInputStream() throws IOException {
+        byte[] contents = randomBytes(100_000);
+        Flux<DataBuffer> flux =
+                DataBufferUtils.readInputStream(
+                        () -> new ByteArrayInputStream(contents),
+                        DefaultDataBufferFactory.sharedInstance,
+                        1000);
+        try (InputStream in = DataBufferStreams.toInputStream(flux)) {
+            assertEquals(contents[0] & 0xFF, in.read());
+            byte[] rest = ByteStreams.toByteArray(in);
+            assertEquals(contents.length - 1, rest.length);
+            assertEquals(contents[contents.length - 1], rest[rest.length - 1]);
+            assertEquals(-1, in.read());
+        }
+    }
+
+    /** A pooled HTTP connection is released when the end is reached, even if never closed */
+    @Test
+    void testToInputStreamReleasesTheContentsAtTheEnd() throws IOException {
+        AtomicInteger terminated = new AtomicInteger();
+        Flux<DataBuffer> flux =
+                Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(new byte[] {1, 2}))
+                        .doFinally(signal -> terminated.incrementAndGet());
+        InputStream in = DataBufferStreams.toInputStream(flux);
+        assertArrayEquals(new byte[] {1, 2}, ByteStreams.toByteArray(in));
+        assertEquals(1, terminated.get());
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    void testToInputStreamCloseCancels() throws IOException {
+        AtomicInteger cancelled = new AtomicInteger();
+        Flux<DataBuffer> flux =
+                Flux.<DataBuffer>never()
+                        .startWith(DefaultDataBufferFactory.sharedInstance.wrap(new byte[] {1}))
+                        .doOnCancel(cancelled::incrementAndGet);
+        InputStream in = DataBufferStreams.toInputStream(flux);
+        assertEquals(1, in.read());
+        in.close();
+        assertEquals(1, cancelled.get());
+        assertThrows(IOException.class, in::read);
+    }
+
+    @Test
+    void testToInputStreamPropagatesErrors() {
+        Flux<DataBuffer> flux =
+                Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(new byte[] {1, 2}))
+                        .concatWith(Flux.error(new IOException("connection reset")));
+        InputStream in = DataBufferStreams.toInputStream(flux);
+        IOException error = assertThrows(IOException.class, () -> ByteStreams.toByteArray(in));
+        assertTrue(error.getMessage().contains("connection reset"));
+    }
+
+    @Test
+    void testToOutputStream() throws IOException {
+        byte[] contents = randomBytes(100 * DataBufferStreams.BUFFER_SIZE);
+        byte[][] received = new byte[1][];
+        try (OutputStream out =
+                DataBufferStreams.toOutputStream(
+                        flux -> join(flux).doOnNext(bytes -> received[0] = bytes))) {
+            for (int offset = 0; offset < contents.length; offset += 1000) {
+                out.write(contents, offset, Math.min(1000, contents.length - offset));
+            }
+        }
+        assertArrayEquals(contents, received[0]);
+    }
+
+    /** Writes from a thread that's gone by the time the stream is closed */
+    @Test
+    void testToOutputStreamWrittenFromAnotherThread() throws Exception {
+        byte[] contents = randomBytes(10 * DataBufferStreams.BUFFER_SIZE + 1);
+        byte[][] received = new byte[1][];
+        OutputStream out =
+                DataBufferStreams.toOutputStream(
+                        flux -> join(flux).doOnNext(bytes -> received[0] = bytes));
+        Thread writer =
+                new Thread(
+                        () -> {
+                            try {
+                                out.write(contents);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+        writer.start();
+        writer.join(10_000);
+        out.close();
+        assertArrayEquals(contents, received[0]);
+    }
+
+    /** The writer blocks rather than buffering the contents the consumer hasn't requested */
+    @Test
+    void testToOutputStreamWaitsForTheConsumer() throws Exception {
+        AtomicLong written = new AtomicLong();
+        // requests a single chunk and never more
+        BaseSubscriber<DataBuffer> consumer =
+                new BaseSubscriber<>() {
+                    protected @Override void hookOnSubscribe(Subscription subscription) {
+                        request(1);
+                    }
+                };
+        OutputStream out =
+                DataBufferStreams.toOutputStream(
+                        flux ->
+                                Mono.fromRunnable(() -> flux.subscribe(consumer))
+                                        .then(Mono.never()));
+        CompletableFuture<Void> writer =
+                CompletableFuture.runAsync(
+                        () -> {
+                            byte[] chunk = new byte[DataBufferStreams.BUFFER_SIZE];
+                            try (out) {
+                                for (int i = 0; i < 1000; i++) {
+                                    out.write(chunk);
+                                    written.addAndGet(chunk.length);
+                                }
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+        Thread.sleep(200);
+        // at most the requested chunks, plus the one being filled
+        long bound = (DataBufferStreams.PREFETCH + 1) * (long) DataBufferStreams.BUFFER_SIZE;
+        assertTrue(written.get() <= bound, "written " + written.get() + " bytes");
+        assertFalse(writer.isDone());
+
+        consumer.cancel();
+        ExecutionException error =
+                assertThrows(ExecutionException.class, () -> writer.get(10, TimeUnit.SECONDS));
+        assertTrue(error.getCause().getCause() instanceof IOException);
+    }
+
+    @Test
+    void testToOutputStreamPropagatesErrors() throws IOException {
+        OutputStream out =
+                DataBufferStreams.toOutputStream(
+                        flux -> Mono.error(new IllegalStateException("upload failed")));
+        // the upload failed before consuming the contents, writing more than a chunk fails
+        // rather than blocking
+        assertThrows(
+                IOException.class,
+                () -> {
+                    try (out) {
+                        out.write(randomBytes(100 * DataBufferStreams.BUFFER_SIZE));
+                    }
+                });
+    }
+}
@@ -5,6 +5,7 @@
 package org.geoserver.cloud.catalog.client.reactivefeign;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import org.junit.jupiter.api.Test;
@@ -16,6 +17,10 @@ import org.springframework.cloud.openfeign.FeignAutoConfiguration;
 
 import reactivefeign.spring.config.ReactiveFeignAutoConfiguration;
 
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
 public class ReactiveCatalogApiClientConfigurationTest {
 
     private final ApplicationContextRunner contextRunner =
@@ -60,4 +65,42 @@ public class ReactiveCatalogApiClientConfigurationTest {
                     assertNotNull(client);
                 });
     }
+
+    public @Test void testTransportConfiguration() {
+        this.contextRunner
+                .withPropertyValues(
+                        "geoserver.backend.catalog-service.transport.protocol=h2c",
+                        "geoserver.backend.catalog-service.transport.max-connections=10",
+                        "geoserver.backend.catalog-service.transport.pending-acquire-timeout=5s",
+                        "geoserver.backend.catalog-service.transport.response-timeout=1m")
+                .run(
+                        context -> {
+                            assertThat(context).hasSingleBean(ConnectionProvider.class);
+                            CatalogClientTransportProperties transport =
+                                    context.getBean(CatalogClientTransportProperties.class);
+                            assertEquals(
+                                    CatalogClientTransportProperties.Protocol.H2C,
+                                    transport.getProtocol());
+                            assertEquals(10, transport.getMaxConnections());
+                            assertEquals(
+                                    Duration.ofSeconds(5), transport.getPendingAcquireTimeout());
+                            assertEquals(Duration.ofMinutes(1), transport.getResponseTimeout());
+                            assertThat(context).hasSingleBean(ReactiveCatalogClient.class);
+                        });
+    }
+
+    public @Test void testMetricsUriTag() {
+        assertEquals(
+                "/api/v1/catalog/layers",
+                ReactiveFeignConfigurationOverrides.uriTag("/api/v1/catalog/layers/layer-id"));
+        assertEquals(
+                "/api/v1/catalog/layers",
+                ReactiveFeignConfigurationOverrides.uriTag("/api/v1/catalog/layers?limit=10"));
+        assertEquals(
+                "/api/v1/catalog/workspaces",
+                ReactiveFeignConfigurationOverrides.uriTag("/api/v1/catalog/workspaces"));
+        assertEquals(
+                "/api/v1/resources",
+                ReactiveFeignConfigurationOverrides.uriTag("/api/v1/resources"));
+    }
 }
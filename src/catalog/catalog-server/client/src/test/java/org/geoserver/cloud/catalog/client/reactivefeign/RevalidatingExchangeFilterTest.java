@@ -0,0 +1,120 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.reactivefeign;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/** @since 1.0 */
+class RevalidatingExchangeFilterTest {
+
+    private static final URI URL = URI.create("http://catalog-service/api/v1/catalog/workspaces");
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+    private final AtomicReference<String> serverETag = new AtomicReference<>("W/\"1\"");
+
+    /** Mimics the catalog-service conditional requests support */
+    private final ExchangeFunction server =
+            request -> {
+                requests.add(request);
+                String etag = serverETag.get();
+                if (request.headers().getIfNoneMatch().contains(etag)) {
+                    return Mono.just(
+                            ClientResponse.create(HttpStatus.NOT_MODIFIED)
+                                    .header(HttpHeaders.ETAG, etag)
+                                    .build());
+                }
+                return Mono.just(
+                        ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.ETAG, etag)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .body("contents at " + etag)
+                                .build());
+            };
+
+    private String exchange(RevalidatingExchangeFilter filter, ClientRequest request) {
+        return filter.filter(request, server)
+                .flatMap(response -> response.bodyToMono(String.class))
+                .block();
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new RevalidatingExchangeFilter(0, 10));
+    }
+
+    @Test
+    void testReplaysNotModified() {
+        RevalidatingExchangeFilter filter = new RevalidatingExchangeFilter(10, 1024);
+        ClientRequest get = ClientRequest.create(HttpMethod.GET, URL).build();
+
+        assertEquals("contents at W/\"1\"", exchange(filter, get));
+        assertEquals("contents at W/\"1\"", exchange(filter, get));
+        assertEquals(1, filter.getMisses());
+        assertEquals(1, filter.getHits());
+        assertEquals(List.of("W/\"1\""), requests.get(1).headers().getIfNoneMatch());
+
+        serverETag.set("W/\"2\"");
+        assertEquals("contents at W/\"2\"", exchange(filter, get));
+        assertEquals(2, filter.getMisses());
+    }
+
+    @Test
+    void testPostRequiresCacheKey() {
+        RevalidatingExchangeFilter filter = new RevalidatingExchangeFilter(10, 1024);
+        ClientRequest post = ClientRequest.create(HttpMethod.POST, URL).build();
+
+        exchange(filter, post);
+        exchange(filter, post);
+        assertEquals(0, filter.size());
+
+        Mono<String> keyed =
+                filter.filter(post, server)
+                        .flatMap(response -> response.bodyToMono(String.class))
+                        .contextWrite(RevalidatingExchangeFilter.cacheKey("query"));
+        keyed.block();
+        keyed.block();
+        assertEquals(1, filter.getHits());
+        assertNull(requests.get(2).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(List.of("W/\"1\""), requests.get(3).headers().getIfNoneMatch());
+    }
+
+    @Test
+    void testMaxEntrySize() {
+        RevalidatingExchangeFilter filter = new RevalidatingExchangeFilter(10, 4);
+        ClientRequest get = ClientRequest.create(HttpMethod.GET, URL).build();
+        exchange(filter, get);
+        exchange(filter, get);
+        assertEquals(0, filter.size());
+        assertEquals(0, filter.getHits());
+    }
+
+    @Test
+    void testMaxEntries() {
+        RevalidatingExchangeFilter filter = new RevalidatingExchangeFilter(2, 1024);
+        for (int i = 0; i < 5; i++) {
+            URI url = URI.create(URL + "/ws" + i);
+            exchange(filter, ClientRequest.create(HttpMethod.GET, url).build());
+        }
+        assertEquals(2, filter.size());
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+
+/** @since 1.0 */
+class CatalogClientFilterSupportMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private double count(String endpoint, String outcome) {
+        return registry.get(CatalogClientFilterSupportMetrics.POST_FILTERED)
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .counter()
+                .count();
+    }
+
+    @Test
+    void testCountsByEndpointAndOutcome() {
+        CatalogClientFilterSupportMetrics metrics = new CatalogClientFilterSupportMetrics(registry);
+        for (int i = 0; i < 10; i++) {
+            metrics.postFiltered("layers", i % 3 == 0);
+        }
+        metrics.postFiltered("styles", false);
+
+        assertEquals(4, count("layers", "matched"));
+        assertEquals(6, count("layers", "discarded"));
+        assertEquals(0, count("styles", "matched"));
+        assertEquals(1, count("styles", "discarded"));
+        assertEquals(4, registry.getMeters().size());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.impl.WorkspaceInfoImpl;
+import org.geoserver.cloud.catalog.client.repository.CatalogClientFilterSupport.PrePostFilterTuple;
+import org.geoserver.function.IsInstanceOf;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.filter.function.FilterFunction_strToLowerCase;
+import org.junit.jupiter.api.Test;
+import org.opengis.filter.Filter;
+import org.opengis.filter.FilterFactory2;
+import org.opengis.filter.capability.FunctionName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/** @since 1.0 */
+class CatalogClientFilterSupportTest {
+
+    private static final FilterFactory2 ff = CommonFactoryFinder.getFilterFactory2();
+
+    private final List<String> events = new ArrayList<>();
+
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    private List<FunctionName> fetchFunctions() {
+        fetches.incrementAndGet();
+        return List.of(IsInstanceOf.NAME, FilterFunction_strToLowerCase.NAME);
+    }
+
+    private final CatalogClientFilterSupport support =
+            new CatalogClientFilterSupport(
+                    this::fetchFunctions,
+                    new CatalogClientFilterSupport.Listener() {
+                        public @Override void postFiltered(String endpoint, boolean matched) {
+                            events.add(endpoint + ":" + matched);
+                        }
+                    });
+
+    @Test
+    void testSupportedFunctionsEvaluatedServerSide() {
+        Filter lowerCase =
+                ff.equals(ff.function("strToLowerCase", ff.property("name")), ff.literal("ws1"));
+        Filter instanceOf =
+                ff.equals(
+                        ff.function("isInstanceOf", ff.literal(WorkspaceInfo.class)),
+                        ff.literal(true));
+        Filter nested = ff.equals(ff.property("resource.store.workspace.name"), ff.literal("ws1"));
+        Filter filter = ff.and(List.of(lowerCase, instanceOf, nested));
+
+        PrePostFilterTuple split = support.split(filter);
+        assertNotEquals(Filter.INCLUDE, split.pre());
+        assertEquals(Filter.INCLUDE, split.post());
+        support.split(filter);
+        assertEquals(1, fetches.get(), "server functions should be fetched once");
+    }
+
+    @Test
+    void testUnsupportedFunctionsPostFiltered() {
+        Filter supported = ff.equals(ff.property("name"), ff.literal("ws1"));
+        Filter unsupported =
+                ff.equals(ff.function("strToUpperCase", ff.property("name")), ff.literal("WS1"));
+
+        PrePostFilterTuple split = support.split(ff.and(supported, unsupported));
+        assertEquals(supported, split.pre());
+        assertNotEquals(Filter.INCLUDE, split.post());
+    }
+
+    @Test
+    void testPostFilterReportsRows() {
+        Filter post =
+                ff.equals(ff.function("strToUpperCase", ff.property("name")), ff.literal("WS1"));
+        List<WorkspaceInfo> matched =
+                support.postFilter(
+                                "workspaces", Stream.of(workspace("ws1"), workspace("ws2")), post)
+                        .collect(Collectors.toList());
+        assertEquals(1, matched.size());
+        assertEquals(List.of("workspaces:true", "workspaces:false"), events);
+
+        support.postFilter("workspaces", Stream.of(workspace("ws3")), Filter.INCLUDE).count();
+        assertEquals(2, events.size(), "Filter.INCLUDE shall not be evaluated");
+    }
+
+    @Test
+    void testFetchFailureFallsBackToStandardCapabilities() {
+        AtomicInteger calls = new AtomicInteger();
+        CatalogClientFilterSupport failing =
+                new CatalogClientFilterSupport(
+                        () -> {
+                            calls.incrementAndGet();
+                            throw new IllegalStateException("catalog-service is down");
+                        },
+                        null);
+        Filter lowerCase =
+                ff.equals(ff.function("strToLowerCase", ff.property("name")), ff.literal("ws1"));
+        assertEquals(Filter.INCLUDE, failing.split(lowerCase).pre());
+        assertEquals(Filter.INCLUDE, failing.split(lowerCase).pre());
+        assertEquals(1, calls.get(), "shall not retry before the retry interval");
+    }
+
+    private static WorkspaceInfo workspace(String name) {
+        WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+        ws.setId(name);
+        ws.setName(name);
+        return ws;
+    }
+}
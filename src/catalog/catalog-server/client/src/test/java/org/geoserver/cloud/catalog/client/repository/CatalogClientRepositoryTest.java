@@ -41,8 +41,10 @@ import org.geoserver.catalog.plugin.CatalogPlugin;
 import org.geoserver.catalog.plugin.Patch;
 import org.geoserver.catalog.plugin.Query;
 import org.geoserver.cloud.catalog.client.reactivefeign.ReactiveCatalogClient;
+import org.geoserver.cloud.catalog.client.reactivefeign.RevalidatingExchangeFilter;
 import org.geoserver.function.IsInstanceOf;
 import org.geoserver.ows.util.OwsUtils;
+import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.filter.function.FilterFunction_toWKT;
 import org.geotools.filter.function.math.FilterFunction_abs;
 import org.geotools.filter.function.math.FilterFunction_acos;
@@ -52,15 +54,24 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.opengis.filter.Filter;
+import org.opengis.filter.FilterFactory2;
 import org.opengis.filter.capability.FunctionName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -282,6 +293,55 @@ public class CatalogClientRepositoryTest {
         verify(mockClient, times(1)).findFirstByName(any(String.class), eq(name), eq(subType));
     }
 
+    /**
+     * Queries differing only in {@code matchCase} have the same {@code toString()}, they must not
+     * share a revalidation cache entry, or one would be answered with the other's results
+     */
+    public @Test void testQueryRevalidationKey() {
+        RevalidatingExchangeFilter filter = new RevalidatingExchangeFilter(10, 1024);
+        List<ClientRequest> requests = new ArrayList<>();
+        ExchangeFunction server =
+                request -> {
+                    requests.add(request);
+                    HttpStatus status =
+                            request.headers().getIfNoneMatch().contains("W/\"1\"")
+                                    ? HttpStatus.NOT_MODIFIED
+                                    : HttpStatus.OK;
+                    return Mono.just(
+                            ClientResponse.create(status)
+                                    .header(HttpHeaders.ETAG, "W/\"1\"")
+                                    .build());
+                };
+        ClientRequest post =
+                ClientRequest.create(
+                                HttpMethod.POST,
+                                URI.create(
+                                        "http://catalog-service/api/v1/catalog/workspaces/query"))
+                        .build();
+        when(mockClient.query(any(String.class), any()))
+                .thenAnswer(
+                        invocation ->
+                                filter.filter(post, server)
+                                        .flatMap(ClientResponse::releaseBody)
+                                        .thenMany(Flux.empty()));
+
+        FilterFactory2 ff = CommonFactoryFinder.getFilterFactory2();
+        Filter matchCase = ff.equal(ff.property("name"), ff.literal("ws1"), true);
+        Filter ignoreCase = ff.equal(ff.property("name"), ff.literal("ws1"), false);
+        Query<WorkspaceInfo> q1 = Query.valueOf(WorkspaceInfo.class, matchCase);
+        Query<WorkspaceInfo> q2 = Query.valueOf(WorkspaceInfo.class, ignoreCase);
+        assertEquals(q1.toString(), q2.toString());
+
+        workspaceRepository.findAll(q1).count();
+        workspaceRepository.findAll(q2).count();
+        assertEquals(2, filter.size());
+        assertEquals(0, filter.getHits());
+        assertTrue(requests.get(1).headers().getIfNoneMatch().isEmpty());
+
+        workspaceRepository.findAll(q1).count();
+        assertEquals(1, filter.getHits());
+    }
+
     public @Test void testFindByNameNullType() {
         testFindByNameNullType(workspaceRepository, testData.workspaceA.getName());
         testFindByNameNullType(namespaceRepository, testData.namespaceA.getName());
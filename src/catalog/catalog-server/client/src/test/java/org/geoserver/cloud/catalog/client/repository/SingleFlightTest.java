@@ -0,0 +1,120 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/** @since 1.0 */
+class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Test
+    void testConcurrentCallsShareResult() throws Exception {
+        final int callers = 10;
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(
+                        executor.submit(
+                                () ->
+                                        singleFlight.call(
+                                                List.of("layers", "findById", "layer1"),
+                                                () -> {
+                                                    calls.incrementAndGet();
+                                                    await(release);
+                                                    return new Object();
+                                                })));
+            }
+            waitFor(() -> singleFlight.getShared() == callers - 1);
+            release.countDown();
+            Object first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<Object> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, calls.get());
+        assertEquals(1, singleFlight.getCalls());
+        assertEquals(0, singleFlight.getInFlight());
+    }
+
+    @Test
+    void testNotSharedOnceCompleted() {
+        singleFlight.call("key", () -> "first");
+        assertEquals("second", singleFlight.call("key", () -> "second"));
+        assertEquals(2, singleFlight.getCalls());
+        assertEquals(0, singleFlight.getShared());
+    }
+
+    @Test
+    void testErrorsAreShared() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                results.add(
+                        executor.submit(
+                                () ->
+                                        singleFlight.call(
+                                                "key",
+                                                () -> {
+                                                    await(release);
+                                                    throw new IllegalStateException("failed");
+                                                })));
+            }
+            waitFor(() -> singleFlight.getShared() == 1);
+            release.countDown();
+            for (Future<Object> result : results) {
+                Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testReentrantCall() {
+        String result = singleFlight.call("key", () -> singleFlight.call("key", () -> "inner"));
+        assertEquals("inner", result);
+        assertEquals(2, singleFlight.getCalls());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 500 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
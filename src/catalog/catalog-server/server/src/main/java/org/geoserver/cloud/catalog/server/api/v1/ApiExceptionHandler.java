@@ -4,6 +4,7 @@
  */
 package org.geoserver.cloud.catalog.server.api.v1;
 
+import org.geoserver.cloud.catalog.server.service.InfoEventRingBuffer.EventsEvictedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -24,4 +25,9 @@ public class ApiExceptionHandler {
     public ResponseEntity<String> noSuchElementException(NoSuchElementException e) {
         throw new ResponseStatusException(HttpStatus.NO_CONTENT, e.getMessage(), e);
     }
+
+    @ExceptionHandler(EventsEvictedException.class)
+    public ResponseEntity<String> eventsEvictedException(EventsEvictedException e) {
+        throw new ResponseStatusException(HttpStatus.GONE, e.getMessage(), e);
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.server.api.v1;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.cloud.event.GeoServerEvent;
+import org.geoserver.platform.config.UpdateSequence;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link WebFilter} adding an {@code ETag} header to the responses of the catalog and configuration
+ * read operations, and responding with {@code 304 Not Modified} to the ones whose {@code
+ * If-None-Match} header matches the current ETag.
+ *
+ * <p>The ETag is not derived from the response contents, but from the catalog and configuration
+ * state, as given by the global {@link UpdateSequence update sequence} and the number of {@link
+ * GeoServerEvent events}, local or remote, this service instance has seen. Hence it changes as soon
+ * as anything changes, and a client can revalidate any response it got, without the server having
+ * to run the request at all. The ETag also identifies this service instance, since the update
+ * sequence and number of events may not match across instances or restarts, so a client switching
+ * instances gets a fresh response.
+ *
+ * <p>Applies to {@code GET} requests under {@link ReactiveCatalogController#BASE_URI} and {@link
+ * ReactiveConfigController#BASE_URI}, and to the read-only {@code POST} query, count, and fetch by
+ * ids requests, except for the {@link ReactiveCatalogEventsController change stream}.
+ *
+ * @since 1.0
+ */
+@Slf4j(topic = "org.geoserver.cloud.catalog.server.api.v1.etag")
+public class ConditionalRequestsWebFilter implements WebFilter {
+
+    private static final List<String> READ_ONLY_POSTS = List.of("/query", "/query/count", "/ids");
+
+    private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong events = new AtomicLong();
+    private final LongSupplier updateSequence;
+
+    public ConditionalRequestsWebFilter(@NonNull LongSupplier updateSequence) {
+        this.updateSequence = updateSequence;
+    }
+
+    public ConditionalRequestsWebFilter(@NonNull UpdateSequence updateSequence) {
+        this(updateSequence::currValue);
+    }
+
+    @EventListener(GeoServerEvent.class)
+    public void onGeoServerEvent() {
+        events.incrementAndGet();
+    }
+
+    /** @return the ETag representing the current catalog and configuration state */
+    public String currentETag() {
+        // read the event count first, a change in between results in a stale ETag, never in stale
+        // contents for a current ETag
+        long eventCount = events.get();
+        long sequence = updateSequence.getAsLong();
+        return String.format("W/\"%s-%d-%d\"", instanceId, sequence, eventCount);
+    }
+
+    public @Override Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        final ServerHttpRequest request = exchange.getRequest();
+        if (!appliesTo(request)) {
+            return chain.filter(exchange);
+        }
+        final String etag = currentETag();
+        final ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().setETag(etag);
+        if (matches(request.getHeaders().getIfNoneMatch(), etag)) {
+            log.debug("Not modified: {} {}", request.getMethod(), request.getPath());
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        return chain.filter(exchange);
+    }
+
+    static boolean appliesTo(ServerHttpRequest request) {
+        final String path = request.getPath().pathWithinApplication().value();
+        if (!path.startsWith(ReactiveCatalogController.BASE_URI + "/")
+                && !path.startsWith(ReactiveConfigController.BASE_URI + "/")) {
+            return false;
+        }
+        if (path.equals(
+                ReactiveCatalogController.BASE_URI + ReactiveCatalogEventsController.EVENTS_PATH)) {
+            // change streams are never complete
+            return false;
+        }
+        final HttpMethod method = request.getMethod();
+        if (HttpMethod.GET == method) {
+            return true;
+        }
+        return HttpMethod.POST == method && READ_ONLY_POSTS.stream().anyMatch(path::endsWith);
+    }
+
+    static boolean matches(List<String> ifNoneMatch, String etag) {
+        final String opaqueTag = opaqueTag(etag);
+        return ifNoneMatch.stream().anyMatch(t -> "*".equals(t) || opaqueTag.equals(opaqueTag(t)));
+    }
+
+    /** Strips the weak indicator off {@code etag}, as required by weak comparison */
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -6,6 +6,7 @@ package org.geoserver.cloud.catalog.server.api.v1;
 
 import static org.geoserver.catalog.impl.ClassMappings.RESOURCE;
 import static org.geoserver.catalog.impl.ClassMappings.STORE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_STREAM_JSON_VALUE;
 
 import lombok.NonNull;
@@ -23,10 +24,12 @@ import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.impl.ClassMappings;
 import org.geoserver.catalog.plugin.Patch;
 import org.geoserver.catalog.plugin.Query;
+import org.geoserver.cloud.catalog.server.service.BulkOperation;
 import org.geoserver.cloud.catalog.server.service.ProxyResolver;
 import org.geoserver.cloud.catalog.server.service.ReactiveCatalog;
 import org.opengis.filter.capability.FunctionName;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -43,6 +46,9 @@ import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Locale;
+
 /** */
 @RestController
 @RequestMapping(path = ReactiveCatalogController.BASE_URI)
@@ -50,6 +56,14 @@ public class ReactiveCatalogController {
 
     public static final String BASE_URI = "/api/v1/catalog";
 
+    /**
+     * Media type of the binary Smile streams the catalog and config endpoints can be asked for,
+     * instead of {@link MediaType#APPLICATION_STREAM_JSON_VALUE}. Single objects can be asked for
+     * as {@code application/x-jackson-smile}
+     */
+    public static final String APPLICATION_STREAM_SMILE_VALUE =
+            "application/stream+x-jackson-smile";
+
     private ReactiveCatalog catalog;
 
     private ProxyResolver proxyResolver;
@@ -67,6 +81,49 @@ public class ReactiveCatalogController {
         return catalog.create(Mono.just(info).flatMap(proxyResolver::resolve));
     }
 
+    /**
+     * Applies the NDJSON stream of {@link BulkOperation creates, updates, and deletes} in order, as
+     * a single batch, instead of a request per object
+     *
+     * <p>Operations are applied as the request body is read, without holding it in memory. The
+     * configuration write lock {@link ReactiveCatalog#bulk} holds while applying them is taken once
+     * the first operation is read, and released when the body ends or can't be read, so clients
+     * should send the operations right away, not as they're produced.
+     *
+     * <p>There's no rollback, each operation with an {@link BulkOperation.Result.Status#OK OK}
+     * result was applied regardless of the outcome of the following ones.
+     *
+     * @param abortOnError whether to skip the operations after a failed one
+     * @return the NDJSON stream of each operation's {@link BulkOperation.Result outcome}, in order
+     * @see ReactiveCatalog#bulk
+     */
+    @PostMapping(
+            path = "/bulk",
+            consumes = APPLICATION_NDJSON_VALUE,
+            produces = APPLICATION_NDJSON_VALUE)
+    public Flux<BulkOperation.Result> bulk(
+            @RequestBody Flux<BulkOperation> operations,
+            @RequestParam(name = "abortOnError", required = false, defaultValue = "false")
+                    boolean abortOnError) {
+        return catalog.bulk(operations.map(this::resolveEndpointType), abortOnError);
+    }
+
+    /**
+     * Resolves the operation's endpoint type, leaving it unset if invalid for the operation to fail
+     * on its own instead of the whole request
+     */
+    private BulkOperation resolveEndpointType(BulkOperation operation) {
+        String endpoint = operation.getEndpoint();
+        if (endpoint != null) {
+            try {
+                operation.setEndpointType(endpointToClass(endpoint));
+            } catch (RuntimeException invalidEndpoint) {
+                // reported by ReactiveCatalog#bulk as the operation's error
+            }
+        }
+        return operation;
+    }
+
     @PatchMapping(path = "/{endpoint}/{id}")
     public Mono<? extends CatalogInfo> update(
             @PathVariable("endpoint") String endpoint,
@@ -114,7 +171,9 @@ public class ReactiveCatalogController {
                         noContent("%s with id '%s' does not exist", type.getSimpleName(), id));
     }
 
-    @GetMapping(path = "/{endpoint}", produces = APPLICATION_STREAM_JSON_VALUE)
+    @GetMapping(
+            path = "/{endpoint}",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<? extends CatalogInfo> findAll(
             @PathVariable("endpoint") String endpoint,
             @RequestParam(name = "type", required = false) ClassMappings subType) {
@@ -140,6 +199,22 @@ public class ReactiveCatalogController {
                                 type.getInterface().getSimpleName(), id));
     }
 
+    /**
+     * Fetches many objects by id in a single call, streaming back the ones found in no particular
+     * order
+     */
+    @PostMapping(
+            path = "/{endpoint}/ids",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
+    public Flux<? extends CatalogInfo> findAllById( //
+            @PathVariable("endpoint") String endpoint,
+            @RequestBody List<String> ids,
+            @RequestParam(name = "type", required = false) ClassMappings subType) {
+
+        Class<? extends CatalogInfo> type = endpointToClass(endpoint, subType);
+        return catalog.getAllById(ids, type);
+    }
+
     @GetMapping(path = "/{endpoint}/name/{name}/first")
     public Mono<? extends CatalogInfo> findFirstByName( //
             @PathVariable("endpoint") String endpoint,
@@ -161,12 +236,16 @@ public class ReactiveCatalogController {
         return catalog.canSortBy(type, propertyName);
     }
 
-    @GetMapping(path = "/query/capabilities/functions", produces = APPLICATION_STREAM_JSON_VALUE)
+    @GetMapping(
+            path = "/query/capabilities/functions",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<FunctionName> getSupportedFilterFunctionNames() {
         return catalog.getSupportedFunctionNames();
     }
 
-    @PostMapping(path = "/{endpoint}/query", produces = APPLICATION_STREAM_JSON_VALUE)
+    @PostMapping(
+            path = "/{endpoint}/query",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public <C extends CatalogInfo> Flux<C> query( //
             @PathVariable("endpoint") String endpoint, @RequestBody Query<C> query) {
 
@@ -223,12 +302,16 @@ public class ReactiveCatalogController {
                 .switchIfEmpty(noContent("No NamespaceInfo found for uri %s", uri));
     }
 
-    @GetMapping(path = "namespaces/uri/all", produces = APPLICATION_STREAM_JSON_VALUE)
+    @GetMapping(
+            path = "namespaces/uri/all",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<NamespaceInfo> findAllNamespacesByURI(@RequestParam("uri") String uri) {
         return catalog.getAllNamespacesByURI(uri);
     }
 
-    @GetMapping(path = "/stores/defaults", produces = APPLICATION_STREAM_JSON_VALUE)
+    @GetMapping(
+            path = "/stores/defaults",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<DataStoreInfo> getDefaultDataStores() {
         return catalog.getDefaultDataStores();
     }
@@ -267,7 +350,9 @@ public class ReactiveCatalogController {
                 .switchIfEmpty(noContent("Workspace not found: %s", workspaceId));
     }
 
-    @GetMapping(path = "/workspaces/{workspaceId}/stores", produces = APPLICATION_STREAM_JSON_VALUE)
+    @GetMapping(
+            path = "/workspaces/{workspaceId}/stores",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<? extends StoreInfo> findStoresByWorkspaceId( //
             @PathVariable("workspaceId") String workspaceId,
             @RequestParam(name = "type", required = false) ClassMappings subType) {
@@ -310,14 +395,18 @@ public class ReactiveCatalogController {
                 .switchIfEmpty(noContent("Namesapce does not exist: %s", namespaceId));
     }
 
-    @GetMapping(path = "/layers/style/{styleId}", produces = APPLICATION_STREAM_JSON_VALUE)
+    @GetMapping(
+            path = "/layers/style/{styleId}",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<LayerInfo> findLayersWithStyle(@PathVariable("styleId") String styleId) {
         return catalog.getById(styleId, StyleInfo.class)
                 .switchIfEmpty(noContent("Style does not exist: %s", styleId))
                 .flatMapMany(s -> catalog.getLayersWithStyle(s));
     }
 
-    @GetMapping(path = "/layers/resource/{resourceId}", produces = APPLICATION_STREAM_JSON_VALUE)
+    @GetMapping(
+            path = "/layers/resource/{resourceId}",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<LayerInfo> findLayersByResourceId(@PathVariable("resourceId") String resourceId) {
 
         return catalog.getById(resourceId, ResourceInfo.class)
@@ -325,14 +414,16 @@ public class ReactiveCatalogController {
                 .flatMapMany(r -> catalog.getLayersByResource(r));
     }
 
-    @GetMapping(path = "/layergroups/noworkspace", produces = APPLICATION_STREAM_JSON_VALUE)
+    @GetMapping(
+            path = "/layergroups/noworkspace",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<LayerGroupInfo> findLayerGroupsByNullWoskspace() {
         return catalog.getLayerGroupsWithNoWoskspace();
     }
 
     @GetMapping(
             path = "/workspaces/{workspaceId}/layergroups",
-            produces = APPLICATION_STREAM_JSON_VALUE)
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<LayerGroupInfo> findLayerGroupsByWoskspaceId(
             @PathVariable("workspaceId") String workspaceId) {
 
@@ -361,12 +452,16 @@ public class ReactiveCatalogController {
                 .switchIfEmpty(noContent("Workspace does not exist: %s", workspaceId));
     }
 
-    @GetMapping(path = "/styles/noworkspace", produces = APPLICATION_STREAM_JSON_VALUE)
+    @GetMapping(
+            path = "/styles/noworkspace",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<StyleInfo> findStylesByNullWorkspace() {
         return catalog.getStylesWithNoWorkspace();
     }
 
-    @GetMapping(path = "/workspaces/{workspaceId}/styles", produces = APPLICATION_STREAM_JSON_VALUE)
+    @GetMapping(
+            path = "/workspaces/{workspaceId}/styles",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<StyleInfo> findStylesByWorkspaceId(
             @PathVariable(name = "workspaceId") String workspaceId) {
 
@@ -399,7 +494,7 @@ public class ReactiveCatalogController {
 
     private @NonNull ClassMappings endpointToType(@NonNull String endpoint) {
         // e.g. "workspaces" -> "WORKSPACE"
-        String enumKey = endpoint.toUpperCase().substring(0, endpoint.length() - 1);
+        String enumKey = endpoint.toUpperCase(Locale.ROOT).substring(0, endpoint.length() - 1);
         ClassMappings type = ClassMappings.valueOf(enumKey);
         if (type == null) {
             throw new IllegalArgumentException("Invalid end point: " + endpoint);
@@ -0,0 +1,55 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.server.api.v1;
+
+import static org.springframework.http.MediaType.APPLICATION_STREAM_JSON_VALUE;
+
+import lombok.NonNull;
+
+import org.geoserver.cloud.catalog.server.service.InfoEventRingBuffer;
+import org.geoserver.cloud.event.ChangeStreamEntry;
+import org.geoserver.cloud.event.info.InfoEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Change stream of the catalog and configuration {@link InfoEvent}s, for clients to learn about
+ * changes without a message broker.
+ *
+ * <p>Clients resume a stream with the {@code epoch} and {@code offset} of the last entry they got,
+ * or get {@code 410 Gone} if the events since then are no longer available, as when the request is
+ * served by another catalog-service instance, and shall start afresh.
+ *
+ * @see InfoEventRingBuffer
+ * @since 1.0
+ */
+@RestController
+@RequestMapping(path = ReactiveCatalogController.BASE_URI)
+@ConditionalOnProperty(
+        name = "geoserver.catalog-service.events.enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+public class ReactiveCatalogEventsController {
+
+    public static final String EVENTS_PATH = "/events";
+
+    private final InfoEventRingBuffer events;
+
+    public ReactiveCatalogEventsController(@NonNull InfoEventRingBuffer events) {
+        this.events = events;
+    }
+
+    @GetMapping(path = EVENTS_PATH, produces = APPLICATION_STREAM_JSON_VALUE)
+    public Flux<ChangeStreamEntry> events(
+            @RequestParam(name = "epoch", required = false) String epoch,
+            @RequestParam(name = "offset", required = false) Long offset) {
+        return events.since(epoch, offset);
+    }
+}
@@ -4,6 +4,7 @@
  */
 package org.geoserver.cloud.catalog.server.api.v1;
 
+import static org.geoserver.cloud.catalog.server.api.v1.ReactiveCatalogController.APPLICATION_STREAM_SMILE_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_STREAM_JSON_VALUE;
 
 import lombok.extern.slf4j.Slf4j;
@@ -175,7 +176,7 @@ public class ReactiveConfigController {
     /** GeoServer services specific to the specified workspace. */
     @GetMapping(
             path = "/workspaces/{workspaceId}/services",
-            produces = APPLICATION_STREAM_JSON_VALUE)
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<ServiceInfo> getServicesByWorkspace(
             @PathVariable("workspaceId") String workspaceId) {
 
@@ -186,7 +187,9 @@ public class ReactiveConfigController {
     }
 
     /** Global (no-workspace) services. */
-    @GetMapping(path = "/services", produces = APPLICATION_STREAM_JSON_VALUE)
+    @GetMapping(
+            path = "/services",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<? extends ServiceInfo> getGlobalServices() {
         return config.getGlobalServices();
     }
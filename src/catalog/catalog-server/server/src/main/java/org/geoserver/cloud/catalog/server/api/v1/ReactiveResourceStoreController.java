@@ -20,6 +20,7 @@ import org.geoserver.platform.resource.Resource.Type;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -34,7 +35,6 @@ import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.nio.ByteBuffer;
 import java.util.Objects;
 
 /** */
@@ -105,7 +105,7 @@ public class ReactiveResourceStoreController {
             consumes = APPLICATION_OCTET_STREAM_VALUE,
             produces = APPLICATION_JSON_VALUE)
     public Mono<WebResource> put(
-            @PathVariable("path") String path, @RequestBody ByteBuffer contents) {
+            @PathVariable("path") String path, @RequestBody Flux<DataBuffer> contents) {
 
         return this.store.setContents(path, contents).map(this::toWebResource);
     }
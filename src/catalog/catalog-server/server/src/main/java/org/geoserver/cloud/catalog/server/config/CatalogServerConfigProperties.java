@@ -6,6 +6,10 @@ package org.geoserver.cloud.catalog.server.config;
 
 import lombok.Data;
 
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
 /**
  * {@code catalog-service} specific configuration properties bean, expected to match the {@code
  * geoserver.catalog-service} properties prefix
@@ -14,13 +18,70 @@ public @Data class CatalogServerConfigProperties {
 
     private SchedulerConfig ioThreads = new SchedulerConfig();
 
+    private ConditionalRequestsConfig conditionalRequests = new ConditionalRequestsConfig();
+
+    private EventsConfig events = new EventsConfig();
+
+    private QueryCacheConfig queryCache = new QueryCacheConfig();
+
+    /**
+     * Whether to add update sequence based ETags to read responses and honor {@code If-None-Match}
+     * requests with {@code 304 Not Modified} responses
+     */
+    public static @Data class ConditionalRequestsConfig {
+        private boolean enabled = true;
+    }
+
+    /** Change stream of catalog and configuration events at {@code /api/v1/catalog/events} */
+    public static @Data class EventsConfig {
+        private boolean enabled = true;
+        /** Number of most recent events kept for clients to resume their change streams */
+        private int capacity = 1000;
+        /** Interval at which idle change streams are sent the last update sequence */
+        private Duration heartbeat = Duration.ofSeconds(30);
+    }
+
+    /**
+     * In-memory cache of query results, discarded every time the update sequence moves, so
+     * identical queries are read once from the catalog
+     */
+    public static @Data class QueryCacheConfig {
+        private boolean enabled = true;
+        /** Maximum encoded size of all the cached results */
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+        /** Results with more objects than this are streamed from the catalog and not cached */
+        private int maxResultSize = 10_000;
+    }
+
     public static @Data class SchedulerConfig {
         public static final int DEFAULT_MAX_SIZE =
                 Math.max(4, 4 * Runtime.getRuntime().availableProcessors());
         public static final int DEFAULT_MAX_QUEUED = Integer.MAX_VALUE;
+        /** Default {@code max-concurrency} when running on virtual threads */
+        public static final int DEFAULT_MAX_CONCURRENCY = 256;
 
+        public static enum Type {
+            /** A bounded pool of reusable threads, of at most {@code max-size} threads */
+            BOUNDED_ELASTIC,
+            /**
+             * A new thread per task, virtual if supported by the JVM, running at most {@code
+             * max-concurrency} tasks at a time
+             */
+            PER_TASK
+        }
+
+        Type type = Type.BOUNDED_ELASTIC;
         Integer maxSize = DEFAULT_MAX_SIZE;
         Integer maxQueued = DEFAULT_MAX_QUEUED;
+        /**
+         * Unset by default, meaning {@link #DEFAULT_MAX_CONCURRENCY} on virtual threads, and {@link
+         * #DEFAULT_MAX_SIZE} on platform threads, same as the bounded elastic type
+         */
+        Integer maxConcurrency;
+
+        public Type getType() {
+            return type == null ? Type.BOUNDED_ELASTIC : type;
+        }
 
         public Integer getMaxSize() {
             return maxSize == null ? DEFAULT_MAX_SIZE : maxSize;
@@ -30,6 +91,20 @@ public @Data class CatalogServerConfigProperties {
             return maxQueued == null ? DEFAULT_MAX_QUEUED : maxQueued;
         }
 
+        /**
+         * @param virtualThreads whether the per-task threads are virtual threads
+         * @return the configured {@code max-concurrency}, or the default for the kind of threads
+         *     used if not set
+         */
+        public int getMaxConcurrency(boolean virtualThreads) {
+            if (maxConcurrency != null) return maxConcurrency;
+            return defaultMaxConcurrency(virtualThreads);
+        }
+
+        public static int defaultMaxConcurrency(boolean virtualThreads) {
+            return virtualThreads ? DEFAULT_MAX_CONCURRENCY : DEFAULT_MAX_SIZE;
+        }
+
         public static String buildInvalidMaxSizeMessage(int providedMaxThreadsValue) {
             return String.format(
                     "Ivalid value for geoserver.catalog-service.io-threads.max-size=%d, using default value of 4*cores (%d)",
@@ -41,5 +116,12 @@ public @Data class CatalogServerConfigProperties {
                     "Ivalid value for geoserver.catalog-service.io-threads.max-queued=%d, using default unbounded queue",
                     maxQueued);
         }
+
+        public static String buildInvalidMaxConcurrencyMessage(
+                int maxConcurrency, int defaultValue) {
+            return String.format(
+                    "Invalid value for geoserver.catalog-service.io-threads.max-concurrency=%d, using default value of %d",
+                    maxConcurrency, defaultValue);
+        }
     }
 }
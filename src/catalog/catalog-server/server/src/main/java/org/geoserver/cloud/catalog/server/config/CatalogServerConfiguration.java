@@ -4,18 +4,45 @@
  */
 package org.geoserver.cloud.catalog.server.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.cloud.autoconfigure.catalog.event.ConditionalOnCatalogEvents;
+import org.geoserver.cloud.catalog.server.api.v1.ConditionalRequestsWebFilter;
 import org.geoserver.cloud.catalog.server.api.v1.ReactiveCatalogController;
+import org.geoserver.cloud.catalog.server.api.v1.ReactiveCatalogEventsController;
+import org.geoserver.cloud.catalog.server.config.CatalogServerConfigProperties.EventsConfig;
+import org.geoserver.cloud.catalog.server.config.CatalogServerConfigProperties.QueryCacheConfig;
 import org.geoserver.cloud.catalog.server.config.CatalogServerConfigProperties.SchedulerConfig;
+import org.geoserver.cloud.catalog.server.config.CatalogServerConfigProperties.SchedulerConfig.Type;
+import org.geoserver.cloud.catalog.server.service.InfoEventRingBuffer;
+import org.geoserver.cloud.catalog.server.service.QueryResultCache;
 import org.geoserver.cloud.catalog.server.service.ReactiveCatalog;
+import org.geoserver.platform.config.UpdateSequence;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.codec.CodecCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.reactive.config.WebFluxConfigurer;
-import lombok.extern.slf4j.Slf4j;
+
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
 @Configuration
 @ComponentScan(basePackageClasses = {ReactiveCatalog.class, ReactiveCatalogController.class})
 @Slf4j
@@ -30,31 +57,167 @@ public class CatalogServerConfiguration implements WebFluxConfigurer {
     }
 
     /**
-     * Configures the reactive Scheduler thread pool on which {@link ReactiveCatalogService}
-     * performs the blocking catalog calls
+     * Configures the reactive Scheduler on which {@link ReactiveCatalogService} performs the
+     * blocking catalog calls, either a bounded thread pool, or a thread per task scheduler limited
+     * by the number of concurrent tasks, as per {@code geoserver.catalog-service.io-threads.type}.
+     *
+     * <p>Reports the time tasks wait to be run if metrics are enabled.
      */
-    public @Bean Scheduler catalogScheduler() {
+    @Bean(destroyMethod = "dispose")
+    public Scheduler catalogScheduler(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${geoserver.metrics.enabled:true}") boolean metricsEnabled) {
         CatalogServerConfigProperties config = applicationConfig();
         SchedulerConfig schedulerConfig = config.getIoThreads();
-        int maxThreads = schedulerConfig.getMaxSize();
         int maxQueued = schedulerConfig.getMaxQueued();
-        if (maxThreads <= 0) {
-            log.warn(SchedulerConfig.buildInvalidMaxSizeMessage(maxThreads));
-            maxThreads = SchedulerConfig.DEFAULT_MAX_SIZE;
-        }
         if (maxQueued <= 0) {
             log.warn(SchedulerConfig.buildInvalidMaxQueuedMessage(maxQueued));
             maxQueued = SchedulerConfig.DEFAULT_MAX_QUEUED;
         }
+        final Type type = schedulerConfig.getType();
+        Scheduler scheduler =
+                type == Type.PER_TASK
+                        ? perTaskScheduler(schedulerConfig, maxQueued)
+                        : boundedElasticScheduler(schedulerConfig, maxQueued);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (metricsEnabled && registry != null) {
+            Tags tags = Tags.of("type", type.name().toLowerCase().replace('_', '-'));
+            scheduler = new MeteredScheduler(scheduler, "catalogScheduler", registry, tags);
+        }
+        return scheduler;
+    }
+
+    /**
+     * Honors {@code If-None-Match} conditional requests with ETags derived from the update
+     * sequence, unless {@code geoserver.catalog-service.conditional-requests.enabled=false}
+     */
+    @Bean
+    @ConditionalOnProperty(
+            name = "geoserver.catalog-service.conditional-requests.enabled",
+            havingValue = "true",
+            matchIfMissing = true)
+    public ConditionalRequestsWebFilter conditionalRequestsWebFilter(
+            ObjectProvider<UpdateSequence> updateSequence) {
+        UpdateSequence sequence = updateSequence.getIfAvailable();
+        if (sequence == null) {
+            log.info("No UpdateSequence available, ETags will only track catalog events");
+            return new ConditionalRequestsWebFilter(() -> 0L);
+        }
+        return new ConditionalRequestsWebFilter(sequence);
+    }
+
+    /**
+     * Keeps the most recent catalog and configuration events for the {@link
+     * ReactiveCatalogEventsController change stream}, unless {@code
+     * geoserver.catalog-service.events.enabled=false}
+     */
+    @Bean
+    @ConditionalOnProperty(
+            name = "geoserver.catalog-service.events.enabled",
+            havingValue = "true",
+            matchIfMissing = true)
+    public InfoEventRingBuffer infoEventRingBuffer(ObjectProvider<UpdateSequence> updateSequence) {
+        EventsConfig config = applicationConfig().getEvents();
+        UpdateSequence sequence = updateSequence.getIfAvailable();
+        long initialSequence = sequence == null ? 0L : sequence.currValue();
+        InfoEventRingBuffer buffer =
+                new InfoEventRingBuffer(
+                        config.getCapacity(), initialSequence, config.getHeartbeat());
+        log.info(
+                "configured catalog events change stream: capacity={}, heartbeat={}, epoch={}",
+                config.getCapacity(),
+                config.getHeartbeat(),
+                buffer.getEpoch());
+        return buffer;
+    }
+
+    /**
+     * Caches catalog query results until the update sequence moves, unless {@code
+     * geoserver.catalog-service.query-cache.enabled=false}. Requires the local catalog events it's
+     * invalidated by, so it's disabled with {@code geoserver.catalog.events.enabled=false}
+     */
+    @Bean
+    @ConditionalOnCatalogEvents
+    @ConditionalOnProperty(
+            name = "geoserver.catalog-service.query-cache.enabled",
+            havingValue = "true",
+            matchIfMissing = true)
+    public QueryResultCache queryResultCache(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        QueryCacheConfig config = applicationConfig().getQueryCache();
+        log.info(
+                "configured catalog query results cache: maxSize={}, maxResultSize={}",
+                config.getMaxSize(),
+                config.getMaxResultSize());
+        return new QueryResultCache(
+                objectMapperBuilder.build(),
+                config.getMaxSize().toBytes(),
+                config.getMaxResultSize());
+    }
+
+    /**
+     * Encodes and decodes catalog and configuration objects as binary <a
+     * href="https://github.com/FasterXML/smile-format-specification">Smile</a> for clients that ask
+     * for it through the {@code Accept} header, using the same Jackson modules as the JSON codecs
+     * instead of the plain ones WebFlux would set up with {@code jackson-dataformat-smile} in the
+     * classpath
+     */
+    @Bean
+    public CodecCustomizer catalogSmileCodecCustomizer(
+            Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        ObjectMapper smileMapper = objectMapperBuilder.factory(new SmileFactory()).build();
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper));
+        };
+    }
+
+    private Scheduler boundedElasticScheduler(SchedulerConfig schedulerConfig, int maxQueued) {
+        int maxThreads = schedulerConfig.getMaxSize();
+        if (maxThreads <= 0) {
+            log.warn(SchedulerConfig.buildInvalidMaxSizeMessage(maxThreads));
+            maxThreads = SchedulerConfig.DEFAULT_MAX_SIZE;
+        }
         log.info("configured catalogScheduler: maxThreads={}, maxQueued={}", maxThreads, maxQueued);
         return Schedulers.newBoundedElastic(maxThreads, maxQueued, "catalogScheduler");
     }
 
     /**
-     * Configures the {@link ObjectMapper} used by {@link Jackson2JsonEncoder} and
-     * {@link Jackson2JsonDecoder} to handle http message payloads, especially in order to set
-     * {@link SerializationFeature#WRAP_ROOT_VALUE} to {@code false}, or the responses are like
-     * <code>
+     * Defaults {@code max-concurrency} to the bounded elastic {@code max-size} on platform threads,
+     * since each running task holds a thread all the same
+     */
+    private Scheduler perTaskScheduler(SchedulerConfig schedulerConfig, int maxQueued) {
+        Optional<ExecutorService> virtualThreads =
+                ConcurrencyLimitedExecutor.newVirtualThreadPerTaskExecutor();
+        final boolean virtual = virtualThreads.isPresent();
+        int maxConcurrency = schedulerConfig.getMaxConcurrency(virtual);
+        if (maxConcurrency <= 0) {
+            int defaultValue = SchedulerConfig.defaultMaxConcurrency(virtual);
+            log.warn(
+                    SchedulerConfig.buildInvalidMaxConcurrencyMessage(
+                            maxConcurrency, defaultValue));
+            maxConcurrency = defaultValue;
+        }
+        log.info(
+                "configured thread per task catalogScheduler: virtualThreads={},"
+                        + " maxConcurrency={}, maxQueued={}",
+                virtual,
+                maxConcurrency,
+                maxQueued);
+        ExecutorService threadPerTask =
+                virtualThreads.orElseGet(
+                        () ->
+                                ConcurrencyLimitedExecutor.newCachedThreadPerTaskExecutor(
+                                        "catalogScheduler"));
+        ConcurrencyLimitedExecutor executor =
+                new ConcurrencyLimitedExecutor(threadPerTask, maxConcurrency, maxQueued);
+        return Schedulers.fromExecutorService(executor, "catalogScheduler");
+    }
+
+    /**
+     * Configures the {@link ObjectMapper} used by {@link Jackson2JsonEncoder} and {@link
+     * Jackson2JsonDecoder} to handle http message payloads, especially in order to set {@link
+     * SerializationFeature#WRAP_ROOT_VALUE} to {@code false}, or the responses are like <code>
      * {"WorkspaceInfoImpl" : {"Workspace" : {"WorkspaceInfo" : {...}}}}
      * </code> instead of like <code>
      * {"WorkspaceInfo" : {...}}
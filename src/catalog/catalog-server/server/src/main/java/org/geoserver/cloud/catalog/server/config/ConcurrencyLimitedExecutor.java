@@ -0,0 +1,198 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.server.config;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ExecutorService} that runs each task on its own thread, as obtained from a thread per task
+ * executor, limiting the number of tasks running at any given time to {@code maxConcurrency}
+ * instead of limiting the number of threads. Tasks submitted while the limit is reached are queued,
+ * up to {@code maxQueued}, and rejected afterwards.
+ *
+ * <p>{@link #perTask(String, int, int)} uses virtual threads if the JVM supports them, which makes
+ * each waiting task cost a small heap object instead of a platform thread stack.
+ *
+ * @since 1.0
+ */
+@Slf4j
+class ConcurrencyLimitedExecutor extends AbstractExecutorService {
+
+    private final ExecutorService threadPerTask;
+    private final int maxConcurrency;
+    private final int maxQueued;
+
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+
+    ConcurrencyLimitedExecutor(
+            @NonNull ExecutorService threadPerTask, int maxConcurrency, int maxQueued) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be > 0: " + maxConcurrency);
+        }
+        if (maxQueued <= 0) {
+            throw new IllegalArgumentException("maxQueued must be > 0: " + maxQueued);
+        }
+        this.threadPerTask = threadPerTask;
+        this.maxConcurrency = maxConcurrency;
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Creates a concurrency limited executor running each task on a new virtual thread if supported
+     * by the JVM, or on a cached platform thread otherwise
+     */
+    public static ConcurrencyLimitedExecutor perTask(
+            String name, int maxConcurrency, int maxQueued) {
+        ExecutorService threadPerTask =
+                newVirtualThreadPerTaskExecutor()
+                        .orElseGet(() -> newCachedThreadPerTaskExecutor(name));
+        return new ConcurrencyLimitedExecutor(threadPerTask, maxConcurrency, maxQueued);
+    }
+
+    /** Creates a thread per task executor that reuses idle platform threads */
+    static ExecutorService newCachedThreadPerTaskExecutor(String name) {
+        log.info(
+                "Virtual threads not supported by this JVM, {} will use cached platform threads",
+                name);
+        return Executors.newCachedThreadPool(threadFactory(name));
+    }
+
+    /**
+     * Looks up {@code Executors.newVirtualThreadPerTaskExecutor()} reflectively, since it's not
+     * available on the JDK version the project is built with
+     */
+    static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+        try {
+            Object executor =
+                    Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            return Optional.of((ExecutorService) executor);
+        } catch (NoSuchMethodException e) {
+            return Optional.empty();
+        } catch (InvocationTargetException | IllegalAccessException e) {
+            // e.g. UnsupportedOperationException if virtual threads are a disabled preview feature
+            log.debug("Unable to create virtual thread per task executor", e);
+            return Optional.empty();
+        }
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /** @return number of tasks waiting for the concurrency limit to allow them to run */
+    public int getQueued() {
+        return queued.get();
+    }
+
+    /** @return number of tasks running */
+    public int getRunning() {
+        return running.get();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public @Override void execute(@NonNull Runnable task) {
+        if (isShutdown()) {
+            throw new RejectedExecutionException("Executor is shut down");
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            throw new RejectedExecutionException(
+                    "Queue full, " + maxQueued + " tasks waiting to be executed");
+        }
+        queue.add(task);
+        dispatch();
+    }
+
+    /** Hands over queued tasks to the thread per task executor while under the limit */
+    private void dispatch() {
+        while (!queue.isEmpty()) {
+            final int current = running.get();
+            if (current >= maxConcurrency) return;
+            if (!running.compareAndSet(current, current + 1)) continue;
+            final Runnable task = queue.poll();
+            if (task == null) {
+                // drained by another thread
+                running.decrementAndGet();
+                continue;
+            }
+            queued.decrementAndGet();
+            try {
+                threadPerTask.execute(() -> run(task));
+            } catch (RejectedExecutionException e) {
+                running.decrementAndGet();
+                throw e;
+            }
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            task.run();
+        } finally {
+            running.decrementAndGet();
+            try {
+                dispatch();
+            } catch (RejectedExecutionException e) {
+                log.debug("Executor shut down, queued tasks won't run");
+            }
+        }
+    }
+
+    public @Override void shutdown() {
+        threadPerTask.shutdown();
+    }
+
+    public @Override List<Runnable> shutdownNow() {
+        List<Runnable> pending = new ArrayList<>(queue);
+        queue.clear();
+        queued.set(0);
+        threadPerTask.shutdownNow();
+        return pending;
+    }
+
+    public @Override boolean isShutdown() {
+        return threadPerTask.isShutdown();
+    }
+
+    public @Override boolean isTerminated() {
+        return threadPerTask.isTerminated();
+    }
+
+    public @Override boolean awaitTermination(long timeout, TimeUnit unit)
+            throws InterruptedException {
+        return threadPerTask.awaitTermination(timeout, unit);
+    }
+
+    public @Override String toString() {
+        return String.format(
+                "%s[maxConcurrency: %d, running: %d, queued: %d]",
+                getClass().getSimpleName(), maxConcurrency, getRunning(), getQueued());
+    }
+}
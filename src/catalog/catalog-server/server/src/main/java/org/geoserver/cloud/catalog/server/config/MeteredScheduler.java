@@ -0,0 +1,143 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.server.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.NonNull;
+
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link Scheduler} decorator reporting how long tasks wait to be run, from being scheduled to
+ * starting to run, and how many tasks are running.
+ *
+ * <p>Registers the following meters, tagged with the scheduler {@code name} and the given tags:
+ *
+ * <ul>
+ *   <li>{@code geoserver.catalog-service.scheduler.wait}: timer of the time tasks waited to be run
+ *   <li>{@code geoserver.catalog-service.scheduler.active}: gauge of the number of tasks running
+ * </ul>
+ *
+ * Only tasks scheduled to run immediately are measured, delayed and periodic ones are delegated as
+ * is.
+ *
+ * @since 1.0
+ */
+class MeteredScheduler implements Scheduler {
+
+    static final String WAIT = "geoserver.catalog-service.scheduler.wait";
+    static final String ACTIVE = "geoserver.catalog-service.scheduler.active";
+
+    private final Scheduler delegate;
+    private final Timer wait;
+    private final AtomicInteger active = new AtomicInteger();
+
+    MeteredScheduler(
+            @NonNull Scheduler delegate,
+            @NonNull String name,
+            @NonNull MeterRegistry registry,
+            @NonNull Tags tags) {
+        this.delegate = delegate;
+        Tags schedulerTags = tags.and("name", name);
+        this.wait =
+                Timer.builder(WAIT)
+                        .description("Time tasks waited to be run by the catalog scheduler")
+                        .tags(schedulerTags)
+                        .publishPercentileHistogram()
+                        .register(registry);
+        Gauge.builder(ACTIVE, active, AtomicInteger::get)
+                .description("Tasks being run by the catalog scheduler")
+                .tags(schedulerTags)
+                .register(registry);
+    }
+
+    private Runnable metered(Runnable task) {
+        final long scheduled = System.nanoTime();
+        return () -> {
+            wait.record(System.nanoTime() - scheduled, TimeUnit.NANOSECONDS);
+            active.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                active.decrementAndGet();
+            }
+        };
+    }
+
+    public @Override Disposable schedule(Runnable task) {
+        return delegate.schedule(metered(task));
+    }
+
+    public @Override Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        return delegate.schedule(task, delay, unit);
+    }
+
+    public @Override Disposable schedulePeriodically(
+            Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return delegate.schedulePeriodically(task, initialDelay, period, unit);
+    }
+
+    public @Override long now(TimeUnit unit) {
+        return delegate.now(unit);
+    }
+
+    public @Override Worker createWorker() {
+        return new MeteredWorker(delegate.createWorker());
+    }
+
+    public @Override void start() {
+        delegate.start();
+    }
+
+    public @Override void dispose() {
+        delegate.dispose();
+    }
+
+    public @Override boolean isDisposed() {
+        return delegate.isDisposed();
+    }
+
+    public @Override String toString() {
+        return delegate.toString();
+    }
+
+    private class MeteredWorker implements Worker {
+
+        private final Worker worker;
+
+        MeteredWorker(Worker worker) {
+            this.worker = worker;
+        }
+
+        public @Override Disposable schedule(Runnable task) {
+            return worker.schedule(metered(task));
+        }
+
+        public @Override Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+            return worker.schedule(task, delay, unit);
+        }
+
+        public @Override Disposable schedulePeriodically(
+                Runnable task, long initialDelay, long period, TimeUnit unit) {
+            return worker.schedulePeriodically(task, initialDelay, period, unit);
+        }
+
+        public @Override void dispose() {
+            worker.dispose();
+        }
+
+        public @Override boolean isDisposed() {
+            return worker.isDisposed();
+        }
+    }
+}
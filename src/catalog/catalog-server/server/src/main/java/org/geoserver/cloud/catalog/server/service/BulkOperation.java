@@ -0,0 +1,87 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.server.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.plugin.Patch;
+
+/**
+ * One of the operations of a {@link ReactiveCatalog#bulk bulk} request, read from one line of the
+ * request's NDJSON body, e.g.:
+ *
+ * <pre>{@code
+ * {"op":"CREATE","object":{"FeatureTypeInfo":{...}}}
+ * {"op":"UPDATE","endpoint":"layers","id":"...","patch":{...}}
+ * {"op":"DELETE","endpoint":"styles","id":"..."}
+ * }</pre>
+ *
+ * @since 1.0
+ */
+@Data
+@Accessors(chain = true)
+public class BulkOperation {
+
+    public enum Type {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    private Type op;
+
+    /** API endpoint of the object to update or delete (e.g. {@code layers}), like in the URI */
+    private String endpoint;
+
+    /** Id of the object to update or delete */
+    private String id;
+
+    /** The object to create */
+    private CatalogInfo object;
+
+    /** The changes to apply to the object to update */
+    private Patch patch;
+
+    /**
+     * The type of object to update or delete, resolved from the {@link #getEndpoint() endpoint} the
+     * same way as for the URIs of the single object requests. {@code null} if the endpoint was not
+     * provided or is invalid
+     */
+    @JsonIgnore private Class<? extends CatalogInfo> endpointType;
+
+    /** Outcome of a {@link BulkOperation}, one per operation and in the same order */
+    @Data
+    @Accessors(chain = true)
+    public static class Result {
+
+        public enum Status {
+            /** The operation was applied, and remains so whatever the outcome of the next ones */
+            OK,
+            /**
+             * The operation failed and was not applied, see {@link Result#getError()}. Also sent,
+             * with no {@link Result#getOp() op}, for the first operation that couldn't be read
+             */
+            FAILED,
+            /** The operation was not attempted, as a previous one failed */
+            SKIPPED
+        }
+
+        /** Zero-based position of the operation in the request */
+        private int index;
+
+        private Type op;
+
+        /** Id of the object created, updated, or deleted, if known */
+        private String id;
+
+        private Status status;
+
+        private String error;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.server.service;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.cloud.event.ChangeStreamEntry;
+import org.geoserver.cloud.event.UpdateSequenceEvent;
+import org.geoserver.cloud.event.info.InfoEvent;
+import org.springframework.context.event.EventListener;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.FluxSink.OverflowStrategy;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bounded in-memory log of the most recent {@link InfoEvent}s, local or remote, that backs the
+ * catalog-service change streams.
+ *
+ * <p>Events are kept in the order they're received, each one at the next {@link
+ * ChangeStreamEntry#getOffset() offset}. Their update sequences are not used to resume streams,
+ * since events from other service instances may be received after local ones with a higher update
+ * sequence, and each catalog-service instance may assign update sequences of its own. Offsets are
+ * only valid within the {@link #getEpoch() epoch} of this buffer, a random id chosen when it's
+ * created.
+ *
+ * <p>A change stream {@link #since(String, Long) resumed} from a given epoch and offset replays the
+ * buffered events past that offset and then follows the live ones. A change stream started afresh
+ * first gets an {@link UpdateSequenceEvent} with the current update sequence and offset, instead.
+ * Idle streams also get such an {@link UpdateSequenceEvent} every {@code heartbeat}, to keep the
+ * connection alive.
+ *
+ * <p>Once the buffer is full, the oldest events are evicted. A change stream can't be resumed from
+ * an offset lower than the ones evicted, nor from another epoch, since there's no way to tell which
+ * events are missing; such requests fail with an {@link EventsEvictedException}.
+ *
+ * @since 1.0
+ */
+@Slf4j(topic = "org.geoserver.cloud.catalog.server.events")
+public class InfoEventRingBuffer {
+
+    private final @Getter String epoch = UUID.randomUUID().toString();
+
+    private final InfoEvent<?, ?>[] buffer;
+    private int head;
+    private int size;
+
+    /** Offset the next appended event gets, the number of events appended so far */
+    private long nextOffset;
+
+    /** Highest update sequence appended to the buffer */
+    private long lastSequence;
+
+    private final Duration heartbeat;
+
+    private final Set<FluxSink<ChangeStreamEntry>> subscribers = new LinkedHashSet<>();
+
+    /** Thrown when a change stream is resumed from a position no longer in the buffer */
+    @SuppressWarnings("serial")
+    public static class EventsEvictedException extends IllegalStateException {
+        public EventsEvictedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * @param capacity maximum number of events to keep
+     * @param initialSequence the current update sequence
+     * @param heartbeat interval at which idle change streams are sent the last update sequence
+     */
+    public InfoEventRingBuffer(int capacity, long initialSequence, @NonNull Duration heartbeat) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be > 0: " + capacity);
+        if (heartbeat.isZero() || heartbeat.isNegative()) {
+            throw new IllegalArgumentException("heartbeat must be positive: " + heartbeat);
+        }
+        this.buffer = new InfoEvent<?, ?>[capacity];
+        this.lastSequence = initialSequence;
+        this.heartbeat = heartbeat;
+    }
+
+    @EventListener(InfoEvent.class)
+    public void onInfoEvent(InfoEvent<?, ?> event) {
+        append(event);
+    }
+
+    /** Appends {@code event} to the buffer and sends it to the live change streams */
+    public synchronized void append(@NonNull InfoEvent<?, ?> event) {
+        final int tail = (head + size) % buffer.length;
+        if (size == buffer.length) {
+            head = (head + 1) % buffer.length;
+        } else {
+            size++;
+        }
+        buffer[tail] = event;
+        final long offset = nextOffset++;
+        lastSequence = Math.max(lastSequence, event.getUpdateSequence());
+        ChangeStreamEntry entry = new ChangeStreamEntry(epoch, offset, event);
+        subscribers.forEach(sink -> sink.next(entry));
+    }
+
+    /**
+     * @return whether a change stream can be resumed from {@code offset} in {@code epoch}, meaning
+     *     all the events past it are still in the buffer
+     */
+    public synchronized boolean covers(String epoch, long offset) {
+        return this.epoch.equals(epoch) && offset >= firstOffset() - 1 && offset < nextOffset;
+    }
+
+    /** Offset of the oldest buffered event */
+    private long firstOffset() {
+        return nextOffset - size;
+    }
+
+    /** @return the offset of the last event appended, {@code -1} if none */
+    public synchronized long lastOffset() {
+        return nextOffset - 1;
+    }
+
+    /** @return the highest update sequence of the buffered events */
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /** @return the number of live change streams */
+    public synchronized int subscribers() {
+        return subscribers.size();
+    }
+
+    /**
+     * Returns a change stream of the events past {@code offset} in {@code epoch}, buffered and live
+     * ones, or of the live events preceded by the current update sequence if both are {@code null}.
+     *
+     * <p>Up to the buffer capacity events are held for a slow subscriber, after which the stream
+     * fails and is to be resumed.
+     *
+     * @throws EventsEvictedException through the returned {@link Flux} if the position is not
+     *     {@link #covers(String, long) covered}
+     */
+    public Flux<ChangeStreamEntry> since(String epoch, Long offset) {
+        Flux<ChangeStreamEntry> stream =
+                Flux.create(sink -> subscribe(sink, epoch, offset), OverflowStrategy.BUFFER);
+        // don't hold the publishing thread, nor the lock, while the events are encoded
+        return stream.onBackpressureBuffer(buffer.length, BufferOverflowStrategy.ERROR)
+                .publishOn(Schedulers.parallel());
+    }
+
+    private void subscribe(FluxSink<ChangeStreamEntry> sink, String epoch, Long offset) {
+        Disposable heartbeats = Flux.interval(heartbeat).subscribe(tick -> heartbeat(sink));
+        sink.onDispose(
+                () -> {
+                    heartbeats.dispose();
+                    unsubscribe(sink);
+                });
+        synchronized (this) {
+            if (epoch == null && offset == null) {
+                sink.next(current());
+            } else if (offset != null && covers(epoch, offset)) {
+                final long first = firstOffset();
+                for (long o = offset + 1; o < nextOffset; o++) {
+                    InfoEvent<?, ?> event = buffer[(int) ((head + o - first) % buffer.length)];
+                    sink.next(new ChangeStreamEntry(this.epoch, o, event));
+                }
+            } else {
+                sink.error(
+                        new EventsEvictedException(
+                                String.format(
+                                        "Events since offset %d of %s are no longer available,"
+                                                + " the change stream is at offset %d of %s",
+                                        offset, epoch, lastOffset(), this.epoch)));
+                return;
+            }
+            if (!sink.isCancelled()) {
+                subscribers.add(sink);
+            }
+        }
+        log.debug(
+                "Change stream subscribed since {}/{}, {} live streams",
+                epoch,
+                offset,
+                subscribers());
+    }
+
+    /** @return the current update sequence at the offset of the last event */
+    private ChangeStreamEntry current() {
+        return new ChangeStreamEntry(
+                epoch, lastOffset(), UpdateSequenceEvent.createLocal(lastSequence));
+    }
+
+    private synchronized void heartbeat(FluxSink<ChangeStreamEntry> sink) {
+        if (subscribers.contains(sink)) {
+            sink.next(current());
+        }
+    }
+
+    private synchronized void unsubscribe(FluxSink<ChangeStreamEntry> sink) {
+        subscribers.remove(sink);
+    }
+}
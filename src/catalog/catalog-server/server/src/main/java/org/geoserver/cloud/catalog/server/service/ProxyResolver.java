@@ -31,4 +31,14 @@ public class ProxyResolver {
     public Mono<Patch> resolve(Patch patch) {
         return Mono.just(patch).subscribeOn(Schedulers.parallel()).map(blockingResolver::resolve);
     }
+
+    /** Resolves {@code info}'s references in the calling thread */
+    <C extends Info> C resolveBlocking(C info) {
+        return blockingResolver.resolve(info);
+    }
+
+    /** Resolves {@code patch}'s references in the calling thread */
+    Patch resolveBlocking(Patch patch) {
+        return blockingResolver.resolve(patch);
+    }
 }
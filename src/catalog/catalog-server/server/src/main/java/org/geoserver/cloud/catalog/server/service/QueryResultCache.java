@@ -0,0 +1,292 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.cloud.event.info.InfoEvent;
+import org.springframework.context.event.EventListener;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Bounded in-memory cache of catalog query results, so that identical queries, like the ones all
+ * the service instances issue at startup or to build their capabilities documents, are run once
+ * against the catalog while the catalog doesn't change.
+ *
+ * <p>Results are keyed by the update sequence generation they were read at, which moves with every
+ * catalog or configuration {@link InfoEvent}, local or remote, at which point all the cached
+ * results are discarded. A result still being read when the generation moves is handed to the
+ * callers waiting for it, but not cached.
+ *
+ * <p>Queries are told apart by the SHA-256 digest of their JSON encoding, rather than by their
+ * {@code equals()} method, since GeoTools filters compare literals by their converted values and
+ * ignore {@code matchCase}, so different queries could be taken for the same one. Queries that
+ * can't be encoded are not cached.
+ *
+ * <p>Concurrent identical queries share a single read of the catalog. Results are materialized up
+ * to {@code maxResultSize} objects; queries with larger results are streamed straight from the
+ * catalog instead, and remembered as such until the generation moves. Each result is weighed by the
+ * size of the JSON encoding of its query and objects, and at most {@code maxBytes} are kept in
+ * total, evicting the least recently used results first.
+ *
+ * @since 1.0
+ */
+@Slf4j(topic = "org.geoserver.cloud.catalog.server.cache")
+public class QueryResultCache {
+
+    private final ObjectMapper mapper;
+    private final long maxBytes;
+    private final int maxResultSize;
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Changes every time the update sequence moves */
+    private long generation;
+
+    /** Encoded size, in bytes, of the cached results */
+    private long weight;
+
+    private static final class Key {
+        final long generation;
+        /** SHA-256 digest of the encoded query */
+        final ByteBuffer query;
+
+        Key(long generation, ByteBuffer query) {
+            this.generation = generation;
+            this.query = query;
+        }
+
+        public @Override boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return generation == k.generation && query.equals(k.query);
+        }
+
+        public @Override int hashCode() {
+            return Objects.hash(generation, query);
+        }
+    }
+
+    private static final class Entry {
+        /** Shared read of the catalog, empty if the result is too large to cache */
+        Mono<List<Object>> result;
+
+        long weight;
+    }
+
+    /** Materialized query result and its encoded size */
+    private static final class Result {
+        final List<Object> objects;
+        final long bytes;
+
+        Result(List<Object> objects, long bytes) {
+            this.objects = objects;
+            this.bytes = bytes;
+        }
+    }
+
+    /** Counts the bytes written to it */
+    private static final class ByteCounter extends OutputStream {
+        long count;
+
+        public @Override void write(int b) {
+            count++;
+        }
+
+        public @Override void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    /**
+     * @param mapper encodes queries and objects to tell queries apart and weigh their results
+     * @param maxBytes maximum encoded size of all the cached results
+     * @param maxResultSize maximum number of objects of a result to be cached
+     */
+    public QueryResultCache(@NonNull ObjectMapper mapper, long maxBytes, int maxResultSize) {
+        if (maxBytes < 1) throw new IllegalArgumentException("maxBytes must be > 0");
+        if (maxResultSize < 1) throw new IllegalArgumentException("maxResultSize must be > 0");
+        this.mapper = mapper;
+        this.maxBytes = maxBytes;
+        this.maxResultSize = maxResultSize;
+    }
+
+    @EventListener(InfoEvent.class)
+    public void onInfoEvent(InfoEvent<?, ?> event) {
+        invalidate();
+    }
+
+    /** Moves the generation, discarding all the cached results */
+    public synchronized void invalidate() {
+        generation++;
+        entries.clear();
+        weight = 0;
+    }
+
+    /** @return the number of cached results, including the ones being read */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** @return the encoded size, in bytes, of the cached results and their queries */
+    public synchronized long weight() {
+        return weight;
+    }
+
+    /**
+     * Returns the cached result for {@code query}, or reads it with {@code loader} on {@code
+     * scheduler}, caching it if it's small enough.
+     *
+     * @param query the query key, encoded with the {@link ObjectMapper}, so it must be serializable
+     *     and not be modified afterwards
+     * @param loader reads the query result from the catalog
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Flux<T> get(
+            @NonNull Object query,
+            @NonNull Supplier<Stream<T>> loader,
+            @NonNull Scheduler scheduler) {
+        return Flux.defer(
+                () -> {
+                    final byte[] encoded;
+                    try {
+                        encoded = mapper.writeValueAsBytes(query);
+                    } catch (JsonProcessingException e) {
+                        log.debug("Not caching query {}, it can't be encoded", query, e);
+                        return Flux.fromStream(loader).subscribeOn(scheduler);
+                    }
+                    final ByteBuffer digest = digest(encoded);
+                    final Key key;
+                    final Entry entry;
+                    final boolean hit;
+                    synchronized (this) {
+                        key = new Key(generation, digest);
+                        Entry cached = entries.get(key);
+                        hit = cached != null;
+                        if (hit) {
+                            entry = cached;
+                        } else {
+                            entry = new Entry();
+                            entry.result = read(key, entry, encoded.length, loader, scheduler);
+                            entries.put(key, entry);
+                        }
+                    }
+                    log.trace("{} query {}", hit ? "Cached" : "Reading", query);
+                    Flux<T> uncached = Flux.fromStream(loader).subscribeOn(scheduler);
+                    return entry.result
+                            .map(list -> Flux.fromIterable((List<T>) list))
+                            .defaultIfEmpty(uncached)
+                            .flatMapMany(Function.identity());
+                });
+    }
+
+    private static ByteBuffer digest(byte[] encoded) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(encoded));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private <T> Mono<List<Object>> read(
+            Key key, Entry entry, int keySize, Supplier<Stream<T>> loader, Scheduler scheduler) {
+        return Mono.fromCallable(() -> materialize(loader, maxBytes - keySize))
+                .subscribeOn(scheduler)
+                .doOnSuccess(r -> cached(key, entry, keySize + (r == null ? 0 : r.bytes)))
+                .map(r -> r.objects)
+                .doOnError(e -> remove(key, entry))
+                .cache();
+    }
+
+    /**
+     * @return the query result, or {@code null} if it has more than {@code maxResultSize} objects,
+     *     or is larger than {@code maxSize} bytes, in which case the reactive chain completes empty
+     */
+    private <T> Result materialize(Supplier<Stream<T>> loader, long maxSize) {
+        List<Object> list = new ArrayList<>();
+        long bytes = 0;
+        try (Stream<T> stream = loader.get()) {
+            Iterator<T> it = stream.iterator();
+            while (it.hasNext()) {
+                if (list.size() == maxResultSize) {
+                    log.debug("Not caching query, it has more than {} results", maxResultSize);
+                    return null;
+                }
+                T object = it.next();
+                long size = sizeOf(object);
+                if (size < 0) {
+                    log.debug("Not caching query, {} can't be encoded", object);
+                    return null;
+                }
+                bytes += size;
+                if (bytes > maxSize) {
+                    log.debug("Not caching query, its results take more than {} bytes", maxSize);
+                    return null;
+                }
+                list.add(object);
+            }
+        }
+        return new Result(list, bytes);
+    }
+
+    /** @return the size of the encoded {@code object}, or {@code -1} if it can't be encoded */
+    private long sizeOf(Object object) {
+        ByteCounter counter = new ByteCounter();
+        try {
+            mapper.writeValue(counter, object);
+        } catch (IOException e) {
+            return -1;
+        }
+        return counter.count;
+    }
+
+    /**
+     * Accounts for a read result, {@code size} being the size of the encoded query alone for the
+     * ones too large to cache, which are still kept to remember they're to be streamed from the
+     * catalog
+     */
+    private synchronized void cached(Key key, Entry entry, long size) {
+        if (entries.get(key) != entry) return; // invalidated or evicted while being read
+        entry.weight = size;
+        weight += size;
+        Iterator<Entry> lru = entries.values().iterator();
+        while (weight > maxBytes && lru.hasNext()) {
+            Entry eldest = lru.next();
+            if (eldest != entry) {
+                weight -= eldest.weight;
+                lru.remove();
+            }
+        }
+    }
+
+    private synchronized void remove(Key key, Entry entry) {
+        if (entries.get(key) == entry) {
+            entries.remove(key);
+            weight -= entry.weight;
+        }
+    }
+}
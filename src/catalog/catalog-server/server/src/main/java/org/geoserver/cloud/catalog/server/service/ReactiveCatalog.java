@@ -23,6 +23,8 @@ import org.opengis.filter.capability.FunctionName;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 public interface ReactiveCatalog {
 
     <C extends CatalogInfo> Mono<C> create(@NonNull Mono<C> info);
@@ -31,10 +33,35 @@ public interface ReactiveCatalog {
 
     <C extends CatalogInfo> Mono<C> delete(@NonNull C value);
 
+    /**
+     * Applies {@code operations} in order, as they're read, as a single sequential batch holding
+     * the configuration write lock, rather than each one as a separate request. All the changes get
+     * the same update sequence, and their events are broadcast together once done.
+     *
+     * <p>There's no rollback: operations applied before a failing one remain applied, as told by
+     * their {@link BulkOperation.Result.Status#OK OK} result. If {@code abortOnError}, the
+     * operations after a failing one are skipped, otherwise they're attempted anyway. If {@code
+     * operations} can't be read to the end, a {@link BulkOperation.Result.Status#FAILED FAILED}
+     * result with no {@link BulkOperation.Result#getOp() op} is sent for the first operation that
+     * couldn't be read, and the ones after it are not applied nor reported.
+     *
+     * @param operations the operations to apply, with their {@link BulkOperation#getEndpointType()
+     *     endpoint type} already resolved for updates and deletes
+     * @return the outcome of each operation, in the same order, as they're applied
+     */
+    Flux<BulkOperation.Result> bulk(@NonNull Flux<BulkOperation> operations, boolean abortOnError);
+
     <C extends CatalogInfo> Flux<C> getAll(@NonNull Class<C> type);
 
     <C extends CatalogInfo> Mono<C> getById(@NonNull String id, @NonNull Class<C> type);
 
+    /**
+     * @return the objects of the given type whose ids are in {@code ids}, in no particular order,
+     *     ids not found are just absent from the result
+     */
+    <C extends CatalogInfo> Flux<C> getAllById(
+            @NonNull Collection<String> ids, @NonNull Class<C> type);
+
     <C extends CatalogInfo> Mono<C> getFirstByName(@NonNull String name, @NonNull Class<C> type);
 
     Mono<Boolean> canSortBy(Class<? extends CatalogInfo> type, String propertyName);
@@ -7,6 +7,8 @@ package org.geoserver.cloud.catalog.server.service;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
+import org.geoserver.GeoServerConfigurationLock;
+import org.geoserver.GeoServerConfigurationLock.LockType;
 import org.geoserver.catalog.CatalogFacade;
 import org.geoserver.catalog.CatalogInfo;
 import org.geoserver.catalog.DataStoreInfo;
@@ -19,6 +21,8 @@ import org.geoserver.catalog.StyleInfo;
 import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.plugin.Patch;
 import org.geoserver.catalog.plugin.Query;
+import org.geoserver.cloud.catalog.server.service.BulkOperation.Result.Status;
+import org.geoserver.cloud.event.UpdateSequenceBatch;
 import org.geoserver.function.IsInstanceOf;
 import org.geotools.filter.FunctionFinder;
 import org.geotools.geometry.jts.ReferencedEnvelope;
@@ -27,18 +31,28 @@ import org.opengis.filter.Filter;
 import org.opengis.filter.capability.FunctionName;
 import org.opengis.parameter.Parameter;
 import org.opengis.referencing.crs.CoordinateReferenceSystem;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -47,10 +61,27 @@ import java.util.stream.Stream;
 @Slf4j
 public class ReactiveCatalogImpl implements ReactiveCatalog {
 
+    /**
+     * Maximum time to wait for the next operation of a bulk request, since the configuration lock
+     * is held meanwhile
+     */
+    static final Duration BULK_READ_TIMEOUT = Duration.ofSeconds(30);
+
+    /** Number of bulk operations read ahead of the one being applied */
+    private static final int BULK_PREFETCH = 32;
+
     private Scheduler catalogScheduler;
 
     private BlockingCatalog blockingCatalog;
 
+    private ProxyResolver proxyResolver;
+
+    private ObjectProvider<GeoServerConfigurationLock> configurationLock;
+
+    private ObjectProvider<QueryResultCache> queryResultCache;
+
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * @see #getSupportedFunctionNames()
      */
@@ -58,9 +89,17 @@ public class ReactiveCatalogImpl implements ReactiveCatalog {
 
     public ReactiveCatalogImpl(
             BlockingCatalog blockingCatalog,
-            @Qualifier("catalogScheduler") Scheduler catalogScheduler) {
+            ProxyResolver proxyResolver,
+            ObjectProvider<GeoServerConfigurationLock> configurationLock,
+            ObjectProvider<QueryResultCache> queryResultCache,
+            @Qualifier("catalogScheduler") Scheduler catalogScheduler,
+            ApplicationEventPublisher eventPublisher) {
         this.blockingCatalog = blockingCatalog;
+        this.proxyResolver = proxyResolver;
+        this.configurationLock = configurationLock;
+        this.queryResultCache = queryResultCache;
         this.catalogScheduler = catalogScheduler;
+        this.eventPublisher = eventPublisher;
     }
 
     private <T> Mono<T> async(Callable<T> callable) {
@@ -71,6 +110,18 @@ public class ReactiveCatalogImpl implements ReactiveCatalog {
         return Mono.fromRunnable(runnable).subscribeOn(catalogScheduler).thenReturn(returnValue);
     }
 
+    /**
+     * Runs {@code query} through the {@link QueryResultCache}, if enabled, which tells queries
+     * apart by their encoded form
+     */
+    private <T> Flux<T> cached(Object query, Supplier<Stream<T>> loader) {
+        QueryResultCache cache = queryResultCache.getIfAvailable();
+        if (cache == null) {
+            return Flux.fromStream(loader).subscribeOn(catalogScheduler);
+        }
+        return cache.get(query, loader, catalogScheduler);
+    }
+
     public @Override <C extends CatalogInfo> Mono<C> create(@NonNull Mono<C> info) {
         return info.subscribeOn(catalogScheduler).map(blockingCatalog::add);
     }
@@ -83,6 +134,145 @@ public class ReactiveCatalogImpl implements ReactiveCatalog {
         return Mono.just(info).subscribeOn(catalogScheduler).map(blockingCatalog::delete);
     }
 
+    public @Override Flux<BulkOperation.Result> bulk(
+            @NonNull Flux<BulkOperation> operations, boolean abortOnError) {
+        return Flux.<BulkOperation.Result>create(
+                        sink -> {
+                            applyAll(operations.timeout(BULK_READ_TIMEOUT), abortOnError, sink);
+                            sink.complete();
+                        })
+                .subscribeOn(catalogScheduler);
+    }
+
+    /**
+     * Applies the operations as they're read, on the calling thread, holding the configuration
+     * write lock and an {@link UpdateSequenceBatch} from the first one on, so they all get the same
+     * update sequence and are broadcast as a whole once done
+     */
+    private void applyAll(
+            Flux<BulkOperation> operations,
+            boolean abortOnError,
+            FluxSink<BulkOperation.Result> results) {
+        try (Stream<BulkOperation> stream = operations.toStream(BULK_PREFETCH)) {
+            final Iterator<BulkOperation> iterator = stream.iterator();
+            BulkOperation operation = next(iterator, 0, results);
+            if (operation == null) {
+                // nothing to apply, don't take the lock
+                return;
+            }
+            final GeoServerConfigurationLock lock = configurationLock.getIfAvailable();
+            if (lock != null) {
+                lock.lock(LockType.WRITE);
+            }
+            int index = 0;
+            try (UpdateSequenceBatch batch = UpdateSequenceBatch.begin(eventPublisher)) {
+                boolean failed = false;
+                while (operation != null) {
+                    BulkOperation.Result result =
+                            new BulkOperation.Result().setIndex(index).setOp(operation.getOp());
+                    if (failed && abortOnError) {
+                        result.setId(operation.getId()).setStatus(Status.SKIPPED);
+                    } else {
+                        apply(operation, result);
+                        failed |= result.getStatus() == Status.FAILED;
+                    }
+                    results.next(result);
+                    if (results.isCancelled()) {
+                        log.debug("Bulk request cancelled after {} operations", index + 1);
+                        break;
+                    }
+                    operation = next(iterator, ++index, results);
+                }
+            } finally {
+                if (lock != null) {
+                    lock.unlock();
+                }
+            }
+            log.debug("Processed {} bulk operations", index + 1);
+        }
+    }
+
+    /**
+     * @return the next operation, or {@code null} if there are no more or the request body can't
+     *     be read, in which case a failed result is sent for the operation at {@code index}, so the
+     *     client can tell it and the ones after it were not applied
+     */
+    private BulkOperation next(
+            Iterator<BulkOperation> operations,
+            int index,
+            FluxSink<BulkOperation.Result> results) {
+        try {
+            return operations.hasNext() ? operations.next() : null;
+        } catch (RuntimeException e) {
+            Throwable cause = Exceptions.unwrap(e);
+            log.debug("Unable to read bulk operation {}", index, cause);
+            results.next(
+                    new BulkOperation.Result()
+                            .setIndex(index)
+                            .setStatus(Status.FAILED)
+                            .setError("Unable to read the request body: " + errorMessage(cause)));
+            return null;
+        }
+    }
+
+    private void apply(BulkOperation operation, BulkOperation.Result result) {
+        try {
+            if (operation.getOp() == null) {
+                throw new IllegalArgumentException("op not provided");
+            }
+            switch (operation.getOp()) {
+                case CREATE:
+                    if (operation.getObject() == null) {
+                        throw new IllegalArgumentException("object not provided");
+                    }
+                    CatalogInfo created = proxyResolver.resolveBlocking(operation.getObject());
+                    blockingCatalog.add(created);
+                    result.setId(created.getId());
+                    break;
+                case UPDATE:
+                    if (operation.getPatch() == null) {
+                        throw new IllegalArgumentException("patch not provided");
+                    }
+                    CatalogInfo toUpdate = getExisting(operation, result);
+                    Patch patch = proxyResolver.resolveBlocking(operation.getPatch());
+                    blockingCatalog.update(toUpdate, patch);
+                    break;
+                case DELETE:
+                    blockingCatalog.delete(getExisting(operation, result));
+                    break;
+            }
+            result.setStatus(Status.OK);
+        } catch (RuntimeException e) {
+            log.debug("Bulk operation {} failed", result.getIndex(), e);
+            result.setStatus(Status.FAILED).setError(errorMessage(e));
+        }
+    }
+
+    private CatalogInfo getExisting(BulkOperation operation, BulkOperation.Result result) {
+        final String id = operation.getId();
+        if (id == null) {
+            throw new IllegalArgumentException("id not provided");
+        }
+        result.setId(id);
+        Class<? extends CatalogInfo> type = operation.getEndpointType();
+        if (type == null) {
+            String endpoint = operation.getEndpoint();
+            throw new IllegalArgumentException(
+                    endpoint == null ? "endpoint not provided" : "Invalid end point: " + endpoint);
+        }
+        CatalogInfo info = blockingCatalog.get(id, type);
+        if (info == null) {
+            throw new NoSuchElementException(
+                    String.format("%s with id '%s' does not exist", type.getSimpleName(), id));
+        }
+        return info;
+    }
+
+    private static String errorMessage(Throwable e) {
+        String message = e.getMessage();
+        return message == null ? e.getClass().getSimpleName() : message;
+    }
+
     public @Override <C extends CatalogInfo> Flux<C> getAll(@NonNull Class<C> type) {
         return query(Query.all(type));
     }
@@ -93,6 +283,18 @@ public class ReactiveCatalogImpl implements ReactiveCatalog {
         return async(() -> blockingCatalog.get(id, type));
     }
 
+    public @Override <C extends CatalogInfo> Flux<C> getAllById(
+            @NonNull Collection<String> ids, @NonNull Class<C> type) {
+        log.debug("Processing request for {} {} by id", ids.size(), type.getSimpleName());
+        return Flux.fromStream(
+                        () ->
+                                ids.stream()
+                                        .distinct()
+                                        .map(id -> blockingCatalog.get(id, type))
+                                        .filter(Objects::nonNull))
+                .subscribeOn(catalogScheduler);
+    }
+
     public @Override <C extends CatalogInfo> Mono<C> getFirstByName(
             @NonNull String name, @NonNull Class<C> type) {
 
@@ -109,7 +311,8 @@ public class ReactiveCatalogImpl implements ReactiveCatalog {
                 "Processing request query of {} with filter {}",
                 query.getType().getSimpleName(),
                 query.getFilter());
-        return Flux.fromStream(() -> blockingCatalog.query(query)).subscribeOn(catalogScheduler);
+        final Query<C> key = new Query<>(query);
+        return cached(key, () -> blockingCatalog.query(key));
     }
 
     public @Override <C extends CatalogInfo> Mono<Long> count(
@@ -161,9 +364,14 @@ public class ReactiveCatalogImpl implements ReactiveCatalog {
         }
     }
 
-    /** Does it look like something we could send/receive over the wire? */
+    /**
+     * Does it look like something we could send/receive over the wire? Literals are encoded along
+     * with their type, so {@code Object} arguments (e.g. {@code in}, {@code equalTo}) are also fine
+     * as long as their values are. Array and collection arguments (e.g. {@code inArray}) are not,
+     * they can't be represented as literals.
+     */
     private boolean isCommonParamType(Class<?> type) {
-        if (type.isPrimitive()) return true;
+        if (type.isPrimitive() || Object.class.equals(type)) return true;
         return Arrays.asList(
                         Number.class,
                         Boolean.class,
@@ -260,12 +468,12 @@ public class ReactiveCatalogImpl implements ReactiveCatalog {
     }
 
     public @Override Flux<LayerGroupInfo> getLayerGroupsWithNoWoskspace() {
-        return Flux.fromStream(
-                        () ->
-                                blockingCatalog
-                                        .getLayerGroupsByWorkspace(CatalogFacade.NO_WORKSPACE)
-                                        .stream())
-                .subscribeOn(catalogScheduler);
+        return cached(
+                "LayerGroupInfo:NO_WORKSPACE",
+                () ->
+                        blockingCatalog
+                                .getLayerGroupsByWorkspace(CatalogFacade.NO_WORKSPACE)
+                                .stream());
     }
 
     public @Override Flux<LayerGroupInfo> getLayerGroupsByWoskspace(
@@ -286,12 +494,9 @@ public class ReactiveCatalogImpl implements ReactiveCatalog {
     }
 
     public @Override Flux<StyleInfo> getStylesWithNoWorkspace() {
-        return Flux.fromStream(
-                        () ->
-                                blockingCatalog
-                                        .getStylesByWorkspace(CatalogFacade.NO_WORKSPACE)
-                                        .stream())
-                .subscribeOn(catalogScheduler);
+        return cached(
+                "StyleInfo:NO_WORKSPACE",
+                () -> blockingCatalog.getStylesByWorkspace(CatalogFacade.NO_WORKSPACE).stream());
     }
 
     public @Override Flux<StyleInfo> getStylesByWorkspace(@NonNull WorkspaceInfo workspace) {
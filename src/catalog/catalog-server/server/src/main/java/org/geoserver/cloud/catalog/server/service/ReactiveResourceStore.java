@@ -7,18 +7,18 @@ package org.geoserver.cloud.catalog.server.service;
 import lombok.NonNull;
 
 import org.geoserver.platform.resource.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.nio.ByteBuffer;
-
 /** */
 public interface ReactiveResourceStore {
 
     Mono<Resource> get(String path);
 
-    Mono<ByteBuffer> getContents(String path);
+    /** @return the resource contents, streamed in chunks */
+    Flux<DataBuffer> getContents(String path);
 
     Mono<Boolean> remove(String path);
 
@@ -26,7 +26,12 @@ public interface ReactiveResourceStore {
 
     Flux<Resource> list(Resource resource);
 
-    Mono<Resource> setContents(String path, ByteBuffer contents);
+    /**
+     * Sets the resource contents from the chunks of {@code contents} as they arrive, without
+     * holding them all in memory. As with any {@link Resource#out()}, the contents received so far
+     * are kept if {@code contents} fails.
+     */
+    Mono<Resource> setContents(String path, Flux<DataBuffer> contents);
 
     Mono<Resource> create(String path, @NonNull Resource.Type type);
 }
@@ -11,6 +11,9 @@ import org.geoserver.platform.resource.Resource.Type;
 import org.geoserver.platform.resource.ResourceStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.stereotype.Service;
 
 import reactor.core.publisher.Flux;
@@ -18,13 +21,21 @@ import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
-import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 /** */
 @Service
 public class ReactiveResourceStoreImpl implements ReactiveResourceStore {
 
+    private static final int BUFFER_SIZE = 8192;
+
+    /** Max number of uploaded chunks received ahead of being written */
+    private static final int PREFETCH = 8;
+
     private @Autowired @Qualifier("resourceStoreImpl") ResourceStore blockingStore;
     private @Autowired Scheduler catalogScheduler;
 
@@ -32,33 +43,40 @@ public class ReactiveResourceStoreImpl implements ReactiveResourceStore {
         return Mono.just(path).subscribeOn(catalogScheduler).map(blockingStore::get);
     }
 
-    public @Override Mono<ByteBuffer> getContents(String path) {
+    public @Override Flux<DataBuffer> getContents(String path) {
         return get(path)
-                .map(
-                        r -> {
-                            try {
-                                return r.getContents();
-                            } catch (IOException e) {
-                                e.printStackTrace();
-                                throw new UncheckedIOException(e);
-                            }
-                        })
-                .map(ByteBuffer::wrap);
+                .flatMapMany(
+                        r ->
+                                DataBufferUtils.readInputStream(
+                                        r::in,
+                                        DefaultDataBufferFactory.sharedInstance,
+                                        BUFFER_SIZE))
+                .subscribeOn(catalogScheduler);
     }
 
-    public @Override Mono<Resource> setContents(String path, ByteBuffer contents) {
-        return get(path)
-                .map(
-                        resource -> {
-                            byte[] byteArray = new byte[contents.remaining()];
-                            contents.get(byteArray);
-                            try {
-                                resource.setContents(byteArray);
-                            } catch (IOException e) {
-                                throw new UncheckedIOException(e);
-                            }
-                            return resource;
-                        });
+    /**
+     * Writes {@code contents} to the resource through {@link Resource#out()} as the chunks arrive,
+     * on a {@link #catalogScheduler} thread, holding at most {@link #PREFETCH} of them in memory.
+     */
+    public @Override Mono<Resource> setContents(String path, Flux<DataBuffer> contents) {
+        return get(path).map(resource -> write(contents, resource));
+    }
+
+    private Resource write(Flux<DataBuffer> contents, Resource resource) {
+        try (Stream<DataBuffer> chunks =
+                        contents.doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                                .toStream(PREFETCH);
+                OutputStream out = resource.out()) {
+            Iterator<DataBuffer> iterator = chunks.iterator();
+            while (iterator.hasNext()) {
+                try (InputStream chunk = iterator.next().asInputStream(true)) {
+                    chunk.transferTo(out);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return resource;
     }
 
     public @Override Mono<Boolean> remove(String path) {
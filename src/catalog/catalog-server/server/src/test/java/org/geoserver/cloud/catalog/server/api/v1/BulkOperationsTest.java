@@ -0,0 +1,247 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.server.api.v1;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.impl.WorkspaceInfoImpl;
+import org.geoserver.catalog.plugin.Patch;
+import org.geoserver.cloud.catalog.server.service.BulkOperation;
+import org.geoserver.cloud.catalog.server.service.BulkOperation.Result.Status;
+import org.geoserver.cloud.catalog.server.test.TestConfiguration;
+import org.geoserver.cloud.catalog.server.test.WebTestClientSupport;
+import org.geoserver.cloud.catalog.server.test.WebTestClientSupportConfiguration;
+import org.geoserver.cloud.event.UpdateSequenceBatch;
+import org.geoserver.cloud.event.UpdateSequenceEvent;
+import org.geoserver.platform.config.UpdateSequence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/** @since 1.0 */
+@SpringBootTest(
+        classes = {
+            TestConfiguration.class,
+            WebTestClientSupportConfiguration.class,
+            BulkOperationsTest.BatchListener.class
+        })
+@ActiveProfiles("test")
+@AutoConfigureWebTestClient(timeout = "360000")
+class BulkOperationsTest {
+
+    private @Autowired WebTestClientSupport clientSupport;
+    private @Autowired @Qualifier("catalog") Catalog catalog;
+    private @Autowired ObjectMapper objectMapper;
+    private @Autowired BatchListener batchListener;
+    private @Autowired ObjectProvider<UpdateSequence> updateSequence;
+
+    /** Captures the {@link UpdateSequenceBatch}es the bulk requests are applied as */
+    static class BatchListener {
+        final List<UpdateSequenceBatch> batches = new CopyOnWriteArrayList<>();
+
+        @EventListener(UpdateSequenceBatch.class)
+        public void onBatch(UpdateSequenceBatch batch) {
+            batches.add(batch);
+        }
+    }
+
+    @BeforeEach
+    void before() {
+        batchListener.batches.clear();
+    }
+
+    @AfterEach
+    void after() {
+        List.of("bulk-ws1", "bulk-ws1-renamed", "bulk-ws2").stream()
+                .map(catalog::getWorkspaceByName)
+                .filter(Objects::nonNull)
+                .forEach(catalog::remove);
+    }
+
+    @Test
+    void testBulk() {
+        List<BulkOperation.Result> results =
+                bulk(
+                        false,
+                        create(workspace("bulk-ws1")),
+                        create(workspace("bulk-ws2")),
+                        new BulkOperation()
+                                .setOp(BulkOperation.Type.UPDATE)
+                                .setEndpoint("workspaces")
+                                .setId("bulk-ws1")
+                                .setPatch(new Patch().with("name", "bulk-ws1-renamed")),
+                        delete("workspaces", "non-existent-id"),
+                        delete("workspaces", "bulk-ws2"));
+
+        assertEquals(
+                List.of(Status.OK, Status.OK, Status.OK, Status.FAILED, Status.OK),
+                statuses(results));
+        assertEquals(List.of(0, 1, 2, 3, 4), indexes(results));
+        assertEquals("bulk-ws1", results.get(0).getId());
+        assertNotNull(results.get(3).getError());
+
+        assertNotNull(catalog.getWorkspaceByName("bulk-ws1-renamed"));
+        assertNull(catalog.getWorkspace("bulk-ws2"));
+    }
+
+    @Test
+    void testAbortOnError() {
+        List<BulkOperation.Result> results =
+                bulk(
+                        true,
+                        create(workspace("bulk-ws1")),
+                        delete("workspaces", "non-existent-id"),
+                        create(workspace("bulk-ws2")));
+
+        assertEquals(List.of(Status.OK, Status.FAILED, Status.SKIPPED), statuses(results));
+        assertNotNull(catalog.getWorkspace("bulk-ws1"));
+        assertNull(catalog.getWorkspace("bulk-ws2"));
+    }
+
+    @Test
+    void testInvalidEndpointFailsOnlyItsOperation() {
+        List<BulkOperation.Result> results =
+                bulk(
+                        false,
+                        delete("nonexistents", "some-id"),
+                        new BulkOperation().setOp(BulkOperation.Type.DELETE).setId("some-id"),
+                        create(workspace("bulk-ws1")));
+
+        assertEquals(List.of(Status.FAILED, Status.FAILED, Status.OK), statuses(results));
+        assertEquals("Invalid end point: nonexistents", results.get(0).getError());
+        assertEquals("endpoint not provided", results.get(1).getError());
+        assertNotNull(catalog.getWorkspace("bulk-ws1"));
+    }
+
+    @Test
+    void testChangesShareASingleUpdateSequence() {
+        final UpdateSequence sequence = updateSequence.getIfAvailable();
+        final long initialSequence = sequence == null ? 0L : sequence.currValue();
+        List<BulkOperation.Result> results =
+                bulk(
+                        false,
+                        create(workspace("bulk-ws1")),
+                        delete("workspaces", "non-existent-id"),
+                        create(workspace("bulk-ws2")),
+                        new BulkOperation()
+                                .setOp(BulkOperation.Type.UPDATE)
+                                .setEndpoint("workspaces")
+                                .setId("bulk-ws1")
+                                .setPatch(new Patch().with("name", "bulk-ws1-renamed")));
+        assertEquals(List.of(Status.OK, Status.FAILED, Status.OK, Status.OK), statuses(results));
+
+        assertEquals(1, batchListener.batches.size(), "expected a single batch of changes");
+        List<UpdateSequenceEvent<?>> events = batchListener.batches.get(0).getEvents();
+        assertEquals(3, events.size(), "expected one event per applied operation");
+        Set<Long> sequences =
+                events.stream()
+                        .map(UpdateSequenceEvent::getUpdateSequence)
+                        .collect(Collectors.toSet());
+        assertEquals(1, sequences.size(), "expected a single update sequence: " + sequences);
+        if (sequence != null) {
+            assertEquals(initialSequence + 1, sequence.currValue());
+            assertEquals(Set.of(sequence.currValue()), sequences);
+        }
+    }
+
+    @Test
+    void testNoBatchIfNothingApplied() {
+        List<BulkOperation.Result> results =
+                bulk(true, delete("workspaces", "non-existent-id"), create(workspace("bulk-ws1")));
+        assertEquals(List.of(Status.FAILED, Status.SKIPPED), statuses(results));
+        assertTrue(batchListener.batches.isEmpty());
+    }
+
+    @Test
+    void testUnreadableRequestBody() {
+        String ndjson = "{\"op\": CREATE}\n" + toJson(create(workspace("bulk-ws1")));
+        List<BulkOperation.Result> results = bulk(false, ndjson);
+
+        assertEquals(1, results.size());
+        BulkOperation.Result result = results.get(0);
+        assertEquals(0, result.getIndex());
+        assertEquals(Status.FAILED, result.getStatus());
+        assertNull(result.getOp());
+        assertTrue(result.getError().startsWith("Unable to read the request body"));
+        assertNull(catalog.getWorkspaceByName("bulk-ws1"));
+        assertTrue(batchListener.batches.isEmpty());
+    }
+
+    private List<BulkOperation.Result> bulk(boolean abortOnError, BulkOperation... operations) {
+        String ndjson =
+                List.of(operations).stream().map(this::toJson).collect(Collectors.joining("\n"));
+        return bulk(abortOnError, ndjson);
+    }
+
+    private List<BulkOperation.Result> bulk(boolean abortOnError, String ndjson) {
+        return clientSupport
+                .get()
+                .post()
+                .uri(
+                        ReactiveCatalogController.BASE_URI + "/bulk?abortOnError={abort}",
+                        abortOnError)
+                .contentType(APPLICATION_NDJSON)
+                .accept(APPLICATION_NDJSON)
+                .bodyValue(ndjson)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBodyList(BulkOperation.Result.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private String toJson(BulkOperation operation) {
+        try {
+            return objectMapper.writeValueAsString(operation);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<Status> statuses(List<BulkOperation.Result> results) {
+        return results.stream().map(BulkOperation.Result::getStatus).collect(Collectors.toList());
+    }
+
+    private static List<Integer> indexes(List<BulkOperation.Result> results) {
+        return results.stream().map(BulkOperation.Result::getIndex).collect(Collectors.toList());
+    }
+
+    private static BulkOperation create(WorkspaceInfoImpl workspace) {
+        return new BulkOperation().setOp(BulkOperation.Type.CREATE).setObject(workspace);
+    }
+
+    private static BulkOperation delete(String endpoint, String id) {
+        return new BulkOperation().setOp(BulkOperation.Type.DELETE).setEndpoint(endpoint).setId(id);
+    }
+
+    private static WorkspaceInfoImpl workspace(String name) {
+        WorkspaceInfoImpl workspace = new WorkspaceInfoImpl();
+        workspace.setId(name);
+        workspace.setName(name);
+        return workspace;
+    }
+}
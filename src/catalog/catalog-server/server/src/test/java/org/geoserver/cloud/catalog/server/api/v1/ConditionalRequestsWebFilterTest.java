@@ -0,0 +1,110 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.server.api.v1;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** @since 1.0 */
+class ConditionalRequestsWebFilterTest {
+
+    private AtomicLong updateSequence = new AtomicLong(10);
+    private ConditionalRequestsWebFilter filter;
+    private AtomicBoolean chainCalled = new AtomicBoolean();
+    private WebFilterChain chain =
+            exchange -> {
+                chainCalled.set(true);
+                return Mono.empty();
+            };
+
+    @BeforeEach
+    void setUp() {
+        filter = new ConditionalRequestsWebFilter(updateSequence::get);
+    }
+
+    private MockServerWebExchange run(MockServerHttpRequest request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        chainCalled.set(false);
+        filter.filter(exchange, chain).block();
+        return exchange;
+    }
+
+    @Test
+    void testAddsETag() {
+        MockServerWebExchange exchange =
+                run(MockServerHttpRequest.get("/api/v1/catalog/workspaces").build());
+        assertTrue(chainCalled.get());
+        assertEquals(filter.currentETag(), exchange.getResponse().getHeaders().getETag());
+    }
+
+    @Test
+    void testNotModified() {
+        final String etag = filter.currentETag();
+        MockServerWebExchange exchange =
+                run(MockServerHttpRequest.get("/api/v1/config/global").ifNoneMatch(etag).build());
+        assertFalse(chainCalled.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, exchange.getResponse().getStatusCode());
+        assertEquals(etag, exchange.getResponse().getHeaders().getETag());
+    }
+
+    @Test
+    void testETagChangesWithUpdateSequenceAndEvents() {
+        final String etag = filter.currentETag();
+        updateSequence.incrementAndGet();
+        final String afterUpdateSequence = filter.currentETag();
+        assertNotEquals(etag, afterUpdateSequence);
+        filter.onGeoServerEvent();
+        assertNotEquals(afterUpdateSequence, filter.currentETag());
+
+        run(MockServerHttpRequest.get("/api/v1/catalog/workspaces").ifNoneMatch(etag).build());
+        assertTrue(chainCalled.get());
+    }
+
+    @Test
+    void testReadOnlyPosts() {
+        final String etag = filter.currentETag();
+        run(MockServerHttpRequest.post("/api/v1/catalog/layers/query").ifNoneMatch(etag).build());
+        assertFalse(chainCalled.get());
+        run(MockServerHttpRequest.post("/api/v1/catalog/layers/ids").ifNoneMatch(etag).build());
+        assertFalse(chainCalled.get());
+
+        MockServerWebExchange create =
+                run(MockServerHttpRequest.post("/api/v1/catalog/layers").ifNoneMatch(etag).build());
+        assertTrue(chainCalled.get());
+        assertNull(create.getResponse().getHeaders().getETag());
+    }
+
+    @Test
+    void testOtherPathsIgnored() {
+        final String etag = filter.currentETag();
+        MockServerWebExchange exchange =
+                run(
+                        MockServerHttpRequest.get("/api/v1/resource/styles/style.sld")
+                                .ifNoneMatch(etag)
+                                .build());
+        assertTrue(chainCalled.get());
+        assertNull(exchange.getResponse().getHeaders().getETag());
+
+        exchange =
+                run(MockServerHttpRequest.get("/api/v1/catalog/events").ifNoneMatch(etag).build());
+        assertTrue(chainCalled.get());
+        assertNull(exchange.getResponse().getHeaders().getETag());
+    }
+}
@@ -6,14 +6,20 @@ package org.geoserver.cloud.catalog.server.api.v1;
 
 import static java.lang.String.format;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.geoserver.catalog.WorkspaceInfo;
 import org.junit.jupiter.api.Test;
+import org.opengis.filter.capability.FunctionName;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.http.MediaType;
 
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @AutoConfigureWebTestClient(timeout = "360000")
 public class WorkspaceControllerTest extends AbstractReactiveCatalogControllerTest<WorkspaceInfo> {
 
@@ -41,6 +47,76 @@ public class WorkspaceControllerTest extends AbstractReactiveCatalogControllerTe
                 WorkspaceInfo.class, testData.workspaceA, testData.workspaceB, testData.workspaceC);
     }
 
+    public @Test void testFindAllById() {
+        List<String> ids =
+                List.of(testData.workspaceA.getId(), testData.workspaceC.getId(), "non-existent-id");
+        client().doPost(ids, "/{endpoint}/ids", endpoint())
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .contentType(MediaType.APPLICATION_STREAM_JSON)
+                .expectBodyList(WorkspaceInfo.class)
+                .consumeWith(
+                        response -> {
+                            Set<String> returnedIds =
+                                    response.getResponseBody().stream()
+                                            .map(WorkspaceInfo::getId)
+                                            .collect(Collectors.toSet());
+                            assertEquals(
+                                    Set.of(testData.workspaceA.getId(), testData.workspaceC.getId()),
+                                    returnedIds);
+                        });
+    }
+
+    public @Test void testFindAllSmile() {
+        MediaType smileStream =
+                MediaType.parseMediaType(ReactiveCatalogController.APPLICATION_STREAM_SMILE_VALUE);
+        webtTestClient()
+                .get()
+                .uri(ReactiveCatalogController.BASE_URI + "/{endpoint}", endpoint())
+                .accept(smileStream, MediaType.APPLICATION_STREAM_JSON)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .contentType(smileStream)
+                .expectBodyList(WorkspaceInfo.class)
+                .consumeWith(
+                        response -> {
+                            Set<String> returnedIds =
+                                    response.getResponseBody().stream()
+                                            .map(WorkspaceInfo::getId)
+                                            .collect(Collectors.toSet());
+                            assertEquals(
+                                    Set.of(
+                                            testData.workspaceA.getId(),
+                                            testData.workspaceB.getId(),
+                                            testData.workspaceC.getId()),
+                                    returnedIds);
+                        });
+    }
+
+    public @Test void testFindByIdSmile() {
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+        WorkspaceInfo found =
+                webtTestClient()
+                        .get()
+                        .uri(
+                                ReactiveCatalogController.BASE_URI + "/{endpoint}/{id}",
+                                endpoint(),
+                                testData.workspaceA.getId())
+                        .accept(smile)
+                        .exchange()
+                        .expectStatus()
+                        .isOk()
+                        .expectHeader()
+                        .contentTypeCompatibleWith(smile)
+                        .expectBody(WorkspaceInfo.class)
+                        .returnResult()
+                        .getResponseBody();
+        assertEquals(testData.workspaceA.getName(), found.getName());
+    }
+
     public @Test void testFindByName() {
         WorkspaceInfo ws1 = testData.workspaceA;
         assertEquals(ws1, client().getFirstByName(ws1.getName()));
@@ -61,6 +137,36 @@ public class WorkspaceControllerTest extends AbstractReactiveCatalogControllerTe
         super.testQueryFilter(format("\"id\" = '%s'", wsA.getId()), wsA);
     }
 
+    /**
+     * Functions taking {@code Object} arguments are evaluated by the catalog-service, their literal
+     * arguments shall make it through the wire with their type
+     */
+    public @Test void testQueryFilterObjectArgumentFunctions() {
+        WorkspaceInfo wsA = testData.workspaceA;
+        WorkspaceInfo wsB = testData.workspaceB;
+        WorkspaceInfo wsC = testData.workspaceC;
+
+        super.testQueryFilter(
+                format("in(name, '%s', '%s') = true", wsA.getName(), wsC.getName()), wsA, wsC);
+        super.testQueryFilter(format("equalTo(name, '%s') = true", wsB.getName()), wsB);
+    }
+
+    public @Test void testSupportedFunctionsExcludeArrayArguments() {
+        Set<String> names =
+                client().getRelative("/query/capabilities/functions")
+                        .expectStatus()
+                        .isOk()
+                        .expectBodyList(FunctionName.class)
+                        .returnResult()
+                        .getResponseBody()
+                        .stream()
+                        .map(FunctionName::getName)
+                        .collect(Collectors.toSet());
+        assertTrue(names.contains("in"), "in(Object...) shall be supported");
+        assertTrue(names.contains("equalTo"), "equalTo(Object, Object) shall be supported");
+        assertFalse(names.contains("inArray"), "inArray(Object, Object[]) can't be encoded");
+    }
+
     public @Test void testWorkspaceCRUD() {
         WorkspaceInfo ws = testData.faker().workspaceInfo("workspaceCRUD");
         crudTest(
@@ -0,0 +1,149 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.server.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.jackson.databind.catalog.GeoServerCatalogModule;
+import org.geoserver.jackson.databind.config.GeoServerConfigModule;
+import org.geotools.jackson.databind.filter.GeoToolsFilterModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * JSON and Smile encodings of catalog objects, with the Jackson modules the catalog-service sets up
+ * its codecs with (see {@link CatalogServerConfiguration#catalogSmileCodecCustomizer})
+ *
+ * @since 1.0
+ */
+@Slf4j
+class CatalogSmileCodecTest {
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper smileMapper;
+
+    /** Catalog objects as the endpoint types they're encoded and decoded as */
+    private Map<CatalogInfo, Class<? extends CatalogInfo>> objects;
+
+    @BeforeEach
+    void setUp() {
+        Jackson2ObjectMapperBuilder builder =
+                new Jackson2ObjectMapperBuilder()
+                        .modules(
+                                new GeoToolsFilterModule(),
+                                new GeoServerCatalogModule(),
+                                new GeoServerConfigModule());
+        jsonMapper = builder.build();
+        smileMapper = builder.factory(new SmileFactory()).build();
+
+        CatalogTestData data = CatalogTestData.empty().initialize();
+        objects =
+                Map.of(
+                        data.workspaceA, WorkspaceInfo.class,
+                        data.namespaceA, NamespaceInfo.class,
+                        data.dataStoreA, DataStoreInfo.class,
+                        data.featureTypeA, FeatureTypeInfo.class,
+                        data.layerFeatureTypeA, LayerInfo.class,
+                        data.style1, StyleInfo.class,
+                        data.layerGroup1, LayerGroupInfo.class);
+    }
+
+    /** Encodes and decodes all the {@link #objects}, returning the total encoded size */
+    private long roundTrip(ObjectMapper mapper) throws IOException {
+        long size = 0;
+        for (Map.Entry<CatalogInfo, Class<? extends CatalogInfo>> entry : objects.entrySet()) {
+            byte[] encoded = mapper.writeValueAsBytes(entry.getKey());
+            CatalogInfo decoded = mapper.readValue(encoded, entry.getValue());
+            assertEquals(entry.getKey().getId(), decoded.getId());
+            size += encoded.length;
+        }
+        return size;
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        for (Map.Entry<CatalogInfo, Class<? extends CatalogInfo>> entry : objects.entrySet()) {
+            CatalogInfo object = entry.getKey();
+            byte[] smile = smileMapper.writeValueAsBytes(object);
+            CatalogInfo decoded = smileMapper.readValue(smile, entry.getValue());
+            assertEquals(object.getId(), decoded.getId());
+            // same contents as the JSON encoding
+            byte[] json = jsonMapper.writeValueAsBytes(object);
+            assertEquals(jsonMapper.readTree(json), smileMapper.readTree(smile));
+        }
+    }
+
+    /**
+     * Rough size and latency comparison of JSON and Smile for a set of catalog objects of every
+     * type, run with {@code -Dbenchmark=true}. Results are logged at {@code INFO} level; only the
+     * size and the decoded objects are asserted, latency depends too much on the machine.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkCatalogObjects() throws IOException {
+        final int iterations = 10_000;
+        // warm up
+        for (int i = 0; i < iterations; i++) {
+            roundTrip(jsonMapper);
+            roundTrip(smileMapper);
+        }
+
+        long jsonSize = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            jsonSize = roundTrip(jsonMapper);
+        }
+        long jsonNanos = System.nanoTime() - start;
+
+        long smileSize = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            smileSize = roundTrip(smileMapper);
+        }
+        long smileNanos = System.nanoTime() - start;
+
+        final double sizeRatio = smileSize / (double) jsonSize;
+        log.info(
+                "{} catalog objects {}, {} encode/decode round trips: json {} bytes, {} us/object;"
+                        + " smile {} bytes ({}% of json), {} us/object",
+                objects.size(),
+                objects.values().stream().map(Class::getSimpleName).collect(Collectors.toList()),
+                iterations,
+                jsonSize,
+                microsPerObject(iterations, jsonNanos),
+                smileSize,
+                Math.round(sizeRatio * 100),
+                microsPerObject(iterations, smileNanos));
+
+        assertTrue(sizeRatio < 1, "smile should be smaller than json: " + sizeRatio);
+    }
+
+    private double microsPerObject(int iterations, long nanos) {
+        double micros = nanos / (double) TimeUnit.MICROSECONDS.toNanos(1);
+        return Math.round(100 * micros / (iterations * (double) objects.size())) / 100d;
+    }
+}
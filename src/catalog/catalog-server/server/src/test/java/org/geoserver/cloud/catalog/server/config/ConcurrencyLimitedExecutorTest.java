@@ -0,0 +1,132 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.server.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.geoserver.cloud.catalog.server.config.CatalogServerConfigProperties.SchedulerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** @since 1.0 */
+class ConcurrencyLimitedExecutorTest {
+
+    private ConcurrencyLimitedExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) executor.shutdownNow();
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new ConcurrencyLimitedExecutor(Executors.newCachedThreadPool(), 0, 1));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new ConcurrencyLimitedExecutor(Executors.newCachedThreadPool(), 1, 0));
+    }
+
+    @Test
+    void testDefaultMaxConcurrency() {
+        SchedulerConfig config = new SchedulerConfig();
+        assertEquals(SchedulerConfig.DEFAULT_MAX_CONCURRENCY, config.getMaxConcurrency(true));
+        assertEquals(SchedulerConfig.DEFAULT_MAX_SIZE, config.getMaxConcurrency(false));
+        config.setMaxConcurrency(10);
+        assertEquals(10, config.getMaxConcurrency(true));
+        assertEquals(10, config.getMaxConcurrency(false));
+    }
+
+    @Test
+    void testConcurrencyLimit() throws InterruptedException {
+        final int limit = 3;
+        final int tasks = 50;
+        executor = ConcurrencyLimitedExecutor.perTask("test", limit, 1000);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(
+                    () -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        try {
+                            TimeUnit.MILLISECONDS.sleep(2);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            running.decrementAndGet();
+                            done.countDown();
+                        }
+                    });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(maxRunning.get() <= limit, () -> "max running: " + maxRunning.get());
+        assertEquals(0, executor.getQueued());
+    }
+
+    @Test
+    void testQueueFull() throws InterruptedException {
+        executor = ConcurrencyLimitedExecutor.perTask("test", 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(
+                () -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        executor.execute(() -> {});
+        assertEquals(1, executor.getQueued());
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {}));
+        release.countDown();
+    }
+
+    @Test
+    void testMeteredSchedulerRecordsQueueWait() {
+        executor = ConcurrencyLimitedExecutor.perTask("test", 2, 1000);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Scheduler scheduler =
+                new MeteredScheduler(
+                        Schedulers.fromExecutorService(executor, "test"),
+                        "test",
+                        registry,
+                        Tags.of("type", "per-task"));
+
+        List<Integer> values =
+                Flux.range(0, 10)
+                        .flatMap(i -> Mono.fromCallable(() -> i).subscribeOn(scheduler))
+                        .collectList()
+                        .block();
+        assertEquals(10, values.size());
+
+        Timer wait = registry.get(MeteredScheduler.WAIT).tag("name", "test").timer();
+        assertEquals(10, wait.count());
+        assertEquals(
+                "per-task", registry.get(MeteredScheduler.ACTIVE).gauge().getId().getTag("type"));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.geoserver.catalog.impl.WorkspaceInfoImpl;
+import org.geoserver.cloud.catalog.server.service.InfoEventRingBuffer.EventsEvictedException;
+import org.geoserver.cloud.event.ChangeStreamEntry;
+import org.geoserver.cloud.event.UpdateSequenceEvent;
+import org.geoserver.cloud.event.catalog.CatalogInfoRemoved;
+import org.geoserver.cloud.event.info.InfoEvent;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/** @since 1.0 */
+class InfoEventRingBufferTest {
+
+    private static final Duration HEARTBEAT = Duration.ofMinutes(1);
+
+    private InfoEvent<?, ?> event(long updateSequence) {
+        WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+        ws.setId("ws-" + updateSequence);
+        return CatalogInfoRemoved.createLocal(updateSequence, ws);
+    }
+
+    private List<Long> sequences(List<ChangeStreamEntry> entries) {
+        return entries.stream()
+                .map(ChangeStreamEntry::getEvent)
+                .map(UpdateSequenceEvent::getUpdateSequence)
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> offsets(List<ChangeStreamEntry> entries) {
+        return entries.stream().map(ChangeStreamEntry::getOffset).collect(Collectors.toList());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(
+                IllegalArgumentException.class, () -> new InfoEventRingBuffer(0, 0, HEARTBEAT));
+        assertThrows(
+                IllegalArgumentException.class, () -> new InfoEventRingBuffer(1, 0, Duration.ZERO));
+    }
+
+    @Test
+    void testResumeReplaysBufferedEvents() {
+        InfoEventRingBuffer buffer = new InfoEventRingBuffer(10, 100, HEARTBEAT);
+        for (long seq = 101; seq <= 105; seq++) {
+            buffer.append(event(seq));
+        }
+        final String epoch = buffer.getEpoch();
+        List<ChangeStreamEntry> replayed = buffer.since(epoch, 1L).take(3).collectList().block();
+        assertEquals(List.of(103L, 104L, 105L), sequences(replayed));
+        assertEquals(List.of(2L, 3L, 4L), offsets(replayed));
+        replayed.forEach(entry -> assertEquals(epoch, entry.getEpoch()));
+    }
+
+    @Test
+    void testResumeReplaysEventsReceivedOutOfOrder() {
+        InfoEventRingBuffer buffer = new InfoEventRingBuffer(10, 100, HEARTBEAT);
+        buffer.append(event(101));
+        buffer.append(event(103));
+        // a remote event with a lower update sequence received after a local one
+        buffer.append(event(102));
+        buffer.append(event(104));
+
+        final String epoch = buffer.getEpoch();
+        // a client that got up to update sequence 103 (offset 1) hasn't got 102 yet
+        List<ChangeStreamEntry> replayed = buffer.since(epoch, 1L).take(2).collectList().block();
+        assertEquals(List.of(102L, 104L), sequences(replayed));
+        assertEquals(List.of(2L, 3L), offsets(replayed));
+    }
+
+    @Test
+    void testEviction() {
+        InfoEventRingBuffer buffer = new InfoEventRingBuffer(3, 100, HEARTBEAT);
+        final String epoch = buffer.getEpoch();
+        assertEquals(-1, buffer.lastOffset());
+        assertTrue(buffer.covers(epoch, -1));
+        assertFalse(buffer.covers(epoch, 0), "offset not reached yet");
+        for (long seq = 101; seq <= 105; seq++) {
+            buffer.append(event(seq));
+        }
+        assertEquals(3, buffer.size());
+        assertEquals(4, buffer.lastOffset());
+        assertEquals(105, buffer.lastSequence());
+        assertFalse(buffer.covers(epoch, 0));
+        assertTrue(buffer.covers(epoch, 1));
+        assertTrue(buffer.covers(epoch, 4));
+
+        assertThrows(EventsEvictedException.class, () -> buffer.since(epoch, 0L).blockFirst());
+        List<ChangeStreamEntry> replayed = buffer.since(epoch, 1L).take(3).collectList().block();
+        assertEquals(List.of(103L, 104L, 105L), sequences(replayed));
+    }
+
+    @Test
+    void testResumeFromAnotherEpochIsGone() {
+        InfoEventRingBuffer buffer = new InfoEventRingBuffer(10, 100, HEARTBEAT);
+        InfoEventRingBuffer other = new InfoEventRingBuffer(10, 100, HEARTBEAT);
+        assertNotEquals(buffer.getEpoch(), other.getEpoch());
+        buffer.append(event(101));
+        buffer.append(event(102));
+
+        assertFalse(buffer.covers(other.getEpoch(), 0));
+        assertThrows(
+                EventsEvictedException.class,
+                () -> buffer.since(other.getEpoch(), 0L).blockFirst());
+        assertThrows(
+                EventsEvictedException.class,
+                () -> buffer.since(buffer.getEpoch(), null).blockFirst());
+    }
+
+    @Test
+    void testFreshStreamStartsWithUpdateSequenceThenLiveEvents() throws InterruptedException {
+        InfoEventRingBuffer buffer = new InfoEventRingBuffer(10, 100, HEARTBEAT);
+        buffer.append(event(101));
+
+        List<ChangeStreamEntry> received = new CopyOnWriteArrayList<>();
+        Disposable subscription = buffer.since(null, null).subscribe(received::add);
+        try {
+            waitFor(() -> buffer.subscribers() == 1);
+            buffer.append(event(102));
+            waitFor(() -> received.size() == 2);
+        } finally {
+            subscription.dispose();
+        }
+        assertFalse(received.get(0).getEvent() instanceof InfoEvent);
+        assertEquals(101L, received.get(0).getEvent().getUpdateSequence());
+        assertEquals(0L, received.get(0).getOffset());
+        assertTrue(received.get(1).getEvent() instanceof InfoEvent);
+        assertEquals(102L, received.get(1).getEvent().getUpdateSequence());
+        assertEquals(1L, received.get(1).getOffset());
+
+        waitFor(() -> buffer.subscribers() == 0);
+    }
+
+    @Test
+    void testHeartbeat() {
+        InfoEventRingBuffer buffer = new InfoEventRingBuffer(10, 100, Duration.ofMillis(10));
+        buffer.append(event(101));
+        List<ChangeStreamEntry> received =
+                buffer.since(buffer.getEpoch(), 0L)
+                        .take(2)
+                        .collectList()
+                        .block(Duration.ofSeconds(5));
+        assertEquals(List.of(101L, 101L), sequences(received));
+        assertEquals(List.of(0L, 0L), offsets(received));
+    }
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 500 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
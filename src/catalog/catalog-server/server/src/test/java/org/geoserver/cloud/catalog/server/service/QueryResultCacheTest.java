@@ -0,0 +1,186 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.impl.WorkspaceInfoImpl;
+import org.geoserver.catalog.plugin.Query;
+import org.geoserver.cloud.event.catalog.CatalogInfoRemoved;
+import org.geoserver.jackson.databind.catalog.GeoServerCatalogModule;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.jackson.databind.filter.GeoToolsFilterModule;
+import org.junit.jupiter.api.Test;
+import org.opengis.filter.Filter;
+import org.opengis.filter.FilterFactory2;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/** @since 1.0 */
+class QueryResultCacheTest {
+
+    private final Scheduler scheduler = Schedulers.boundedElastic();
+
+    private final AtomicInteger reads = new AtomicInteger();
+
+    private final ObjectMapper mapper =
+            new ObjectMapper()
+                    .registerModules(new GeoToolsFilterModule(), new GeoServerCatalogModule());
+
+    private Supplier<Stream<Integer>> loader(int size) {
+        return () -> {
+            reads.incrementAndGet();
+            return IntStream.range(0, size).boxed();
+        };
+    }
+
+    private List<Integer> get(QueryResultCache cache, Object query, int size) {
+        return cache.get(query, loader(size), scheduler).collectList().block();
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new QueryResultCache(mapper, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new QueryResultCache(mapper, 10, 0));
+    }
+
+    @Test
+    void testRepeatedQueriesAreReadOnce() {
+        QueryResultCache cache = new QueryResultCache(mapper, 100, 10);
+        assertEquals(List.of(0, 1, 2), get(cache, "q1", 3));
+        assertEquals(List.of(0, 1, 2), get(cache, "q1", 3));
+        assertEquals(1, reads.get());
+        assertEquals(List.of(0, 1), get(cache, "q2", 2));
+        assertEquals(2, reads.get());
+        // encoded "q1" and "q2" take 4 bytes each, and every result one byte
+        assertEquals(13, cache.weight());
+    }
+
+    /**
+     * GeoTools filters take literals of different types but equal converted values, and comparisons
+     * that only differ in {@code matchCase}, as equal. Queries shall be told apart regardless.
+     */
+    @Test
+    void testQueriesAreToldApartByTheirEncoding() {
+        QueryResultCache cache = new QueryResultCache(mapper, 10_000, 10);
+        FilterFactory2 ff = CommonFactoryFinder.getFilterFactory2();
+        Filter stringLiteral = ff.equal(ff.property("name"), ff.literal("1"), true);
+        Filter intLiteral = ff.equal(ff.property("name"), ff.literal(1), true);
+        Filter ignoreCase = ff.equal(ff.property("name"), ff.literal("1"), false);
+
+        assertEquals(1, get(cache, Query.valueOf(LayerInfo.class, stringLiteral), 1).size());
+        assertEquals(2, get(cache, Query.valueOf(LayerInfo.class, intLiteral), 2).size());
+        assertEquals(3, get(cache, Query.valueOf(LayerInfo.class, ignoreCase), 3).size());
+        assertEquals(3, reads.get());
+        assertEquals(3, cache.size());
+
+        // an identical query, even if a different instance, is a hit
+        Filter same = ff.equal(ff.property("name"), ff.literal("1"), true);
+        assertEquals(1, get(cache, Query.valueOf(LayerInfo.class, same), 1).size());
+        assertEquals(3, reads.get());
+    }
+
+    @Test
+    void testConcurrentQueriesShareARead() throws Exception {
+        QueryResultCache cache = new QueryResultCache(mapper, 100, 10);
+        CountDownLatch latch = new CountDownLatch(1);
+        Supplier<Stream<Integer>> blocked =
+                () -> {
+                    reads.incrementAndGet();
+                    try {
+                        latch.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return Stream.of(1, 2);
+                };
+        Flux<List<Integer>> concurrent =
+                Flux.range(0, 4).flatMap(i -> cache.get("q", blocked, scheduler).collectList());
+        CompletableFuture<List<List<Integer>>> future = concurrent.collectList().toFuture();
+        latch.countDown();
+        List<List<Integer>> results = future.get(10, TimeUnit.SECONDS);
+        assertEquals(4, results.size());
+        results.forEach(result -> assertEquals(List.of(1, 2), result));
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    void testInvalidatedByEvents() {
+        QueryResultCache cache = new QueryResultCache(mapper, 100, 10);
+        get(cache, "q", 3);
+        WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+        ws.setId("ws1");
+        cache.onInfoEvent(CatalogInfoRemoved.createLocal(2L, ws));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weight());
+        get(cache, "q", 3);
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    void testLargeResultsAreNotCached() {
+        QueryResultCache cache = new QueryResultCache(mapper, 100, 10);
+        List<Integer> expected = IntStream.range(0, 11).boxed().collect(Collectors.toList());
+        assertEquals(expected, get(cache, "q", 11));
+        // read once to tell it's too large, then once to stream it
+        assertEquals(2, reads.get());
+        assertEquals(expected, get(cache, "q", 11));
+        assertEquals(3, reads.get());
+        // only the encoded query is kept
+        assertEquals(3, cache.weight());
+    }
+
+    @Test
+    void testResultsLargerThanTheCacheAreNotCached() {
+        QueryResultCache cache = new QueryResultCache(mapper, 8, 100);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), get(cache, "q", 6));
+        assertEquals(2, reads.get());
+        assertEquals(3, cache.weight());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        // "q1" weighs 4 + 5 bytes, "q2" 4 + 4, and "q3" 4 + 3
+        QueryResultCache cache = new QueryResultCache(mapper, 20, 5);
+        get(cache, "q1", 5);
+        get(cache, "q2", 4);
+        get(cache, "q1", 5);
+        get(cache, "q3", 3);
+        assertEquals(2, cache.size());
+        assertEquals(16, cache.weight());
+        assertEquals(3, reads.get());
+        get(cache, "q2", 4);
+        assertEquals(4, reads.get());
+    }
+
+    @Test
+    void testFailedReadsAreNotCached() {
+        QueryResultCache cache = new QueryResultCache(mapper, 10, 5);
+        Supplier<Stream<Integer>> failing =
+                () -> {
+                    throw new IllegalStateException("failed");
+                };
+        Flux<Integer> result = cache.get("q", failing, scheduler);
+        assertThrows(IllegalStateException.class, result::blockLast);
+        assertEquals(0, cache.size());
+        assertEquals(List.of(0, 1), get(cache, "q", 2));
+    }
+}
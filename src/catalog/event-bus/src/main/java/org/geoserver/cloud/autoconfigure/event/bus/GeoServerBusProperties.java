@@ -0,0 +1,128 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.autoconfigure.event.bus;
+
+import lombok.Data;
+import lombok.Generated;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the GeoServer catalog and config events integration with spring
+ * cloud bus, under the {@code geoserver.bus} prefix.
+ *
+ * @since 1.0
+ */
+@Generated
+@ConfigurationProperties(prefix = "geoserver.bus")
+public @Data class GeoServerBusProperties {
+
+    /** Whether to broadcast and receive catalog and config events through the bus */
+    private boolean enabled = true;
+
+    private Batch batch = new Batch();
+
+    private Coalesce coalesce = new Coalesce();
+
+    private Incoming incoming = new Incoming();
+
+    private CatchUp catchUp = new CatchUp();
+
+    private LazyPayloads lazyPayloads = new LazyPayloads();
+
+    /**
+     * Outgoing events micro-batching. Disabled by default, as batched events can only be received
+     * by service instances that understand the batch envelope.
+     */
+    public static @Data class Batch {
+        /** Whether to group outgoing events into ordered batch envelopes */
+        private boolean enabled = false;
+
+        /** Maximum number of events per batch, a batch is sent as soon as it's full */
+        private int maxEvents = 100;
+
+        /** Maximum time an outgoing event waits for more events before its batch is sent */
+        private Duration maxDelay = Duration.ofMillis(50);
+    }
+
+    /** Outgoing events coalescing */
+    public static @Data class Coalesce {
+        /**
+         * Whether to drop no-change events, and, if batching is enabled, merge consecutive changes
+         * to the same object and drop intermediate update sequence changes within each batch
+         */
+        private boolean enabled = false;
+    }
+
+    /** Incoming events application */
+    public static @Data class Incoming {
+        /**
+         * Whether to apply incoming events concurrently, preserving their order per object, instead
+         * of one at a time on the bus consumer thread
+         */
+        private boolean concurrent = false;
+
+        /** Number of threads to apply incoming events with, if concurrent */
+        private int threads = 4;
+
+        /**
+         * Maximum number of incoming events waiting to be applied, if concurrent, before blocking
+         * the bus consumer
+         */
+        private int queueCapacity = 1000;
+
+        /**
+         * Whether to memoize the object references resolved for incoming events for a short while,
+         * and pre-fetch them in batches if the catalog back-end supports it, so a burst of events
+         * referencing the same objects doesn't look them up over and over
+         */
+        private boolean memoizeReferences = false;
+
+        /** Maximum time resolved references are memoized for, if enabled */
+        private Duration memoizeWindow = Duration.ofSeconds(1);
+    }
+
+    /** Missed events detection and recovery */
+    public static @Data class CatchUp {
+        /**
+         * Whether to log outgoing events to the shared change log, and to recover missed incoming
+         * events from it
+         */
+        private boolean enabled = false;
+
+        /** How often to check for missed events */
+        private Duration checkInterval = Duration.ofSeconds(5);
+
+        /** How long to wait for an out of order event before considering it missed */
+        private Duration gracePeriod = Duration.ofSeconds(10);
+
+        /**
+         * How long a missed update sequence is looked up in the change log before taking it as
+         * having no event, as for changes that failed or were made by service instances with
+         * catch-up disabled
+         */
+        private Duration logTimeout = Duration.ofSeconds(30);
+
+        /**
+         * Number of update sequence values the change log keeps, missing events older than that
+         * require a full reload
+         */
+        private int logCapacity = 10_000;
+    }
+
+    /**
+     * Outgoing catalog add events payload. Only suitable for catalog back-ends shared by all
+     * service instances, where receivers can look up the added objects themselves.
+     */
+    public static @Data class LazyPayloads {
+        /**
+         * Whether catalog add events carry only the added object's id and type, for the receivers
+         * to look it up on demand, instead of the whole object
+         */
+        private boolean enabled = false;
+    }
+}
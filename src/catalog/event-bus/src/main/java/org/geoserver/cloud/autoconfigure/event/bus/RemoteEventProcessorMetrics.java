@@ -0,0 +1,139 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.autoconfigure.event.bus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.NonNull;
+
+import org.geoserver.cloud.event.GeoServerEvent;
+import org.geoserver.cloud.event.bus.RemoteGeoServerEventBridge;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.ApplicationListenerMethodAdapter;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.event.EventListenerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link EventListenerFactory} that times each {@link EventListener @EventListener} method taking
+ * {@link GeoServerEvent}s, such as the resource pool, data directory, and cache remote event
+ * processors, as they apply incoming remote events, so the slow ones can be told apart.
+ *
+ * <p>Exports the {@literal geoserver.config.bus.incoming.processor} timer, tagged by {@literal
+ * processor} (the listener's class simple name), event {@literal type}, and {@literal outcome}
+ * ({@literal success} or {@literal failure}), plus {@literal instance-id} if set. Local events are
+ * not timed.
+ *
+ * <p>Being instantiated early on, while the event listener methods are looked up, the {@link
+ * MeterRegistry} is only looked up as events are processed.
+ *
+ * @since 1.0
+ */
+class RemoteEventProcessorMetrics implements EventListenerFactory, Ordered {
+
+    static final String METRIC = "geoserver.config.bus.incoming.processor";
+
+    private final ObjectProvider<MeterRegistry> registry;
+    private final Tags tags;
+
+    RemoteEventProcessorMetrics(
+            @NonNull ObjectProvider<MeterRegistry> registry, String instanceId) {
+        this.registry = registry;
+        this.tags = instanceId == null ? Tags.empty() : Tags.of("instance-id", instanceId);
+    }
+
+    /** Takes precedence over the default factory, which has the lowest precedence */
+    public @Override int getOrder() {
+        return 0;
+    }
+
+    /**
+     * @return whether {@code method} listens to {@link GeoServerEvent}s, except for the {@link
+     *     RemoteGeoServerEventBridge}'s, whose incoming side is measured as a whole by {@link
+     *     RemoteGeoServerEventsMetrics}
+     */
+    public @Override boolean supportsMethod(Method method) {
+        if (RemoteGeoServerEventBridge.class.isAssignableFrom(method.getDeclaringClass())) {
+            return false;
+        }
+        EventListener listener =
+                AnnotatedElementUtils.findMergedAnnotation(method, EventListener.class);
+        if (listener == null) {
+            return false;
+        }
+        Class<?>[] types =
+                listener.classes().length > 0 ? listener.classes() : method.getParameterTypes();
+        return Stream.of(types).anyMatch(GeoServerEvent.class::isAssignableFrom);
+    }
+
+    public @Override ApplicationListener<?> createApplicationListener(
+            String beanName, Class<?> type, Method method) {
+        return new TimedListener(beanName, type, method);
+    }
+
+    private void record(
+            String processor, GeoServerEvent<?> event, boolean success, long elapsedNanos) {
+        MeterRegistry meterRegistry = registry.getIfAvailable();
+        if (meterRegistry == null) {
+            return;
+        }
+        Timer.builder(METRIC)
+                .description("Time taken by each processor to apply an incoming remote event")
+                .tags(tags)
+                .tag("processor", processor)
+                .tag("type", event.getClass().getSimpleName())
+                .tag("outcome", success ? "success" : "failure")
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private class TimedListener extends ApplicationListenerMethodAdapter {
+
+        private final String processor;
+
+        TimedListener(String beanName, Class<?> targetClass, Method method) {
+            super(beanName, targetClass, method);
+            this.processor = ClassUtils.getUserClass(targetClass).getSimpleName();
+        }
+
+        public @Override void processEvent(ApplicationEvent event) {
+            final GeoServerEvent<?> remoteEvent = remoteEvent(event);
+            if (remoteEvent == null) {
+                super.processEvent(event);
+                return;
+            }
+            final long start = System.nanoTime();
+            boolean success = false;
+            try {
+                super.processEvent(event);
+                success = true;
+            } finally {
+                record(processor, remoteEvent, success, System.nanoTime() - start);
+            }
+        }
+
+        private GeoServerEvent<?> remoteEvent(ApplicationEvent event) {
+            Object payload =
+                    event instanceof PayloadApplicationEvent
+                            ? ((PayloadApplicationEvent<?>) event).getPayload()
+                            : event;
+            if (payload instanceof GeoServerEvent && ((GeoServerEvent<?>) payload).isRemote()) {
+                return (GeoServerEvent<?>) payload;
+            }
+            return null;
+        }
+    }
+}
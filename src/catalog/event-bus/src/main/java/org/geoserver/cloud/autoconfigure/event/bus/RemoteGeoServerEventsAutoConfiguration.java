@@ -4,8 +4,14 @@
  */
 package org.geoserver.cloud.autoconfigure.event.bus;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import lombok.extern.slf4j.Slf4j;
 
+import org.geoserver.GeoServerConfigurationLock;
+import org.geoserver.GeoServerConfigurationLock.LockType;
 import org.geoserver.catalog.Catalog;
 import org.geoserver.catalog.CatalogInfo;
 import org.geoserver.catalog.Info;
@@ -13,20 +19,29 @@ import org.geoserver.catalog.impl.ResolvingProxy;
 import org.geoserver.cloud.autoconfigure.catalog.event.ConditionalOnCatalogEvents;
 import org.geoserver.cloud.event.GeoServerEvent;
 import org.geoserver.cloud.event.bus.InfoEventResolver;
+import org.geoserver.cloud.event.bus.RemoteEventCatchUp;
+import org.geoserver.cloud.event.bus.RemoteEventChangeLog;
+import org.geoserver.cloud.event.bus.RemoteEventSmileMessageConverter;
 import org.geoserver.cloud.event.bus.RemoteGeoServerEvent;
 import org.geoserver.cloud.event.bus.RemoteGeoServerEventBridge;
 import org.geoserver.cloud.event.bus.RemoteGeoServerEventMapper;
+import org.geoserver.cloud.event.bus.UpdateSequenceTracker;
 import org.geoserver.config.GeoServer;
 import org.geoserver.jackson.databind.catalog.GeoServerCatalogModule;
 import org.geoserver.jackson.databind.config.GeoServerConfigModule;
+import org.geoserver.platform.config.UpdateSequence;
+import org.geoserver.platform.resource.ResourceStore;
 import org.geotools.jackson.databind.filter.GeoToolsFilterModule;
 import org.opengis.filter.Filter;
 import org.opengis.filter.expression.Expression;
 import org.opengis.filter.expression.Literal;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.bus.BusAutoConfiguration;
 import org.springframework.cloud.bus.ServiceMatcher;
 import org.springframework.cloud.bus.event.Destination;
@@ -38,6 +53,7 @@ import org.springframework.context.annotation.Configuration;
 
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * {@link EnableAutoConfiguration auto-configuration} catalog and config events integration with
@@ -47,6 +63,7 @@ import java.util.function.Supplier;
 @ConditionalOnCatalogEvents
 @ConditionalOnGeoServerRemoteEventsEnabled
 @AutoConfigureAfter(BusAutoConfiguration.class)
+@EnableConfigurationProperties(GeoServerBusProperties.class)
 @RemoteApplicationEventScan(basePackageClasses = {RemoteGeoServerEvent.class})
 @Slf4j(topic = "org.geoserver.cloud.autoconfigure.bus.catalog")
 public class RemoteGeoServerEventsAutoConfiguration {
@@ -80,6 +97,19 @@ public class RemoteGeoServerEventsAutoConfiguration {
         return new GeoServerConfigModule();
     }
 
+    /**
+     * Message converter able to decode bus messages with {@code
+     * contentType=application/x-jackson-smile}, and to encode them if the bus output binding's
+     * content type is set to it. Installed regardless of the output content type so that all
+     * service instances can decode binary messages before any of them starts sending them.
+     */
+    @ConditionalOnMissingBean(RemoteEventSmileMessageConverter.class)
+    public @Bean RemoteEventSmileMessageConverter remoteEventSmileMessageConverter(
+            ObjectProvider<Module> jacksonModules) {
+        return RemoteEventSmileMessageConverter.create(
+                jacksonModules.orderedStream().collect(Collectors.toList()));
+    }
+
     /**
      * Highest priority listener for incoming {@link RemoteGeoServerEvent} events to resolve the
      * payload {@link CatalogInfo} properties, as they may come either as {@link ResolvingProxy}
@@ -87,32 +117,132 @@ public class RemoteGeoServerEventsAutoConfiguration {
      *
      * <p>This listener ensures the payload object properties are resolved before being catch up by
      * other listeners.
+     *
+     * <p>Resolved references are memoized for a short while if {@code
+     * geoserver.bus.incoming.memoize-references=true}.
      */
     public @Bean InfoEventResolver remoteInfoEventInboundResolver(
-            @Qualifier("rawCatalog") Catalog rawCatalog, GeoServer geoserver) {
-        return new InfoEventResolver(rawCatalog, geoserver);
+            @Qualifier("rawCatalog") Catalog rawCatalog,
+            GeoServer geoserver,
+            GeoServerBusProperties busProperties) {
+        InfoEventResolver resolver = new InfoEventResolver(rawCatalog, geoserver);
+        GeoServerBusProperties.Incoming incoming = busProperties.getIncoming();
+        if (incoming.isMemoizeReferences()) {
+            resolver.enableMemoization(incoming.getMemoizeWindow());
+        }
+        return resolver;
     }
 
+    /**
+     * Maps local events to bus events and back. Catalog add events are sent without the added
+     * object if {@code geoserver.bus.lazy-payloads.enabled=true}.
+     */
     public @Bean RemoteGeoServerEventMapper remoteGeoServerEventMapper(
             InfoEventResolver remoteEventPropertiesResolver,
             ServiceMatcher serviceMatcher,
-            Destination.Factory destinationFactory) {
+            Destination.Factory destinationFactory,
+            GeoServerBusProperties busProperties) {
 
-        return new RemoteGeoServerEventMapper(
-                remoteEventPropertiesResolver, serviceMatcher, destinationFactory);
+        RemoteGeoServerEventMapper mapper =
+                new RemoteGeoServerEventMapper(
+                        remoteEventPropertiesResolver, serviceMatcher, destinationFactory);
+        if (busProperties.getLazyPayloads().isEnabled()) {
+            log.info("Catalog add events will be sent without the added object payload");
+            mapper.enableLazyPayloads();
+        }
+        return mapper;
     }
 
     public @Bean RemoteGeoServerEventBridge remoteEventBroadcaster(
             ApplicationEventPublisher eventPublisher,
             RemoteGeoServerEventMapper eventMapper,
-            ServiceMatcher serviceMatcher) {
+            ServiceMatcher serviceMatcher,
+            GeoServerBusProperties busProperties) {
 
         log.info("Configuring GeoServer Catalog distributed events.");
 
         Consumer<GeoServerEvent<?>> localEventPublisher = eventPublisher::publishEvent;
         Consumer<RemoteApplicationEvent> remoteEventPublisher = eventPublisher::publishEvent;
         Supplier<String> busId = serviceMatcher::getBusId;
-        return new RemoteGeoServerEventBridge(
-                localEventPublisher, remoteEventPublisher, eventMapper, busId);
+        RemoteGeoServerEventBridge bridge =
+                new RemoteGeoServerEventBridge(
+                        localEventPublisher, remoteEventPublisher, eventMapper, busId);
+
+        GeoServerBusProperties.Batch batch = busProperties.getBatch();
+        if (batch.isEnabled()) {
+            bridge.enableBatching(batch.getMaxEvents(), batch.getMaxDelay());
+        }
+        if (busProperties.getCoalesce().isEnabled()) {
+            bridge.enableCoalescing();
+        }
+        GeoServerBusProperties.Incoming incoming = busProperties.getIncoming();
+        if (incoming.isConcurrent()) {
+            bridge.enableConcurrentDispatch(incoming.getThreads(), incoming.getQueueCapacity());
+        }
+        return bridge;
+    }
+
+    /**
+     * Missed events detection and recovery, enabled by {@code geoserver.bus.catch-up.enabled=true}.
+     * Outgoing events are logged to a bounded change log in the shared {@link ResourceStore}, from
+     * where missed incoming events are replayed. If the log doesn't hold them anymore, the catalog
+     * and configuration are fully reloaded while holding the {@link GeoServerConfigurationLock}
+     * write lock.
+     */
+    @Bean
+    @ConditionalOnProperty(
+            name = "geoserver.bus.catch-up.enabled",
+            havingValue = "true",
+            matchIfMissing = false)
+    RemoteEventCatchUp remoteEventCatchUp(
+            RemoteGeoServerEventBridge bridge,
+            GeoServerBusProperties busProperties,
+            @Qualifier("resourceStoreImpl") ResourceStore resourceStore,
+            GeoServer geoserver,
+            UpdateSequence updateSequence,
+            ObjectProvider<GeoServerConfigurationLock> configurationLock,
+            ObjectProvider<Module> jacksonModules) {
+
+        GeoServerBusProperties.CatchUp config = busProperties.getCatchUp();
+
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.registerModules(jacksonModules.orderedStream().collect(Collectors.toList()));
+
+        RemoteEventChangeLog changeLog =
+                new RemoteEventChangeLog(resourceStore, mapper, config.getLogCapacity());
+        UpdateSequenceTracker tracker = new UpdateSequenceTracker(updateSequence.currValue());
+        bridge.enableCatchUp(tracker, changeLog);
+
+        Runnable fullReload =
+                () -> {
+                    final GeoServerConfigurationLock lock = configurationLock.getIfAvailable();
+                    if (lock != null) {
+                        lock.lock(LockType.WRITE);
+                    }
+                    try {
+                        geoserver.reload();
+                    } catch (Exception e) {
+                        throw new IllegalStateException("Error reloading the configuration", e);
+                    } finally {
+                        if (lock != null) {
+                            lock.unlock();
+                        }
+                    }
+                };
+        RemoteEventCatchUp catchUp =
+                new RemoteEventCatchUp(
+                        bridge,
+                        tracker,
+                        changeLog,
+                        fullReload,
+                        updateSequence::currValue,
+                        config.getGracePeriod(),
+                        config.getLogTimeout());
+        catchUp.start(config.getCheckInterval());
+        log.info(
+                "Missed remote events recovery enabled, tracking update sequence from {}",
+                tracker.getBaseline());
+        return catchUp;
     }
 }
@@ -0,0 +1,263 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.autoconfigure.event.bus;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import org.geoserver.cloud.event.GeoServerEvent;
+import org.geoserver.cloud.event.bus.IncomingRemoteEventObserver;
+import org.geoserver.cloud.event.bus.OrderedRemoteEventExecutor;
+import org.geoserver.cloud.event.bus.RemoteEventCatchUp;
+import org.geoserver.cloud.event.bus.RemoteEventChangeLog;
+import org.geoserver.cloud.event.bus.RemoteGeoServerEventBatcher;
+import org.geoserver.cloud.event.bus.RemoteGeoServerEventBridge;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registers {@link RemoteGeoServerEventBridge} metrics to be exported by micrometer's {@link
+ * MeterRegistry}.
+ *
+ * <p>The following metrics measure how long changes take to propagate from the service instance
+ * they happened at to this one, tagged by event {@literal type} (e.g. {@literal
+ * CatalogInfoModified}) and {@literal origin} service name (e.g. {@literal wms-service}, the bus id
+ * up to the first colon, not to have a time series per service instance):
+ *
+ * <ul>
+ *   <li>{@literal geoserver.config.bus.incoming.received}: number of incoming events received,
+ *       whose rate gives the events per second
+ *   <li>{@literal geoserver.config.bus.incoming.lag}: time from the event happening at its origin
+ *       to being received, as measured with the local wall clock, hence subject to clock skew among
+ *       hosts
+ *   <li>{@literal geoserver.config.bus.incoming.apply}: time from the event being received to being
+ *       applied by all local listeners (catalog, resource pool, and data directory processors),
+ *       including the time waiting to be applied, additionally tagged by {@literal outcome}
+ *       ({@literal success} or {@literal failure}). Each processor's share is measured by {@link
+ *       RemoteEventProcessorMetrics}
+ *   <li>{@literal geoserver.config.bus.incoming.pending}: number of incoming events received and
+ *       not yet applied
+ * </ul>
+ *
+ * <p>If incoming events are applied {@link OrderedRemoteEventExecutor concurrently}, the following
+ * metrics are exported:
+ *
+ * <ul>
+ *   <li>{@literal geoserver.config.bus.incoming.capacity}: maximum number of incoming events
+ *       waiting to be applied before the bus consumer is blocked
+ *   <li>{@literal geoserver.config.bus.incoming.blocked}: number of times and total time the bus
+ *       consumer was blocked waiting for room in the queue
+ *   <li>{@literal geoserver.config.bus.incoming.applied}: number of incoming events, or batches of
+ *       events, applied
+ *   <li>{@literal geoserver.config.bus.incoming.failed}: number of incoming events, or batches of
+ *       events, that failed to be applied
+ * </ul>
+ *
+ * <p>If outgoing events are {@link RemoteGeoServerEventBatcher batched}, the following metrics are
+ * exported:
+ *
+ * <ul>
+ *   <li>{@literal geoserver.config.bus.outgoing.pending}: number of outgoing events waiting to be
+ *       published, which grows while publishing fails
+ *   <li>{@literal geoserver.config.bus.outgoing.dropped}: number of outgoing events dropped because
+ *       too many were waiting to be published
+ * </ul>
+ *
+ * <p>If {@link RemoteEventCatchUp missed events recovery} is enabled, the following metrics are
+ * exported:
+ *
+ * <ul>
+ *   <li>{@literal geoserver.config.bus.catchup.replayed}: number of missed events replayed from the
+ *       change log
+ *   <li>{@literal geoserver.config.bus.catchup.skipped}: number of missed update sequence values
+ *       that had no change log entry, taken as having no event
+ *   <li>{@literal geoserver.config.bus.catchup.reloads}: number of full reloads due to missed
+ *       events no longer in the change log
+ *   <li>{@literal geoserver.config.bus.catchup.log.dropped}: number of outgoing events not logged
+ *       because the change log write queue was full
+ * </ul>
+ *
+ * <p>All metrics are tagged with the {@literal instance-id} key, if <code>
+ * ${geoserver.metrics.instance-id}</code> is set.
+ *
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+class RemoteGeoServerEventsMetrics implements MeterBinder {
+
+    private final @NonNull RemoteGeoServerEventBridge bridge;
+    private final @NonNull Optional<RemoteEventCatchUp> catchUp;
+    private final String instanceId;
+
+    public @Override void bindTo(@NonNull MeterRegistry registry) {
+        final Tags tags = instanceId == null ? Tags.empty() : Tags.of("instance-id", instanceId);
+        bind(bridge, registry, tags);
+        bridge.getOutgoingBatcher().ifPresent(batcher -> bind(batcher, registry, tags));
+        bridge.getIncomingExecutor().ifPresent(executor -> bind(executor, registry, tags));
+        catchUp.ifPresent(c -> bind(c, registry, tags));
+    }
+
+    private void bind(RemoteEventCatchUp catchUp, MeterRegistry registry, Tags tags) {
+        FunctionCounter.builder(
+                        "geoserver.config.bus.catchup.replayed",
+                        catchUp,
+                        RemoteEventCatchUp::getReplayed)
+                .description("Missed remote events replayed from the change log")
+                .baseUnit("events")
+                .tags(tags)
+                .register(registry);
+
+        FunctionCounter.builder(
+                        "geoserver.config.bus.catchup.skipped",
+                        catchUp,
+                        RemoteEventCatchUp::getSkipped)
+                .description("Missed update sequence values with no change log entry")
+                .tags(tags)
+                .register(registry);
+
+        FunctionCounter.builder(
+                        "geoserver.config.bus.catchup.reloads",
+                        catchUp,
+                        RemoteEventCatchUp::getReloads)
+                .description("Full reloads due to missed events no longer in the change log")
+                .tags(tags)
+                .register(registry);
+
+        FunctionCounter.builder(
+                        "geoserver.config.bus.catchup.log.dropped",
+                        catchUp.getChangeLog(),
+                        RemoteEventChangeLog::getDropped)
+                .description("Outgoing events not logged due to a full change log write queue")
+                .baseUnit("events")
+                .tags(tags)
+                .register(registry);
+    }
+
+    private void bind(RemoteGeoServerEventBridge bridge, MeterRegistry registry, Tags tags) {
+        Gauge.builder("geoserver.config.bus.incoming.pending", bridge::getIncomingPending)
+                .description("Incoming remote events received and not yet applied")
+                .baseUnit("events")
+                .tags(tags)
+                .register(registry);
+
+        bridge.setIncomingObserver(new PropagationMetrics(registry, tags));
+    }
+
+    private void bind(RemoteGeoServerEventBatcher batcher, MeterRegistry registry, Tags tags) {
+        Gauge.builder("geoserver.config.bus.outgoing.pending", batcher::pending)
+                .description("Outgoing remote events waiting to be published")
+                .baseUnit("events")
+                .tags(tags)
+                .register(registry);
+
+        FunctionCounter.builder(
+                        "geoserver.config.bus.outgoing.dropped",
+                        batcher,
+                        RemoteGeoServerEventBatcher::getDropped)
+                .description("Outgoing remote events dropped due to too many pending")
+                .baseUnit("events")
+                .tags(tags)
+                .register(registry);
+    }
+
+    private void bind(OrderedRemoteEventExecutor executor, MeterRegistry registry, Tags tags) {
+        Gauge.builder("geoserver.config.bus.incoming.capacity", executor::getCapacity)
+                .description("Maximum incoming remote events waiting to be applied")
+                .baseUnit("events")
+                .tags(tags)
+                .register(registry);
+
+        FunctionTimer.builder(
+                        "geoserver.config.bus.incoming.blocked",
+                        executor,
+                        OrderedRemoteEventExecutor::getBlockedCount,
+                        OrderedRemoteEventExecutor::getBlockedNanos,
+                        TimeUnit.NANOSECONDS)
+                .description("Times the bus consumer was blocked waiting for queue capacity")
+                .tags(tags)
+                .register(registry);
+
+        FunctionCounter.builder(
+                        "geoserver.config.bus.incoming.applied",
+                        executor,
+                        OrderedRemoteEventExecutor::getCompleted)
+                .description("Incoming remote events applied")
+                .baseUnit("events")
+                .tags(tags)
+                .register(registry);
+
+        FunctionCounter.builder(
+                        "geoserver.config.bus.incoming.failed",
+                        executor,
+                        OrderedRemoteEventExecutor::getFailed)
+                .description("Incoming remote events that failed to be applied")
+                .baseUnit("events")
+                .tags(tags)
+                .register(registry);
+    }
+
+    /**
+     * @return the service name part of a bus id (e.g. {@literal wms-service} out of {@literal
+     *     wms-service:8080:<random>}), so there's a time series per service rather than per service
+     *     instance
+     */
+    static String serviceName(String busId) {
+        if (busId == null || busId.isBlank()) return "unknown";
+        int colon = busId.indexOf(':');
+        return colon > 0 ? busId.substring(0, colon) : busId;
+    }
+
+    @RequiredArgsConstructor
+    private static class PropagationMetrics implements IncomingRemoteEventObserver {
+        private final @NonNull MeterRegistry registry;
+        private final @NonNull Tags tags;
+
+        private Tags tags(GeoServerEvent<?> event, String origin) {
+            return tags.and(
+                    "type", event.getClass().getSimpleName(), "origin", serviceName(origin));
+        }
+
+        public @Override void received(
+                GeoServerEvent<?> event, String origin, Duration publishToReceive) {
+            Tags eventTags = tags(event, origin);
+            Counter.builder("geoserver.config.bus.incoming.received")
+                    .description("Incoming remote events received")
+                    .baseUnit("events")
+                    .tags(eventTags)
+                    .register(registry)
+                    .increment();
+
+            Timer.builder("geoserver.config.bus.incoming.lag")
+                    .description("Time from an event happening at its origin to being received")
+                    .tags(eventTags)
+                    .register(registry)
+                    .record(publishToReceive);
+        }
+
+        public @Override void applied(
+                GeoServerEvent<?> event,
+                String origin,
+                Duration receiveToApplied,
+                boolean success) {
+            Timer.builder("geoserver.config.bus.incoming.apply")
+                    .description("Time from an incoming event being received to being applied")
+                    .tags(tags(event, origin))
+                    .tag("outcome", success ? "success" : "failure")
+                    .register(registry)
+                    .record(receiveToApplied);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.autoconfigure.event.bus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.geoserver.cloud.event.bus.RemoteEventCatchUp;
+import org.geoserver.cloud.event.bus.RemoteGeoServerEventBridge;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Optional;
+
+/**
+ * {@link EnableAutoConfiguration Auto-configuration} for {@link RemoteGeoServerEventBridge}
+ * metrics; depends on a {@link MeterRegistry} being available and the {@literal
+ * geoserver.metrics.enabled} configuration property not being {@code false}.
+ *
+ * @see RemoteGeoServerEventsMetrics
+ * @see RemoteEventProcessorMetrics
+ * @since 1.0
+ */
+@Configuration(proxyBeanMethods = false)
+@AutoConfigureAfter({
+    MetricsAutoConfiguration.class,
+    CompositeMeterRegistryAutoConfiguration.class,
+    RemoteGeoServerEventsAutoConfiguration.class
+})
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnBean({MeterRegistry.class, RemoteGeoServerEventBridge.class})
+@ConditionalOnProperty(
+        name = "geoserver.metrics.enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+public class RemoteGeoServerEventsMetricsAutoConfiguration {
+
+    @Bean
+    RemoteGeoServerEventsMetrics remoteGeoServerEventsMetrics(
+            RemoteGeoServerEventBridge bridge,
+            ObjectProvider<RemoteEventCatchUp> catchUp,
+            @Value("${geoserver.metrics.instance-id:#{null}}") String instanceId) {
+        return new RemoteGeoServerEventsMetrics(
+                bridge, Optional.ofNullable(catchUp.getIfAvailable()), instanceId);
+    }
+
+    /**
+     * Static, since it's instantiated while the event listener methods of all the beans are looked
+     * up, before the regular beans are
+     */
+    @Bean
+    static RemoteEventProcessorMetrics remoteEventProcessorMetrics(
+            ObjectProvider<MeterRegistry> registry, Environment environment) {
+        return new RemoteEventProcessorMetrics(
+                registry, environment.getProperty("geoserver.metrics.instance-id"));
+    }
+}
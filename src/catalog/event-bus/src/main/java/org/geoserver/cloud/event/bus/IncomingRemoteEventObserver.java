@@ -0,0 +1,43 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import org.geoserver.cloud.event.GeoServerEvent;
+
+import java.time.Duration;
+
+/**
+ * Callback notified by {@link RemoteGeoServerEventBridge} as incoming remote events are received
+ * and applied, in order to measure how long changes take to propagate across the cluster.
+ *
+ * <p>Implementations are called from the bus consumer thread, and, if incoming events are applied
+ * {@link OrderedRemoteEventExecutor concurrently}, from the executor threads, so they must be
+ * thread safe and fast.
+ *
+ * @since 1.0
+ */
+public interface IncomingRemoteEventObserver {
+
+    /**
+     * Called when an event is received, before it's applied.
+     *
+     * @param event the received event
+     * @param origin the bus id of the service instance the event originated from
+     * @param publishToReceive time elapsed since the event {@link GeoServerEvent#getTimestamp()
+     *     happened} at the origin, as measured with the local wall clock, hence subject to clock
+     *     skew among hosts. Never negative.
+     */
+    void received(GeoServerEvent<?> event, String origin, Duration publishToReceive);
+
+    /**
+     * Called once an event has been published as a local event, hence applied by all its local
+     * listeners, or failed to.
+     *
+     * @param receiveToApplied time elapsed since the event was {@link #received received}
+     * @param success {@code false} if any listener failed to apply it
+     */
+    void applied(
+            GeoServerEvent<?> event, String origin, Duration receiveToApplied, boolean success);
+}
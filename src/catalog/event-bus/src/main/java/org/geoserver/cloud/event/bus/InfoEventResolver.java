@@ -5,21 +5,39 @@
 package org.geoserver.cloud.event.bus;
 
 import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
 
 import org.geoserver.catalog.Catalog;
 import org.geoserver.catalog.CatalogInfo;
 import org.geoserver.catalog.Info;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.StyleInfo;
 import org.geoserver.catalog.impl.ResolvingProxy;
+import org.geoserver.catalog.plugin.BatchIdLookup;
 import org.geoserver.catalog.plugin.Patch;
 import org.geoserver.catalog.plugin.resolving.CatalogPropertyResolver;
 import org.geoserver.catalog.plugin.resolving.CollectionPropertiesInitializer;
 import org.geoserver.catalog.plugin.resolving.ResolvingProxyResolver;
+import org.geoserver.cloud.event.GeoServerEvent;
+import org.geoserver.cloud.event.info.ConfigInfoType;
 import org.geoserver.cloud.event.info.InfoAdded;
 import org.geoserver.cloud.event.info.InfoEvent;
 import org.geoserver.cloud.event.info.InfoModified;
+import org.geoserver.cloud.event.info.InfoRemoved;
 import org.geoserver.config.GeoServer;
+import org.geoserver.config.ServiceInfo;
+import org.geoserver.config.SettingsInfo;
 import org.geoserver.jackson.databind.catalog.ProxyUtils;
+import org.springframework.context.event.EventListener;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 
 /**
@@ -29,7 +47,14 @@ import java.util.function.Function;
  *
  * <p>This listener ensures the payload object properties are resolved before being catch up by
  * other listeners.
+ *
+ * <p>If {@link #enableMemoization enabled}, resolved references are kept in a short-lived {@link
+ * InfoReferenceMemo} shared by all incoming events, so a burst of events referencing the same
+ * objects doesn't look them up over and over, and the references of each event, or of a whole batch
+ * of events, are pre-fetched with a single lookup per type if the catalog back-end supports {@link
+ * BatchIdLookup batch id lookups}.
  */
+@Slf4j(topic = "org.geoserver.cloud.event.bus.resolve")
 public class InfoEventResolver {
 
     private final Catalog rawCatalog;
@@ -40,24 +65,99 @@ public class InfoEventResolver {
     // REVISIT: merge ProxyUtils with ResolvingProxyResolver
     private ProxyUtils proxyUtils;
 
+    private volatile InfoReferenceMemo memo;
+
     public InfoEventResolver(@NonNull Catalog rawCatalog, @NonNull GeoServer geoserverConfig) {
         this.rawCatalog = rawCatalog;
         this.geoserverConfig = geoserverConfig;
-        proxyUtils = new ProxyUtils(rawCatalog, geoserverConfig);
+        proxyUtils =
+                new ProxyUtils(rawCatalog, geoserverConfig) {
+                    protected @Override <T extends Info> T resolveProxy(T proxy) {
+                        InfoReferenceMemo m = memo;
+                        return m == null ? super.resolveProxy(proxy) : m.resolve(proxy);
+                    }
+                };
 
         configInfoResolver =
                 CollectionPropertiesInitializer.<Info>instance()
-                        .andThen(ResolvingProxyResolver.<Info>of(rawCatalog));
+                        .andThen(this.<Info>proxyResolver());
 
         catalogInfoResolver =
                 CollectionPropertiesInitializer.<CatalogInfo>instance()
                         .andThen(CatalogPropertyResolver.of(rawCatalog))
-                        .andThen(ResolvingProxyResolver.of(rawCatalog));
+                        .andThen(this.<CatalogInfo>proxyResolver());
+    }
+
+    private <I extends Info> ResolvingProxyResolver<I> proxyResolver() {
+        return new ResolvingProxyResolver<>(rawCatalog) {
+            protected @Override <T extends Info> T doResolveProxy(T proxy) {
+                InfoReferenceMemo m = memo;
+                return m == null ? super.doResolveProxy(proxy) : m.resolve(proxy);
+            }
+        };
+    }
+
+    /**
+     * Enables memoizing resolved references for at most {@code window}, and pre-fetching them in
+     * batches if the catalog back-end supports it.
+     */
+    public void enableMemoization(@NonNull Duration window) {
+        BatchIdLookup batchLookup = BatchIdLookup.of(rawCatalog).orElse(null);
+        this.memo = new InfoReferenceMemo(rawCatalog, batchLookup, window);
+    }
+
+    /** @return the references memo, if {@link #enableMemoization enabled} */
+    public Optional<InfoReferenceMemo> getMemo() {
+        return Optional.ofNullable(memo);
+    }
+
+    /**
+     * Pre-fetches the unresolved references of all the given events at once, if memoization is
+     * enabled and the catalog back-end supports batch lookups. Called before resolving the events
+     * of a batch one by one.
+     */
+    public void prefetch(@NonNull Collection<? extends GeoServerEvent<?>> events) {
+        final InfoReferenceMemo m = memo;
+        if (m == null) return;
+        List<CatalogInfo> references = new ArrayList<>();
+        for (GeoServerEvent<?> event : events) {
+            if (event instanceof InfoEvent) {
+                invalidate((InfoEvent<?, ?>) event);
+                collectReferences((InfoEvent<?, ?>) event, references);
+            }
+        }
+        m.prefetch(references);
+    }
+
+    /**
+     * Discards memoized references to objects modified or removed locally, remote changes are
+     * accounted for as they're {@link #resolve(InfoEvent) resolved}
+     */
+    @EventListener(InfoEvent.class)
+    public void onInfoEvent(InfoEvent<?, ?> event) {
+        if (event.isLocal()) invalidate(event);
+    }
+
+    private void invalidate(InfoEvent<?, ?> event) {
+        final InfoReferenceMemo m = memo;
+        if (m != null && (event instanceof InfoModified || event instanceof InfoRemoved)) {
+            m.invalidate(event.getObjectId());
+        }
     }
 
     @SuppressWarnings({"rawtypes", "unchecked"})
     public InfoEvent<?, ?> resolve(InfoEvent event) {
-        if (event instanceof InfoAdded) {
+        final InfoReferenceMemo m = memo;
+        if (m != null) {
+            invalidate(event);
+            List<CatalogInfo> references = new ArrayList<>();
+            collectReferences(event, references);
+            m.prefetch(references);
+        }
+        if (event instanceof InfoAdded && ((InfoAdded) event).isLazy()) {
+            InfoAdded addEvent = (InfoAdded) event;
+            addEvent.setObjectLoader(() -> load(addEvent));
+        } else if (event instanceof InfoAdded) {
             InfoAdded addEvent = (InfoAdded) event;
             Info object = addEvent.getObject();
             addEvent.setObject(resolve(object));
@@ -68,6 +168,30 @@ public class InfoEventResolver {
         return event;
     }
 
+    /**
+     * Loads the object of a {@link InfoAdded#isLazy() lazy} add event from the catalog, which only
+     * works if the catalog back-end is shared by all service instances. Only {@link CatalogInfo}
+     * add events are sent lazily.
+     *
+     * @return the added object, or {@code null} if it was removed since, as {@link
+     *     InfoAdded#getObject()} documents for listeners
+     */
+    private CatalogInfo load(InfoAdded<?, ?> event) {
+        final ConfigInfoType type = event.getObjectType();
+        if (!type.isA(CatalogInfo.class)) return null;
+        @SuppressWarnings("unchecked")
+        Class<CatalogInfo> infoType = (Class<CatalogInfo>) type.getType();
+        CatalogInfo proxy = ResolvingProxy.create(event.getObjectId(), infoType);
+        CatalogInfo object = ResolvingProxy.resolve(rawCatalog, proxy);
+        if (object == null) {
+            log.warn(
+                    "Object of lazy remote add event not found in the catalog, "
+                            + "it may have been removed since: {}",
+                    event);
+        }
+        return object;
+    }
+
     @SuppressWarnings("unchecked")
     private <I extends Info> I resolve(I object) {
         if (object == null) return null;
@@ -85,4 +209,51 @@ public class InfoEventResolver {
     private Patch resolve(Patch patch) {
         return proxyUtils.resolve(patch);
     }
+
+    private static void collectReferences(InfoEvent<?, ?> event, List<CatalogInfo> target) {
+        if (event instanceof InfoAdded) {
+            InfoAdded<?, ?> addEvent = (InfoAdded<?, ?>) event;
+            // don't trigger loading the object of lazy events, it comes resolved from the catalog
+            if (!addEvent.isLazy()) collectReferences(addEvent.getObject(), target);
+        } else if (event instanceof InfoModified) {
+            Patch patch = ((InfoModified<?, ?>) event).getPatch();
+            if (patch != null) {
+                patch.getPatches().forEach(p -> addReference(p.getValue(), target));
+            }
+        }
+    }
+
+    /** Collects the unresolved references held by the properties of an added object */
+    private static void collectReferences(Info object, List<CatalogInfo> target) {
+        if (object instanceof StoreInfo) {
+            addReference(((StoreInfo) object).getWorkspace(), target);
+        } else if (object instanceof ResourceInfo) {
+            addReference(((ResourceInfo) object).getStore(), target);
+            addReference(((ResourceInfo) object).getNamespace(), target);
+        } else if (object instanceof LayerInfo) {
+            LayerInfo layer = (LayerInfo) object;
+            addReference(layer.getResource(), target);
+            addReference(layer.getDefaultStyle(), target);
+            addReference(layer.getStyles(), target);
+        } else if (object instanceof LayerGroupInfo) {
+            LayerGroupInfo lg = (LayerGroupInfo) object;
+            addReference(lg.getWorkspace(), target);
+            addReference(lg.getLayers(), target);
+            addReference(lg.getStyles(), target);
+        } else if (object instanceof StyleInfo) {
+            addReference(((StyleInfo) object).getWorkspace(), target);
+        } else if (object instanceof SettingsInfo) {
+            addReference(((SettingsInfo) object).getWorkspace(), target);
+        } else if (object instanceof ServiceInfo) {
+            addReference(((ServiceInfo) object).getWorkspace(), target);
+        }
+    }
+
+    private static void addReference(Object value, List<CatalogInfo> target) {
+        if (value instanceof Collection) {
+            ((Collection<?>) value).forEach(v -> addReference(v, target));
+        } else if (value instanceof CatalogInfo && ProxyUtils.isResolvingProxy((Info) value)) {
+            target.add((CatalogInfo) value);
+        }
+    }
 }
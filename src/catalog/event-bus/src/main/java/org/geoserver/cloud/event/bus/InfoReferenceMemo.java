@@ -0,0 +1,219 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.Info;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.MapInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.impl.ResolvingProxy;
+import org.geoserver.catalog.plugin.BatchIdLookup;
+import org.geoserver.catalog.plugin.resolving.ModificationProxyDecorator;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Short-lived memo of the {@link ResolvingProxy} references resolved for incoming remote events,
+ * shared across a burst of events so that the workspace, namespace, store, and styles referenced by
+ * many of them are looked up in the catalog only once.
+ *
+ * <p>Entries live for at most one {@code window}: the memo is cleared as a whole the first time
+ * it's used after the window since it was last cleared elapsed. Entries for objects modified or
+ * removed are {@link #invalidate invalidated} right away. References that can't be resolved are not
+ * memoized, since the objects they point to may be added by a following event.
+ *
+ * <p>If the catalog back-end supports {@link BatchIdLookup batch id lookups}, the not yet memoized
+ * references of a set of events can be {@link #prefetch prefetched} with a single lookup per object
+ * type.
+ *
+ * <p>Instances are thread safe, as incoming events may be applied concurrently.
+ *
+ * @since 1.0
+ */
+@Slf4j(topic = "org.geoserver.cloud.event.bus.resolve")
+public class InfoReferenceMemo {
+
+    /** Object types references are grouped by for batch lookups */
+    private static final List<Class<? extends CatalogInfo>> TYPES =
+            List.of(
+                    WorkspaceInfo.class,
+                    NamespaceInfo.class,
+                    StoreInfo.class,
+                    ResourceInfo.class,
+                    LayerInfo.class,
+                    LayerGroupInfo.class,
+                    StyleInfo.class,
+                    MapInfo.class);
+
+    private final Catalog catalog;
+    private final BatchIdLookup batchLookup;
+    private final long windowNanos;
+    private final LongSupplier clock;
+
+    private final Map<String, CatalogInfo> entries = new ConcurrentHashMap<>();
+    private volatile long expiresAt;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    /**
+     * @param catalog the catalog to resolve references against
+     * @param batchLookup the catalog back-end batch lookup capability, or {@code null} if it has
+     *     none
+     * @param window maximum time resolved references are memoized for
+     */
+    public InfoReferenceMemo(
+            @NonNull Catalog catalog,
+            @Nullable BatchIdLookup batchLookup,
+            @NonNull Duration window) {
+        this(catalog, batchLookup, window, System::nanoTime);
+    }
+
+    InfoReferenceMemo(
+            @NonNull Catalog catalog,
+            @Nullable BatchIdLookup batchLookup,
+            @NonNull Duration window,
+            @NonNull LongSupplier nanoClock) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("window must be positive: " + window);
+        }
+        this.catalog = catalog;
+        this.batchLookup = batchLookup;
+        this.windowNanos = window.toNanos();
+        this.clock = nanoClock;
+        this.expiresAt = clock.getAsLong() + windowNanos;
+    }
+
+    /** @return number of references served from the memo */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /** @return number of references looked up in the catalog one at a time */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /** @return number of batch lookups performed */
+    public long getBatches() {
+        return batches.get();
+    }
+
+    /** @return number of memoized references */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Resolves a {@link ResolvingProxy} reference, from the memo if possible, or from the catalog
+     * otherwise. References to objects other than {@link CatalogInfo} are not memoized.
+     *
+     * @return the resolved object, or {@code null} if not found
+     */
+    @SuppressWarnings("unchecked")
+    public <I extends Info> I resolve(@NonNull I proxy) {
+        if (!(proxy instanceof CatalogInfo)) {
+            return ResolvingProxy.resolve(catalog, proxy);
+        }
+        expire();
+        final String id = proxy.getId();
+        CatalogInfo resolved = entries.get(id);
+        if (resolved != null) {
+            hits.incrementAndGet();
+            return (I) resolved;
+        }
+        misses.incrementAndGet();
+        I found = ResolvingProxy.resolve(catalog, proxy);
+        if (found != null) {
+            entries.put(id, (CatalogInfo) found);
+        }
+        return found;
+    }
+
+    /**
+     * Looks up all the not yet memoized {@code references} with a single batch lookup per object
+     * type, if the catalog back-end supports it and there's more than one to look up. Otherwise
+     * does nothing, and references will be looked up one at a time as they're resolved.
+     */
+    public void prefetch(@NonNull Collection<? extends CatalogInfo> references) {
+        if (batchLookup == null || references.size() < 2) return;
+        expire();
+        Map<Class<? extends CatalogInfo>, Set<String>> missing = new HashMap<>();
+        for (CatalogInfo ref : references) {
+            String id = ref.getId();
+            if (id == null || entries.containsKey(id)) continue;
+            typeOf(ref).ifPresent(t -> missing.computeIfAbsent(t, k -> new HashSet<>()).add(id));
+        }
+        missing.forEach(
+                (type, ids) -> {
+                    if (ids.size() > 1) prefetch(type, ids);
+                });
+    }
+
+    private void prefetch(Class<? extends CatalogInfo> type, Set<String> ids) {
+        batches.incrementAndGet();
+        try (Stream<? extends CatalogInfo> found = batchLookup.findAllById(type, ids)) {
+            // objects come straight from the back-end, decorate them as the catalog would
+            found.map(ModificationProxyDecorator::wrap).forEach(i -> entries.put(i.getId(), i));
+        } catch (RuntimeException e) {
+            log.warn(
+                    "Error pre-fetching {} {} references, will resolve them one at a time",
+                    ids.size(),
+                    type.getSimpleName(),
+                    e);
+        }
+    }
+
+    private static Optional<Class<? extends CatalogInfo>> typeOf(CatalogInfo ref) {
+        return TYPES.stream().filter(t -> t.isInstance(ref)).findFirst();
+    }
+
+    /** Discards the memoized reference to the object with the given id, if any */
+    public void invalidate(String id) {
+        if (id != null) entries.remove(id);
+    }
+
+    /** Discards all memoized references */
+    public void clear() {
+        entries.clear();
+        expiresAt = clock.getAsLong() + windowNanos;
+    }
+
+    private void expire() {
+        if (clock.getAsLong() - expiresAt > 0) {
+            log.trace("Clearing {} memoized references", entries.size());
+            clear();
+        }
+    }
+
+    public @Override String toString() {
+        return String.format(
+                "%s[entries: %d, hits: %d, misses: %d, batches: %d]",
+                getClass().getSimpleName(), size(), getHits(), getMisses(), getBatches());
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.Info;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.MapInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.plugin.Patch;
+import org.geoserver.cloud.event.GeoServerEvent;
+import org.geoserver.cloud.event.config.ServiceRemoved;
+import org.geoserver.cloud.event.config.SettingsRemoved;
+import org.geoserver.cloud.event.info.ConfigInfoType;
+import org.geoserver.cloud.event.info.InfoAdded;
+import org.geoserver.cloud.event.info.InfoEvent;
+import org.geoserver.cloud.event.info.InfoModified;
+import org.geoserver.cloud.event.info.InfoRemoved;
+import org.geoserver.config.ServiceInfo;
+import org.geoserver.config.SettingsInfo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies incoming remote {@link GeoServerEvent}s concurrently on a fixed size thread pool, while
+ * preserving the order in which they were received where it matters:
+ *
+ * <ul>
+ *   <li>Events for the same object are applied in order, while events for different objects are
+ *       applied concurrently;
+ *   <li>{@link InfoAdded Additions} are also ordered after the events for the objects the added
+ *       object references (e.g. a layer after its resource and styles, a resource after its store
+ *       and namespace), and so are {@link InfoModified modifications} after the events for the
+ *       objects their changes reference;
+ *   <li>{@link InfoRemoved Removals} of objects other objects may reference (i.e. any {@link
+ *       CatalogInfo} but {@link MapInfo}), modifications of {@link WorkspaceInfo workspaces} and
+ *       {@link NamespaceInfo namespaces}, whose changes cascade to their contents, {@link
+ *       InfoAdded#isLazy() lazy} additions, whose object and hence references are unknown until
+ *       applied, and any other event act as a barrier: they're applied once all previously received
+ *       events are applied, and all events received after them wait for them to be applied.
+ * </ul>
+ *
+ * <p>The events of a {@link RemoteGeoServerEventBatch batch} are applied in order by a single task,
+ * which is ordered after the tasks any of its events depends on, and acts as a barrier if any of
+ * them would.
+ *
+ * <p>That way, a slow event handler (e.g. disposing of a JDBC {@code DataStore} upon a store
+ * modification) does not delay the propagation of unrelated changes, and objects are never seen
+ * before the objects they depend upon.
+ *
+ * <p>The number of tasks (single events or batches) waiting to be applied is bounded by {@link
+ * #getCapacity() capacity}. When full, {@link #execute} blocks the calling (bus consumer) thread
+ * until there's room, effectively propagating back-pressure to the message broker. The number of
+ * times and the total time the calling thread was blocked is available through {@link
+ * #getBlockedCount()} and {@link #getBlockedNanos()}.
+ *
+ * @since 1.0
+ */
+@Slf4j(topic = "org.geoserver.cloud.event.bus.incoming")
+public class OrderedRemoteEventExecutor implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final @Getter int capacity;
+    private final @Getter int threads;
+
+    private final Map<String, CompletableFuture<Void>> lastByKey = new HashMap<>();
+    private final Set<CompletableFuture<Void>> inFlight = new HashSet<>();
+    private CompletableFuture<Void> barrier;
+
+    private final AtomicLong blockedCount = new AtomicLong();
+    private final AtomicLong blockedNanos = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public OrderedRemoteEventExecutor(int threads, int capacity) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be > 0");
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be > 0");
+        this.threads = threads;
+        this.capacity = capacity;
+        this.permits = new Semaphore(capacity);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor =
+                Executors.newFixedThreadPool(
+                        threads,
+                        r -> {
+                            String name = "gs-bus-incoming-" + threadCount.incrementAndGet();
+                            Thread t = new Thread(r, name);
+                            t.setDaemon(true);
+                            return t;
+                        });
+    }
+
+    /**
+     * @return the keys (ids of the object the event is about and of the objects it references)
+     *     events shall be serialized by, or empty if the event must be applied in isolation from
+     *     all others
+     */
+    static Optional<Set<String>> orderingKeys(@NonNull GeoServerEvent<?> event) {
+        if (!(event instanceof InfoEvent) || ((InfoEvent<?, ?>) event).getObjectId() == null) {
+            return Optional.empty();
+        }
+        final InfoEvent<?, ?> infoEvent = (InfoEvent<?, ?>) event;
+        final ConfigInfoType type = infoEvent.getObjectType();
+        if (type == null) return Optional.empty();
+
+        final Set<String> keys = new HashSet<>();
+        keys.add(infoEvent.getObjectId());
+        if (event instanceof InfoAdded) {
+            InfoAdded<?, ?> added = (InfoAdded<?, ?>) event;
+            // don't trigger the object loader of lazy events on the calling thread
+            if (added.isLazy()) return Optional.empty();
+            addReferences(added.getObject(), keys);
+        } else if (event instanceof InfoModified) {
+            if (type.isA(WorkspaceInfo.class) || type.isA(NamespaceInfo.class)) {
+                return Optional.empty();
+            }
+            Patch patch = ((InfoModified<?, ?>) event).getPatch();
+            if (patch != null) {
+                patch.getPatches().forEach(p -> addIds(p.getValue(), keys));
+            }
+        } else if (event instanceof InfoRemoved) {
+            if (type.isA(CatalogInfo.class) && !type.isA(MapInfo.class)) {
+                return Optional.empty();
+            }
+            if (event instanceof ServiceRemoved) {
+                addId(((ServiceRemoved) event).getWorkspaceId(), keys);
+            } else if (event instanceof SettingsRemoved) {
+                addId(((SettingsRemoved) event).getWorkspaceId(), keys);
+            }
+        } else {
+            return Optional.empty();
+        }
+        return Optional.of(keys);
+    }
+
+    /** Adds the ids of the objects {@code info} references to {@code keys} */
+    private static void addReferences(Info info, Set<String> keys) {
+        if (info instanceof StoreInfo) {
+            addIds(((StoreInfo) info).getWorkspace(), keys);
+        } else if (info instanceof ResourceInfo) {
+            addIds(((ResourceInfo) info).getStore(), keys);
+            addIds(((ResourceInfo) info).getNamespace(), keys);
+        } else if (info instanceof LayerInfo) {
+            LayerInfo layer = (LayerInfo) info;
+            addIds(layer.getResource(), keys);
+            addIds(layer.getDefaultStyle(), keys);
+            addIds(layer.getStyles(), keys);
+        } else if (info instanceof LayerGroupInfo) {
+            LayerGroupInfo group = (LayerGroupInfo) info;
+            addIds(group.getWorkspace(), keys);
+            addIds(group.getRootLayer(), keys);
+            addIds(group.getRootLayerStyle(), keys);
+            addIds(group.getLayers(), keys);
+            addIds(group.getStyles(), keys);
+        } else if (info instanceof StyleInfo) {
+            addIds(((StyleInfo) info).getWorkspace(), keys);
+        } else if (info instanceof ServiceInfo) {
+            addIds(((ServiceInfo) info).getWorkspace(), keys);
+        } else if (info instanceof SettingsInfo) {
+            addIds(((SettingsInfo) info).getWorkspace(), keys);
+        }
+    }
+
+    private static void addId(String id, Set<String> keys) {
+        if (id != null) keys.add(id);
+    }
+
+    /** Adds the id of {@code value} if it's an {@link Info}, or of its elements if a collection */
+    private static void addIds(Object value, Set<String> keys) {
+        if (value instanceof Info) {
+            addId(((Info) value).getId(), keys);
+        } else if (value instanceof Collection) {
+            ((Collection<?>) value).forEach(v -> addIds(v, keys));
+        }
+    }
+
+    /**
+     * Schedules {@code task}, which applies {@code event}, to run once all the tasks it depends on
+     * have run, blocking the calling thread while there are {@link #getCapacity() capacity} tasks
+     * pending.
+     */
+    public void execute(@NonNull GeoServerEvent<?> event, @NonNull Runnable task) {
+        execute(List.of(event), task);
+    }
+
+    /**
+     * Schedules {@code task}, which applies {@code events} in order, to run once all the tasks any
+     * of them depends on have run, as a single unit taking a single slot of {@link #getCapacity()
+     * capacity}.
+     */
+    public void execute(@NonNull List<GeoServerEvent<?>> events, @NonNull Runnable task) {
+        if (events.isEmpty()) throw new IllegalArgumentException("no events to apply");
+        acquire();
+        final Set<String> keys = new HashSet<>();
+        boolean isolated = false;
+        for (GeoServerEvent<?> event : events) {
+            Optional<Set<String>> eventKeys = orderingKeys(event);
+            if (eventKeys.isPresent()) keys.addAll(eventKeys.get());
+            else isolated = true;
+        }
+        if (isolated) keys.clear();
+        final Object description = events.size() == 1 ? events.get(0) : events;
+        synchronized (this) {
+            List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+            if (isolated) {
+                dependencies.addAll(inFlight);
+            } else {
+                if (barrier != null) dependencies.add(barrier);
+                for (String key : keys) {
+                    CompletableFuture<Void> previous = lastByKey.get(key);
+                    if (previous != null) dependencies.add(previous);
+                }
+            }
+            CompletableFuture<Void> future =
+                    CompletableFuture.allOf(dependencies.toArray(CompletableFuture[]::new))
+                            .handle((r, e) -> null)
+                            .thenRunAsync(() -> run(description, task), executor);
+            inFlight.add(future);
+            if (isolated) {
+                barrier = future;
+            } else {
+                keys.forEach(key -> lastByKey.put(key, future));
+            }
+            future.whenComplete((r, e) -> done(keys, future, e));
+        }
+    }
+
+    private void acquire() {
+        if (!permits.tryAcquire()) {
+            blockedCount.incrementAndGet();
+            final long start = System.nanoTime();
+            permits.acquireUninterruptibly();
+            blockedNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private void run(Object events, Runnable task) {
+        try {
+            task.run();
+            completed.incrementAndGet();
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            log.error("Error applying remote event {}", events, e);
+        }
+    }
+
+    private synchronized void done(
+            Set<String> keys, CompletableFuture<Void> future, Throwable error) {
+        inFlight.remove(future);
+        keys.forEach(k -> lastByKey.remove(k, future));
+        if (barrier == future) {
+            barrier = null;
+        }
+        if (error != null) {
+            // only if the executor rejected the task, run() catches all errors
+            failed.incrementAndGet();
+            log.warn("Remote event not applied: {}", error.getMessage());
+        }
+        permits.release();
+    }
+
+    /** @return number of tasks, single events or batches, received and not yet applied */
+    public int getPending() {
+        return capacity - permits.availablePermits();
+    }
+
+    /** @return number of times the calling thread was blocked because the executor was full */
+    public long getBlockedCount() {
+        return blockedCount.get();
+    }
+
+    /** @return total time, in nanoseconds, the calling thread was blocked */
+    public long getBlockedNanos() {
+        return blockedNanos.get();
+    }
+
+    /** @return number of tasks, single events or batches, successfully applied */
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    /** @return number of tasks, single events or batches, whose application failed */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /** Waits a few seconds for pending events to be applied and shuts down the thread pool */
+    public @Override void close() {
+        CompletableFuture<Void> pending;
+        synchronized (this) {
+            pending = CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new));
+        }
+        try {
+            pending.get(10, TimeUnit.SECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            log.warn("Shutting down with {} remote events pending", getPending());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
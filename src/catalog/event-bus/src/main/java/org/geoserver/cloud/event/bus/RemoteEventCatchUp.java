@@ -0,0 +1,252 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.cloud.event.UpdateSequenceEvent;
+import org.geoserver.cloud.event.bus.RemoteEventChangeLog.Entry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically checks the {@link UpdateSequenceTracker} for missed events, and recovers from them
+ * by replaying the missing events from the {@link RemoteEventChangeLog}.
+ *
+ * <p>Not every update sequence value gets an event broadcast, for example if the change that
+ * incremented it failed, or was made by a service instance with catch-up disabled. So a missing
+ * value the log covers but has no entry for is looked up again on the following checks, as it may
+ * still be being logged, and once it had no entry for the {@code logTimeout} it's {@link
+ * #getSkipped() skipped}, taken as having nothing to apply.
+ *
+ * <p>Only if the log no longer covers the missing values, as they're older than its retained
+ * window, the catalog and configuration are fully reloaded.
+ *
+ * @since 1.0
+ */
+@Slf4j(topic = "org.geoserver.cloud.event.bus.catchup")
+public class RemoteEventCatchUp implements AutoCloseable {
+
+    /** Maximum number of missing events to recover per check */
+    private static final int MAX_GAPS = 10_000;
+
+    private final RemoteGeoServerEventBridge bridge;
+    private final UpdateSequenceTracker tracker;
+    private final @Getter RemoteEventChangeLog changeLog;
+    private final Runnable fullReload;
+    private final LongSupplier currentSequence;
+    private final @Getter Duration gracePeriod;
+    private final @Getter Duration logTimeout;
+    private final LongSupplier clock;
+
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong reloads = new AtomicLong();
+
+    private ScheduledExecutorService timer;
+
+    /** Missing values with no entry in the log, and the time they were first looked up */
+    private Map<Long, Long> unlogged = Map.of();
+
+    /**
+     * @param fullReload performs a full reload of the catalog and configuration
+     * @param currentSequence provides the cluster's current update sequence, to reset the tracker
+     *     after a full reload
+     * @param gracePeriod how long a missing update sequence value is waited for before being
+     *     recovered
+     * @param logTimeout how long a missing update sequence value is looked up in the log before
+     *     being taken as having no event
+     */
+    public RemoteEventCatchUp(
+            @NonNull RemoteGeoServerEventBridge bridge,
+            @NonNull UpdateSequenceTracker tracker,
+            @NonNull RemoteEventChangeLog changeLog,
+            @NonNull Runnable fullReload,
+            @NonNull LongSupplier currentSequence,
+            @NonNull Duration gracePeriod,
+            @NonNull Duration logTimeout) {
+        this(
+                bridge,
+                tracker,
+                changeLog,
+                fullReload,
+                currentSequence,
+                gracePeriod,
+                logTimeout,
+                System::currentTimeMillis);
+    }
+
+    RemoteEventCatchUp(
+            @NonNull RemoteGeoServerEventBridge bridge,
+            @NonNull UpdateSequenceTracker tracker,
+            @NonNull RemoteEventChangeLog changeLog,
+            @NonNull Runnable fullReload,
+            @NonNull LongSupplier currentSequence,
+            @NonNull Duration gracePeriod,
+            @NonNull Duration logTimeout,
+            @NonNull LongSupplier clock) {
+        this.bridge = bridge;
+        this.tracker = tracker;
+        this.changeLog = changeLog;
+        this.fullReload = fullReload;
+        this.currentSequence = currentSequence;
+        this.gracePeriod = gracePeriod;
+        this.logTimeout = logTimeout;
+        this.clock = clock;
+    }
+
+    /** Starts checking for missed events every {@code interval} */
+    public synchronized void start(@NonNull Duration interval) {
+        if (timer != null) throw new IllegalStateException("already started");
+        timer =
+                Executors.newSingleThreadScheduledExecutor(
+                        r -> {
+                            Thread t = new Thread(r, "gs-bus-catchup");
+                            t.setDaemon(true);
+                            return t;
+                        });
+        long millis = interval.toMillis();
+        timer.scheduleWithFixedDelay(this::checkSafely, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    private void checkSafely() {
+        try {
+            check();
+        } catch (RuntimeException e) {
+            log.error("Error checking for missed remote events", e);
+        }
+    }
+
+    /** Checks for overdue missing events and recovers them */
+    public synchronized void check() {
+        SortedSet<Long> gaps = tracker.overdueGaps(gracePeriod.toMillis(), MAX_GAPS);
+        if (gaps.isEmpty()) {
+            unlogged = Map.of();
+            return;
+        }
+        log.debug(
+                "Missing {} remote events between update sequence {} and {}, {}",
+                gaps.size(),
+                gaps.first(),
+                gaps.last(),
+                tracker);
+
+        Optional<List<Entry>> entries = changeLog.read(new ArrayList<>(gaps));
+        if (entries.isEmpty()) {
+            log.warn(
+                    "The change log no longer holds the missed events since update sequence {},"
+                            + " performing a full reload",
+                    gaps.first());
+            reload();
+            return;
+        }
+        replay(entries.get());
+        skipUnlogged(gaps, entries.get());
+    }
+
+    /**
+     * Replays the entries with an event, which are marked as applied once applied, and marks the
+     * ones with no event as applied right away
+     */
+    private void replay(List<Entry> entries) {
+        List<Entry> events =
+                entries.stream()
+                        .filter(e -> !e.getEventsToApply().isEmpty())
+                        .collect(Collectors.toList());
+        if (!events.isEmpty()) {
+            log.info("Replaying {} missed remote events from the change log", events.size());
+        }
+        for (Entry entry : events) {
+            List<UpdateSequenceEvent<?>> toApply = entry.getEventsToApply();
+            if (toApply.size() == 1) {
+                bridge.replay(toApply.get(0), entry.getOrigin());
+            } else {
+                bridge.replayBatch(toApply, entry.getOrigin());
+            }
+            replayed.addAndGet(toApply.size());
+        }
+        tracker.applied(
+                entries.stream()
+                        .filter(e -> e.getEventsToApply().isEmpty())
+                        .map(Entry::getSequence)
+                        .collect(Collectors.toList()));
+    }
+
+    /** Marks as applied the missing values that had no log entry for longer than the timeout */
+    private void skipUnlogged(SortedSet<Long> gaps, List<Entry> entries) {
+        final long now = clock.getAsLong();
+        final long timeout = logTimeout.toMillis();
+        Set<Long> logged = entries.stream().map(Entry::getSequence).collect(Collectors.toSet());
+        Map<Long, Long> stillUnlogged = new HashMap<>();
+        List<Long> skip = new ArrayList<>();
+        for (Long sequence : gaps) {
+            if (logged.contains(sequence)) continue;
+            long since = unlogged.getOrDefault(sequence, now);
+            if (now - since >= timeout) {
+                skip.add(sequence);
+            } else {
+                stillUnlogged.put(sequence, since);
+            }
+        }
+        unlogged = stillUnlogged;
+        if (!skip.isEmpty()) {
+            log.info(
+                    "No change log entry for {} update sequence values between {} and {} after {},"
+                            + " taking them as having no event",
+                    skip.size(),
+                    skip.get(0),
+                    skip.get(skip.size() - 1),
+                    logTimeout);
+            tracker.applied(skip);
+            skipped.addAndGet(skip.size());
+        }
+    }
+
+    private void reload() {
+        final long sequence = currentSequence.getAsLong();
+        fullReload.run();
+        tracker.reset(sequence);
+        unlogged = Map.of();
+        reloads.incrementAndGet();
+        log.info("Full reload complete, tracking update sequence from {}", sequence);
+    }
+
+    /** @return number of events replayed from the change log */
+    public long getReplayed() {
+        return replayed.get();
+    }
+
+    /** @return number of missing update sequence values taken as having no event */
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    /** @return number of full reloads performed due to missed events no longer in the log */
+    public long getReloads() {
+        return reloads.get();
+    }
+
+    public synchronized @Override void close() {
+        if (timer != null) {
+            timer.shutdownNow();
+            timer = null;
+        }
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.cloud.event.UpdateSequenceBatch;
+import org.geoserver.cloud.event.UpdateSequenceEvent;
+import org.geoserver.platform.resource.Resource;
+import org.geoserver.platform.resource.Resource.Type;
+import org.geoserver.platform.resource.ResourceStore;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded log of the events broadcast by all service instances, kept in the shared {@link
+ * ResourceStore} so that any service instance that missed some events can {@link #read} them
+ * afterwards.
+ *
+ * <p>Each event is stored as a JSON resource named after its {@link
+ * UpdateSequenceEvent#getUpdateSequence() update sequence} under the {@link #DIRECTORY} directory.
+ * Appending only queues the entry, entries are written in batches by a background thread, so the
+ * threads producing the events don't wait on the resource store. If the queue is full, entries are
+ * {@link #getDropped() dropped}.
+ *
+ * <p>The log covers the update sequence values from its {@link #oldest() low-water mark}, stored
+ * alongside the entries, on. Writers move it forward to keep about {@link #getCapacity() capacity}
+ * values below the highest one they append, deleting the entries it leaves behind by name. A value
+ * the log covers but has no entry for was either not broadcast by a service instance with catch-up
+ * enabled, or not logged yet.
+ *
+ * <p>The events of an {@link UpdateSequenceBatch}, which share their update sequence, are {@link
+ * #appendBatch logged} as a single entry.
+ *
+ * <p>Update sequence values of events {@link RemoteGeoServerEventCoalescer coalesced} out before
+ * being broadcast are {@link #appendCoalesced logged} too, as entries with no event, so readers
+ * don't have to wait to tell they have nothing to apply.
+ *
+ * <p>Appending is idempotent per update sequence value: only the first entry queued for a given
+ * value is kept, as long as it's among the last {@code MAX_PENDING} ones, so events published again
+ * after a failure are not logged twice.
+ *
+ * @since 1.0
+ */
+@Slf4j(topic = "org.geoserver.cloud.event.bus.catchup")
+public class RemoteEventChangeLog implements AutoCloseable {
+
+    public static final String DIRECTORY = "bus-changelog";
+
+    /** Name of the resource holding the lowest update sequence covered by the log */
+    static final String LOW_WATER_MARK = "low-water-mark";
+
+    private static final String EXTENSION = ".json";
+
+    /** Maximum number of entries pending to be written */
+    private static final int MAX_PENDING = 10_000;
+
+    /** Maximum number of entries written per batch */
+    private static final int MAX_BATCH = 1_000;
+
+    /** Minimum number of values the low-water mark is moved forward by */
+    private static final int PRUNE_EVERY = 100;
+
+    private final ResourceStore store;
+    private final ObjectMapper mapper;
+    private final @Getter int capacity;
+
+    private final BlockingQueue<Entry> pending = new LinkedBlockingQueue<>(MAX_PENDING);
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final ExecutorService writer;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    /** Update sequence values recently queued, not to append them more than once */
+    private final Set<Long> queued =
+            Collections.newSetFromMap(
+                    new LinkedHashMap<Long, Boolean>() {
+                        private static final long serialVersionUID = 1L;
+
+                        protected @Override boolean removeEldestEntry(Map.Entry<Long, Boolean> e) {
+                            return size() > MAX_PENDING;
+                        }
+                    });
+
+    /** Low-water mark as last read or written by this instance, {@code null} if unknown */
+    private Long lowWaterMark;
+
+    /**
+     * Change log entry, the event and the service instance it originated from. The event is {@code
+     * null} if it was coalesced out and there's nothing to apply for its update sequence. Entries
+     * for a batch of changes have their {@link #getEvents() events} instead.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private long sequence;
+        private String origin;
+        private UpdateSequenceEvent<?> event;
+
+        /** Events of a batch of changes sharing the update sequence, in order */
+        @JsonInclude(Include.NON_EMPTY)
+        private List<UpdateSequenceEvent<?>> events;
+
+        public Entry(long sequence, String origin, UpdateSequenceEvent<?> event) {
+            this(sequence, origin, event, null);
+        }
+
+        /** @return the events to apply for the entry's update sequence, empty if none */
+        @JsonIgnore
+        public List<UpdateSequenceEvent<?>> getEventsToApply() {
+            if (events != null && !events.isEmpty()) return events;
+            return event == null ? List.of() : List.of(event);
+        }
+    }
+
+    public RemoteEventChangeLog(
+            @NonNull ResourceStore store, @NonNull ObjectMapper mapper, int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be > 0");
+        this.store = store;
+        this.mapper = mapper;
+        this.capacity = capacity;
+        this.writer =
+                Executors.newSingleThreadExecutor(
+                        r -> {
+                            Thread t = new Thread(r, "gs-bus-changelog");
+                            t.setDaemon(true);
+                            return t;
+                        });
+    }
+
+    private static String name(long sequence) {
+        return String.format("%019d%s", sequence, EXTENSION);
+    }
+
+    private Resource resource(long sequence) {
+        return store.get(DIRECTORY + "/" + name(sequence));
+    }
+
+    private Resource lowWaterMarkResource() {
+        return store.get(DIRECTORY + "/" + LOW_WATER_MARK);
+    }
+
+    /** @return number of entries dropped because the write queue was full or the log closed */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /** Queues {@code event} to be appended to the log */
+    public void append(@NonNull UpdateSequenceEvent<?> event, @NonNull String origin) {
+        enqueue(new Entry(event.getUpdateSequence(), origin, event));
+    }
+
+    /**
+     * Queues the events of a batch of changes, which share their update sequence, to be appended to
+     * the log as a single entry
+     */
+    public void appendBatch(@NonNull List<UpdateSequenceEvent<?>> events, @NonNull String origin) {
+        if (events.isEmpty()) return;
+        final long sequence = events.get(0).getUpdateSequence();
+        enqueue(new Entry(sequence, origin, null, List.copyOf(events)));
+    }
+
+    /**
+     * Queues entries with no event to be appended for update sequence values whose events were
+     * coalesced out
+     */
+    public void appendCoalesced(@NonNull Collection<Long> sequences, @NonNull String origin) {
+        sequences.forEach(sequence -> enqueue(new Entry(sequence, origin, null)));
+    }
+
+    private void enqueue(Entry entry) {
+        synchronized (queued) {
+            if (!queued.add(entry.getSequence())) {
+                log.trace("Update sequence {} already queued", entry.getSequence());
+                return;
+            }
+        }
+        if (!pending.offer(entry)) {
+            synchronized (queued) {
+                queued.remove(entry.getSequence());
+            }
+            long count = dropped.incrementAndGet();
+            log.warn(
+                    "Change log write queue full, dropping update sequence {} ({} dropped so far)",
+                    entry.getSequence(),
+                    count);
+            return;
+        }
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::drain);
+            } catch (RejectedExecutionException closed) {
+                drainScheduled.set(false);
+                dropped.addAndGet(pending.size());
+                pending.clear();
+                log.debug("Change log closed, dropping update sequence {}", entry.getSequence());
+            }
+        }
+    }
+
+    private synchronized void drain() {
+        drainScheduled.set(false);
+        List<Entry> batch = new ArrayList<>();
+        while (pending.drainTo(batch, MAX_BATCH) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    /** Writes a batch of entries, failures are logged but not propagated */
+    private void write(List<Entry> batch) {
+        long lowest = Long.MAX_VALUE;
+        long highest = Long.MIN_VALUE;
+        for (Entry entry : batch) {
+            final long sequence = entry.getSequence();
+            try {
+                resource(sequence).setContents(mapper.writeValueAsBytes(entry));
+                lowest = Math.min(lowest, sequence);
+                highest = Math.max(highest, sequence);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Unable to append update sequence {} to the change log", sequence, e);
+            }
+        }
+        if (highest != Long.MIN_VALUE) {
+            advanceLowWaterMark(lowest, highest);
+        }
+    }
+
+    /**
+     * Keeps about {@code capacity} values below {@code highest}, in steps of {@code PRUNE_EVERY}
+     */
+    private void advanceLowWaterMark(long lowest, long highest) {
+        final long target = highest - capacity + 1;
+        try {
+            if (lowWaterMark == null) {
+                OptionalLong current = oldest();
+                if (current.isPresent()) {
+                    lowWaterMark = current.getAsLong();
+                } else {
+                    lowWaterMark = Math.min(lowest, target);
+                    writeLowWaterMark(lowWaterMark);
+                }
+            }
+            if (target - lowWaterMark >= Math.min(PRUNE_EVERY, capacity)) {
+                prune(target - 1);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to prune the change log up to update sequence {}", target - 1, e);
+        }
+    }
+
+    /**
+     * Moves the low-water mark past {@code sequence}, and deletes the entries it leaves behind
+     * since the previous one. Entries further behind, only left if the mark was moved by more than
+     * {@code capacity + MAX_BATCH} values at once, are not looked for.
+     */
+    synchronized void prune(long sequence) throws IOException {
+        final OptionalLong current = oldest();
+        final long mark = Math.max(sequence + 1, current.orElse(Long.MIN_VALUE));
+        long from = lowWaterMark == null ? current.orElse(mark) : lowWaterMark;
+        from = Math.max(from, mark - capacity - MAX_BATCH);
+        // move the mark first, readers take the values below it as pruned
+        writeLowWaterMark(mark);
+        lowWaterMark = mark;
+        for (long s = from; s < mark; s++) {
+            Resource r = resource(s);
+            if (r.getType() == Type.RESOURCE) {
+                r.delete();
+            }
+        }
+    }
+
+    private void writeLowWaterMark(long sequence) throws IOException {
+        byte[] contents = Long.toString(sequence).getBytes(StandardCharsets.UTF_8);
+        lowWaterMarkResource().setContents(contents);
+    }
+
+    /**
+     * @return the lowest update sequence covered by the log, or empty if nothing was ever logged
+     */
+    public OptionalLong oldest() {
+        Resource mark = lowWaterMarkResource();
+        if (mark.getType() != Type.RESOURCE) return OptionalLong.empty();
+        try {
+            String value = new String(mark.getContents(), StandardCharsets.UTF_8).trim();
+            return OptionalLong.of(Long.parseLong(value));
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Unable to read the change log low-water mark", e);
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Reads the entries for the requested update sequence values, including the ones with no event.
+     *
+     * @return the existing entries in ascending update sequence order, or empty if the log does no
+     *     longer cover the lowest requested value
+     */
+    public Optional<List<Entry>> read(@NonNull List<Long> sequences) {
+        if (sequences.isEmpty()) return Optional.of(List.of());
+
+        final long lowest = sequences.stream().mapToLong(Long::longValue).min().getAsLong();
+        OptionalLong oldest = oldest();
+        if (oldest.isPresent() && lowest < oldest.getAsLong()) {
+            return Optional.empty();
+        }
+        List<Entry> entries = new ArrayList<>();
+        for (long sequence : sequences.stream().mapToLong(Long::longValue).sorted().toArray()) {
+            Resource resource = resource(sequence);
+            if (resource.getType() == Type.RESOURCE) {
+                try {
+                    Entry entry = mapper.readValue(resource.getContents(), Entry.class);
+                    entry.setSequence(sequence);
+                    entries.add(entry);
+                } catch (IOException e) {
+                    log.warn("Unable to read update sequence {} from change log", sequence, e);
+                    return Optional.empty();
+                }
+            }
+        }
+        return Optional.of(entries);
+    }
+
+    /** Waits for the queued entries to be written */
+    public void flush() {
+        try {
+            writer.submit(this::drain).get(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException | RejectedExecutionException e) {
+            log.warn("Error waiting for the change log to be written", e);
+        }
+    }
+
+    /** Writes the queued entries and stops the writer thread */
+    public @Override void close() {
+        if (!writer.isShutdown()) {
+            flush();
+            writer.shutdown();
+        }
+    }
+}
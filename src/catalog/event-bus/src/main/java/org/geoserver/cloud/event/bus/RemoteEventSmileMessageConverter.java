@@ -0,0 +1,131 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidTypeIdException;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.jackson.databind.catalog.GeoServerCatalogModule;
+import org.geoserver.jackson.databind.config.GeoServerConfigModule;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+import org.springframework.cloud.bus.event.UnknownRemoteApplicationEvent;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.MimeType;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Spring Cloud Stream {@link AbstractMessageConverter message converter} encoding and decoding bus
+ * {@link RemoteApplicationEvent}s, and hence {@link RemoteGeoServerEvent} payloads, as <a
+ * href="https://github.com/FasterXML/smile-format-specification">Smile</a>, the binary counterpart
+ * of JSON, using the same Jackson modules (e.g. {@link GeoServerCatalogModule}, {@link
+ * GeoServerConfigModule}) as the default JSON converter.
+ *
+ * <p>This converter only decodes messages whose {@code contentType} header is {@link #MIME_TYPE
+ * application/x-jackson-smile}, so it can be installed alongside the default JSON converter on all
+ * service instances. Producers opt in to the binary encoding through the bus output binding content
+ * type (i.e. {@code
+ * spring.cloud.stream.bindings.springCloudBusOutput.content-type=application/x-jackson-smile}),
+ * once all service instances in the cluster are able to decode it.
+ *
+ * @since 1.0
+ */
+@Slf4j(topic = "org.geoserver.cloud.event.bus.codec")
+public class RemoteEventSmileMessageConverter extends AbstractMessageConverter {
+
+    public static final MimeType MIME_TYPE = new MimeType("application", "x-jackson-smile");
+
+    /** Packages scanned for {@link RemoteApplicationEvent} subtypes */
+    private static final String[] EVENT_PACKAGES = {
+        ClassUtils.getPackageName(RemoteApplicationEvent.class),
+        ClassUtils.getPackageName(RemoteGeoServerEvent.class)
+    };
+
+    private final @Getter ObjectMapper mapper;
+
+    public RemoteEventSmileMessageConverter(@NonNull ObjectMapper smileMapper) {
+        super(MIME_TYPE);
+        if (!(smileMapper.getFactory() instanceof SmileFactory)) {
+            throw new IllegalArgumentException("Expected an ObjectMapper with a SmileFactory");
+        }
+        this.mapper = smileMapper;
+        // never decode messages with no content type, they're JSON
+        setStrictContentTypeMatch(true);
+    }
+
+    /**
+     * Creates a converter whose {@link ObjectMapper} has the provided modules, and knows about all
+     * the {@link RemoteApplicationEvent} subtypes in the spring-cloud-bus and GeoServer events
+     * packages. Unknown properties are ignored, like with the default JSON converter, so events
+     * from newer service instances can still be decoded.
+     */
+    public static RemoteEventSmileMessageConverter create(@NonNull List<Module> modules) {
+        ObjectMapper mapper = new ObjectMapper(new SmileFactory());
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.registerModules(modules);
+        mapper.registerSubtypes(remoteEventTypes());
+        return new RemoteEventSmileMessageConverter(mapper);
+    }
+
+    static Class<?>[] remoteEventTypes() {
+        ClassPathScanningCandidateComponentProvider scanner =
+                new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AssignableTypeFilter(RemoteApplicationEvent.class));
+        ClassLoader classLoader = RemoteEventSmileMessageConverter.class.getClassLoader();
+        return Stream.of(EVENT_PACKAGES)
+                .map(scanner::findCandidateComponents)
+                .flatMap(Set::stream)
+                .map(BeanDefinition::getBeanClassName)
+                .map(name -> ClassUtils.resolveClassName(name, classLoader))
+                .toArray(Class<?>[]::new);
+    }
+
+    protected @Override boolean supports(Class<?> clazz) {
+        return RemoteApplicationEvent.class.isAssignableFrom(clazz);
+    }
+
+    protected @Override Object convertFromInternal(
+            Message<?> message, Class<?> targetClass, Object conversionHint) {
+        Object payload = message.getPayload();
+        if (!(payload instanceof byte[])) {
+            return null;
+        }
+        byte[] bytes = (byte[]) payload;
+        try {
+            return mapper.readValue(bytes, targetClass);
+        } catch (InvalidTypeIdException e) {
+            return new UnknownRemoteApplicationEvent(new Object(), e.getTypeId(), bytes);
+        } catch (IOException e) {
+            log.error("Error decoding {} bytes Smile bus message", bytes.length, e);
+            return null;
+        }
+    }
+
+    protected @Override Object convertToInternal(
+            Object payload, MessageHeaders headers, Object conversionHint) {
+        try {
+            return mapper.writeValueAsBytes(payload);
+        } catch (IOException e) {
+            log.error("Error encoding {} as Smile", payload, e);
+            return null;
+        }
+    }
+}
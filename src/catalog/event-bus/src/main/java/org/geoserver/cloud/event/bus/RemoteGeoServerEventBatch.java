@@ -0,0 +1,68 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+
+import org.geoserver.cloud.event.GeoServerEvent;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+import java.util.List;
+
+/**
+ * Bus envelope carrying an ordered list of {@link GeoServerEvent}s produced by the same service
+ * instance, to be applied by the receiving instances in the same order they were produced.
+ *
+ * <p>If the events were {@link RemoteGeoServerEventCoalescer coalesced}, the envelope also carries
+ * the {@link #getCoalescedSequences() update sequence values} of the events that were dropped or
+ * merged, for the receivers to account for them as applied. A batch may carry no events at all but
+ * those values.
+ *
+ * @since 1.0
+ * @see RemoteGeoServerEventBatcher
+ */
+@EqualsAndHashCode(callSuper = true)
+public class RemoteGeoServerEventBatch extends RemoteApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private @Getter @NonNull List<GeoServerEvent<?>> events;
+
+    /** Update sequence values of the events coalesced out of {@link #getEvents() events} */
+    private @Getter List<Long> coalescedSequences = List.of();
+
+    /** Deserialization-time constructor, {@link #getSource()} will be {@code null} */
+    protected RemoteGeoServerEventBatch() {
+        // default constructor, needed for deserialization
+    }
+
+    /** Publish-time constructor, {@link #getSource()} won't be {@code null} */
+    public RemoteGeoServerEventBatch(
+            Object source,
+            @NonNull List<GeoServerEvent<?>> events,
+            @NonNull List<Long> coalescedSequences,
+            String originService,
+            Destination destination) {
+        super(source, originService, destination);
+        this.events = List.copyOf(events);
+        this.coalescedSequences = List.copyOf(coalescedSequences);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "[%s id: '%s', originService: '%s', destinationService: '%s', size: %d,"
+                        + " coalesced: %d]",
+                getClass().getSimpleName(),
+                getId(),
+                getOriginService(),
+                getDestinationService(),
+                events == null ? 0 : events.size(),
+                coalescedSequences == null ? 0 : coalescedSequences.size());
+    }
+}
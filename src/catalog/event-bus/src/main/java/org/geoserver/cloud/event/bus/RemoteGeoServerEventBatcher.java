@@ -0,0 +1,202 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.cloud.event.GeoServerEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Buffers outgoing {@link GeoServerEvent}s and hands them over to a publisher in order, as a single
+ * list, either when {@link #getMaxEvents() maxEvents} have been buffered, or {@link #getMaxDelay()
+ * maxDelay} after the first event of the current batch was buffered, whichever happens first.
+ *
+ * <p>Batches are published while holding this object's monitor, so they're handed over in the same
+ * order the events were {@link #add added}, regardless of whether the flush was triggered by the
+ * calling thread or by the timer.
+ *
+ * <p>If the publisher fails, the batch is put back in front of the events buffered since, to be
+ * published again along with them on the next flush, which is scheduled {@link #getMaxDelay()
+ * maxDelay} later, so a failed flush triggered by the timer doesn't lose the events. Until then,
+ * events are only buffered. No more than {@link #getMaxPending() maxPending} events are kept, the
+ * oldest ones are {@link #getDropped() dropped} beyond that.
+ *
+ * <p>Failures are logged and never propagated to the threads {@link #add adding} events, which are
+ * the ones applying catalog and configuration changes.
+ *
+ * @since 1.0
+ */
+@Slf4j(topic = "org.geoserver.cloud.event.bus.outgoing")
+public class RemoteGeoServerEventBatcher implements AutoCloseable {
+
+    /** Default maximum number of events kept while the publisher is failing */
+    public static final int DEFAULT_MAX_PENDING = 10_000;
+
+    private final Consumer<List<GeoServerEvent<?>>> publisher;
+    private final @Getter int maxEvents;
+    private final @Getter Duration maxDelay;
+    private final @Getter int maxPending;
+    private final ScheduledExecutorService timer;
+
+    private List<GeoServerEvent<?>> buffer = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    /** Whether the last flush failed and a retry is scheduled */
+    private boolean retrying;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    public RemoteGeoServerEventBatcher(
+            @NonNull Consumer<List<GeoServerEvent<?>>> publisher,
+            int maxEvents,
+            @NonNull Duration maxDelay) {
+        this(publisher, maxEvents, maxDelay, Math.max(maxEvents, DEFAULT_MAX_PENDING));
+    }
+
+    public RemoteGeoServerEventBatcher(
+            @NonNull Consumer<List<GeoServerEvent<?>>> publisher,
+            int maxEvents,
+            @NonNull Duration maxDelay,
+            int maxPending) {
+        if (maxEvents < 1) throw new IllegalArgumentException("maxEvents must be > 0");
+        if (maxDelay.isNegative()) throw new IllegalArgumentException("maxDelay is negative");
+        if (maxPending < maxEvents) {
+            throw new IllegalArgumentException("maxPending must be >= maxEvents");
+        }
+        this.publisher = publisher;
+        this.maxEvents = maxEvents;
+        this.maxDelay = maxDelay;
+        this.maxPending = maxPending;
+        this.timer =
+                Executors.newSingleThreadScheduledExecutor(
+                        r -> {
+                            Thread t = new Thread(r, "gs-bus-batcher");
+                            t.setDaemon(true);
+                            return t;
+                        });
+    }
+
+    /**
+     * Buffers {@code event}, publishing the batch if it's full, unless a failed one is waiting to
+     * be retried. Never throws if publishing fails.
+     */
+    public synchronized void add(@NonNull GeoServerEvent<?> event) {
+        buffer.add(event);
+        dropOverflow();
+        if (buffer.size() >= maxEvents && !retrying) {
+            tryFlush();
+        } else {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Buffers {@code events} and publishes them right away, along with the events buffered before
+     * them, so they're handed over as a whole, unless a failed batch is waiting to be retried, in
+     * which case they're published with it. Never throws if publishing fails.
+     */
+    public synchronized void addAll(@NonNull List<GeoServerEvent<?>> events) {
+        if (events.isEmpty()) return;
+        buffer.addAll(events);
+        dropOverflow();
+        if (retrying) {
+            scheduleFlush();
+        } else {
+            tryFlush();
+        }
+    }
+
+    private void scheduleFlush() {
+        if (scheduledFlush == null && !timer.isShutdown()) {
+            scheduledFlush =
+                    timer.schedule(this::tryFlush, maxDelay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Flushes, failures are already logged and the events kept by {@link #flush()} */
+    private synchronized void tryFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.trace("Flush failed, will retry", e);
+        }
+    }
+
+    /** Drops the oldest events if there are more than {@link #getMaxPending() maxPending} */
+    private void dropOverflow() {
+        final int excess = buffer.size() - maxPending;
+        if (excess > 0) {
+            buffer.subList(0, excess).clear();
+            long total = dropped.addAndGet(excess);
+            log.warn(
+                    "Outgoing event buffer full, dropped the {} oldest events ({} dropped so far)",
+                    excess,
+                    total);
+        }
+    }
+
+    /**
+     * Publishes the currently buffered events, if any. If the publisher fails, the events are kept
+     * to be published on the next flush, and the error is rethrown
+     */
+    public synchronized void flush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        if (buffer.isEmpty()) return;
+
+        List<GeoServerEvent<?>> batch = buffer;
+        buffer = new ArrayList<>();
+        try {
+            publisher.accept(batch);
+            retrying = false;
+        } catch (RuntimeException e) {
+            log.error(
+                    "Error publishing batch of {} events, retrying in {}",
+                    batch.size(),
+                    maxDelay,
+                    e);
+            List<GeoServerEvent<?>> retry = new ArrayList<>(batch);
+            retry.addAll(buffer);
+            buffer = retry;
+            dropOverflow();
+            retrying = true;
+            scheduleFlush();
+            throw e;
+        }
+    }
+
+    /** @return the number of events waiting to be published */
+    public synchronized int pending() {
+        return buffer.size();
+    }
+
+    /** @return the number of events dropped because {@link #getMaxPending() maxPending} was hit */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /** Publishes any pending event and stops the timer */
+    public @Override void close() {
+        try {
+            flush();
+        } finally {
+            timer.shutdownNow();
+        }
+    }
+}
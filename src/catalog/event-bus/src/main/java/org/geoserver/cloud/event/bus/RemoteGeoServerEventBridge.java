@@ -13,19 +13,39 @@ import lombok.extern.slf4j.Slf4j;
 import org.geoserver.catalog.CatalogException;
 import org.geoserver.catalog.plugin.Patch;
 import org.geoserver.cloud.event.GeoServerEvent;
+import org.geoserver.cloud.event.UpdateSequenceBatch;
+import org.geoserver.cloud.event.UpdateSequenceEvent;
 import org.geoserver.cloud.event.info.InfoEvent;
 import org.geoserver.cloud.event.info.InfoModified;
 import org.springframework.cloud.bus.event.RemoteApplicationEvent;
 import org.springframework.context.event.EventListener;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Listens to local catalog and configuration change {@link InfoEvent}s produced by this service
  * instance and broadcasts them to the cluster as {@link RemoteGeoServerEvent}
+ *
+ * <p>If {@link #enableBatching batching} is enabled, outgoing events are grouped into ordered
+ * {@link RemoteGeoServerEventBatch} envelopes instead, and incoming envelopes are unpacked and
+ * published as local events in the order they were produced, as a single unit no other incoming
+ * event is interleaved with.
+ *
+ * <p>The events of an {@link UpdateSequenceBatch}, which share their update sequence, are not
+ * broadcast one by one but as a whole once the batch is closed, in a single {@link
+ * RemoteGeoServerEventBatch}, so receivers apply them all together.
  */
-public class RemoteGeoServerEventBridge {
+public class RemoteGeoServerEventBridge implements AutoCloseable {
 
     private final Outgoing outgoing;
     private final Incoming incoming;
@@ -46,6 +66,92 @@ public class RemoteGeoServerEventBridge {
         this.enabled = enabled;
     }
 
+    /**
+     * Enables micro-batching of outgoing events, sending up to {@code maxEvents} events in a single
+     * {@link RemoteGeoServerEventBatch}, waiting at most {@code maxDelay} for a batch to fill up.
+     */
+    public void enableBatching(int maxEvents, @NonNull Duration maxDelay) {
+        outgoing.enableBatching(maxEvents, maxDelay);
+    }
+
+    /**
+     * Enables coalescing of outgoing events: no-change modification events are not broadcast, and
+     * if {@link #enableBatching batching} is enabled, each batch is {@link
+     * RemoteGeoServerEventCoalescer#coalesce coalesced} before being sent.
+     */
+    public void enableCoalescing() {
+        outgoing.coalesce = true;
+    }
+
+    /**
+     * Enables concurrent application of incoming events, preserving their order where needed, as
+     * explained in {@link OrderedRemoteEventExecutor}.
+     *
+     * @param threads number of threads to apply incoming events with
+     * @param capacity maximum number of incoming events waiting to be applied before the bus
+     *     consumer thread is blocked
+     */
+    public void enableConcurrentDispatch(int threads, int capacity) {
+        incoming.close();
+        incoming.executor = new OrderedRemoteEventExecutor(threads, capacity);
+    }
+
+    /** @return the outgoing events batcher, if {@link #enableBatching enabled} */
+    public Optional<RemoteGeoServerEventBatcher> getOutgoingBatcher() {
+        return Optional.ofNullable(outgoing.batcher);
+    }
+
+    /** @return the incoming events executor, if {@link #enableConcurrentDispatch enabled} */
+    public Optional<OrderedRemoteEventExecutor> getIncomingExecutor() {
+        return Optional.ofNullable(incoming.executor);
+    }
+
+    /**
+     * Enables tracking of applied update sequence values for missed events detection, and logging
+     * of outgoing events to the shared change log, as used by {@link RemoteEventCatchUp}. Incoming
+     * events whose update sequence has already been applied are ignored as duplicates. The change
+     * log is closed when this bridge is.
+     */
+    public void enableCatchUp(
+            @NonNull UpdateSequenceTracker tracker, @NonNull RemoteEventChangeLog changeLog) {
+        outgoing.tracker = tracker;
+        outgoing.changeLog = changeLog;
+        incoming.tracker = tracker;
+    }
+
+    /** Applies an event recovered from the change log as if it were received from the bus */
+    public void replay(@NonNull UpdateSequenceEvent<?> event, @NonNull String originService) {
+        incoming.receive(event, originService);
+    }
+
+    /**
+     * Applies the events of a batch of changes recovered from the change log as if they were
+     * received from the bus in a single envelope
+     */
+    public void replayBatch(
+            @NonNull List<UpdateSequenceEvent<?>> events, @NonNull String originService) {
+        incoming.receive(new ArrayList<>(events), originService);
+    }
+
+    /** Sets the callback notified of incoming events timing, {@code null} to remove it */
+    public void setIncomingObserver(IncomingRemoteEventObserver observer) {
+        incoming.observer = observer;
+    }
+
+    /** @return number of incoming events received and not yet applied */
+    public long getIncomingPending() {
+        return incoming.pending.get();
+    }
+
+    /** Sends any pending batched event and waits for incoming events to be applied */
+    public @Override void close() {
+        try {
+            outgoing.close();
+        } finally {
+            incoming.close();
+        }
+    }
+
     @EventListener(GeoServerEvent.class)
     public void handleLocalEvent(GeoServerEvent<?> event) {
         if (enabled) {
@@ -53,6 +159,14 @@ public class RemoteGeoServerEventBridge {
         }
     }
 
+    /** Broadcasts the events of a closed {@link UpdateSequenceBatch} as a whole */
+    @EventListener(UpdateSequenceBatch.class)
+    public void handleLocalEventBatch(UpdateSequenceBatch batch) {
+        if (enabled) {
+            outgoing.broadCast(batch);
+        }
+    }
+
     @EventListener(RemoteGeoServerEvent.class)
     public void handleRemoteEvent(RemoteGeoServerEvent busEvent) throws CatalogException {
         if (enabled) {
@@ -60,23 +174,156 @@ public class RemoteGeoServerEventBridge {
         }
     }
 
+    @EventListener(RemoteGeoServerEventBatch.class)
+    public void handleRemoteEventBatch(RemoteGeoServerEventBatch busEvent) throws CatalogException {
+        if (enabled) {
+            incoming.handleRemoteEventBatch(busEvent);
+        }
+    }
+
     @RequiredArgsConstructor
     @Slf4j(topic = "org.geoserver.cloud.event.bus.outgoing")
     private static class Outgoing {
         private final @NonNull Consumer<RemoteApplicationEvent> remoteEventPublisher;
         private final @NonNull RemoteGeoServerEventMapper mapper;
         private @NonNull Supplier<String> localBusId;
+        private RemoteGeoServerEventBatcher batcher;
+        private boolean coalesce;
+        private UpdateSequenceTracker tracker;
+        private RemoteEventChangeLog changeLog;
+
+        void enableBatching(int maxEvents, Duration maxDelay) {
+            close();
+            batcher = new RemoteGeoServerEventBatcher(this::publishBatch, maxEvents, maxDelay);
+            log.info(
+                    "{}: batching up to {} outgoing events every {}",
+                    localBusId.get(),
+                    maxEvents,
+                    maxDelay);
+        }
+
+        void close() {
+            try {
+                if (batcher != null) {
+                    batcher.close();
+                }
+            } finally {
+                if (changeLog != null) {
+                    changeLog.close();
+                }
+            }
+        }
 
         public void broadCastIfLocal(GeoServerEvent<?> event) throws CatalogException {
 
             if (event.isLocal()) {
-                RemoteGeoServerEvent remote = mapper.toRemote(event);
-                publishRemoteEvent(remote);
+                if (tracker != null && event instanceof UpdateSequenceEvent) {
+                    tracker.applied(((UpdateSequenceEvent<?>) event).getUpdateSequence());
+                }
+                if (UpdateSequenceBatch.current().filter(b -> b.covers(event)).isPresent()) {
+                    log.trace("{}: {} to be broadcast with its batch", localBusId.get(), event);
+                } else if (batcher != null) {
+                    // no-change events are dropped when coalescing the batch
+                    batcher.add(event);
+                } else if (coalesce && RemoteGeoServerEventCoalescer.isNoChange(event)) {
+                    log.debug("{}: not broadcasting no-change event {}", localBusId.get(), event);
+                    // log its update sequence, if any, so catching up receivers skip it right away
+                    if (changeLog != null && event instanceof UpdateSequenceEvent) {
+                        Long sequence = ((UpdateSequenceEvent<?>) event).getUpdateSequence();
+                        changeLog.appendCoalesced(List.of(sequence), localBusId.get());
+                    }
+                } else {
+                    appendToChangeLog(List.of(event));
+                    RemoteGeoServerEvent remote = mapper.toRemote(event);
+                    publishRemoteEvent(remote);
+                }
             } else {
                 log.trace("{}: not re-publishing {}", localBusId.get(), event);
             }
         }
 
+        /**
+         * Publishes the events of {@code batch} in a single envelope, after the ones buffered by
+         * the batcher, if enabled
+         */
+        public void broadCast(UpdateSequenceBatch batch) {
+            List<GeoServerEvent<?>> events = new ArrayList<>(batch.getEvents());
+            log.debug("{}: broadcasting {}", localBusId.get(), batch);
+            if (batcher != null) {
+                batcher.addAll(events);
+            } else if (!events.isEmpty()) {
+                publishBatch(events);
+            }
+        }
+
+        /**
+         * Publishes {@code events}, coalescing them if enabled. The update sequence values of the
+         * coalesced events are sent along in the envelope, so the receivers don't take them for
+         * missed events.
+         */
+        private void publishBatch(List<GeoServerEvent<?>> events) {
+            List<Long> coalescedSequences = List.of();
+            if (coalesce) {
+                List<GeoServerEvent<?>> coalesced = RemoteGeoServerEventCoalescer.coalesce(events);
+                coalescedSequences =
+                        RemoteGeoServerEventCoalescer.coalescedSequences(events, coalesced);
+                log.debug(
+                        "{}: coalesced {} events into {}",
+                        localBusId.get(),
+                        events.size(),
+                        coalesced.size());
+                events = coalesced;
+            }
+            if (events.isEmpty() && coalescedSequences.isEmpty()) {
+                return;
+            }
+            appendToChangeLog(events);
+            if (changeLog != null && !coalescedSequences.isEmpty()) {
+                changeLog.appendCoalesced(coalescedSequences, localBusId.get());
+            }
+            if (events.size() == 1 && coalescedSequences.isEmpty()) {
+                // no need for an envelope
+                publishRemoteEvent(mapper.toRemote(events.get(0)));
+                return;
+            }
+            RemoteGeoServerEventBatch batch = mapper.toRemote(events, coalescedSequences);
+            if (log.isDebugEnabled()) {
+                log.debug("{}: broadcasting {}", localBusId.get(), batch);
+                events.forEach(e -> log.debug("{}: batched {}", localBusId.get(), e));
+            }
+            try {
+                remoteEventPublisher.accept(batch);
+            } catch (RuntimeException e) {
+                log.error("{}: error broadcasting {}", localBusId.get(), batch, e);
+                throw e;
+            }
+        }
+
+        /**
+         * Queues the events to be logged, so they're there for whoever misses them. Events sharing
+         * their update sequence, as the ones of an {@link UpdateSequenceBatch}, are logged as a
+         * single entry.
+         */
+        private void appendToChangeLog(List<GeoServerEvent<?>> events) {
+            if (changeLog == null) return;
+            Map<Long, List<UpdateSequenceEvent<?>>> bySequence = new LinkedHashMap<>();
+            for (GeoServerEvent<?> event : events) {
+                if (event instanceof UpdateSequenceEvent) {
+                    UpdateSequenceEvent<?> e = (UpdateSequenceEvent<?>) event;
+                    bySequence
+                            .computeIfAbsent(e.getUpdateSequence(), s -> new ArrayList<>())
+                            .add(e);
+                }
+            }
+            for (List<UpdateSequenceEvent<?>> group : bySequence.values()) {
+                if (group.size() == 1) {
+                    changeLog.append(group.get(0), localBusId.get());
+                } else {
+                    changeLog.appendBatch(group, localBusId.get());
+                }
+            }
+        }
+
         private void publishRemoteEvent(RemoteGeoServerEvent remoteEvent) {
             logOutgoing(remoteEvent);
             try {
@@ -109,11 +356,53 @@ public class RemoteGeoServerEventBridge {
 
         private final @NonNull RemoteGeoServerEventMapper mapper;
         private @NonNull Supplier<String> localBusId;
+        private OrderedRemoteEventExecutor executor;
+        private UpdateSequenceTracker tracker;
+        private IncomingRemoteEventObserver observer;
+        private final AtomicLong pending = new AtomicLong();
+
+        void close() {
+            if (executor != null) {
+                executor.close();
+            }
+        }
+
+        private void receive(GeoServerEvent<?> event, String origin) {
+            receive(List.of(event), origin);
+        }
+
+        /**
+         * Notifies the observer, if any, and applies the events in order as a single unit, on the
+         * calling thread, or on the executor if there's one, where no other incoming event is
+         * applied in between
+         */
+        private void receive(List<GeoServerEvent<?>> events, String origin) {
+            final long receivedAt = System.nanoTime();
+            final IncomingRemoteEventObserver obs = observer;
+            if (obs != null) {
+                for (GeoServerEvent<?> event : events) {
+                    long lag = Math.max(0, System.currentTimeMillis() - event.getTimestamp());
+                    obs.received(event, origin, Duration.ofMillis(lag));
+                }
+            }
+            pending.addAndGet(events.size());
+            Runnable task = () -> publishLocalEvents(events, origin, receivedAt);
+            if (executor == null) {
+                task.run();
+                return;
+            }
+            try {
+                executor.execute(events, task);
+            } catch (RuntimeException e) {
+                pending.addAndGet(-events.size());
+                throw e;
+            }
+        }
 
         public void handleRemoteEvent(RemoteGeoServerEvent incoming) throws CatalogException {
             mapper.ifRemote(incoming) //
                     .ifPresentOrElse( //
-                            this::publishLocalEvent, //
+                            this::dispatchLocalEvent, //
                             () ->
                                     log.trace(
                                             "{}: not broadcasting local-remote event {}",
@@ -121,10 +410,107 @@ public class RemoteGeoServerEventBridge {
                                             incoming));
         }
 
-        private void publishLocalEvent(RemoteGeoServerEvent incoming) {
+        public void handleRemoteEventBatch(RemoteGeoServerEventBatch incoming)
+                throws CatalogException {
+            mapper.ifRemote(incoming) //
+                    .ifPresentOrElse( //
+                            this::dispatchLocalEvents, //
+                            () ->
+                                    log.trace(
+                                            "{}: not broadcasting local-remote event {}",
+                                            localBusId.get(),
+                                            incoming));
+        }
+
+        private void dispatchLocalEvents(RemoteGeoServerEventBatch incoming) {
+            log.trace("Received remote event batch {}", incoming);
+            final String origin = incoming.getOriginService();
+            mapper.prefetch(incoming);
+            final List<Long> coalesced = incoming.getCoalescedSequences();
+            if (tracker != null && coalesced != null) {
+                // events dropped or merged by the sender, there's nothing to apply for them
+                tracker.applied(coalesced);
+            }
+            if (!incoming.getEvents().isEmpty()) {
+                receive(incoming.getEvents(), origin);
+            }
+        }
+
+        private void dispatchLocalEvent(RemoteGeoServerEvent incoming) {
             log.trace("Received remote event {}", incoming);
-            GeoServerEvent<?> localRemoteEvent = mapper.toLocalRemote(incoming);
-            log.debug("{}: publishing as local event {}", localBusId.get(), incoming);
+            receive(incoming.getEvent(), incoming.getOriginService());
+        }
+
+        /**
+         * Publishes the events in order. A failure to apply one event does not prevent the
+         * following ones from being published, the first failure is rethrown at the end.
+         *
+         * <p>Events whose update sequence was already applied are ignored as duplicates, as told
+         * before publishing any of them, since the events of a batch of changes share their update
+         * sequence.
+         */
+        private void publishLocalEvents(
+                List<GeoServerEvent<?>> events, String origin, long receivedAt) {
+            final Set<Long> duplicates = duplicates(events);
+            RuntimeException error = null;
+            for (GeoServerEvent<?> event : events) {
+                try {
+                    publishLocalEvent(event, origin, receivedAt, duplicates);
+                } catch (RuntimeException e) {
+                    if (error == null) error = e;
+                    else error.addSuppressed(e);
+                }
+            }
+            if (error != null) throw error;
+        }
+
+        /** @return the update sequences of {@code events} that were already applied */
+        private Set<Long> duplicates(List<GeoServerEvent<?>> events) {
+            if (tracker == null) return Set.of();
+            return events.stream()
+                    .map(Incoming::updateSequence)
+                    .filter(sequence -> sequence != null && tracker.isDuplicate(sequence))
+                    .collect(Collectors.toSet());
+        }
+
+        private static Long updateSequence(GeoServerEvent<?> event) {
+            return event instanceof UpdateSequenceEvent
+                    ? ((UpdateSequenceEvent<?>) event).getUpdateSequence()
+                    : null;
+        }
+
+        private void publishLocalEvent(
+                GeoServerEvent<?> event, String origin, long receivedAt, Set<Long> duplicates) {
+            boolean success = false;
+            try {
+                publishLocalEvent(event, origin, duplicates);
+                success = true;
+            } finally {
+                pending.decrementAndGet();
+                final IncomingRemoteEventObserver obs = observer;
+                if (obs != null) {
+                    Duration elapsed = Duration.ofNanos(System.nanoTime() - receivedAt);
+                    obs.applied(event, origin, elapsed, success);
+                }
+            }
+        }
+
+        private void publishLocalEvent(
+                GeoServerEvent<?> event, String origin, Set<Long> duplicates) {
+            final Long sequence = updateSequence(event);
+            if (sequence != null && duplicates.contains(sequence)) {
+                log.debug("{}: ignoring already applied event {}", localBusId.get(), event);
+                return;
+            }
+            GeoServerEvent<?> localRemoteEvent = mapper.toLocalRemote(event, origin);
+            log.debug("{}: publishing as local event {}", localBusId.get(), event);
+            publish(localRemoteEvent);
+            if (tracker != null && sequence != null) {
+                tracker.applied(sequence);
+            }
+        }
+
+        private void publish(GeoServerEvent<?> localRemoteEvent) {
             try {
                 localRemoteEventPublisher.accept(localRemoteEvent);
             } catch (RuntimeException e) {
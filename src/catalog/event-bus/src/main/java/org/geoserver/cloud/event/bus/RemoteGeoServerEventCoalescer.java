@@ -0,0 +1,136 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import lombok.NonNull;
+
+import org.geoserver.catalog.plugin.Patch;
+import org.geoserver.cloud.event.GeoServerEvent;
+import org.geoserver.cloud.event.UpdateSequenceEvent;
+import org.geoserver.cloud.event.config.GeoServerInfoModified;
+import org.geoserver.cloud.event.info.InfoModified;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reduces a sequence of outgoing {@link GeoServerEvent}s to the minimum set of events that leaves
+ * the receiving service instances in the same state:
+ *
+ * <ul>
+ *   <li>{@link InfoModified} events with an empty {@link Patch} are dropped;
+ *   <li>Events that only carry a new update sequence (a plain {@link UpdateSequenceEvent}, or a
+ *       {@link GeoServerInfoModified} that only changes {@code updateSequence}) are dropped, except
+ *       for the last one;
+ *   <li>Consecutive {@link InfoModified} events of the same type and for the same object are merged
+ *       into a single event holding the latest values of all changed properties, and the latest
+ *       update sequence.
+ * </ul>
+ *
+ * <p>The events passed in are not modified, merged events are {@link InfoModified#withPatch copies}
+ * of the latest one.
+ *
+ * <p>Modification events are never merged across events of other kinds or for other objects, so the
+ * relative order of all changes is preserved.
+ *
+ * <p>Update sequence values are assigned one per event, so the ones carried by dropped and merged
+ * events are still to be told to the receiving service instances, as returned by {@link
+ * #coalescedSequences}, for them not to see gaps in the sequence.
+ *
+ * @since 1.0
+ */
+public final class RemoteGeoServerEventCoalescer {
+
+    private static final String UPDATE_SEQUENCE = "updateSequence";
+
+    private RemoteGeoServerEventCoalescer() {
+        // utility class
+    }
+
+    /** @return {@code true} if {@code event} is a modification event that changes nothing */
+    public static boolean isNoChange(@NonNull GeoServerEvent<?> event) {
+        return event instanceof InfoModified && ((InfoModified<?, ?>) event).getPatch().isEmpty();
+    }
+
+    /** @return {@code true} if {@code event} carries nothing but a new update sequence */
+    public static boolean isUpdateSequenceOnly(@NonNull GeoServerEvent<?> event) {
+        if (UpdateSequenceEvent.class.equals(event.getClass())) {
+            return true;
+        }
+        if (event instanceof GeoServerInfoModified) {
+            Patch patch = ((GeoServerInfoModified) event).getPatch();
+            return patch.getPatches().stream().allMatch(p -> UPDATE_SEQUENCE.equals(p.getName()));
+        }
+        return false;
+    }
+
+    /** @return a new list with the coalesced events, in the same order as in {@code events} */
+    public static List<GeoServerEvent<?>> coalesce(@NonNull List<GeoServerEvent<?>> events) {
+        int lastUpdateSequenceOnly = -1;
+        for (int i = 0; i < events.size(); i++) {
+            if (isUpdateSequenceOnly(events.get(i))) lastUpdateSequenceOnly = i;
+        }
+
+        List<GeoServerEvent<?>> coalesced = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            GeoServerEvent<?> event = events.get(i);
+            if (isNoChange(event) || (isUpdateSequenceOnly(event) && i != lastUpdateSequenceOnly)) {
+                continue;
+            }
+            int last = coalesced.size() - 1;
+            if (last >= 0 && canMerge(coalesced.get(last), event)) {
+                InfoModified<?, ?> previous = (InfoModified<?, ?>) coalesced.get(last);
+                InfoModified<?, ?> current = (InfoModified<?, ?>) event;
+                // a copy, the event may have been delivered to local listeners already
+                Patch merged = merge(previous.getPatch(), current.getPatch());
+                coalesced.set(last, (GeoServerEvent<?>) current.withPatch(merged));
+            } else {
+                coalesced.add(event);
+            }
+        }
+        return coalesced;
+    }
+
+    /**
+     * @return the update sequence values of the events in {@code events} that are not carried by
+     *     any of the {@code coalesced} events, in ascending order
+     */
+    public static List<Long> coalescedSequences(
+            @NonNull List<GeoServerEvent<?>> events, @NonNull List<GeoServerEvent<?>> coalesced) {
+        Set<Long> kept =
+                coalesced.stream()
+                        .filter(UpdateSequenceEvent.class::isInstance)
+                        .map(e -> ((UpdateSequenceEvent<?>) e).getUpdateSequence())
+                        .collect(Collectors.toSet());
+        return events.stream()
+                .filter(UpdateSequenceEvent.class::isInstance)
+                .map(e -> ((UpdateSequenceEvent<?>) e).getUpdateSequence())
+                .filter(s -> s != null && !kept.contains(s))
+                .sorted()
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private static boolean canMerge(GeoServerEvent<?> previous, GeoServerEvent<?> current) {
+        return previous instanceof InfoModified
+                && previous.getClass().equals(current.getClass())
+                && Objects.equals(
+                        ((InfoModified<?, ?>) previous).getObjectId(),
+                        ((InfoModified<?, ?>) current).getObjectId());
+    }
+
+    /** @return a new patch with the properties of both, the ones in {@code latest} taking over */
+    static Patch merge(Patch earliest, Patch latest) {
+        Patch merged = new Patch();
+        earliest.getPatches().stream()
+                .filter(p -> latest.get(p.getName()).isEmpty())
+                .forEach(merged::add);
+        latest.getPatches().forEach(merged::add);
+        return merged;
+    }
+}
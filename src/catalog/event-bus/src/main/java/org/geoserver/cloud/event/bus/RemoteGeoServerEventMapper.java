@@ -8,11 +8,16 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
 import org.geoserver.cloud.event.GeoServerEvent;
+import org.geoserver.cloud.event.catalog.CatalogInfoAdded;
 import org.geoserver.cloud.event.info.InfoEvent;
 import org.springframework.cloud.bus.ServiceMatcher;
 import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 /** */
 @RequiredArgsConstructor
@@ -25,6 +30,16 @@ public class RemoteGeoServerEventMapper {
     private final @NonNull ServiceMatcher serviceMatcher;
     private final @NonNull Destination.Factory destinationFactory;
 
+    private boolean lazyPayloads;
+
+    /**
+     * Enables lazy payloads: outgoing {@link CatalogInfoAdded} events are sent {@link
+     * CatalogInfoAdded#withoutObject() without the added object}, which receivers load on demand
+     */
+    public void enableLazyPayloads() {
+        this.lazyPayloads = true;
+    }
+
     private Destination destinationService() {
         return destinationFactory.getDestination(DESTINATION_ALL_SERVICES);
     }
@@ -36,14 +51,50 @@ public class RemoteGeoServerEventMapper {
     public RemoteGeoServerEvent toRemote(GeoServerEvent<?> anyLocalCatalogOrConfigEvent) {
         String origin = originService();
         Destination destination = destinationService();
-        RemoteGeoServerEvent remote =
-                new RemoteGeoServerEvent(this, anyLocalCatalogOrConfigEvent, origin, destination);
-        anyLocalCatalogOrConfigEvent.setOrigin(origin);
-        anyLocalCatalogOrConfigEvent.setId(remote.getId());
+        GeoServerEvent<?> payload = toPayload(anyLocalCatalogOrConfigEvent);
+        RemoteGeoServerEvent remote = new RemoteGeoServerEvent(this, payload, origin, destination);
+        setOriginAndId(anyLocalCatalogOrConfigEvent, origin, remote.getId());
+        setOriginAndId(payload, origin, remote.getId());
+        return remote;
+    }
+
+    /**
+     * Creates a single bus envelope for all the provided local events, preserving their order,
+     * along with the update sequence values of the events {@link RemoteGeoServerEventCoalescer
+     * coalesced} out of them. Each event in the batch gets an {@link GeoServerEvent#getId() id} of
+     * its own, other than the envelope's.
+     */
+    public RemoteGeoServerEventBatch toRemote(
+            @NonNull List<GeoServerEvent<?>> localEvents, @NonNull List<Long> coalescedSequences) {
+        String origin = originService();
+        Destination destination = destinationService();
+        List<GeoServerEvent<?>> payloads =
+                localEvents.stream().map(this::toPayload).collect(Collectors.toList());
+        RemoteGeoServerEventBatch remote =
+                new RemoteGeoServerEventBatch(
+                        this, payloads, coalescedSequences, origin, destination);
+        for (int i = 0; i < localEvents.size(); i++) {
+            String id = UUID.randomUUID().toString();
+            setOriginAndId(localEvents.get(i), origin, id);
+            setOriginAndId(payloads.get(i), origin, id);
+        }
         return remote;
     }
 
-    public Optional<RemoteGeoServerEvent> ifRemote(@NonNull RemoteGeoServerEvent busEvent) {
+    /** @return the event to send over the wire in place of {@code localEvent} */
+    private GeoServerEvent<?> toPayload(GeoServerEvent<?> localEvent) {
+        if (lazyPayloads && localEvent instanceof CatalogInfoAdded) {
+            return ((CatalogInfoAdded) localEvent).withoutObject();
+        }
+        return localEvent;
+    }
+
+    private void setOriginAndId(GeoServerEvent<?> event, String origin, String id) {
+        event.setOrigin(origin);
+        event.setId(id);
+    }
+
+    public <E extends RemoteApplicationEvent> Optional<E> ifRemote(@NonNull E busEvent) {
         final boolean fromSelf = serviceMatcher.isFromSelf(busEvent);
         final boolean forSelf = serviceMatcher.isForSelf(busEvent);
         final boolean republishAsLocal = !fromSelf && forSelf;
@@ -51,9 +102,21 @@ public class RemoteGeoServerEventMapper {
     }
 
     public GeoServerEvent<?> toLocalRemote(@NonNull RemoteGeoServerEvent incoming) {
-        GeoServerEvent<?> event = incoming.getEvent();
+        return toLocalRemote(incoming.getEvent(), incoming.getOriginService());
+    }
+
+    /**
+     * Gives the {@link InfoEventResolver} a chance to pre-fetch the object references of all the
+     * events in a batch at once, before they're {@link #toLocalRemote converted} one by one
+     */
+    public void prefetch(@NonNull RemoteGeoServerEventBatch incoming) {
+        remoteEventsPropertyResolver.prefetch(incoming.getEvents());
+    }
+
+    public GeoServerEvent<?> toLocalRemote(
+            @NonNull GeoServerEvent<?> event, @NonNull String originService) {
         event.setRemote(true);
-        event.setOrigin(incoming.getOriginService());
+        event.setOrigin(originService);
         if (event instanceof InfoEvent)
             event = remoteEventsPropertyResolver.resolve((InfoEvent<?, ?>) event);
         return event;
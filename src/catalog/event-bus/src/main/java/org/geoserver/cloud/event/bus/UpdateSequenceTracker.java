@@ -0,0 +1,129 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import lombok.NonNull;
+
+import org.geoserver.cloud.event.UpdateSequenceEvent;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps track of the {@link UpdateSequenceEvent#getUpdateSequence() update sequence} values this
+ * service instance has applied, be it because it produced the events itself, or because it received
+ * and applied them, in order to detect missed events.
+ *
+ * <p>Update sequence values are assigned cluster-wide, one per event, or one per batch of changes
+ * whose events are broadcast together (see {@code UpdateSequenceBatch}). Since events from
+ * different service instances may arrive out of order, a missing value is only reported as a {@link
+ * #overdueGaps gap} once a higher value was applied long enough ago.
+ *
+ * <p>All values up to the {@link #getBaseline() baseline}, the update sequence at the time this
+ * tracker was created or {@link #reset}, are considered applied.
+ *
+ * @since 1.0
+ */
+public class UpdateSequenceTracker {
+
+    private long baseline;
+
+    /** All values up to and including the watermark are applied */
+    private long watermark;
+
+    /** Values applied above the watermark, and the time they were applied */
+    private final TreeMap<Long, Long> ahead = new TreeMap<>();
+
+    private final LongSupplier clock;
+
+    public UpdateSequenceTracker(long baseline) {
+        this(baseline, System::currentTimeMillis);
+    }
+
+    UpdateSequenceTracker(long baseline, @NonNull LongSupplier clock) {
+        this.clock = clock;
+        reset(baseline);
+    }
+
+    /** Discards all tracking information and considers all values up to {@code baseline} applied */
+    public synchronized void reset(long baseline) {
+        this.baseline = baseline;
+        this.watermark = baseline;
+        this.ahead.clear();
+    }
+
+    public synchronized long getBaseline() {
+        return baseline;
+    }
+
+    /** @return the highest value such that it and all lower values are applied */
+    public synchronized long getWatermark() {
+        return watermark;
+    }
+
+    /** @return the highest applied value */
+    public synchronized long getHighest() {
+        return ahead.isEmpty() ? watermark : ahead.lastKey();
+    }
+
+    public synchronized void applied(long sequence) {
+        if (sequence > watermark) {
+            ahead.putIfAbsent(sequence, clock.getAsLong());
+            advance();
+        }
+    }
+
+    public synchronized void applied(@NonNull Collection<Long> sequences) {
+        final long now = clock.getAsLong();
+        sequences.stream().filter(s -> s > watermark).forEach(s -> ahead.putIfAbsent(s, now));
+        advance();
+    }
+
+    private void advance() {
+        while (!ahead.isEmpty() && ahead.firstKey() == watermark + 1) {
+            ahead.pollFirstEntry();
+            watermark++;
+        }
+    }
+
+    /**
+     * @return {@code true} if {@code sequence} is above the baseline and has already been applied,
+     *     meaning an event carrying it is a duplicate
+     */
+    public synchronized boolean isDuplicate(long sequence) {
+        return sequence > baseline && (sequence <= watermark || ahead.containsKey(sequence));
+    }
+
+    /**
+     * Returns the missing values lower than a value applied more than {@code gracePeriodMillis}
+     * ago.
+     *
+     * @param maxGaps maximum number of missing values to return
+     * @return the overdue missing values, in ascending order, at most {@code maxGaps} of them
+     */
+    public synchronized SortedSet<Long> overdueGaps(long gracePeriodMillis, int maxGaps) {
+        final long cutoff = clock.getAsLong() - gracePeriodMillis;
+        long upper = watermark;
+        for (Map.Entry<Long, Long> e : ahead.entrySet()) {
+            if (e.getValue() <= cutoff) upper = e.getKey();
+        }
+        SortedSet<Long> gaps = new TreeSet<>();
+        for (long s = watermark + 1; s < upper && gaps.size() < maxGaps; s++) {
+            if (!ahead.containsKey(s)) gaps.add(s);
+        }
+        return gaps;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(
+                "%s[baseline: %d, watermark: %d, highest: %d, pending: %d]",
+                getClass().getSimpleName(), baseline, watermark, getHighest(), ahead.size());
+    }
+}
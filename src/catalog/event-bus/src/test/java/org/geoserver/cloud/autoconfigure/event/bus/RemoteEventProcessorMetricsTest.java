@@ -0,0 +1,105 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.autoconfigure.event.bus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.event.impl.CatalogAddEventImpl;
+import org.geoserver.cloud.event.catalog.CatalogInfoAdded;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.event.EventListener;
+
+/** @since 1.0 */
+class RemoteEventProcessorMetricsTest {
+
+    private AnnotationConfigApplicationContext context;
+    private MeterRegistry registry;
+    private CatalogTestData data;
+
+    static class TestProcessor {
+        int processed;
+        boolean fail;
+
+        @EventListener(CatalogInfoAdded.class)
+        void onAdded(CatalogInfoAdded event) {
+            processed++;
+            if (fail) throw new IllegalStateException("failed on purpose");
+        }
+
+        @EventListener(String.class)
+        void onOther(String event) {
+            processed++;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(MeterRegistry.class, () -> registry);
+        context.registerBean(
+                RemoteEventProcessorMetrics.class,
+                () ->
+                        new RemoteEventProcessorMetrics(
+                                context.getBeanProvider(MeterRegistry.class), "app-1"));
+        context.registerBean(TestProcessor.class);
+        context.refresh();
+        data = CatalogTestData.empty().initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    private CatalogInfoAdded added(long updateSequence, boolean remote) {
+        CatalogAddEventImpl addEvent = new CatalogAddEventImpl();
+        addEvent.setSource(data.workspaceA);
+        CatalogInfoAdded event = CatalogInfoAdded.createLocal(updateSequence, addEvent);
+        event.setRemote(remote);
+        return event;
+    }
+
+    private Timer timer(String outcome) {
+        return registry.find(RemoteEventProcessorMetrics.METRIC)
+                .tag("instance-id", "app-1")
+                .tag("processor", "TestProcessor")
+                .tag("type", "CatalogInfoAdded")
+                .tag("outcome", outcome)
+                .timer();
+    }
+
+    @Test
+    void testTimesRemoteEventsPerProcessor() {
+        context.publishEvent(added(1, true));
+        context.publishEvent(added(2, true));
+        context.publishEvent(added(3, false));
+        context.publishEvent("not a GeoServerEvent");
+
+        assertEquals(4, context.getBean(TestProcessor.class).processed);
+        assertEquals(2, timer("success").count());
+        assertEquals(1, registry.find(RemoteEventProcessorMetrics.METRIC).timers().size());
+    }
+
+    @Test
+    void testFailedProcessing() {
+        context.getBean(TestProcessor.class).fail = true;
+        CatalogInfoAdded event = added(1, true);
+        assertThrows(IllegalStateException.class, () -> context.publishEvent(event));
+
+        assertEquals(1, timer("failure").count());
+        assertNull(timer("success"));
+    }
+}
@@ -9,6 +9,7 @@ import static org.mockito.Mockito.mock;
 
 import org.geoserver.catalog.Catalog;
 import org.geoserver.cloud.event.bus.InfoEventResolver;
+import org.geoserver.cloud.event.bus.RemoteEventSmileMessageConverter;
 import org.geoserver.cloud.event.bus.RemoteGeoServerEventBridge;
 import org.geoserver.cloud.event.bus.RemoteGeoServerEventMapper;
 import org.geoserver.config.GeoServer;
@@ -67,6 +68,7 @@ class RemoteGeoServerEventsAutoConfigurationTest {
                     assertThat(context).hasSingleBean(InfoEventResolver.class);
                     assertThat(context).hasSingleBean(RemoteGeoServerEventMapper.class);
                     assertThat(context).hasSingleBean(RemoteGeoServerEventBridge.class);
+                    assertThat(context).hasSingleBean(RemoteEventSmileMessageConverter.class);
                 });
     }
 
@@ -79,6 +81,7 @@ class RemoteGeoServerEventsAutoConfigurationTest {
                     assertThat(context).doesNotHaveBean(InfoEventResolver.class);
                     assertThat(context).doesNotHaveBean(RemoteGeoServerEventMapper.class);
                     assertThat(context).doesNotHaveBean(RemoteGeoServerEventBridge.class);
+                    assertThat(context).doesNotHaveBean(RemoteEventSmileMessageConverter.class);
                 });
     }
 }
@@ -0,0 +1,116 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.autoconfigure.event.bus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.event.impl.CatalogAddEventImpl;
+import org.geoserver.cloud.event.GeoServerEvent;
+import org.geoserver.cloud.event.bus.RemoteGeoServerEventBridge;
+import org.geoserver.cloud.event.bus.RemoteGeoServerEventMapper;
+import org.geoserver.cloud.event.catalog.CatalogInfoAdded;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/** @since 1.0 */
+class RemoteGeoServerEventsMetricsTest {
+
+    private MeterRegistry registry;
+    private RemoteGeoServerEventBridge bridge;
+    private List<GeoServerEvent<?>> published;
+    private Consumer<GeoServerEvent<?>> publisher;
+    private CatalogTestData data;
+
+    @BeforeEach
+    void setUp() {
+        published = new ArrayList<>();
+        publisher = published::add;
+        RemoteGeoServerEventMapper mapper = mock(RemoteGeoServerEventMapper.class);
+        when(mapper.toLocalRemote(any(GeoServerEvent.class), anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        bridge =
+                new RemoteGeoServerEventBridge(
+                        event -> publisher.accept(event), remote -> {}, mapper, () -> "app:1");
+        registry = new SimpleMeterRegistry();
+        new RemoteGeoServerEventsMetrics(bridge, Optional.empty(), "app-1").bindTo(registry);
+        data = CatalogTestData.empty().initialize();
+    }
+
+    private CatalogInfoAdded added(long updateSequence) {
+        CatalogAddEventImpl addEvent = new CatalogAddEventImpl();
+        addEvent.setSource(data.workspaceA);
+        return CatalogInfoAdded.createLocal(updateSequence, addEvent);
+    }
+
+    private Timer timer(String name, String origin, String... extraTags) {
+        return registry.find(name)
+                .tag("instance-id", "app-1")
+                .tag("type", "CatalogInfoAdded")
+                .tag("origin", origin)
+                .tags(extraTags)
+                .timer();
+    }
+
+    @Test
+    void testPropagationMetrics() {
+        bridge.replay(added(1), "wms:8080:a1b2");
+        bridge.replay(added(2), "wms:8080:c3d4");
+        bridge.replay(added(3), "wfs:8080:e5f6");
+        assertEquals(3, published.size());
+
+        assertEquals(
+                2,
+                registry.get("geoserver.config.bus.incoming.received")
+                        .tag("origin", "wms")
+                        .counter()
+                        .count());
+        assertEquals(2, timer("geoserver.config.bus.incoming.lag", "wms").count());
+        assertEquals(1, timer("geoserver.config.bus.incoming.lag", "wfs").count());
+        assertEquals(
+                2,
+                timer("geoserver.config.bus.incoming.apply", "wms", "outcome", "success").count());
+        assertEquals(0, registry.get("geoserver.config.bus.incoming.pending").gauge().value());
+    }
+
+    @Test
+    void testOriginIsTheServiceName() {
+        assertEquals("wms", RemoteGeoServerEventsMetrics.serviceName("wms:8080:a1b2"));
+        assertEquals("wms", RemoteGeoServerEventsMetrics.serviceName("wms"));
+        assertEquals("unknown", RemoteGeoServerEventsMetrics.serviceName(null));
+        assertEquals("unknown", RemoteGeoServerEventsMetrics.serviceName(""));
+    }
+
+    @Test
+    void testFailedApplication() {
+        publisher =
+                event -> {
+                    throw new IllegalStateException("failed on purpose");
+                };
+        CatalogInfoAdded event = added(1);
+        assertThrows(IllegalStateException.class, () -> bridge.replay(event, "app:2"));
+
+        assertEquals(
+                1,
+                timer("geoserver.config.bus.incoming.apply", "app", "outcome", "failure").count());
+        assertNull(timer("geoserver.config.bus.incoming.apply", "app", "outcome", "success"));
+        assertEquals(0, registry.get("geoserver.config.bus.incoming.pending").gauge().value());
+    }
+}
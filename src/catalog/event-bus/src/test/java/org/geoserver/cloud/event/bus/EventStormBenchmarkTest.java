@@ -0,0 +1,292 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.Timer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.cloud.event.bus.InJvmBus.Node;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.opengis.filter.Filter;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Catalog event storms replayed on an {@link InJvmBus} cluster, measuring how long it takes for all
+ * nodes to converge, the bus event throughput, and the CPU time and memory allocated by each node
+ * to apply the incoming events.
+ *
+ * <p>Run with {@code -Dbenchmark=true}. The storm sizes and cluster are configurable through the
+ * following system properties:
+ *
+ * <ul>
+ *   <li>{@code benchmark.nodes}: number of nodes, defaults to {@code 4}
+ *   <li>{@code benchmark.layers}: layers created by the bulk layer creation storm, defaults to
+ *       {@code 1000}
+ *   <li>{@code benchmark.styleRewrites}: style modifications, defaults to {@code 1000}
+ *   <li>{@code benchmark.workspaceRenames}: workspace renames, defaults to {@code 200}
+ *   <li>{@code benchmark.properties}: comma separated {@code key=value} node properties, e.g.
+ *       {@code geoserver.bus.batch.enabled=true,geoserver.bus.coalesce.enabled=true}, to compare
+ *       configurations
+ *   <li>{@code benchmark.sharedCatalog}: whether the nodes share a single catalog backend, as with
+ *       the {@code jdbcconfig} and {@code catalog-service} backends, instead of each one holding a
+ *       replica, as with the data directory backend. Defaults to {@code false}
+ * </ul>
+ *
+ * <p>For example, the cost of full versus lazy add event payloads on a shared catalog backend can
+ * be compared running {@code bulkLayerCreation} with {@code -Dbenchmark.sharedCatalog=true}, with
+ * and without {@code -Dbenchmark.properties=geoserver.bus.lazy-payloads.enabled=true}.
+ *
+ * <p>All changes are made on the first node, as an administration client hitting a single service
+ * instance would.
+ *
+ * <p>Results are logged at {@code INFO} level. Timings depend too much on the machine to be
+ * asserted, but the bus counters are: every message is delivered to every node, none fails, and no
+ * more messages are sent, nor events applied by each receiving node, than events produced.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class EventStormBenchmarkTest {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(5);
+
+    private final int nodeCount = Integer.getInteger("benchmark.nodes", 4);
+    private final int layers = Integer.getInteger("benchmark.layers", 1000);
+    private final int styleRewrites = Integer.getInteger("benchmark.styleRewrites", 1000);
+    private final int workspaceRenames = Integer.getInteger("benchmark.workspaceRenames", 200);
+    private final boolean sharedCatalog = Boolean.getBoolean("benchmark.sharedCatalog");
+
+    private InJvmBus bus;
+    private List<Node> nodes;
+    private Catalog catalog;
+    private CatalogTestData data;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        String props = System.getProperty("benchmark.properties", "");
+        String[] properties = props.isBlank() ? new String[0] : props.split(",");
+        bus = sharedCatalog ? InJvmBus.withSharedCatalog() : new InJvmBus();
+        for (int i = 1; i <= nodeCount; i++) {
+            bus.start("node-" + i, properties);
+        }
+        nodes = bus.getNodes();
+        catalog = nodes.get(0).getCatalog();
+        data = CatalogTestData.empty(() -> catalog, nodes.get(0)::getGeoServer).initialize();
+        catalog.add(data.workspaceA);
+        catalog.add(data.namespaceA);
+        catalog.add(data.dataStoreA);
+        catalog.add(data.style1);
+        assertTrue(
+                bus.awaitConvergence(
+                        n -> n.getCatalog().getStyle(data.style1.getId()) != null, TIMEOUT));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.close();
+    }
+
+    @Test
+    void bulkLayerCreation() throws InterruptedException {
+        // warm up
+        // two events per layer, the feature type and the layer added
+        storm(
+                "bulk layer creation (warm up)",
+                layers / 10,
+                2,
+                i -> addLayer("warmup-" + i),
+                n -> true);
+        final int expected = layers + layers / 10;
+        storm(
+                "bulk layer creation",
+                layers,
+                2,
+                i -> addLayer("storm-" + i),
+                n -> n.getCatalog().count(LayerInfo.class, Filter.INCLUDE) == expected);
+    }
+
+    @Test
+    void styleRewrites() throws InterruptedException {
+        final String id = data.style1.getId();
+        storm(
+                "style rewrites (warm up)",
+                styleRewrites / 10,
+                1,
+                i -> rewriteStyle(id, -i),
+                n -> true);
+        final String last = "rewrite-" + (styleRewrites - 1) + ".sld";
+        storm(
+                "style rewrites",
+                styleRewrites,
+                1,
+                i -> rewriteStyle(id, i),
+                n -> last.equals(n.getCatalog().getStyle(id).getFilename()));
+    }
+
+    @Test
+    void workspaceRenames() throws InterruptedException {
+        final String id = data.workspaceA.getId();
+        storm(
+                "workspace renames (warm up)",
+                workspaceRenames / 10,
+                1,
+                i -> renameWorkspace(id, "warmup-" + i),
+                n -> true);
+        final String last = "renamed-" + (workspaceRenames - 1);
+        storm(
+                "workspace renames",
+                workspaceRenames,
+                1,
+                i -> renameWorkspace(id, "renamed-" + i),
+                n -> last.equals(n.getCatalog().getWorkspace(id).getName()));
+    }
+
+    private void addLayer(String name) {
+        FeatureTypeInfo ft = data.createFeatureType(name);
+        catalog.add(ft);
+        catalog.add(data.createLayer(catalog.getFeatureType(ft.getId()), data.style1));
+    }
+
+    private void rewriteStyle(String id, int i) {
+        StyleInfo style = catalog.getStyle(id);
+        style.setFilename("rewrite-" + i + ".sld");
+        catalog.save(style);
+    }
+
+    private void renameWorkspace(String id, String name) {
+        WorkspaceInfo ws = catalog.getWorkspace(id);
+        ws.setName(name);
+        catalog.save(ws);
+    }
+
+    /**
+     * Applies {@code size} changes producing {@code eventsPerChange} events each, waits for the
+     * nodes to converge, logs the measurements, and asserts on the bus counters
+     */
+    private void storm(
+            String name,
+            int size,
+            int eventsPerChange,
+            IntConsumer change,
+            Predicate<Node> converged)
+            throws InterruptedException {
+        final Snapshot before = new Snapshot();
+        final long start = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            change.accept(i);
+        }
+        final long written = System.nanoTime();
+        assertTrue(bus.awaitConvergence(converged, TIMEOUT), name + " did not converge");
+        final long end = System.nanoTime();
+        final Snapshot after = new Snapshot();
+
+        final double seconds = (end - start) / 1e9;
+        final long sent = bus.getSent() - before.sent;
+        final long delivered = bus.getDelivered() - before.delivered;
+        final long sentBytes = bus.getSentBytes() - before.sentBytes;
+        final long failed = bus.getFailed() - before.failed;
+        StringBuilder report = new StringBuilder();
+        report.append(
+                String.format(
+                        "%s: %,d changes on %d nodes%s%n"
+                                + "  writes     : %,8d ms%n"
+                                + "  convergence: %,8d ms (%,d ms after the last write)%n"
+                                + "  events     : %,d sent, %,d delivered, %,.0f deliveries/s%n"
+                                + "  payload    : %,8d KiB sent, %,8d bytes/event%n"
+                                + "  writer     : %,8d ms cpu, %,8d KiB allocated%n",
+                        name,
+                        size,
+                        nodes.size(),
+                        sharedCatalog ? " (shared catalog)" : "",
+                        TimeUnit.NANOSECONDS.toMillis(written - start),
+                        TimeUnit.NANOSECONDS.toMillis(end - start),
+                        TimeUnit.NANOSECONDS.toMillis(end - written),
+                        sent,
+                        delivered,
+                        delivered / seconds,
+                        sentBytes / 1024,
+                        sent == 0 ? 0 : sentBytes / sent,
+                        TimeUnit.NANOSECONDS.toMillis(after.writerCpu - before.writerCpu),
+                        (after.writerAlloc - before.writerAlloc) / 1024));
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            long applied = after.applied[i] - before.applied[i];
+            double applyNanos = after.applyNanos[i] - before.applyNanos[i];
+            report.append(
+                    String.format(
+                            "  %-11s: %,8d ms cpu, %,8d KiB allocated, %,8.0f µs mean apply%n",
+                            node.getBusId(),
+                            TimeUnit.NANOSECONDS.toMillis(after.cpu[i] - before.cpu[i]),
+                            (after.alloc[i] - before.alloc[i]) / 1024,
+                            applied == 0 ? 0d : applyNanos / applied / 1_000));
+        }
+        log.info("{}", report);
+
+        final long events = (long) size * eventsPerChange;
+        assertEquals(0, failed, name + ": failed deliveries");
+        assertEquals(sent * nodes.size(), delivered, name + ": each message reaches every node");
+        assertTrue(sent > 0 && sent <= events, name + ": " + sent + " messages for " + events);
+        assertTrue(sentBytes > 0, name + ": no payload sent");
+        // the first node made the changes, the others apply them
+        for (int i = 1; i < nodes.size(); i++) {
+            long applied = after.applied[i] - before.applied[i];
+            assertTrue(
+                    applied <= events,
+                    () -> String.format("%s: %d events applied out of %d", name, applied, events));
+        }
+    }
+
+    /** Bus counters and per-node cpu and allocation at a point in time */
+    private class Snapshot {
+        final long sent = bus.getSent();
+        final long delivered = bus.getDelivered();
+        final long sentBytes = bus.getSentBytes();
+        final long failed = bus.getFailed();
+        final long[] cpu = nodes.stream().mapToLong(Node::getDeliveryCpuNanos).toArray();
+        final long[] alloc = nodes.stream().mapToLong(Node::getDeliveryAllocatedBytes).toArray();
+        final long writerCpu = ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime();
+        final long writerAlloc = Node.allocatedBytes(Thread.currentThread());
+        final long[] applied =
+                nodes.stream()
+                        .mapToLong(n -> applyTimers(n).mapToLong(Timer::count).sum())
+                        .toArray();
+        final double[] applyNanos =
+                nodes.stream()
+                        .mapToDouble(
+                                n ->
+                                        applyTimers(n)
+                                                .mapToDouble(t -> t.totalTime(TimeUnit.NANOSECONDS))
+                                                .sum())
+                        .toArray();
+    }
+
+    /** @return the node's incoming events apply timers, one per event type and origin */
+    private static Stream<Timer> applyTimers(Node node) {
+        return node
+                .getMeterRegistry()
+                .find("geoserver.config.bus.incoming.apply")
+                .timers()
+                .stream();
+    }
+}
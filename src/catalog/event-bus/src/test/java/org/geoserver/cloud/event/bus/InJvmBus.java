@@ -0,0 +1,307 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.plugin.DefaultMemoryCatalogFacade;
+import org.geoserver.catalog.plugin.ExtendedCatalogFacade;
+import org.geoserver.config.GeoServer;
+import org.geoserver.platform.config.UpdateSequence;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.bus.BusConsumer;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * In-process stand-in for the message broker, to run several GeoServer service instances in a
+ * single JVM, each one with its own spring application context, {@link RemoteGeoServerEventBridge},
+ * and in-memory catalog backend, as set up by {@link InJvmBusNodeConfiguration}.
+ *
+ * <p>Outgoing bus events are encoded by the sending node's {@link RemoteEventSmileMessageConverter}
+ * and delivered to all the nodes, including the sender, as a broker topic would. Each node decodes
+ * the messages with its own converter and hands them over to its spring-cloud-bus {@link
+ * BusConsumer}, in order, on its own single delivery thread, like a broker queue consumer would.
+ * So, unless incoming events are applied concurrently, {@link Node#getDeliveryCpuNanos()} and
+ * {@link Node#getDeliveryAllocatedBytes()} measure the cost of applying remote events on each node.
+ *
+ * <p>All nodes share a single {@link UpdateSequence}, as they would share a database sequence.
+ * Created with {@link #withSharedCatalog()}, they also share a single catalog backend, as they
+ * would with the {@code jdbcconfig} or {@code catalog-service} backends, instead of each one
+ * replicating the catalog from the incoming events.
+ */
+@Slf4j(topic = "org.geoserver.cloud.event.bus.injvm")
+public class InJvmBus implements AutoCloseable {
+
+    private static final MessageHeaders HEADERS =
+            new MessageHeaders(
+                    Map.of(
+                            MessageHeaders.CONTENT_TYPE,
+                            RemoteEventSmileMessageConverter.MIME_TYPE));
+
+    private final List<Node> nodes = new CopyOnWriteArrayList<>();
+
+    private final UpdateSequence updateSequence = new SharedUpdateSequence();
+
+    private final ExtendedCatalogFacade sharedCatalog;
+
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong sentBytes = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    /** Creates a bus whose nodes each hold a replica of the catalog */
+    public InJvmBus() {
+        this(null);
+    }
+
+    private InJvmBus(ExtendedCatalogFacade sharedCatalog) {
+        this.sharedCatalog = sharedCatalog;
+    }
+
+    /** Creates a bus whose nodes share a single catalog backend */
+    public static InJvmBus withSharedCatalog() {
+        return new InJvmBus(new DefaultMemoryCatalogFacade());
+    }
+
+    /**
+     * @return the catalog backend shared by all nodes, if created with {@link #withSharedCatalog()}
+     */
+    public Optional<ExtendedCatalogFacade> getSharedCatalog() {
+        return Optional.ofNullable(sharedCatalog);
+    }
+
+    /** Starts a node with the given bus id and additional {@code key=value} properties */
+    public Node start(@NonNull String busId, String... properties) {
+        if (node(busId).isPresent()) throw new IllegalArgumentException(busId + " exists");
+        List<String> props = new ArrayList<>();
+        props.add("spring.cloud.bus.id=" + busId);
+        props.add("spring.cloud.bus.ack.enabled=false");
+        props.add("injvm.bus.shared-catalog=" + (sharedCatalog != null));
+        props.addAll(List.of(properties));
+        ConfigurableApplicationContext context =
+                new SpringApplicationBuilder(InJvmBusNodeConfiguration.class)
+                        .web(WebApplicationType.NONE)
+                        .properties(props.toArray(String[]::new))
+                        .initializers(
+                                ctx -> {
+                                    ctx.getBeanFactory().registerSingleton("inJvmBus", this);
+                                    ctx.getBeanFactory()
+                                            .registerSingleton("updateSequence", updateSequence);
+                                })
+                        .run();
+        Node node = new Node(busId, context);
+        nodes.add(node);
+        log.info("Started in-JVM bus node {}", busId);
+        return node;
+    }
+
+    public List<Node> getNodes() {
+        return List.copyOf(nodes);
+    }
+
+    /** @return number of bus events sent by all nodes */
+    public long getSent() {
+        return sent.get();
+    }
+
+    /** @return number of bytes of the encoded bus events sent by all nodes */
+    public long getSentBytes() {
+        return sentBytes.get();
+    }
+
+    /** @return number of bus events delivered to all nodes, including the senders */
+    public long getDelivered() {
+        return delivered.get();
+    }
+
+    /** @return number of bus events that failed to be delivered */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public Optional<Node> node(String busId) {
+        return nodes.stream().filter(n -> n.getBusId().equals(busId)).findFirst();
+    }
+
+    /** Called by each node's {@code BusBridge} */
+    void send(String senderBusId, RemoteApplicationEvent event) {
+        Node sender =
+                node(senderBusId)
+                        .orElseThrow(
+                                () -> new IllegalStateException("Unknown node " + senderBusId));
+        Message<?> message = sender.converter.toMessage(event, HEADERS);
+        if (message == null) {
+            log.warn("{}: unable to encode {}, not sent", senderBusId, event);
+            return;
+        }
+        sent.incrementAndGet();
+        if (message.getPayload() instanceof byte[]) {
+            sentBytes.addAndGet(((byte[]) message.getPayload()).length);
+        }
+        for (Node node : nodes) {
+            inFlight.incrementAndGet();
+            node.delivery.execute(
+                    () -> {
+                        try {
+                            node.deliver(message);
+                            delivered.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            failed.incrementAndGet();
+                            log.error("{}: error delivering {}", node.getBusId(), event, e);
+                        } finally {
+                            inFlight.decrementAndGet();
+                        }
+                    });
+        }
+    }
+
+    /**
+     * @return whether no message is waiting to be delivered nor incoming event waiting to be
+     *     applied by any node
+     */
+    public boolean isQuiescent() {
+        return inFlight.get() == 0
+                && nodes.stream().allMatch(n -> n.getBridge().getIncomingPending() == 0);
+    }
+
+    /**
+     * Waits until the bus is {@link #isQuiescent() quiescent} and all nodes match {@code converged}
+     *
+     * @return {@code true} if converged before the timeout
+     */
+    public boolean awaitConvergence(@NonNull Predicate<Node> converged, @NonNull Duration timeout)
+            throws InterruptedException {
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        while (!(isQuiescent() && nodes.stream().allMatch(converged))) {
+            if (System.nanoTime() > deadline) return false;
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        return true;
+    }
+
+    public @Override void close() {
+        nodes.forEach(Node::close);
+        nodes.clear();
+    }
+
+    /** A GeoServer service instance connected to the {@link InJvmBus} */
+    public static class Node implements AutoCloseable {
+
+        private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+        private final @Getter String busId;
+        private final @Getter ConfigurableApplicationContext context;
+        private final RemoteEventSmileMessageConverter converter;
+        private final BusConsumer busConsumer;
+        private final ExecutorService delivery;
+        private volatile Thread deliveryThread;
+
+        Node(String busId, ConfigurableApplicationContext context) {
+            this.busId = busId;
+            this.context = context;
+            this.converter = context.getBean(RemoteEventSmileMessageConverter.class);
+            this.busConsumer = context.getBean(BusConsumer.class);
+            this.delivery =
+                    Executors.newSingleThreadExecutor(
+                            r -> {
+                                Thread t = new Thread(r, "in-jvm-bus-" + busId);
+                                t.setDaemon(true);
+                                deliveryThread = t;
+                                return t;
+                            });
+            // start the delivery thread right away so its cpu and allocation stats are available
+            this.delivery.execute(() -> {});
+        }
+
+        void deliver(Message<?> message) {
+            RemoteApplicationEvent event =
+                    (RemoteApplicationEvent)
+                            converter.fromMessage(message, RemoteApplicationEvent.class);
+            busConsumer.accept(event);
+        }
+
+        public Catalog getCatalog() {
+            return context.getBean("rawCatalog", Catalog.class);
+        }
+
+        public GeoServer getGeoServer() {
+            return context.getBean(GeoServer.class);
+        }
+
+        public RemoteGeoServerEventBridge getBridge() {
+            return context.getBean(RemoteGeoServerEventBridge.class);
+        }
+
+        public MeterRegistry getMeterRegistry() {
+            return context.getBean(MeterRegistry.class);
+        }
+
+        /** @return CPU time used by this node's delivery thread, or {@code -1} if unsupported */
+        public long getDeliveryCpuNanos() {
+            return THREADS.isThreadCpuTimeSupported()
+                    ? THREADS.getThreadCpuTime(deliveryThread.getId())
+                    : -1;
+        }
+
+        /** @return bytes allocated by this node's delivery thread, or {@code -1} if unsupported */
+        public long getDeliveryAllocatedBytes() {
+            return allocatedBytes(deliveryThread);
+        }
+
+        static long allocatedBytes(Thread thread) {
+            if (THREADS instanceof com.sun.management.ThreadMXBean) {
+                return ((com.sun.management.ThreadMXBean) THREADS)
+                        .getThreadAllocatedBytes(thread.getId());
+            }
+            return -1;
+        }
+
+        public @Override void close() {
+            delivery.shutdownNow();
+            context.close();
+        }
+
+        public @Override String toString() {
+            return busId;
+        }
+    }
+
+    /** Cluster-wide update sequence, shared by all nodes */
+    private static class SharedUpdateSequence implements UpdateSequence {
+        private final AtomicLong sequence = new AtomicLong();
+
+        public @Override long currValue() {
+            return sequence.get();
+        }
+
+        public @Override long nextValue() {
+            return sequence.incrementAndGet();
+        }
+    }
+}
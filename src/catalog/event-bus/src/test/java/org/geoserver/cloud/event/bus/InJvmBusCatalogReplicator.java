@@ -0,0 +1,88 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.plugin.ExtendedCatalogFacade;
+import org.geoserver.cloud.event.catalog.CatalogInfoAdded;
+import org.geoserver.cloud.event.catalog.CatalogInfoModified;
+import org.geoserver.cloud.event.catalog.CatalogInfoRemoved;
+import org.geoserver.cloud.event.info.ConfigInfoType;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Applies incoming remote catalog events to an {@link InJvmBus} node's catalog backend, like the
+ * data directory backend's {@code RemoteEventDataDirectoryProcessor} does, which can't be used here
+ * without bringing in the whole backend auto-configuration.
+ *
+ * <p>Only catalog objects are replicated, configuration objects are ignored.
+ */
+@RequiredArgsConstructor
+@Slf4j(topic = "org.geoserver.cloud.event.bus.injvm")
+class InJvmBusCatalogReplicator {
+
+    private final @NonNull ExtendedCatalogFacade facade;
+
+    @EventListener(CatalogInfoAdded.class)
+    public void onRemoteAdd(CatalogInfoAdded event) {
+        if (event.isLocal()) return;
+        CatalogInfo object = event.getObject();
+        if (object instanceof WorkspaceInfo) facade.add((WorkspaceInfo) object);
+        else if (object instanceof NamespaceInfo) facade.add((NamespaceInfo) object);
+        else if (object instanceof StoreInfo) facade.add((StoreInfo) object);
+        else if (object instanceof ResourceInfo) facade.add((ResourceInfo) object);
+        else if (object instanceof LayerInfo) facade.add((LayerInfo) object);
+        else if (object instanceof LayerGroupInfo) facade.add((LayerGroupInfo) object);
+        else if (object instanceof StyleInfo) facade.add((StyleInfo) object);
+        else log.warn("Don't know how to handle remote add event {}", event);
+    }
+
+    @EventListener(CatalogInfoModified.class)
+    public void onRemoteModify(CatalogInfoModified event) {
+        if (event.isLocal() || event.getObjectType() == ConfigInfoType.Catalog) return;
+        CatalogInfo info = find(event.getObjectType(), event.getObjectId());
+        if (info == null) {
+            log.warn("Object not found, ignoring remote modify event {}", event);
+            return;
+        }
+        facade.update(info, event.getPatch());
+    }
+
+    @EventListener(CatalogInfoRemoved.class)
+    public void onRemoteRemove(CatalogInfoRemoved event) {
+        if (event.isLocal()) return;
+        CatalogInfo info = find(event.getObjectType(), event.getObjectId());
+        if (info instanceof WorkspaceInfo) facade.remove((WorkspaceInfo) info);
+        else if (info instanceof NamespaceInfo) facade.remove((NamespaceInfo) info);
+        else if (info instanceof StoreInfo) facade.remove((StoreInfo) info);
+        else if (info instanceof ResourceInfo) facade.remove((ResourceInfo) info);
+        else if (info instanceof LayerInfo) facade.remove((LayerInfo) info);
+        else if (info instanceof LayerGroupInfo) facade.remove((LayerGroupInfo) info);
+        else if (info instanceof StyleInfo) facade.remove((StyleInfo) info);
+        else log.warn("Object not found, ignoring remote remove event {}", event);
+    }
+
+    private CatalogInfo find(ConfigInfoType type, String id) {
+        if (type.isA(WorkspaceInfo.class)) return facade.getWorkspace(id);
+        if (type.isA(NamespaceInfo.class)) return facade.getNamespace(id);
+        if (type.isA(StoreInfo.class)) return facade.getStore(id, StoreInfo.class);
+        if (type.isA(ResourceInfo.class)) return facade.getResource(id, ResourceInfo.class);
+        if (type.isA(LayerInfo.class)) return facade.getLayer(id);
+        if (type.isA(LayerGroupInfo.class)) return facade.getLayerGroup(id);
+        if (type.isA(StyleInfo.class)) return facade.getStyle(id);
+        return null;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.plugin.CatalogPlugin;
+import org.geoserver.catalog.plugin.DefaultMemoryCatalogFacade;
+import org.geoserver.catalog.plugin.ExtendedCatalogFacade;
+import org.geoserver.catalog.plugin.forwarding.ForwardingExtendedCatalogFacade;
+import org.geoserver.cloud.autoconfigure.catalog.event.LocalCatalogEventsAutoConfiguration;
+import org.geoserver.cloud.autoconfigure.event.bus.RemoteGeoServerEventsAutoConfiguration;
+import org.geoserver.cloud.autoconfigure.event.bus.RemoteGeoServerEventsMetricsAutoConfiguration;
+import org.geoserver.config.GeoServer;
+import org.geoserver.config.plugin.GeoServerImpl;
+import org.geoserver.config.plugin.RepositoryGeoServerFacade;
+import org.geoserver.config.plugin.RepositoryGeoServerFacadeImpl;
+import org.geoserver.config.util.XStreamPersisterFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.cloud.bus.BusAutoConfiguration;
+import org.springframework.cloud.bus.BusBridge;
+import org.springframework.cloud.bus.PathServiceMatcherAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring configuration for a single {@link InJvmBus} node: an in-memory catalog and configuration
+ * backend, the spring-cloud-bus and GeoServer remote events auto-configurations, and a {@link
+ * BusBridge} sending outgoing bus events through the {@link InJvmBus} instead of a message broker.
+ *
+ * <p>Auto-configurations are imported explicitly instead of enabling auto-configuration, so the
+ * spring-cloud-stream and RabbitMQ binder ones in the test classpath are not activated.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportAutoConfiguration({
+    PropertyPlaceholderAutoConfiguration.class,
+    PathServiceMatcherAutoConfiguration.class,
+    BusAutoConfiguration.class,
+    LocalCatalogEventsAutoConfiguration.class,
+    RemoteGeoServerEventsAutoConfiguration.class,
+    RemoteGeoServerEventsMetricsAutoConfiguration.class
+})
+class InJvmBusNodeConfiguration {
+
+    @Bean
+    BusBridge inJvmBusBridge(InJvmBus bus, @Value("${spring.cloud.bus.id}") String busId) {
+        return event -> bus.send(busId, event);
+    }
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
+    @Bean
+    ExtendedCatalogFacade catalogFacade(InJvmBus bus) {
+        return bus.getSharedCatalog()
+                .<ExtendedCatalogFacade>map(SharedCatalogFacade::new)
+                .orElseGet(DefaultMemoryCatalogFacade::new);
+    }
+
+    @Bean
+    RepositoryGeoServerFacade geoserverFacade() {
+        return new RepositoryGeoServerFacadeImpl();
+    }
+
+    @Bean(name = {"catalog", "rawCatalog"})
+    Catalog catalog(@Qualifier("catalogFacade") ExtendedCatalogFacade facade) {
+        return new CatalogPlugin(facade, false);
+    }
+
+    @Bean
+    GeoServer geoServer(
+            @Qualifier("catalog") Catalog catalog,
+            @Qualifier("geoserverFacade") RepositoryGeoServerFacade facade) {
+        GeoServerImpl gs = new GeoServerImpl(facade);
+        gs.setCatalog(catalog);
+        // set before the events publisher is registered as listener, so it's not broadcast
+        gs.setGlobal(gs.getFactory().createGlobal());
+        return gs;
+    }
+
+    @Bean
+    XStreamPersisterFactory xStreamPersisterFactory() {
+        return new XStreamPersisterFactory();
+    }
+
+    /** Nodes sharing the catalog backend see each other's changes, no need to replicate them */
+    @Bean
+    @ConditionalOnProperty(name = "injvm.bus.shared-catalog", havingValue = "false")
+    InJvmBusCatalogReplicator inJvmBusCatalogReplicator(
+            @Qualifier("catalogFacade") ExtendedCatalogFacade facade) {
+        return new InJvmBusCatalogReplicator(facade);
+    }
+
+    /**
+     * Node view of the {@link InJvmBus#getSharedCatalog() shared catalog backend}, which is bound
+     * to the catalog of the first node only, so the other nodes don't take it over.
+     */
+    private static class SharedCatalogFacade extends ForwardingExtendedCatalogFacade {
+
+        SharedCatalogFacade(ExtendedCatalogFacade shared) {
+            super(shared);
+        }
+
+        public @Override void setCatalog(Catalog catalog) {
+            if (getCatalog() == null) super.setCatalog(catalog);
+        }
+    }
+}
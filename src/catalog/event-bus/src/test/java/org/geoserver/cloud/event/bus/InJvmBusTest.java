@@ -0,0 +1,109 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.cloud.event.bus.InJvmBus.Node;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+/** @since 1.0 */
+class InJvmBusTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private InJvmBus bus;
+    private List<Node> nodes;
+    private CatalogTestData data;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        bus = new InJvmBus();
+        bus.start("node-1");
+        bus.start("node-2");
+        bus.start("node-3");
+        nodes = bus.getNodes();
+
+        Catalog catalog = nodes.get(0).getCatalog();
+        data = CatalogTestData.empty(() -> catalog, nodes.get(0)::getGeoServer).initialize();
+        catalog.add(data.workspaceA);
+        catalog.add(data.namespaceA);
+        catalog.add(data.dataStoreA);
+        catalog.add(data.style1);
+        assertTrue(
+                bus.awaitConvergence(
+                        n -> n.getCatalog().getStyle(data.style1.getId()) != null, TIMEOUT));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.close();
+    }
+
+    @Test
+    void testAddedOnOneNodeReplicatedToAll() throws InterruptedException {
+        Catalog catalog = nodes.get(1).getCatalog();
+        FeatureTypeInfo ft = data.createFeatureType("ft1");
+        catalog.add(ft);
+        LayerInfo layer = data.createLayer(catalog.getFeatureType(ft.getId()), data.style1);
+        catalog.add(layer);
+
+        assertTrue(
+                bus.awaitConvergence(n -> n.getCatalog().getLayer(layer.getId()) != null, TIMEOUT));
+        for (Node node : nodes) {
+            LayerInfo replicated = node.getCatalog().getLayer(layer.getId());
+            assertEquals(ft.getId(), replicated.getResource().getId());
+            assertEquals(data.style1.getId(), replicated.getDefaultStyle().getId());
+        }
+        assertEquals(0, bus.getFailed());
+    }
+
+    @Test
+    void testModifiedAndRemovedOnDifferentNodes() throws InterruptedException {
+        final String wsId = data.workspaceA.getId();
+        WorkspaceInfo ws = nodes.get(2).getCatalog().getWorkspace(wsId);
+        ws.setName("renamed");
+        nodes.get(2).getCatalog().save(ws);
+        assertTrue(
+                bus.awaitConvergence(
+                        n -> "renamed".equals(n.getCatalog().getWorkspace(wsId).getName()),
+                        TIMEOUT));
+
+        Catalog catalog = nodes.get(0).getCatalog();
+        catalog.remove(catalog.getStyle(data.style1.getId()));
+        assertTrue(
+                bus.awaitConvergence(
+                        n -> n.getCatalog().getStyle(data.style1.getId()) == null, TIMEOUT));
+    }
+
+    @Test
+    void testDeliveryStats() throws InterruptedException {
+        final long sent = bus.getSent();
+        final long delivered = bus.getDelivered();
+        Catalog catalog = nodes.get(0).getCatalog();
+        catalog.add(data.createStyle("style-stats"));
+        assertTrue(
+                bus.awaitConvergence(
+                        n -> n.getCatalog().getStyleByName("style-stats") != null, TIMEOUT));
+
+        assertEquals(sent + 1, bus.getSent());
+        // delivered to all nodes, including the sender
+        assertEquals(delivered + nodes.size(), bus.getDelivered());
+        for (Node node : nodes) {
+            assertTrue(node.getDeliveryCpuNanos() != 0);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.impl.ResolvingProxy;
+import org.geoserver.catalog.plugin.BatchIdLookup;
+import org.geoserver.catalog.plugin.CatalogPlugin;
+import org.geoserver.catalog.plugin.DefaultMemoryCatalogFacade;
+import org.geoserver.catalog.plugin.ExtendedCatalogFacade;
+import org.geoserver.catalog.plugin.forwarding.ForwardingExtendedCatalogFacade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/** @since 1.0 */
+class InfoReferenceMemoTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(1);
+
+    private CountingFacade facade;
+    private CatalogPlugin catalog;
+    private CatalogTestData data;
+    private AtomicLong clock = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        facade = new CountingFacade(new DefaultMemoryCatalogFacade());
+        catalog = new CatalogPlugin(facade, false);
+        data = CatalogTestData.empty(() -> catalog, () -> null).initCatalog();
+        catalog.add(data.workspaceA);
+        catalog.add(data.style1);
+        catalog.add(data.style2);
+        facade.lookups.clear();
+    }
+
+    private InfoReferenceMemo memo(BatchIdLookup batchLookup) {
+        return new InfoReferenceMemo(catalog, batchLookup, WINDOW, clock::get);
+    }
+
+    private static <T extends CatalogInfo> T proxy(T info, Class<T> type) {
+        return ResolvingProxy.create(info.getId(), type);
+    }
+
+    @Test
+    void testResolveMemoizes() {
+        InfoReferenceMemo memo = memo(null);
+        WorkspaceInfo proxy = proxy(data.workspaceA, WorkspaceInfo.class);
+        WorkspaceInfo resolved = memo.resolve(proxy);
+        assertEquals(data.workspaceA.getId(), resolved.getId());
+        assertSame(resolved, memo.resolve(proxy(data.workspaceA, WorkspaceInfo.class)));
+
+        assertEquals(List.of(data.workspaceA.getId()), facade.lookups);
+        assertEquals(1, memo.getMisses());
+        assertEquals(1, memo.getHits());
+    }
+
+    @Test
+    void testNotFoundIsNotMemoized() {
+        InfoReferenceMemo memo = memo(null);
+        WorkspaceInfo proxy = proxy(data.workspaceB, WorkspaceInfo.class);
+        assertNull(memo.resolve(proxy));
+        assertEquals(0, memo.size());
+
+        catalog.add(data.workspaceB);
+        assertEquals(data.workspaceB.getId(), memo.resolve(proxy).getId());
+        assertEquals(1, memo.size());
+    }
+
+    @Test
+    void testInvalidate() {
+        InfoReferenceMemo memo = memo(null);
+        memo.resolve(proxy(data.style1, StyleInfo.class));
+        memo.resolve(proxy(data.style2, StyleInfo.class));
+        memo.invalidate(data.style1.getId());
+        memo.resolve(proxy(data.style1, StyleInfo.class));
+        memo.resolve(proxy(data.style2, StyleInfo.class));
+        assertEquals(
+                List.of(data.style1.getId(), data.style2.getId(), data.style1.getId()),
+                facade.lookups);
+    }
+
+    @Test
+    void testWindowExpires() {
+        InfoReferenceMemo memo = memo(null);
+        memo.resolve(proxy(data.style1, StyleInfo.class));
+        clock.addAndGet(WINDOW.toNanos());
+        memo.resolve(proxy(data.style1, StyleInfo.class));
+        assertEquals(1, facade.lookups.size());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        memo.resolve(proxy(data.style1, StyleInfo.class));
+        assertEquals(2, facade.lookups.size());
+    }
+
+    @Test
+    void testInvalidWindow() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new InfoReferenceMemo(catalog, null, Duration.ZERO));
+    }
+
+    @Test
+    void testBatchIdLookupFoundThroughDecorators() {
+        assertSame(facade, BatchIdLookup.of(catalog).orElseThrow());
+        CatalogPlugin decorated =
+                new CatalogPlugin(new ForwardingExtendedCatalogFacade(facade), false);
+        assertSame(facade, BatchIdLookup.of(decorated).orElseThrow());
+        assertFalse(
+                BatchIdLookup.of(new CatalogPlugin(new DefaultMemoryCatalogFacade(), false))
+                        .isPresent());
+    }
+
+    @Test
+    void testPrefetch() {
+        InfoReferenceMemo memo = memo(facade);
+        memo.prefetch(
+                List.of(
+                        proxy(data.style1, StyleInfo.class),
+                        proxy(data.style2, StyleInfo.class),
+                        proxy(data.workspaceA, WorkspaceInfo.class)));
+        // a single workspace is not worth a batch
+        assertEquals(List.of(Set.of(data.style1.getId(), data.style2.getId())), facade.batches);
+        assertEquals(2, memo.size());
+
+        StyleInfo style1 = memo.resolve(proxy(data.style1, StyleInfo.class));
+        StyleInfo style2 = memo.resolve(proxy(data.style2, StyleInfo.class));
+        assertEquals(data.style1.getId(), style1.getId());
+        assertEquals(data.style2.getId(), style2.getId());
+        assertTrue(facade.lookups.isEmpty());
+        assertEquals(2, memo.getHits());
+        assertEquals(1, memo.getBatches());
+
+        // already memoized, no batch needed
+        memo.prefetch(
+                List.of(proxy(data.style1, StyleInfo.class), proxy(data.style2, StyleInfo.class)));
+        assertEquals(1, facade.batches.size());
+    }
+
+    @Test
+    void testPrefetchWithoutBatchLookup() {
+        InfoReferenceMemo memo = memo(null);
+        memo.prefetch(
+                List.of(proxy(data.style1, StyleInfo.class), proxy(data.style2, StyleInfo.class)));
+        assertEquals(0, memo.size());
+        assertEquals(0, memo.getBatches());
+    }
+
+    /** Records single lookups by id, and supports batch lookups */
+    private static class CountingFacade extends ForwardingExtendedCatalogFacade
+            implements BatchIdLookup {
+
+        final List<String> lookups = new ArrayList<>();
+        final List<Set<String>> batches = new ArrayList<>();
+
+        CountingFacade(ExtendedCatalogFacade facade) {
+            super(facade);
+        }
+
+        public @Override WorkspaceInfo getWorkspace(String id) {
+            lookups.add(id);
+            return super.getWorkspace(id);
+        }
+
+        public @Override StyleInfo getStyle(String id) {
+            lookups.add(id);
+            return super.getStyle(id);
+        }
+
+        public @Override <T extends CatalogInfo> Stream<T> findAllById(
+                Class<T> type, Set<String> ids) {
+            batches.add(Set.copyOf(ids));
+            List<T> found = new ArrayList<>();
+            for (String id : ids) {
+                CatalogInfo info =
+                        StyleInfo.class.equals(type)
+                                ? facade.getStyle(id)
+                                : facade.getWorkspace(id);
+                if (info != null) found.add(type.cast(info));
+            }
+            return found.stream();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.cloud.event.bus.InJvmBus.Node;
+import org.geoserver.cloud.event.catalog.CatalogInfoAdded;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.PayloadApplicationEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Add events sent without the added object, on {@link InJvmBus} nodes sharing the catalog backend
+ *
+ * @since 1.0
+ */
+class LazyPayloadsTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private InJvmBus bus;
+    private Node sender;
+    private Node receiver;
+    private CatalogTestData data;
+    private final List<CatalogInfoAdded> received = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        bus = InJvmBus.withSharedCatalog();
+        sender = bus.start("node-1", "geoserver.bus.lazy-payloads.enabled=true");
+        receiver = bus.start("node-2", "geoserver.bus.lazy-payloads.enabled=true");
+        receiver.getContext()
+                .addApplicationListener(
+                        e -> {
+                            Object payload =
+                                    e instanceof PayloadApplicationEvent
+                                            ? ((PayloadApplicationEvent<?>) e).getPayload()
+                                            : null;
+                            if (payload instanceof CatalogInfoAdded
+                                    && ((CatalogInfoAdded) payload).isRemote()) {
+                                received.add((CatalogInfoAdded) payload);
+                            }
+                        });
+        Catalog catalog = sender.getCatalog();
+        data = CatalogTestData.empty(() -> catalog, sender::getGeoServer).initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.close();
+    }
+
+    @Test
+    void testRemoteAddLoadsObjectOnFirstAccess() throws InterruptedException {
+        sender.getCatalog().add(data.style1);
+        assertTrue(bus.awaitConvergence(n -> !received.isEmpty(), TIMEOUT));
+
+        CatalogInfoAdded event = received.get(0);
+        assertTrue(event.isLazy());
+        assertEquals(data.style1.getId(), event.getObjectId());
+        CatalogInfo object = event.getObject();
+        assertTrue(object instanceof StyleInfo);
+        assertEquals(data.style1.getName(), ((StyleInfo) object).getName());
+        assertEquals(0, bus.getFailed());
+    }
+
+    /**
+     * The object of a lazy add event is loaded after the fact, and may have been removed by then,
+     * in which case listeners get {@code null}
+     */
+    @Test
+    void testRemoteAddOfAnObjectRemovedSince() throws InterruptedException {
+        sender.getCatalog().add(data.style1);
+        assertTrue(bus.awaitConvergence(n -> !received.isEmpty(), TIMEOUT));
+        sender.getCatalog().remove(data.style1);
+
+        CatalogInfoAdded event = received.get(0);
+        assertTrue(event.isLazy());
+        assertNull(event.getObject());
+        assertEquals(data.style1.getId(), event.getObjectId());
+        assertEquals(0, bus.getFailed());
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.event.impl.CatalogAddEventImpl;
+import org.geoserver.catalog.plugin.Patch;
+import org.geoserver.cloud.event.GeoServerEvent;
+import org.geoserver.cloud.event.UpdateSequenceEvent;
+import org.geoserver.cloud.event.catalog.CatalogInfoAdded;
+import org.geoserver.cloud.event.catalog.CatalogInfoModified;
+import org.geoserver.cloud.event.catalog.CatalogInfoRemoved;
+import org.geoserver.cloud.event.config.ServiceRemoved;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/** @since 1.0 */
+class OrderedRemoteEventExecutorTest {
+
+    private CatalogTestData data;
+    private OrderedRemoteEventExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        data = CatalogTestData.empty().initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) executor.close();
+    }
+
+    private GeoServerEvent<?> layerModified() {
+        return CatalogInfoModified.createLocal(
+                1L, data.layerFeatureTypeA, new Patch().with("enabled", false));
+    }
+
+    private GeoServerEvent<?> styleModified() {
+        return CatalogInfoModified.createLocal(
+                1L, data.style1, new Patch().with("filename", "style1.sld"));
+    }
+
+    private GeoServerEvent<?> barrier() {
+        return UpdateSequenceEvent.createLocal(1L);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderedRemoteEventExecutor(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new OrderedRemoteEventExecutor(1, 0));
+    }
+
+    private GeoServerEvent<?> added(CatalogInfo info) {
+        CatalogAddEventImpl event = new CatalogAddEventImpl();
+        event.setSource(info);
+        return CatalogInfoAdded.createLocal(1L, event);
+    }
+
+    private static Set<String> keys(GeoServerEvent<?> event) {
+        return OrderedRemoteEventExecutor.orderingKeys(event).orElseThrow();
+    }
+
+    @Test
+    void testOrderingKeys() {
+        assertEquals(Set.of(data.layerFeatureTypeA.getId()), keys(layerModified()));
+        assertEquals(
+                Set.of(data.layerFeatureTypeA.getId(), data.style2.getId()),
+                keys(
+                        CatalogInfoModified.createLocal(
+                                1L,
+                                data.layerFeatureTypeA,
+                                new Patch().with("defaultStyle", data.style2))));
+        assertEquals(
+                Optional.empty(),
+                OrderedRemoteEventExecutor.orderingKeys(
+                        CatalogInfoModified.createLocal(
+                                1L, data.workspaceA, new Patch().with("name", "newName"))));
+        assertEquals(Optional.empty(), OrderedRemoteEventExecutor.orderingKeys(barrier()));
+    }
+
+    @Test
+    void testAddsAreOrderedByObjectAndReferencedObjects() {
+        assertEquals(Set.of(data.workspaceA.getId()), keys(added(data.workspaceA)));
+        assertEquals(
+                Set.of(data.dataStoreA.getId(), data.workspaceA.getId()),
+                keys(added(data.dataStoreA)));
+        assertEquals(
+                Set.of(data.featureTypeA.getId(), data.dataStoreA.getId(), data.namespaceA.getId()),
+                keys(added(data.featureTypeA)));
+        Set<String> layerKeys = keys(added(data.layerFeatureTypeA));
+        assertTrue(layerKeys.contains(data.layerFeatureTypeA.getId()));
+        assertTrue(layerKeys.contains(data.featureTypeA.getId()));
+        assertTrue(layerKeys.contains(data.layerFeatureTypeA.getDefaultStyle().getId()));
+
+        CatalogInfoAdded lazy = ((CatalogInfoAdded) added(data.workspaceA)).withoutObject();
+        assertEquals(Optional.empty(), OrderedRemoteEventExecutor.orderingKeys(lazy));
+    }
+
+    @Test
+    void testOnlyRemovalsOfReferencedObjectsAreBarriers() {
+        assertEquals(
+                Optional.empty(),
+                OrderedRemoteEventExecutor.orderingKeys(
+                        CatalogInfoRemoved.createLocal(1L, data.style1)));
+        assertEquals(
+                Optional.empty(),
+                OrderedRemoteEventExecutor.orderingKeys(
+                        CatalogInfoRemoved.createLocal(1L, data.layerFeatureTypeA)));
+        assertEquals(
+                Set.of(data.wmsService.getId()),
+                keys(ServiceRemoved.createLocal(1L, data.wmsService)));
+    }
+
+    @Test
+    void testAddWaitsForItsReferencedObjectsOnly() throws Exception {
+        executor = new OrderedRemoteEventExecutor(4, 100);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        List<String> applied = Collections.synchronizedList(new ArrayList<>());
+
+        executor.execute(
+                added(data.dataStoreA),
+                () -> {
+                    await(releaseSlow);
+                    applied.add("store");
+                });
+        CompletableFuture<Void> resourceApplied = new CompletableFuture<>();
+        executor.execute(
+                added(data.featureTypeA),
+                () -> {
+                    applied.add("resource");
+                    resourceApplied.complete(null);
+                });
+        CountDownLatch styleApplied = new CountDownLatch(1);
+        executor.execute(added(data.style1), styleApplied::countDown);
+
+        // an unrelated addition is applied while the store addition is still running
+        await(styleApplied);
+        assertFalse(resourceApplied.isDone(), "resource shall wait for its store");
+
+        releaseSlow.countDown();
+        resourceApplied.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("store", "resource"), applied);
+    }
+
+    @Test
+    void testSameObjectAppliedInOrder() {
+        executor = new OrderedRemoteEventExecutor(4, 100);
+        List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+        GeoServerEvent<?> event = layerModified();
+        for (int i = 0; i < 50; i++) {
+            final int index = i;
+            executor.execute(event, () -> applied.add(index));
+        }
+        executor.close();
+        assertEquals(IntStream.range(0, 50).boxed().collect(Collectors.toList()), applied);
+        assertEquals(50, executor.getCompleted());
+    }
+
+    @Test
+    void testDifferentObjectsAppliedConcurrently() {
+        executor = new OrderedRemoteEventExecutor(2, 100);
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        CountDownLatch fastApplied = new CountDownLatch(1);
+
+        executor.execute(
+                layerModified(),
+                () -> {
+                    slowStarted.countDown();
+                    await(releaseSlow);
+                });
+        await(slowStarted);
+        executor.execute(styleModified(), fastApplied::countDown);
+
+        // the style change is applied while the layer change is still running
+        await(fastApplied);
+        releaseSlow.countDown();
+    }
+
+    @Test
+    void testBarrierWaitsForPreviousAndBlocksFollowing() throws Exception {
+        executor = new OrderedRemoteEventExecutor(4, 100);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        List<String> applied = Collections.synchronizedList(new ArrayList<>());
+
+        executor.execute(
+                layerModified(),
+                () -> {
+                    await(releaseSlow);
+                    applied.add("layer");
+                });
+        executor.execute(barrier(), () -> applied.add("barrier"));
+        CompletableFuture<Void> styleApplied = new CompletableFuture<>();
+        executor.execute(
+                styleModified(),
+                () -> {
+                    applied.add("style");
+                    styleApplied.complete(null);
+                });
+
+        Thread.sleep(50);
+        assertTrue(applied.isEmpty());
+        assertFalse(styleApplied.isDone());
+
+        releaseSlow.countDown();
+        styleApplied.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("layer", "barrier", "style"), applied);
+    }
+
+    @Test
+    void testBatchWaitsForAllItsObjects() throws Exception {
+        executor = new OrderedRemoteEventExecutor(4, 100);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        List<String> applied = Collections.synchronizedList(new ArrayList<>());
+
+        executor.execute(
+                styleModified(),
+                () -> {
+                    await(releaseSlow);
+                    applied.add("style");
+                });
+        CompletableFuture<Void> batchApplied = new CompletableFuture<>();
+        executor.execute(
+                List.of(layerModified(), styleModified()),
+                () -> {
+                    applied.add("batch");
+                    batchApplied.complete(null);
+                });
+
+        Thread.sleep(50);
+        assertFalse(batchApplied.isDone(), "batch shall wait for the style change");
+
+        releaseSlow.countDown();
+        batchApplied.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("style", "batch"), applied);
+        executor.close();
+        assertEquals(2, executor.getCompleted());
+    }
+
+    @Test
+    void testFailuresDoNotStopFollowingEvents() {
+        executor = new OrderedRemoteEventExecutor(1, 10);
+        List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+        GeoServerEvent<?> event = layerModified();
+        executor.execute(
+                event,
+                () -> {
+                    throw new IllegalStateException("expected");
+                });
+        executor.execute(event, () -> applied.add(1));
+        executor.close();
+        assertEquals(List.of(1), applied);
+        assertEquals(1, executor.getFailed());
+        assertEquals(1, executor.getCompleted());
+    }
+
+    @Test
+    void testBlocksWhenFull() throws Exception {
+        executor = new OrderedRemoteEventExecutor(1, 1);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        executor.execute(layerModified(), () -> await(releaseSlow));
+
+        CompletableFuture<Void> submitted =
+                CompletableFuture.runAsync(() -> executor.execute(styleModified(), () -> {}));
+        Thread.sleep(50);
+        assertFalse(submitted.isDone(), "caller should be blocked while the executor is full");
+
+        releaseSlow.countDown();
+        submitted.get(5, TimeUnit.SECONDS);
+        assertEquals(1, executor.getBlockedCount());
+        assertTrue(executor.getBlockedNanos() > 0);
+    }
+}
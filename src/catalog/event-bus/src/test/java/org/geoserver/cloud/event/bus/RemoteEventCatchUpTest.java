@@ -0,0 +1,162 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.geoserver.cloud.event.UpdateSequenceEvent;
+import org.geoserver.platform.resource.FileSystemResourceStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** @since 1.0 */
+class RemoteEventCatchUpTest {
+
+    @TempDir File tmpDir;
+
+    private AtomicLong clock;
+    private UpdateSequenceTracker tracker;
+    private RemoteEventChangeLog changeLog;
+    private RemoteGeoServerEventBridge bridge;
+    private AtomicInteger fullReloads;
+    private RemoteEventCatchUp catchUp;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1000);
+        tracker = new UpdateSequenceTracker(10, clock::get);
+        changeLog =
+                new RemoteEventChangeLog(
+                        new FileSystemResourceStore(tmpDir), new ObjectMapper(), 100);
+        bridge = mock(RemoteGeoServerEventBridge.class);
+        fullReloads = new AtomicInteger();
+        catchUp =
+                new RemoteEventCatchUp(
+                        bridge,
+                        tracker,
+                        changeLog,
+                        fullReloads::incrementAndGet,
+                        () -> 20L,
+                        Duration.ofMillis(100),
+                        Duration.ofMillis(500),
+                        clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        catchUp.close();
+        changeLog.close();
+    }
+
+    /** Applies {@code 11} and {@code 15}, leaving {@code 12} to {@code 14} as overdue gaps */
+    private void leaveGaps() {
+        tracker.applied(11);
+        tracker.applied(15);
+        clock.addAndGet(1000);
+    }
+
+    @Test
+    void testReplaysLoggedAndAppliesCoalesced() {
+        leaveGaps();
+        changeLog.append(UpdateSequenceEvent.createLocal(12), "app:1");
+        changeLog.appendCoalesced(List.of(13L, 14L), "app:1");
+        changeLog.flush();
+
+        catchUp.check();
+        verify(bridge, times(1)).replay(any(), eq("app:1"));
+        assertEquals(1, catchUp.getReplayed());
+        // 12 is applied once replayed, 13 and 14 had no event
+        tracker.applied(12);
+        assertEquals(15, tracker.getWatermark());
+        assertEquals(0, catchUp.getReloads());
+    }
+
+    @Test
+    void testUnloggedGapsAreSkippedAfterTimeout() {
+        leaveGaps();
+        changeLog.append(UpdateSequenceEvent.createLocal(12), "app:1");
+        changeLog.appendCoalesced(List.of(13L), "app:1");
+        changeLog.flush();
+
+        catchUp.check();
+        tracker.applied(12);
+        assertEquals(13, tracker.getWatermark(), "14 has no log entry and must be left as a gap");
+
+        clock.addAndGet(400);
+        catchUp.check();
+        assertEquals(13, tracker.getWatermark(), "14 must be waited for until the log timeout");
+        assertEquals(0, catchUp.getSkipped());
+
+        clock.addAndGet(100);
+        catchUp.check();
+        assertEquals(15, tracker.getWatermark());
+        assertEquals(1, catchUp.getSkipped());
+        assertEquals(0, fullReloads.get());
+        assertEquals(0, catchUp.getReloads());
+    }
+
+    @Test
+    void testEmptyLogNeverReloads() {
+        leaveGaps();
+        catchUp.check();
+        clock.addAndGet(500);
+        catchUp.check();
+        assertEquals(15, tracker.getWatermark());
+        assertEquals(3, catchUp.getSkipped());
+        assertEquals(0, fullReloads.get());
+    }
+
+    @Test
+    void testUnloggedGapLoggedByNextCheckIsReplayed() {
+        leaveGaps();
+        changeLog.appendCoalesced(List.of(12L, 13L), "app:1");
+        changeLog.flush();
+
+        catchUp.check();
+        verify(bridge, never()).replay(any(), anyString());
+        assertEquals(13, tracker.getWatermark());
+
+        changeLog.append(UpdateSequenceEvent.createLocal(14), "app:2");
+        changeLog.flush();
+        clock.addAndGet(100);
+        catchUp.check();
+        verify(bridge, times(1)).replay(any(), eq("app:2"));
+        assertEquals(0, catchUp.getSkipped());
+        assertEquals(0, fullReloads.get());
+    }
+
+    @Test
+    void testReloadsWhenTheLogNoLongerCoversTheGaps() throws IOException {
+        leaveGaps();
+        changeLog.appendCoalesced(List.of(12L, 13L, 14L), "app:1");
+        changeLog.flush();
+        changeLog.prune(12);
+
+        catchUp.check();
+        assertEquals(1, fullReloads.get());
+        assertEquals(1, catchUp.getReloads());
+        assertEquals(20, tracker.getWatermark());
+        assertTrue(tracker.overdueGaps(0, 100).isEmpty());
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.event.impl.CatalogAddEventImpl;
+import org.geoserver.cloud.event.bus.RemoteEventChangeLog.Entry;
+import org.geoserver.cloud.event.catalog.CatalogInfoAdded;
+import org.geoserver.jackson.databind.catalog.GeoServerCatalogModule;
+import org.geoserver.jackson.databind.config.GeoServerConfigModule;
+import org.geoserver.platform.resource.FileSystemResourceStore;
+import org.geotools.jackson.databind.filter.GeoToolsFilterModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/** @since 1.0 */
+class RemoteEventChangeLogTest {
+
+    @TempDir File tmpDir;
+
+    private CatalogTestData data;
+    private RemoteEventChangeLog changeLog;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModules(
+                new GeoToolsFilterModule(),
+                new GeoServerCatalogModule(),
+                new GeoServerConfigModule());
+        changeLog = new RemoteEventChangeLog(new FileSystemResourceStore(tmpDir), mapper, 10);
+        data = CatalogTestData.empty().initialize();
+    }
+
+    private CatalogInfoAdded added(long updateSequence) {
+        return added(updateSequence, data.workspaceA);
+    }
+
+    private CatalogInfoAdded added(long updateSequence, CatalogInfo info) {
+        CatalogAddEventImpl addEvent = new CatalogAddEventImpl();
+        addEvent.setSource(info);
+        return CatalogInfoAdded.createLocal(updateSequence, addEvent);
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeLog.close();
+    }
+
+    @Test
+    void testEmptyLog() {
+        assertEquals(OptionalLong.empty(), changeLog.oldest());
+        assertEquals(Optional.of(List.of()), changeLog.read(List.of(1L)));
+        assertEquals(Optional.of(List.of()), changeLog.read(List.of()));
+    }
+
+    @Test
+    void testAppendAndRead() {
+        changeLog.append(added(5), "app:1");
+        changeLog.append(added(6), "app:2");
+        changeLog.append(added(8), "app:1");
+        changeLog.flush();
+        assertTrue(changeLog.oldest().getAsLong() <= 5);
+
+        List<Entry> entries = changeLog.read(List.of(8L, 6L, 7L)).orElseThrow();
+        assertEquals(2, entries.size(), "7 has no entry and should be skipped");
+        assertEquals("app:2", entries.get(0).getOrigin());
+        assertEquals(6L, entries.get(0).getEvent().getUpdateSequence());
+        assertEquals("app:1", entries.get(1).getOrigin());
+        assertEquals(8L, entries.get(1).getEvent().getUpdateSequence());
+        assertTrue(entries.get(1).getEvent() instanceof CatalogInfoAdded);
+        assertEquals(
+                data.workspaceA.getId(),
+                ((CatalogInfoAdded) entries.get(1).getEvent()).getObjectId());
+    }
+
+    @Test
+    void testAppendCoalesced() {
+        changeLog.append(added(5), "app:1");
+        changeLog.appendCoalesced(List.of(6L, 7L), "app:1");
+        changeLog.flush();
+
+        List<Entry> entries = changeLog.read(List.of(5L, 6L, 7L, 8L)).orElseThrow();
+        assertEquals(3, entries.size());
+        assertEquals(5L, entries.get(0).getSequence());
+        assertNotNull(entries.get(0).getEvent());
+        assertEquals(6L, entries.get(1).getSequence());
+        assertNull(entries.get(1).getEvent(), "coalesced entries have no event");
+        assertEquals(7L, entries.get(2).getSequence());
+        assertNull(entries.get(2).getEvent());
+    }
+
+    @Test
+    void testAppendBatch() {
+        changeLog.append(added(5), "app:1");
+        changeLog.appendBatch(
+                List.of(added(6, data.workspaceB), added(6, data.namespaceB)), "app:2");
+        changeLog.flush();
+
+        List<Entry> entries = changeLog.read(List.of(5L, 6L)).orElseThrow();
+        assertEquals(2, entries.size());
+        assertEquals(1, entries.get(0).getEventsToApply().size());
+
+        Entry batch = entries.get(1);
+        assertEquals(6L, batch.getSequence());
+        assertEquals("app:2", batch.getOrigin());
+        assertNull(batch.getEvent());
+        List<String> ids =
+                batch.getEventsToApply().stream()
+                        .map(e -> ((CatalogInfoAdded) e).getObjectId())
+                        .collect(Collectors.toList());
+        assertEquals(List.of(data.workspaceB.getId(), data.namespaceB.getId()), ids);
+    }
+
+    @Test
+    void testAppendIsIdempotentPerSequence() {
+        changeLog.append(added(5), "app:1");
+        changeLog.flush();
+        // e.g. the batch holding it is published again after a failure
+        changeLog.append(added(5), "app:2");
+        changeLog.appendCoalesced(List.of(5L), "app:2");
+        changeLog.flush();
+
+        List<Entry> entries = changeLog.read(List.of(5L)).orElseThrow();
+        assertEquals(1, entries.size());
+        assertEquals("app:1", entries.get(0).getOrigin());
+        assertNotNull(entries.get(0).getEvent());
+        assertEquals(0, changeLog.getDropped());
+    }
+
+    @Test
+    void testReadBeforeOldestIsTruncated() throws IOException {
+        changeLog.append(added(5), "app:1");
+        changeLog.append(added(6), "app:1");
+        changeLog.flush();
+        changeLog.prune(4);
+        assertEquals(OptionalLong.of(5), changeLog.oldest());
+        assertEquals(Optional.empty(), changeLog.read(List.of(4L, 5L)));
+        assertEquals(2, changeLog.read(List.of(5L, 6L)).orElseThrow().size());
+    }
+
+    @Test
+    void testPrune() throws IOException {
+        for (long seq = 1; seq <= 20; seq++) {
+            changeLog.append(added(seq), "app:1");
+        }
+        changeLog.flush();
+        changeLog.prune(15);
+        assertEquals(OptionalLong.of(16), changeLog.oldest());
+        assertEquals(Optional.empty(), changeLog.read(List.of(15L)));
+        assertEquals(5, changeLog.read(List.of(16L, 17L, 18L, 19L, 20L)).orElseThrow().size());
+        assertFalse(entry(15).exists());
+    }
+
+    @Test
+    void testWritersMoveTheLowWaterMark() {
+        for (long seq = 1; seq <= 30; seq++) {
+            changeLog.append(added(seq), "app:1");
+            changeLog.flush();
+        }
+        // keeps at least capacity (10) values below the highest appended one, moving the mark
+        // forward in steps of at least capacity values
+        assertEquals(OptionalLong.of(12), changeLog.oldest());
+        for (long seq = 1; seq < 12; seq++) {
+            assertFalse(entry(seq).exists(), "entry " + seq + " should have been pruned");
+        }
+        List<Long> retained = LongStream.rangeClosed(12, 30).boxed().collect(Collectors.toList());
+        assertEquals(19, changeLog.read(retained).orElseThrow().size());
+    }
+
+    @Test
+    void testAppendAfterCloseIsDropped() {
+        changeLog.close();
+        changeLog.append(added(5), "app:1");
+        assertEquals(1, changeLog.getDropped());
+        assertEquals(Optional.of(List.of()), changeLog.read(List.of(5L)));
+    }
+
+    private File entry(long sequence) {
+        String name = String.format("%019d.json", sequence);
+        return new File(new File(tmpDir, RemoteEventChangeLog.DIRECTORY), name);
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.event.impl.CatalogAddEventImpl;
+import org.geoserver.cloud.event.catalog.CatalogInfoAdded;
+import org.geoserver.jackson.databind.catalog.GeoServerCatalogModule;
+import org.geoserver.jackson.databind.config.GeoServerConfigModule;
+import org.geotools.jackson.databind.filter.GeoToolsFilterModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.cloud.bus.event.PathDestinationFactory;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** @since 1.0 */
+@Slf4j
+class RemoteEventSmileMessageConverterTest {
+
+    private final List<Module> modules =
+            List.of(
+                    new GeoToolsFilterModule(),
+                    new GeoServerCatalogModule(),
+                    new GeoServerConfigModule());
+
+    private RemoteEventSmileMessageConverter converter;
+    private ObjectMapper jsonMapper;
+    private RemoteGeoServerEvent featureTypeAdded;
+
+    @BeforeEach
+    void setUp() {
+        converter = RemoteEventSmileMessageConverter.create(modules);
+        jsonMapper = new ObjectMapper();
+        jsonMapper.registerModules(modules);
+        jsonMapper.registerSubtypes(RemoteEventSmileMessageConverter.remoteEventTypes());
+
+        CatalogTestData data = CatalogTestData.empty().initialize();
+        featureTypeAdded = remoteAddEvent(data.featureTypeA);
+    }
+
+    private RemoteGeoServerEvent remoteAddEvent(FeatureTypeInfo info) {
+        CatalogAddEventImpl addEvent = new CatalogAddEventImpl();
+        addEvent.setSource(info);
+        CatalogInfoAdded event = CatalogInfoAdded.createLocal(1L, addEvent);
+        return new RemoteGeoServerEvent(
+                this, event, "app:1", new PathDestinationFactory().getDestination("**"));
+    }
+
+    private Message<?> encode(RemoteApplicationEvent event) {
+        MessageHeaders headers =
+                new MessageHeaders(
+                        Map.of(
+                                MessageHeaders.CONTENT_TYPE,
+                                RemoteEventSmileMessageConverter.MIME_TYPE));
+        return converter.toMessage(event, headers);
+    }
+
+    @Test
+    void testRoundTrip() {
+        Message<?> message = encode(featureTypeAdded);
+        assertNotNull(message);
+        assertTrue(message.getPayload() instanceof byte[]);
+
+        Object decoded = converter.fromMessage(message, RemoteApplicationEvent.class);
+        assertTrue(decoded instanceof RemoteGeoServerEvent);
+        RemoteGeoServerEvent event = (RemoteGeoServerEvent) decoded;
+        assertEquals(featureTypeAdded.getId(), event.getId());
+        assertEquals(featureTypeAdded.getOriginService(), event.getOriginService());
+        CatalogInfoAdded expected = (CatalogInfoAdded) featureTypeAdded.getEvent();
+        CatalogInfoAdded actual = (CatalogInfoAdded) event.getEvent();
+        assertEquals(expected.getObjectId(), actual.getObjectId());
+        assertEquals(expected.getUpdateSequence(), actual.getUpdateSequence());
+        FeatureTypeInfo ft = (FeatureTypeInfo) actual.getObject();
+        assertEquals(((FeatureTypeInfo) expected.getObject()).getName(), ft.getName());
+    }
+
+    @Test
+    void testIgnoresMessagesWithoutSmileContentType() throws Exception {
+        byte[] json = jsonMapper.writeValueAsBytes(featureTypeAdded);
+        Message<byte[]> untyped = MessageBuilder.withPayload(json).build();
+        assertNull(converter.fromMessage(untyped, RemoteApplicationEvent.class));
+
+        Message<byte[]> jsonTyped =
+                MessageBuilder.withPayload(json)
+                        .setHeader(MessageHeaders.CONTENT_TYPE, "application/json")
+                        .build();
+        assertNull(converter.fromMessage(jsonTyped, RemoteApplicationEvent.class));
+    }
+
+    @Test
+    void testSmallerThanJson() throws Exception {
+        byte[] json = jsonMapper.writeValueAsBytes(featureTypeAdded);
+        byte[] smile = (byte[]) encode(featureTypeAdded).getPayload();
+        assertTrue(
+                smile.length < json.length,
+                () ->
+                        String.format(
+                                "smile: %,d bytes, json: %,d bytes", smile.length, json.length));
+    }
+
+    /**
+     * Rough size and throughput comparison of JSON and Smile for a {@link FeatureTypeInfo} add
+     * event, run with {@code -Dbenchmark=true}. Results are logged at {@code INFO} level; only the
+     * size ratio and the decoded events are asserted, throughput depends too much on the machine.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkFeatureTypeAdded() throws Exception {
+        final int iterations = 20_000;
+        byte[] json = jsonMapper.writeValueAsBytes(featureTypeAdded);
+        byte[] smile = (byte[]) encode(featureTypeAdded).getPayload();
+        ObjectMapper smileMapper = converter.getMapper();
+
+        // warm up
+        for (int i = 0; i < iterations; i++) {
+            jsonMapper.readValue(
+                    jsonMapper.writeValueAsBytes(featureTypeAdded), RemoteApplicationEvent.class);
+            smileMapper.readValue(
+                    smileMapper.writeValueAsBytes(featureTypeAdded), RemoteApplicationEvent.class);
+        }
+
+        RemoteApplicationEvent jsonDecoded = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            jsonDecoded =
+                    jsonMapper.readValue(
+                            jsonMapper.writeValueAsBytes(featureTypeAdded),
+                            RemoteApplicationEvent.class);
+        }
+        long jsonNanos = System.nanoTime() - start;
+
+        RemoteApplicationEvent smileDecoded = null;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            smileDecoded =
+                    smileMapper.readValue(
+                            smileMapper.writeValueAsBytes(featureTypeAdded),
+                            RemoteApplicationEvent.class);
+        }
+        long smileNanos = System.nanoTime() - start;
+
+        final double sizeRatio = smile.length / (double) json.length;
+        log.info(
+                "FeatureTypeInfo add event, {} encode/decode round trips: json {} bytes, {} ops/s;"
+                        + " smile {} bytes ({}% of json), {} ops/s",
+                iterations,
+                json.length,
+                opsPerSecond(iterations, jsonNanos),
+                smile.length,
+                Math.round(sizeRatio * 100),
+                opsPerSecond(iterations, smileNanos));
+
+        assertTrue(sizeRatio < 1, "smile should be smaller than json: " + sizeRatio);
+        assertEquals(featureTypeAdded.getId(), jsonDecoded.getId());
+        assertEquals(featureTypeAdded.getId(), smileDecoded.getId());
+    }
+
+    private static long opsPerSecond(int iterations, long nanos) {
+        return Math.round(iterations / (nanos / (double) TimeUnit.SECONDS.toNanos(1)));
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.event.impl.CatalogAddEventImpl;
+import org.geoserver.catalog.plugin.Patch;
+import org.geoserver.cloud.event.GeoServerEvent;
+import org.geoserver.cloud.event.UpdateSequenceBatch;
+import org.geoserver.cloud.event.UpdateSequenceEvent;
+import org.geoserver.cloud.event.catalog.CatalogInfoAdded;
+import org.geoserver.cloud.event.catalog.CatalogInfoModified;
+import org.geoserver.jackson.databind.catalog.GeoServerCatalogModule;
+import org.geoserver.jackson.databind.config.GeoServerConfigModule;
+import org.geotools.jackson.databind.filter.GeoToolsFilterModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.bus.ServiceMatcher;
+import org.springframework.cloud.bus.event.PathDestinationFactory;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/** @since 1.0 */
+class RemoteGeoServerEventBatchTest {
+
+    private final List<Module> modules =
+            List.of(
+                    new GeoToolsFilterModule(),
+                    new GeoServerCatalogModule(),
+                    new GeoServerConfigModule());
+
+    private CatalogTestData data;
+    private ObjectMapper jsonMapper;
+    private RemoteGeoServerEventMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        data = CatalogTestData.empty().initialize();
+        jsonMapper = new ObjectMapper();
+        jsonMapper.registerModules(modules);
+        jsonMapper.registerSubtypes(RemoteEventSmileMessageConverter.remoteEventTypes());
+
+        ServiceMatcher serviceMatcher = mock(ServiceMatcher.class);
+        when(serviceMatcher.getBusId()).thenReturn("app:1");
+        mapper =
+                new RemoteGeoServerEventMapper(
+                        mock(InfoEventResolver.class),
+                        serviceMatcher,
+                        new PathDestinationFactory());
+    }
+
+    private List<GeoServerEvent<?>> events() {
+        CatalogAddEventImpl addEvent = new CatalogAddEventImpl();
+        addEvent.setSource(data.workspaceA);
+        CatalogInfoAdded added = CatalogInfoAdded.createLocal(1L, addEvent);
+        CatalogInfoModified modified =
+                CatalogInfoModified.createLocal(
+                        2L, data.layerFeatureTypeA, new Patch().with("enabled", false));
+        return List.of(added, modified, UpdateSequenceEvent.createLocal(3));
+    }
+
+    @Test
+    void testEventsGetIdsOfTheirOwn() {
+        List<GeoServerEvent<?>> events = events();
+        RemoteGeoServerEventBatch batch = mapper.toRemote(events, List.of(4L));
+
+        Set<String> ids =
+                batch.getEvents().stream().map(GeoServerEvent::getId).collect(Collectors.toSet());
+        assertEquals(events.size(), ids.size());
+        assertTrue(ids.stream().noneMatch(batch.getId()::equals));
+        for (int i = 0; i < events.size(); i++) {
+            assertNotNull(events.get(i).getId());
+            assertEquals(events.get(i).getId(), batch.getEvents().get(i).getId());
+            assertEquals("app:1", batch.getEvents().get(i).getOrigin());
+        }
+    }
+
+    @Test
+    void testJsonRoundTrip() throws Exception {
+        List<GeoServerEvent<?>> events = events();
+        RemoteGeoServerEventBatch batch = mapper.toRemote(events, List.of(4L, 5L));
+
+        byte[] encoded = jsonMapper.writeValueAsBytes(batch);
+        RemoteApplicationEvent decoded =
+                jsonMapper.readValue(encoded, RemoteApplicationEvent.class);
+
+        assertTrue(decoded instanceof RemoteGeoServerEventBatch);
+        RemoteGeoServerEventBatch actual = (RemoteGeoServerEventBatch) decoded;
+        assertEquals(batch.getId(), actual.getId());
+        assertEquals(batch.getOriginService(), actual.getOriginService());
+        assertEquals(List.of(4L, 5L), actual.getCoalescedSequences());
+        assertEquals(events.size(), actual.getEvents().size());
+        for (int i = 0; i < events.size(); i++) {
+            GeoServerEvent<?> expected = events.get(i);
+            GeoServerEvent<?> event = actual.getEvents().get(i);
+            assertEquals(expected.getClass(), event.getClass());
+            assertEquals(expected.getId(), event.getId());
+            assertEquals(
+                    ((UpdateSequenceEvent<?>) expected).getUpdateSequence(),
+                    ((UpdateSequenceEvent<?>) event).getUpdateSequence());
+        }
+        CatalogInfoModified modified = (CatalogInfoModified) actual.getEvents().get(1);
+        assertEquals(false, modified.getPatch().getValue("enabled").orElseThrow());
+    }
+
+    @Test
+    void testReceiverUnpacksBatchInOrder() {
+        testReceiverUnpacksBatchInOrder(false);
+    }
+
+    @Test
+    void testReceiverUnpacksBatchInOrderConcurrentDispatch() {
+        testReceiverUnpacksBatchInOrder(true);
+    }
+
+    private CatalogInfoAdded added(long updateSequence, CatalogInfo info) {
+        CatalogAddEventImpl addEvent = new CatalogAddEventImpl();
+        addEvent.setSource(info);
+        return CatalogInfoAdded.createLocal(updateSequence, addEvent);
+    }
+
+    /** Mapper for the receiving end, that publishes the incoming events as they are */
+    private RemoteGeoServerEventMapper receiverMapper() {
+        RemoteGeoServerEventMapper receiverMapper = mock(RemoteGeoServerEventMapper.class);
+        when(receiverMapper.ifRemote(any(RemoteGeoServerEventBatch.class)))
+                .thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
+        when(receiverMapper.toLocalRemote(any(GeoServerEvent.class), anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        return receiverMapper;
+    }
+
+    private void testReceiverUnpacksBatchInOrder(boolean concurrent) {
+        List<GeoServerEvent<?>> published = Collections.synchronizedList(new ArrayList<>());
+        RemoteGeoServerEventBridge bridge =
+                new RemoteGeoServerEventBridge(
+                        published::add, remote -> {}, receiverMapper(), () -> "app:2");
+        if (concurrent) {
+            bridge.enableConcurrentDispatch(4, 10);
+        }
+
+        List<GeoServerEvent<?>> events = events();
+        RemoteGeoServerEventBatch batch = mapper.toRemote(events, List.of());
+        bridge.handleRemoteEventBatch(batch);
+        bridge.close();
+
+        assertEquals(events, published);
+        assertEquals(0, bridge.getIncomingPending());
+        bridge.getIncomingExecutor().ifPresent(e -> assertEquals(1, e.getCompleted()));
+    }
+
+    @Test
+    void testUpdateSequenceBatchIsBroadcastAsAWhole() {
+        List<RemoteApplicationEvent> sent = new ArrayList<>();
+        RemoteGeoServerEventBridge bridge =
+                new RemoteGeoServerEventBridge(event -> {}, sent::add, mapper, () -> "app:1");
+        RemoteEventChangeLog changeLog = mock(RemoteEventChangeLog.class);
+        bridge.enableCatchUp(new UpdateSequenceTracker(0), changeLog);
+
+        List<UpdateSequenceEvent<?>> events = new ArrayList<>();
+        try (UpdateSequenceBatch batch =
+                UpdateSequenceBatch.begin(
+                        event -> bridge.handleLocalEventBatch((UpdateSequenceBatch) event))) {
+            final long sequence = batch.updateSequence(() -> 7L);
+            for (CatalogInfo info : List.of(data.workspaceA, data.workspaceB)) {
+                CatalogInfoAdded added = added(sequence, info);
+                bridge.handleLocalEvent(added);
+                batch.add(added);
+                events.add(added);
+            }
+            assertTrue(sent.isEmpty(), "events shall be broadcast once the batch is closed");
+        }
+        bridge.close();
+
+        assertEquals(1, sent.size());
+        assertTrue(sent.get(0) instanceof RemoteGeoServerEventBatch);
+        RemoteGeoServerEventBatch remote = (RemoteGeoServerEventBatch) sent.get(0);
+        assertEquals(events, remote.getEvents());
+        verify(changeLog).appendBatch(events, "app:1");
+        verify(changeLog, never()).append(any(), anyString());
+    }
+
+    @Test
+    void testReceiverAppliesAllTheEventsOfABatchOfChanges() {
+        List<GeoServerEvent<?>> published = new ArrayList<>();
+        RemoteGeoServerEventBridge bridge =
+                new RemoteGeoServerEventBridge(
+                        published::add, remote -> {}, receiverMapper(), () -> "app:2");
+        UpdateSequenceTracker tracker = new UpdateSequenceTracker(0);
+        bridge.enableCatchUp(tracker, mock(RemoteEventChangeLog.class));
+
+        List<GeoServerEvent<?>> events =
+                List.of(added(1, data.workspaceA), added(1, data.workspaceB));
+        bridge.handleRemoteEventBatch(mapper.toRemote(events, List.of()));
+        assertEquals(events, published, "events sharing an update sequence are not duplicates");
+        assertTrue(tracker.isDuplicate(1));
+
+        // e.g. replayed from the change log afterwards
+        bridge.replayBatch(List.of(added(1, data.workspaceA), added(1, data.workspaceB)), "app:1");
+        assertEquals(events, published);
+        bridge.close();
+    }
+
+    @Test
+    void testSmileRoundTripKeepsEventIds() {
+        RemoteEventSmileMessageConverter converter =
+                RemoteEventSmileMessageConverter.create(modules);
+        RemoteGeoServerEventBatch batch = mapper.toRemote(events(), List.of());
+
+        MessageHeaders headers =
+                new MessageHeaders(
+                        Map.of(
+                                MessageHeaders.CONTENT_TYPE,
+                                RemoteEventSmileMessageConverter.MIME_TYPE));
+        Message<?> message = converter.toMessage(batch, headers);
+        RemoteGeoServerEventBatch decoded =
+                (RemoteGeoServerEventBatch)
+                        converter.fromMessage(message, RemoteApplicationEvent.class);
+        assertNotNull(decoded);
+        assertEquals(
+                batch.getEvents().stream().map(GeoServerEvent::getId).collect(Collectors.toList()),
+                decoded.getEvents().stream()
+                        .map(GeoServerEvent::getId)
+                        .collect(Collectors.toList()));
+        assertNotEquals(batch.getId(), decoded.getEvents().get(0).getId());
+    }
+}
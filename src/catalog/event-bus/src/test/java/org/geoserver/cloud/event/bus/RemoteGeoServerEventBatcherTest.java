@@ -0,0 +1,187 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.geoserver.cloud.event.GeoServerEvent;
+import org.geoserver.cloud.event.UpdateSequenceEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/** @since 1.0 */
+class RemoteGeoServerEventBatcherTest {
+
+    private BlockingQueue<List<GeoServerEvent<?>>> published = new LinkedBlockingQueue<>();
+    private RemoteGeoServerEventBatcher batcher;
+
+    @AfterEach
+    void after() {
+        if (batcher != null) batcher.close();
+    }
+
+    private List<GeoServerEvent<?>> events(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(UpdateSequenceEvent::createLocal)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new RemoteGeoServerEventBatcher(published::add, 0, Duration.ZERO));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new RemoteGeoServerEventBatcher(published::add, 1, Duration.ofMillis(-1)));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new RemoteGeoServerEventBatcher(published::add, 10, Duration.ZERO, 5));
+    }
+
+    @Test
+    void testFlushesWhenFull() {
+        batcher = new RemoteGeoServerEventBatcher(published::add, 3, Duration.ofHours(1));
+        List<GeoServerEvent<?>> events = events(7);
+        events.forEach(batcher::add);
+
+        assertEquals(2, published.size());
+        assertEquals(events.subList(0, 3), published.poll());
+        assertEquals(events.subList(3, 6), published.poll());
+        assertEquals(1, batcher.pending());
+
+        batcher.close();
+        assertEquals(events.subList(6, 7), published.poll());
+        assertEquals(0, batcher.pending());
+    }
+
+    @Test
+    void testFlushesAfterMaxDelay() throws InterruptedException {
+        batcher = new RemoteGeoServerEventBatcher(published::add, 100, Duration.ofMillis(10));
+        List<GeoServerEvent<?>> events = events(5);
+        events.forEach(batcher::add);
+
+        List<GeoServerEvent<?>> batch = published.poll(5, TimeUnit.SECONDS);
+        assertEquals(events, batch);
+        assertEquals(0, batcher.pending());
+
+        List<GeoServerEvent<?>> next = events(1);
+        batcher.add(next.get(0));
+        assertEquals(next, published.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testFailedFlushIsRetried() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        Consumer<List<GeoServerEvent<?>>> failingOnce =
+                batch -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        throw new IllegalStateException("bus unavailable");
+                    }
+                    published.add(batch);
+                };
+        batcher = new RemoteGeoServerEventBatcher(failingOnce, 100, Duration.ofMillis(10));
+        List<GeoServerEvent<?>> events = events(5);
+        events.subList(0, 3).forEach(batcher::add);
+
+        // the timer flush fails, the events are kept and published with the next ones
+        while (attempts.get() == 0) {
+            Thread.sleep(1);
+        }
+        events.subList(3, 5).forEach(batcher::add);
+
+        List<GeoServerEvent<?>> republished = new ArrayList<>();
+        while (republished.size() < events.size()) {
+            List<GeoServerEvent<?>> batch = published.poll(5, TimeUnit.SECONDS);
+            assertNotNull(batch, "failed batch was not published again");
+            republished.addAll(batch);
+        }
+        assertEquals(events, republished);
+        assertEquals(0, batcher.pending());
+    }
+
+    @Test
+    void testFailedFlushKeepsEvents() {
+        batcher =
+                new RemoteGeoServerEventBatcher(
+                        batch -> {
+                            throw new IllegalStateException("bus unavailable");
+                        },
+                        10,
+                        Duration.ofHours(1));
+        events(3).forEach(batcher::add);
+        assertThrows(IllegalStateException.class, batcher::flush);
+        assertEquals(3, batcher.pending());
+        assertThrows(IllegalStateException.class, batcher::close);
+        batcher = null;
+    }
+
+    @Test
+    void testAddNeverThrows() {
+        AtomicInteger attempts = new AtomicInteger();
+        batcher =
+                new RemoteGeoServerEventBatcher(
+                        batch -> {
+                            attempts.incrementAndGet();
+                            throw new IllegalStateException("bus unavailable");
+                        },
+                        2,
+                        Duration.ofHours(1));
+        events(5).forEach(batcher::add);
+
+        // only the first full batch is tried, the rest wait for the scheduled retry
+        assertEquals(1, attempts.get());
+        assertEquals(5, batcher.pending());
+        assertEquals(0, batcher.getDropped());
+        assertThrows(IllegalStateException.class, batcher::close);
+        batcher = null;
+    }
+
+    @Test
+    void testDropsOldestBeyondMaxPending() {
+        AtomicInteger attempts = new AtomicInteger();
+        batcher =
+                new RemoteGeoServerEventBatcher(
+                        batch -> {
+                            if (attempts.incrementAndGet() == 1) {
+                                throw new IllegalStateException("bus unavailable");
+                            }
+                            published.add(batch);
+                        },
+                        2,
+                        Duration.ofHours(1),
+                        4);
+        List<GeoServerEvent<?>> events = events(7);
+        events.forEach(batcher::add);
+
+        assertEquals(4, batcher.pending());
+        assertEquals(3, batcher.getDropped());
+
+        batcher.flush();
+        assertEquals(events.subList(3, 7), published.poll());
+        assertEquals(0, batcher.pending());
+    }
+
+    @Test
+    void testFlushEmptyIsNoOp() {
+        batcher = new RemoteGeoServerEventBatcher(published::add, 10, Duration.ofHours(1));
+        batcher.flush();
+        assertTrue(published.isEmpty());
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.plugin.Patch;
+import org.geoserver.cloud.event.GeoServerEvent;
+import org.geoserver.cloud.event.UpdateSequenceEvent;
+import org.geoserver.cloud.event.catalog.CatalogInfoModified;
+import org.geoserver.cloud.event.config.GeoServerInfoModified;
+import org.geoserver.config.impl.GeoServerInfoImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** @since 1.0 */
+class RemoteGeoServerEventCoalescerTest {
+
+    private CatalogTestData data;
+    private long sequence;
+
+    @BeforeEach
+    void setUp() {
+        data = CatalogTestData.empty().initialize();
+    }
+
+    private CatalogInfoModified layerModified(Patch patch) {
+        return CatalogInfoModified.createLocal(++sequence, data.layerFeatureTypeA, patch);
+    }
+
+    private CatalogInfoModified styleModified(Patch patch) {
+        return CatalogInfoModified.createLocal(++sequence, data.style1, patch);
+    }
+
+    private GeoServerInfoModified updateSequenceModified() {
+        long seq = ++sequence;
+        return GeoServerInfoModified.createLocal(
+                seq, new GeoServerInfoImpl(), new Patch().with("updateSequence", seq));
+    }
+
+    @Test
+    void testIsNoChange() {
+        assertTrue(RemoteGeoServerEventCoalescer.isNoChange(layerModified(new Patch())));
+        assertFalse(
+                RemoteGeoServerEventCoalescer.isNoChange(
+                        layerModified(new Patch().with("enabled", false))));
+        assertFalse(RemoteGeoServerEventCoalescer.isNoChange(UpdateSequenceEvent.createLocal(1)));
+    }
+
+    @Test
+    void testIsUpdateSequenceOnly() {
+        assertTrue(
+                RemoteGeoServerEventCoalescer.isUpdateSequenceOnly(
+                        UpdateSequenceEvent.createLocal(1)));
+        assertTrue(RemoteGeoServerEventCoalescer.isUpdateSequenceOnly(updateSequenceModified()));
+        assertFalse(
+                RemoteGeoServerEventCoalescer.isUpdateSequenceOnly(
+                        GeoServerInfoModified.createLocal(
+                                1L,
+                                new GeoServerInfoImpl(),
+                                new Patch().with("updateSequence", 1L).with("verbose", true))));
+        assertFalse(
+                RemoteGeoServerEventCoalescer.isUpdateSequenceOnly(
+                        layerModified(new Patch().with("enabled", false))));
+    }
+
+    @Test
+    void testDropsNoChangeEvents() {
+        CatalogInfoModified change = layerModified(new Patch().with("enabled", false));
+        List<GeoServerEvent<?>> events = List.of(layerModified(new Patch()), change);
+
+        assertEquals(List.of(change), RemoteGeoServerEventCoalescer.coalesce(events));
+    }
+
+    @Test
+    void testKeepsLastUpdateSequenceOnly() {
+        CatalogInfoModified layer = layerModified(new Patch().with("enabled", false));
+        GeoServerInfoModified seq1 = updateSequenceModified();
+        CatalogInfoModified style = styleModified(new Patch().with("name", "newName"));
+        GeoServerInfoModified seq2 = updateSequenceModified();
+        UpdateSequenceEvent<?> seq3 = UpdateSequenceEvent.createLocal(++sequence);
+
+        List<GeoServerEvent<?>> events = List.of(layer, seq1, style, seq2, seq3);
+        assertEquals(List.of(layer, style, seq3), RemoteGeoServerEventCoalescer.coalesce(events));
+    }
+
+    @Test
+    void testMergesConsecutivePatchesToSameObject() {
+        CatalogInfoModified first =
+                layerModified(new Patch().with("enabled", false).with("title", "t1"));
+        GeoServerInfoModified seq1 = updateSequenceModified();
+        CatalogInfoModified second =
+                layerModified(new Patch().with("title", "t2").with("abstract", "a2"));
+        GeoServerInfoModified seq2 = updateSequenceModified();
+
+        List<GeoServerEvent<?>> coalesced =
+                RemoteGeoServerEventCoalescer.coalesce(List.of(first, seq1, second, seq2));
+
+        assertEquals(2, coalesced.size());
+        CatalogInfoModified merged = (CatalogInfoModified) coalesced.get(0);
+        assertNotSame(second, merged);
+        assertEquals(second.getId(), merged.getId());
+        assertEquals(second.getObjectId(), merged.getObjectId());
+        assertEquals(second.getUpdateSequence(), merged.getUpdateSequence());
+        Patch patch = merged.getPatch();
+        assertEquals(3, patch.size());
+        assertEquals(false, patch.getValue("enabled").orElseThrow());
+        assertEquals("t2", patch.getValue("title").orElseThrow());
+        assertEquals("a2", patch.getValue("abstract").orElseThrow());
+        assertSame(seq2, coalesced.get(1));
+
+        // the original events, possibly delivered to local listeners already, are left untouched
+        assertEquals(2, first.getPatch().size());
+        assertEquals(2, second.getPatch().size());
+        assertEquals("t2", second.getPatch().getValue("title").orElseThrow());
+        assertTrue(second.getPatch().get("enabled").isEmpty());
+    }
+
+    @Test
+    void testDoesNotMergeAcrossOtherObjects() {
+        CatalogInfoModified layer1 = layerModified(new Patch().with("enabled", false));
+        CatalogInfoModified style = styleModified(new Patch().with("name", "newName"));
+        CatalogInfoModified layer2 = layerModified(new Patch().with("enabled", true));
+
+        List<GeoServerEvent<?>> events = List.of(layer1, style, layer2);
+        assertEquals(events, RemoteGeoServerEventCoalescer.coalesce(events));
+    }
+
+    @Test
+    void testCoalescedSequences() {
+        CatalogInfoModified noChange = layerModified(new Patch());
+        CatalogInfoModified first = layerModified(new Patch().with("enabled", false));
+        GeoServerInfoModified seq1 = updateSequenceModified();
+        CatalogInfoModified second = layerModified(new Patch().with("enabled", true));
+        GeoServerInfoModified seq2 = updateSequenceModified();
+
+        List<GeoServerEvent<?>> events = List.of(noChange, first, seq1, second, seq2);
+        List<GeoServerEvent<?>> coalesced = RemoteGeoServerEventCoalescer.coalesce(events);
+        assertEquals(List.of(second, seq2), coalesced);
+        assertEquals(
+                List.of(
+                        noChange.getUpdateSequence(),
+                        first.getUpdateSequence(),
+                        seq1.getUpdateSequence()),
+                RemoteGeoServerEventCoalescer.coalescedSequences(events, coalesced));
+    }
+
+    @Test
+    void testCoalescingLeavesNoUpdateSequenceGaps() {
+        final long baseline = sequence;
+        List<GeoServerEvent<?>> events =
+                List.of(
+                        layerModified(new Patch().with("enabled", false)),
+                        updateSequenceModified(),
+                        layerModified(new Patch()),
+                        updateSequenceModified(),
+                        layerModified(new Patch().with("title", "t2")),
+                        updateSequenceModified(),
+                        styleModified(new Patch().with("name", "newName")),
+                        updateSequenceModified());
+        List<GeoServerEvent<?>> coalesced = RemoteGeoServerEventCoalescer.coalesce(events);
+        List<Long> coalescedSequences =
+                RemoteGeoServerEventCoalescer.coalescedSequences(events, coalesced);
+
+        AtomicLong clock = new AtomicLong(1000);
+        UpdateSequenceTracker receiver = new UpdateSequenceTracker(baseline, clock::get);
+        coalesced.forEach(e -> receiver.applied(((UpdateSequenceEvent<?>) e).getUpdateSequence()));
+        clock.addAndGet(10_000);
+        assertFalse(
+                receiver.overdueGaps(1000, 100).isEmpty(),
+                "coalesced events should leave gaps if their sequences are not accounted for");
+
+        receiver.applied(coalescedSequences);
+        assertTrue(receiver.overdueGaps(1000, 100).isEmpty());
+        assertEquals(sequence, receiver.getWatermark());
+    }
+}
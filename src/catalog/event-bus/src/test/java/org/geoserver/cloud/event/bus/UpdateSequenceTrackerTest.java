@@ -0,0 +1,100 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event.bus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** @since 1.0 */
+class UpdateSequenceTrackerTest {
+
+    private AtomicLong clock;
+    private UpdateSequenceTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1000);
+        tracker = new UpdateSequenceTracker(10, clock::get);
+    }
+
+    @Test
+    void testContiguousAdvancesWatermark() {
+        tracker.applied(11);
+        tracker.applied(12);
+        tracker.applied(13);
+        assertEquals(13, tracker.getWatermark());
+        assertEquals(13, tracker.getHighest());
+    }
+
+    @Test
+    void testOutOfOrder() {
+        tracker.applied(12);
+        tracker.applied(13);
+        assertEquals(10, tracker.getWatermark());
+        assertEquals(13, tracker.getHighest());
+        tracker.applied(11);
+        assertEquals(13, tracker.getWatermark());
+    }
+
+    @Test
+    void testIsDuplicate() {
+        assertFalse(tracker.isDuplicate(5), "values up to the baseline are never duplicates");
+        assertFalse(tracker.isDuplicate(10));
+        assertFalse(tracker.isDuplicate(11));
+        tracker.applied(11);
+        tracker.applied(13);
+        assertTrue(tracker.isDuplicate(11));
+        assertFalse(tracker.isDuplicate(12));
+        assertTrue(tracker.isDuplicate(13));
+    }
+
+    @Test
+    void testOverdueGapsHonorsGracePeriod() {
+        tracker.applied(11);
+        tracker.applied(14);
+        assertEquals(Set.of(), tracker.overdueGaps(500, 100));
+
+        clock.addAndGet(400);
+        tracker.applied(17);
+        assertEquals(Set.of(), tracker.overdueGaps(500, 100));
+
+        clock.addAndGet(100);
+        // 14 was applied 500ms ago, 17 only 100ms ago
+        assertEquals(Set.of(12L, 13L), tracker.overdueGaps(500, 100));
+
+        clock.addAndGet(400);
+        assertEquals(Set.of(12L, 13L, 15L, 16L), tracker.overdueGaps(500, 100));
+        assertEquals(Set.of(12L, 13L), tracker.overdueGaps(500, 2));
+    }
+
+    @Test
+    void testAppliedCollectionClosesGaps() {
+        tracker.applied(14);
+        clock.addAndGet(1000);
+        assertEquals(Set.of(11L, 12L, 13L), tracker.overdueGaps(500, 100));
+        tracker.applied(List.of(11L, 12L, 13L));
+        assertEquals(14, tracker.getWatermark());
+        assertEquals(Set.of(), tracker.overdueGaps(500, 100));
+    }
+
+    @Test
+    void testReset() {
+        tracker.applied(14);
+        tracker.reset(100);
+        assertEquals(100, tracker.getBaseline());
+        assertEquals(100, tracker.getWatermark());
+        assertFalse(tracker.isDuplicate(14));
+        clock.addAndGet(1000);
+        assertEquals(Set.of(), tracker.overdueGaps(500, 100));
+    }
+}
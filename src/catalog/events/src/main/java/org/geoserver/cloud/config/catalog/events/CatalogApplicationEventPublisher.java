@@ -19,6 +19,7 @@ import org.geoserver.catalog.event.CatalogPostModifyEvent;
 import org.geoserver.catalog.event.CatalogRemoveEvent;
 import org.geoserver.catalog.plugin.Patch;
 import org.geoserver.catalog.plugin.PropertyDiff;
+import org.geoserver.cloud.event.UpdateSequenceBatch;
 import org.geoserver.cloud.event.catalog.CatalogInfoAdded;
 import org.geoserver.cloud.event.catalog.CatalogInfoModified;
 import org.geoserver.cloud.event.catalog.CatalogInfoRemoved;
@@ -80,13 +81,24 @@ class CatalogApplicationEventPublisher {
         geoServer.addListener(publishingConfigListener);
     }
 
+    /**
+     * Publishes {@code event} to the local application context, and adds it to the {@link
+     * UpdateSequenceBatch} open on the calling thread, if any
+     */
     void publish(@NonNull InfoEvent<?, ?> event) {
         eventPublisher.accept(event);
+        UpdateSequenceBatch.current().ifPresent(batch -> batch.add(event));
     }
 
+    /**
+     * @return the next update sequence, or the one shared by all the changes in the {@link
+     *     UpdateSequenceBatch} open on the calling thread
+     */
     @NonNull
     Long incrementSequence() {
-        return this.updateSequenceIncrementor.get();
+        return UpdateSequenceBatch.current()
+                .map(batch -> batch.updateSequence(updateSequenceIncrementor))
+                .orElseGet(updateSequenceIncrementor);
     }
 
     @RequiredArgsConstructor
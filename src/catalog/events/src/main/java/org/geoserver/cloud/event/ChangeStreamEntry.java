@@ -0,0 +1,34 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Element of the catalog-service change stream, an {@link UpdateSequenceEvent} and its position in
+ * the stream.
+ *
+ * <p>The {@link #getOffset() offset} increases by one with every event the catalog-service instance
+ * that serves the stream gets, in the order it gets them, regardless of their update sequence,
+ * which may come out of order. Offsets are only meaningful within the same {@link #getEpoch()
+ * epoch}, which identifies the catalog-service instance and its lifetime. A stream is resumed from
+ * the epoch and offset of the last entry received.
+ *
+ * <p>Entries carrying a plain {@link UpdateSequenceEvent} instead of a catalog or config event
+ * acknowledge a new stream or keep an idle one alive; their offset is the one of the last event
+ * sent before.
+ *
+ * @since 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeStreamEntry {
+    private String epoch;
+    private long offset;
+    private UpdateSequenceEvent<?> event;
+}
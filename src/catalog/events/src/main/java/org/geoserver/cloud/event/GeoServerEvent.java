@@ -43,6 +43,15 @@ public abstract class GeoServerEvent<SELF> {
         this.author = author;
     }
 
+    /** Copy constructor, copies all the properties of {@code other} */
+    protected GeoServerEvent(@NonNull GeoServerEvent<?> other) {
+        this.remote = other.remote;
+        this.origin = other.origin;
+        this.timestamp = other.timestamp;
+        this.author = other.author;
+        this.id = other.id;
+    }
+
     @SuppressWarnings("unchecked")
     public Optional<SELF> local() {
         return Optional.ofNullable(isLocal() ? (SELF) this : null);
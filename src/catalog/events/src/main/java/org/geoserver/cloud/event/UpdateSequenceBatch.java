@@ -0,0 +1,110 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.event;
+
+import lombok.NonNull;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Scope of a group of changes to be applied as a single one, as far as the configuration update
+ * sequence goes.
+ *
+ * <p>While a batch is {@link #begin open} on the calling thread, all the {@link
+ * UpdateSequenceEvent}s published locally get the same update sequence, incremented only once, and
+ * are {@link #add collected} by the batch. They're still published one by one to the local
+ * application context as the changes happen. When the batch is {@link #close() closed}, it
+ * publishes itself to the application context, so that the events can be sent out to other services
+ * as a whole.
+ *
+ * <pre>{@code
+ * try (UpdateSequenceBatch batch = UpdateSequenceBatch.begin(publisher)) {
+ *     catalog.add(...);
+ *     catalog.save(...);
+ * }
+ * }</pre>
+ *
+ * @since 1.0
+ */
+public class UpdateSequenceBatch implements AutoCloseable {
+
+    private static final ThreadLocal<UpdateSequenceBatch> CURRENT = new ThreadLocal<>();
+
+    private final ApplicationEventPublisher publisher;
+
+    private final List<UpdateSequenceEvent<?>> events = new ArrayList<>();
+
+    private Long updateSequence;
+
+    private UpdateSequenceBatch(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    /**
+     * Opens a batch on the calling thread, to be {@link #close() closed} by the same thread
+     *
+     * @throws IllegalStateException if a batch is already open on the calling thread
+     */
+    public static UpdateSequenceBatch begin(@NonNull ApplicationEventPublisher publisher) {
+        if (CURRENT.get() != null) {
+            throw new IllegalStateException("An update sequence batch is already open");
+        }
+        UpdateSequenceBatch batch = new UpdateSequenceBatch(publisher);
+        CURRENT.set(batch);
+        return batch;
+    }
+
+    /** @return the batch open on the calling thread, if any */
+    public static Optional<UpdateSequenceBatch> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * @return the update sequence of the changes in this batch, obtained from {@code incrementor}
+     *     on the first call
+     */
+    public long updateSequence(@NonNull Supplier<Long> incrementor) {
+        if (updateSequence == null) {
+            updateSequence = incrementor.get();
+        }
+        return updateSequence;
+    }
+
+    public void add(@NonNull UpdateSequenceEvent<?> event) {
+        events.add(event);
+    }
+
+    /** @return the events published while the batch was open, in order */
+    public List<UpdateSequenceEvent<?>> getEvents() {
+        return Collections.unmodifiableList(events);
+    }
+
+    /** @return whether {@code event} is one of the changes in this batch */
+    public boolean covers(@NonNull GeoServerEvent<?> event) {
+        return updateSequence != null
+                && event instanceof UpdateSequenceEvent
+                && updateSequence.equals(((UpdateSequenceEvent<?>) event).getUpdateSequence());
+    }
+
+    /** Closes the batch and publishes it to the application context, unless it's empty */
+    public @Override void close() {
+        CURRENT.remove();
+        if (!events.isEmpty()) {
+            publisher.publishEvent(this);
+        }
+    }
+
+    public @Override String toString() {
+        return String.format(
+                "%s[updateSequence: %s, events: %d]",
+                getClass().getSimpleName(), updateSequence, events.size());
+    }
+}
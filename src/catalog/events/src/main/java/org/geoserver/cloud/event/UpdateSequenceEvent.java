@@ -39,6 +39,12 @@ public class UpdateSequenceEvent<SELF> extends GeoServerEvent<SELF> {
         this.updateSequence = updateSequence;
     }
 
+    /** Copy constructor, copies all the properties of {@code other} */
+    protected UpdateSequenceEvent(@NonNull UpdateSequenceEvent<?> other) {
+        super(other);
+        this.updateSequence = other.updateSequence;
+    }
+
     protected @Override ToStringCreator toStringBuilder() {
         return super.toStringBuilder().append("updateSequence", updateSequence);
     }
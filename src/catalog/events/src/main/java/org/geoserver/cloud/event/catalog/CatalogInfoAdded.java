@@ -23,6 +23,18 @@ public class CatalogInfoAdded extends InfoAdded<CatalogInfoAdded, CatalogInfo> {
         super(updateSequence, object);
     }
 
+    private CatalogInfoAdded(@NonNull CatalogInfoAdded other) {
+        super(other);
+    }
+
+    /**
+     * @return a {@link #isLazy() lazy} copy of this event, carrying only the object's id and type,
+     *     and the update sequence
+     */
+    public CatalogInfoAdded withoutObject() {
+        return new CatalogInfoAdded(this);
+    }
+
     public static CatalogInfoAdded createLocal(
             @NonNull Long updateSequence, @NonNull CatalogAddEvent event) {
         return new CatalogInfoAdded(updateSequence, event.getSource());
@@ -42,6 +42,14 @@ public class CatalogInfoModified extends InfoModified<CatalogInfoModified, Catal
         super(updateSequence, objectId, objectType, patch);
     }
 
+    protected CatalogInfoModified(@NonNull CatalogInfoModified other, @NonNull Patch patch) {
+        super(other, patch);
+    }
+
+    public @Override CatalogInfoModified withPatch(@NonNull Patch patch) {
+        return new CatalogInfoModified(this, patch);
+    }
+
     public static CatalogInfoModified createLocal(
             @NonNull Long updateSequence, @NonNull CatalogInfo info, @NonNull Patch patch) {
 
@@ -47,6 +47,16 @@ public class DefaultDataStoreSet extends CatalogInfoModified {
         this.defaultDataStoreId = defaultDataStoreId;
     }
 
+    protected DefaultDataStoreSet(@NonNull DefaultDataStoreSet other, @NonNull Patch patch) {
+        super(other, patch);
+        this.workspaceId = other.workspaceId;
+        this.defaultDataStoreId = other.defaultDataStoreId;
+    }
+
+    public @Override DefaultDataStoreSet withPatch(@NonNull Patch patch) {
+        return new DefaultDataStoreSet(this, patch);
+    }
+
     protected @Override ToStringCreator toStringBuilder() {
         return super.toStringBuilder()
                 .append("workspace", getWorkspaceId())
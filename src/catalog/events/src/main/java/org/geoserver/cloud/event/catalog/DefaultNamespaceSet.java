@@ -29,6 +29,15 @@ public class DefaultNamespaceSet extends CatalogInfoModified {
         this.newNamespaceId = newNamespaceId;
     }
 
+    protected DefaultNamespaceSet(@NonNull DefaultNamespaceSet other, @NonNull Patch patch) {
+        super(other, patch);
+        this.newNamespaceId = other.newNamespaceId;
+    }
+
+    public @Override DefaultNamespaceSet withPatch(@NonNull Patch patch) {
+        return new DefaultNamespaceSet(this, patch);
+    }
+
     protected @Override ToStringCreator toStringBuilder() {
         return super.toStringBuilder().append("namespace", getNewNamespaceId());
     }
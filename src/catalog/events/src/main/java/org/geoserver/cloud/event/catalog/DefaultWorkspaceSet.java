@@ -33,6 +33,15 @@ public class DefaultWorkspaceSet extends CatalogInfoModified {
         this.newWorkspaceId = newWorkspaceId;
     }
 
+    protected DefaultWorkspaceSet(@NonNull DefaultWorkspaceSet other, @NonNull Patch patch) {
+        super(other, patch);
+        this.newWorkspaceId = other.newWorkspaceId;
+    }
+
+    public @Override DefaultWorkspaceSet withPatch(@NonNull Patch patch) {
+        return new DefaultWorkspaceSet(this, patch);
+    }
+
     protected @Override ToStringCreator toStringBuilder() {
         return super.toStringBuilder().append("workspace", getNewWorkspaceId());
     }
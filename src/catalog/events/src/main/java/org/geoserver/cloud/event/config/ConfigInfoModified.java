@@ -40,6 +40,10 @@ public abstract class ConfigInfoModified<SELF, INFO extends Info> extends InfoMo
         super(updateSequence, objectId, objectType, patch);
     }
 
+    protected ConfigInfoModified(@NonNull ConfigInfoModified<?, ?> other, @NonNull Patch patch) {
+        super(other, patch);
+    }
+
     @SuppressWarnings("unchecked")
     public static @NonNull <I extends Info> ConfigInfoModified<?, I> createLocal(
             @NonNull Long updateSequence, @NonNull Info info, @NonNull Patch patch) {
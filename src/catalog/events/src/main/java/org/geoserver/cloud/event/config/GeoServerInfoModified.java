@@ -29,6 +29,14 @@ public class GeoServerInfoModified extends ConfigInfoModified<GeoServerInfoModif
         super(updateSequence, id, ConfigInfoType.GeoServerInfo, patch);
     }
 
+    protected GeoServerInfoModified(@NonNull GeoServerInfoModified other, @NonNull Patch patch) {
+        super(other, patch);
+    }
+
+    public @Override GeoServerInfoModified withPatch(@NonNull Patch patch) {
+        return new GeoServerInfoModified(this, patch);
+    }
+
     public static GeoServerInfoModified createLocal(
             @NonNull Long updateSequence, GeoServerInfo info, @NonNull Patch patch) {
         final String id = resolveId(info);
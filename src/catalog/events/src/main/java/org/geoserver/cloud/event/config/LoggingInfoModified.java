@@ -30,6 +30,14 @@ public class LoggingInfoModified extends ConfigInfoModified<LoggingInfoModified,
         super(updateSequence, id, ConfigInfoType.LoggingInfo, patch);
     }
 
+    protected LoggingInfoModified(@NonNull LoggingInfoModified other, @NonNull Patch patch) {
+        super(other, patch);
+    }
+
+    public @Override LoggingInfoModified withPatch(@NonNull Patch patch) {
+        return new LoggingInfoModified(this, patch);
+    }
+
     public static LoggingInfoModified createLocal(
             @NonNull Long updateSequence, LoggingInfo info, @NonNull Patch patch) {
         String id = resolveId(info);
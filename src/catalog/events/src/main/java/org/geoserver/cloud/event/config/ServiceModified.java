@@ -40,6 +40,15 @@ public class ServiceModified extends ConfigInfoModified<ServiceModified, Logging
         this.workspaceId = workspaceId;
     }
 
+    protected ServiceModified(@NonNull ServiceModified other, @NonNull Patch patch) {
+        super(other, patch);
+        this.workspaceId = other.workspaceId;
+    }
+
+    public @Override ServiceModified withPatch(@NonNull Patch patch) {
+        return new ServiceModified(this, patch);
+    }
+
     protected @Override ToStringCreator toStringBuilder() {
         return super.toStringBuilder().append("workspace", getWorkspaceId());
     }
@@ -39,6 +39,15 @@ public class SettingsModified extends ConfigInfoModified<SettingsModified, Setti
         this.workspaceId = workspaceId;
     }
 
+    protected SettingsModified(@NonNull SettingsModified other, @NonNull Patch patch) {
+        super(other, patch);
+        this.workspaceId = other.workspaceId;
+    }
+
+    public @Override SettingsModified withPatch(@NonNull Patch patch) {
+        return new SettingsModified(this, patch);
+    }
+
     protected @Override ToStringCreator toStringBuilder() {
         return super.toStringBuilder().append("workspace", getWorkspaceId());
     }
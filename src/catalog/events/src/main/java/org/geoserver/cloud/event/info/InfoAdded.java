@@ -4,17 +4,20 @@
  */
 package org.geoserver.cloud.event.info;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.Setter;
 
 import org.geoserver.catalog.Info;
 import org.geoserver.cloud.event.catalog.CatalogInfoAdded;
 import org.geoserver.cloud.event.config.ConfigInfoAdded;
 
+import java.util.function.Supplier;
+
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.WRAPPER_OBJECT)
 @JsonSubTypes({
     @JsonSubTypes.Type(value = CatalogInfoAdded.class),
@@ -22,7 +25,18 @@ import org.geoserver.cloud.event.config.ConfigInfoAdded;
 })
 public abstract class InfoAdded<SELF, I extends Info> extends InfoEvent<SELF, I> {
 
-    private @Getter @Setter @NonNull I object;
+    /** Only {@code null} for {@link #isLazy() lazy} events, until loaded */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private I object;
+
+    /**
+     * Whether the event was created without the {@link #getObject() object}, which can then only be
+     * obtained through the {@link #setObjectLoader object loader}, if any
+     */
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private @Getter boolean lazy;
+
+    @JsonIgnore private Supplier<? extends I> objectLoader;
 
     protected InfoAdded() {}
 
@@ -30,4 +44,51 @@ public abstract class InfoAdded<SELF, I extends Info> extends InfoEvent<SELF, I>
         super(updateSequence, resolveId(object), typeOf(object));
         this.object = object;
     }
+
+    /**
+     * Creates a {@link #isLazy() lazy} copy of {@code other}, with all its properties but the added
+     * object
+     */
+    protected InfoAdded(@NonNull InfoAdded<?, I> other) {
+        super(other);
+        this.lazy = true;
+    }
+
+    /**
+     * Returns the added object, obtained from the {@link #setObjectLoader object loader} upon first
+     * access if the event is {@link #isLazy() lazy}.
+     *
+     * <p>Listeners of lazy events must be prepared to get {@code null}: the object is loaded from
+     * the catalog back-end after the fact, and may have been removed in the meantime, in which case
+     * a remove event follows. Loading is attempted only once.
+     *
+     * @return the added object, or {@code null} if the event is lazy and the object can't be loaded
+     */
+    public I getObject() {
+        if (object == null && objectLoader != null) {
+            loadObject();
+        }
+        return object;
+    }
+
+    private synchronized void loadObject() {
+        if (object == null && objectLoader != null) {
+            Supplier<? extends I> loader = objectLoader;
+            objectLoader = null;
+            object = loader.get();
+        }
+    }
+
+    public void setObject(@NonNull I object) {
+        this.object = object;
+    }
+
+    /**
+     * Sets the function to obtain the added object from on first access, for {@link #isLazy() lazy}
+     * events. Has no effect if the event already holds the object.
+     */
+    @JsonIgnore
+    public void setObjectLoader(@NonNull Supplier<? extends I> objectLoader) {
+        this.objectLoader = objectLoader;
+    }
 }
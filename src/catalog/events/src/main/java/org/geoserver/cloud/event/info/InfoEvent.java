@@ -41,6 +41,13 @@ public abstract class InfoEvent<SELF, INFO extends Info> extends UpdateSequenceE
         this.objectType = objectType;
     }
 
+    /** Copy constructor, copies all the properties of {@code other} */
+    protected InfoEvent(@NonNull InfoEvent<?, ?> other) {
+        super(other);
+        this.objectId = other.objectId;
+        this.objectType = other.objectType;
+    }
+
     protected @Override ToStringCreator toStringBuilder() {
         return super.toStringBuilder().append("type", getObjectType()).append("id", getObjectId());
     }
@@ -39,6 +39,18 @@ public abstract class InfoModified<SELF, INFO extends Info> extends InfoEvent<SE
         this.patch = patch;
     }
 
+    /** Copy constructor, copies all the properties of {@code other} but its patch */
+    protected InfoModified(@NonNull InfoModified<?, ?> other, @NonNull Patch patch) {
+        super(other);
+        this.patch = patch;
+    }
+
+    /**
+     * @return a copy of this event, of the same type and with all the same properties, but {@code
+     *     patch}
+     */
+    public abstract SELF withPatch(@NonNull Patch patch);
+
     protected @Override ToStringCreator toStringBuilder() {
         return super.toStringBuilder()
                 .append(
@@ -160,7 +160,7 @@ public class ProxyUtils {
         boolean isResolvingProxy = isResolvingProxy(unresolved);
         T info = unwrap(unresolved);
         if (isResolvingProxy) {
-            if (info instanceof CatalogInfo) info = ResolvingProxy.resolve(catalog, info);
+            if (info instanceof CatalogInfo) info = resolveProxy(info);
             else if (info instanceof GeoServerInfo) info = (T) this.config.getGlobal();
             else if (info instanceof LoggingInfo) info = (T) this.config.getLogging();
             else if (info instanceof ServiceInfo)
@@ -185,6 +185,16 @@ public class ProxyUtils {
         return info;
     }
 
+    /**
+     * Resolves a {@link ResolvingProxy} {@link CatalogInfo} reference against the {@link
+     * #getCatalog() catalog}. Subclasses may override to cache or pre-fetch lookups.
+     *
+     * @return the resolved object, or {@code null} if not found
+     */
+    protected <T extends Info> T resolveProxy(T proxy) {
+        return ResolvingProxy.resolve(catalog, proxy);
+    }
+
     public static <T extends Info> boolean isResolvingProxy(final T info) {
         return null != org.geoserver.catalog.impl.ProxyUtils.handler(info, ResolvingProxy.class);
     }
@@ -0,0 +1,54 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import lombok.NonNull;
+
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogFacade;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.plugin.forwarding.ForwardingCatalogFacade;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Optional {@link CatalogFacade} capability to look up several objects by id in a single call,
+ * implemented by back-ends where each lookup is expensive, like a remote catalog service, and where
+ * resolving many references one at a time would mean as many round trips.
+ *
+ * <p>Back-ends for which id lookups are cheap, like the in-memory ones, don't need to implement it.
+ *
+ * @since 1.0
+ */
+public interface BatchIdLookup {
+
+    /**
+     * Looks up all the objects of the given type whose ids are in {@code ids}.
+     *
+     * @return the objects found, in no particular order, ids not found are just absent from the
+     *     result. The returned stream shall be closed by the caller.
+     */
+    <T extends CatalogInfo> Stream<T> findAllById(@NonNull Class<T> type, @NonNull Set<String> ids);
+
+    /**
+     * Looks for the {@code BatchIdLookup} capability in the {@link CatalogPlugin catalog}'s facade,
+     * traversing any {@link ForwardingCatalogFacade} decorators it may be wrapped with.
+     *
+     * <p>Note the objects returned by the capability come straight from the facade that provides
+     * it, hence they're not decorated by the catalog nor by the decorators in between.
+     */
+    static Optional<BatchIdLookup> of(@NonNull Catalog catalog) {
+        if (!(catalog instanceof CatalogPlugin)) return Optional.empty();
+        CatalogFacade facade = ((CatalogPlugin) catalog).getRawFacade();
+        while (facade != null) {
+            if (facade instanceof BatchIdLookup) return Optional.of((BatchIdLookup) facade);
+            if (!(facade instanceof ForwardingCatalogFacade)) break;
+            facade = ((ForwardingCatalogFacade) facade).getSubject();
+        }
+        return Optional.empty();
+    }
+}
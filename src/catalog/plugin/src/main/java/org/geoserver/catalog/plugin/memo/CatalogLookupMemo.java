@@ -0,0 +1,106 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin.memo;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound memo of catalog lookup results, meant to live for the duration of a single request.
+ *
+ * <p>A memo is {@link #bind() bound} to the calling thread at the beginning of a unit of work (e.g.
+ * an OWS request dispatch), and {@link #release() released} when the unit of work finishes. While
+ * bound, {@link MemoizingCatalogFacade} will serve repeated id and name lookups from it, including
+ * negative ({@code null}) results.
+ *
+ * <p>Instances are not thread safe, and are not meant to be, as they're only reachable from the
+ * thread they're bound to.
+ *
+ * @since 1.0
+ * @see MemoizingCatalogFacade
+ */
+public final class CatalogLookupMemo {
+
+    private static final ThreadLocal<CatalogLookupMemo> CURRENT = new ThreadLocal<>();
+
+    private final Map<List<Object>, Optional<?>> entries = new HashMap<>();
+
+    private @Getter long hits;
+    private @Getter long misses;
+
+    private CatalogLookupMemo() {}
+
+    /**
+     * Binds a new, empty memo to the calling thread, replacing any previously bound one
+     *
+     * @return the newly bound memo
+     */
+    public static CatalogLookupMemo bind() {
+        CatalogLookupMemo memo = new CatalogLookupMemo();
+        CURRENT.set(memo);
+        return memo;
+    }
+
+    /** @return the memo bound to the calling thread, if any */
+    public static Optional<CatalogLookupMemo> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Releases the memo bound to the calling thread, if any
+     *
+     * @return the released memo, if there was one bound to the calling thread
+     */
+    public static Optional<CatalogLookupMemo> release() {
+        Optional<CatalogLookupMemo> memo = current();
+        CURRENT.remove();
+        return memo;
+    }
+
+    /** Clears all memoized entries, called upon any catalog write on the calling thread */
+    public void clear() {
+        entries.clear();
+    }
+
+    /** @return the number of memoized entries, including negative ones */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the memoized value for {@code key}, or calls {@code loader} and memoizes its result
+     * (even if {@code null}) on a miss.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(@NonNull List<Object> key, @NonNull Supplier<T> loader) {
+        Optional<?> value = entries.get(key);
+        if (value == null) {
+            ++misses;
+            value = Optional.ofNullable(loader.get());
+            entries.put(key, value);
+        } else {
+            ++hits;
+        }
+        return (T) value.orElse(null);
+    }
+
+    static List<Object> key(Object... parts) {
+        return Arrays.asList(parts);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%s[entries: %d, hits: %d, misses: %d]",
+                getClass().getSimpleName(), size(), hits, misses);
+    }
+}
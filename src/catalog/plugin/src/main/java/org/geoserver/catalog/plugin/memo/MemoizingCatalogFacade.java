@@ -0,0 +1,310 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin.memo;
+
+import static org.geoserver.catalog.plugin.memo.CatalogLookupMemo.key;
+
+import org.geoserver.catalog.CatalogFacade;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.MapInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.impl.ModificationProxy;
+import org.geoserver.catalog.plugin.ExtendedCatalogFacade;
+import org.geoserver.catalog.plugin.IsolatedCatalogFacade;
+import org.geoserver.catalog.plugin.Patch;
+import org.geoserver.catalog.plugin.forwarding.ForwardingExtendedCatalogFacade;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * {@link ExtendedCatalogFacade} decorator that short-circuits repeated id and name lookups through
+ * the {@link CatalogLookupMemo} bound to the calling thread, if any.
+ *
+ * <p>When no memo is bound to the calling thread, this decorator is a pass-through. When a memo is
+ * bound, single-object lookups by id or name (including the default workspace, namespace, and data
+ * store) are memoized, including {@code null} results. List and query methods are never memoized.
+ *
+ * <p>Any write operation (add, save, update, remove, setting defaults) performed through this
+ * facade clears the calling thread's memo, so a unit of work always sees its own changes. Changes
+ * performed by other threads or cluster members are not seen until the memo is released, which is
+ * the expected trade-off for a memo that lives only for the duration of a single request.
+ *
+ * <p>This decorator is meant to sit right below the {@link IsolatedCatalogFacade} and {@link
+ * ModificationProxy} decorators applied by {@code CatalogPlugin}, so the memoized objects are the
+ * raw ones, and each call still returns a freshly decorated instance.
+ *
+ * @since 1.0
+ */
+public class MemoizingCatalogFacade extends ForwardingExtendedCatalogFacade {
+
+    private static final String ANY = "*ANY*";
+    private static final String NONE = "*NONE*";
+
+    public MemoizingCatalogFacade(ExtendedCatalogFacade facade) {
+        super(facade);
+    }
+
+    private <T> T memoized(List<Object> key, Supplier<T> loader) {
+        Optional<CatalogLookupMemo> memo = CatalogLookupMemo.current();
+        return memo.isPresent() ? memo.get().get(key, loader) : loader.get();
+    }
+
+    private <T> T write(Supplier<T> operation) {
+        try {
+            return operation.get();
+        } finally {
+            CatalogLookupMemo.current().ifPresent(CatalogLookupMemo::clear);
+        }
+    }
+
+    private void write(Runnable operation) {
+        write(
+                () -> {
+                    operation.run();
+                    return null;
+                });
+    }
+
+    private static Object workspaceKey(WorkspaceInfo workspace) {
+        if (workspace == null) return null;
+        if (workspace == CatalogFacade.ANY_WORKSPACE) return ANY;
+        if (workspace == CatalogFacade.NO_WORKSPACE) return NONE;
+        return workspace.getId();
+    }
+
+    private static Object namespaceKey(NamespaceInfo namespace) {
+        if (namespace == null) return null;
+        if (namespace == CatalogFacade.ANY_NAMESPACE) return ANY;
+        return namespace.getId();
+    }
+
+    public @Override <T extends StoreInfo> T getStore(String id, Class<T> clazz) {
+        return memoized(key("store", id, clazz), () -> super.getStore(id, clazz));
+    }
+
+    public @Override <T extends StoreInfo> T getStoreByName(
+            WorkspaceInfo workspace, String name, Class<T> clazz) {
+        return memoized(
+                key("storeByName", workspaceKey(workspace), name, clazz),
+                () -> super.getStoreByName(workspace, name, clazz));
+    }
+
+    public @Override DataStoreInfo getDefaultDataStore(WorkspaceInfo workspace) {
+        return memoized(
+                key("defaultDataStore", workspaceKey(workspace)),
+                () -> super.getDefaultDataStore(workspace));
+    }
+
+    public @Override <T extends ResourceInfo> T getResource(String id, Class<T> clazz) {
+        return memoized(key("resource", id, clazz), () -> super.getResource(id, clazz));
+    }
+
+    public @Override <T extends ResourceInfo> T getResourceByName(
+            NamespaceInfo namespace, String name, Class<T> clazz) {
+        return memoized(
+                key("resourceByName", namespaceKey(namespace), name, clazz),
+                () -> super.getResourceByName(namespace, name, clazz));
+    }
+
+    public @Override <T extends ResourceInfo> T getResourceByStore(
+            StoreInfo store, String name, Class<T> clazz) {
+        return memoized(
+                key("resourceByStore", store == null ? null : store.getId(), name, clazz),
+                () -> super.getResourceByStore(store, name, clazz));
+    }
+
+    public @Override LayerInfo getLayer(String id) {
+        return memoized(key("layer", id), () -> super.getLayer(id));
+    }
+
+    public @Override LayerInfo getLayerByName(String name) {
+        return memoized(key("layerByName", name), () -> super.getLayerByName(name));
+    }
+
+    public @Override LayerGroupInfo getLayerGroup(String id) {
+        return memoized(key("layerGroup", id), () -> super.getLayerGroup(id));
+    }
+
+    public @Override LayerGroupInfo getLayerGroupByName(String name) {
+        return memoized(key("layerGroupByName", name), () -> super.getLayerGroupByName(name));
+    }
+
+    public @Override LayerGroupInfo getLayerGroupByName(WorkspaceInfo workspace, String name) {
+        return memoized(
+                key("layerGroupByName", workspaceKey(workspace), name),
+                () -> super.getLayerGroupByName(workspace, name));
+    }
+
+    public @Override NamespaceInfo getDefaultNamespace() {
+        return memoized(key("defaultNamespace"), super::getDefaultNamespace);
+    }
+
+    public @Override NamespaceInfo getNamespace(String id) {
+        return memoized(key("namespace", id), () -> super.getNamespace(id));
+    }
+
+    public @Override NamespaceInfo getNamespaceByPrefix(String prefix) {
+        return memoized(key("namespaceByPrefix", prefix), () -> super.getNamespaceByPrefix(prefix));
+    }
+
+    public @Override NamespaceInfo getNamespaceByURI(String uri) {
+        return memoized(key("namespaceByURI", uri), () -> super.getNamespaceByURI(uri));
+    }
+
+    public @Override WorkspaceInfo getDefaultWorkspace() {
+        return memoized(key("defaultWorkspace"), super::getDefaultWorkspace);
+    }
+
+    public @Override WorkspaceInfo getWorkspace(String id) {
+        return memoized(key("workspace", id), () -> super.getWorkspace(id));
+    }
+
+    public @Override WorkspaceInfo getWorkspaceByName(String name) {
+        return memoized(key("workspaceByName", name), () -> super.getWorkspaceByName(name));
+    }
+
+    public @Override StyleInfo getStyle(String id) {
+        return memoized(key("style", id), () -> super.getStyle(id));
+    }
+
+    public @Override StyleInfo getStyleByName(String name) {
+        return memoized(key("styleByName", name), () -> super.getStyleByName(name));
+    }
+
+    public @Override StyleInfo getStyleByName(WorkspaceInfo workspace, String name) {
+        return memoized(
+                key("styleByName", workspaceKey(workspace), name),
+                () -> super.getStyleByName(workspace, name));
+    }
+
+    public @Override <I extends CatalogInfo> I update(I info, Patch patch) {
+        return write(() -> super.update(info, patch));
+    }
+
+    public @Override StoreInfo add(StoreInfo store) {
+        return write(() -> super.add(store));
+    }
+
+    public @Override ResourceInfo add(ResourceInfo resource) {
+        return write(() -> super.add(resource));
+    }
+
+    public @Override LayerInfo add(LayerInfo layer) {
+        return write(() -> super.add(layer));
+    }
+
+    public @Override MapInfo add(MapInfo map) {
+        return write(() -> super.add(map));
+    }
+
+    public @Override LayerGroupInfo add(LayerGroupInfo layerGroup) {
+        return write(() -> super.add(layerGroup));
+    }
+
+    public @Override NamespaceInfo add(NamespaceInfo namespace) {
+        return write(() -> super.add(namespace));
+    }
+
+    public @Override WorkspaceInfo add(WorkspaceInfo workspace) {
+        return write(() -> super.add(workspace));
+    }
+
+    public @Override StyleInfo add(StyleInfo style) {
+        return write(() -> super.add(style));
+    }
+
+    public @Override void remove(StoreInfo store) {
+        write(() -> super.remove(store));
+    }
+
+    public @Override void remove(ResourceInfo resource) {
+        write(() -> super.remove(resource));
+    }
+
+    public @Override void remove(LayerInfo layer) {
+        write(() -> super.remove(layer));
+    }
+
+    public @Override void remove(MapInfo map) {
+        write(() -> super.remove(map));
+    }
+
+    public @Override void remove(LayerGroupInfo layerGroup) {
+        write(() -> super.remove(layerGroup));
+    }
+
+    public @Override void remove(NamespaceInfo namespace) {
+        write(() -> super.remove(namespace));
+    }
+
+    public @Override void remove(WorkspaceInfo workspace) {
+        write(() -> super.remove(workspace));
+    }
+
+    public @Override void remove(StyleInfo style) {
+        write(() -> super.remove(style));
+    }
+
+    public @Override void save(StoreInfo store) {
+        write(() -> super.save(store));
+    }
+
+    public @Override void save(ResourceInfo resource) {
+        write(() -> super.save(resource));
+    }
+
+    public @Override void save(LayerInfo layer) {
+        write(() -> super.save(layer));
+    }
+
+    public @Override void save(MapInfo map) {
+        write(() -> super.save(map));
+    }
+
+    public @Override void save(LayerGroupInfo layerGroup) {
+        write(() -> super.save(layerGroup));
+    }
+
+    public @Override void save(NamespaceInfo namespace) {
+        write(() -> super.save(namespace));
+    }
+
+    public @Override void save(WorkspaceInfo workspace) {
+        write(() -> super.save(workspace));
+    }
+
+    public @Override void save(StyleInfo style) {
+        write(() -> super.save(style));
+    }
+
+    public @Override void setDefaultDataStore(WorkspaceInfo workspace, DataStoreInfo store) {
+        write(() -> super.setDefaultDataStore(workspace, store));
+    }
+
+    public @Override void setDefaultNamespace(NamespaceInfo defaultNamespace) {
+        write(() -> super.setDefaultNamespace(defaultNamespace));
+    }
+
+    public @Override void setDefaultWorkspace(WorkspaceInfo workspace) {
+        write(() -> super.setDefaultWorkspace(workspace));
+    }
+
+    public @Override void dispose() {
+        write(super::dispose);
+    }
+
+    public @Override void resolve() {
+        write(super::resolve);
+    }
+}
@@ -6,6 +6,7 @@ package org.geoserver.catalog.plugin.resolving;
 
 import static java.util.Objects.requireNonNull;
 
+import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
 import org.geoserver.catalog.Catalog;
@@ -20,19 +21,26 @@ import org.geoserver.catalog.StoreInfo;
 import org.geoserver.catalog.StyleInfo;
 import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.impl.ResolvingProxy;
+import org.geoserver.catalog.plugin.BatchIdLookup;
 import org.geoserver.catalog.plugin.forwarding.ResolvingCatalogFacadeDecorator;
 import org.geoserver.config.ServiceInfo;
 import org.geoserver.config.SettingsInfo;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * {@link ResolvingCatalogFacadeDecorator#setObjectResolver resolving function} that resolves {@link
@@ -45,6 +53,10 @@ import java.util.stream.Collectors;
  * at if the catalog can do very fast id lookups. For example, if it has its own caching mechanism
  * or is a purely in-memory catalog.
  *
+ * <p>Conversely, if each id lookup is a remote call, the {@link #batching batching} resolver looks
+ * up all the references of the same type of an object, or of a {@link #resolveAll list of objects},
+ * with a single {@link BatchIdLookup batch lookup}, for example all the layers of a layer group.
+ *
  * @see ResolvingProxy
  */
 @Slf4j
@@ -97,10 +109,29 @@ public class ResolvingProxyResolver<T extends Info> implements UnaryOperator<T>
         return (ResolvingProxyResolver<I>) new MemoizingProxyResolver(catalog, onNotFound);
     }
 
+    /**
+     * @return a resolver that looks up all the not yet resolved references of each object, and of
+     *     all the objects given to {@link #resolveAll}, with a single call to {@code batchLookup}
+     *     per object type, before resolving them. Its {@link #memoizing() memoizing} version keeps
+     *     the references it resolved, and looks up in batches only the ones it didn't
+     */
+    public ResolvingProxyResolver<T> batching(@NonNull BatchIdLookup batchLookup) {
+        @SuppressWarnings("unchecked")
+        ResolvingProxyResolver<T> batching =
+                (ResolvingProxyResolver<T>)
+                        new BatchingProxyResolver(catalog, onNotFound, batchLookup, null);
+        return batching;
+    }
+
     public @Override T apply(T info) {
         return resolve(info);
     }
 
+    /** Resolves all the {@code objects}, returning a new list with the resolved objects */
+    public <I extends Info> List<I> resolveAll(@NonNull List<I> objects) {
+        return objects.stream().map(this::resolve).collect(Collectors.toList());
+    }
+
     @SuppressWarnings("unchecked")
     public <I extends Info> I resolve(final I orig) {
         if (orig == null) {
@@ -272,4 +303,145 @@ public class ResolvingProxyResolver<T extends Info> implements UnaryOperator<T>
             return resolved;
         }
     }
+
+    /**
+     * Looks up references in batches through a {@link BatchIdLookup}. The stateless instance
+     * created by {@link #batching} creates a stateful one for each call, so the references looked
+     * up for an object are not kept beyond its resolution.
+     */
+    private static class BatchingProxyResolver extends ResolvingProxyResolver<Info> {
+
+        /** Object types references are grouped by for batch lookups */
+        private static final List<Class<? extends CatalogInfo>> TYPES =
+                List.of(
+                        WorkspaceInfo.class,
+                        NamespaceInfo.class,
+                        StoreInfo.class,
+                        ResourceInfo.class,
+                        LayerInfo.class,
+                        LayerGroupInfo.class,
+                        StyleInfo.class);
+
+        private final Catalog catalog;
+        private final BiConsumer<CatalogInfo, ResolvingProxy> onNotFound;
+        private final BatchIdLookup batchLookup;
+
+        /** resolved references, {@code null} for the stateless instance */
+        private final Map<String, Info> resolved;
+
+        BatchingProxyResolver(
+                Catalog catalog,
+                BiConsumer<CatalogInfo, ResolvingProxy> onNotFound,
+                BatchIdLookup batchLookup,
+                Map<String, Info> resolved) {
+            super(catalog, onNotFound);
+            this.catalog = catalog;
+            this.onNotFound = onNotFound;
+            this.batchLookup = batchLookup;
+            this.resolved = resolved;
+        }
+
+        @SuppressWarnings("unchecked")
+        public @Override <I extends Info> ResolvingProxyResolver<I> memoizing() {
+            return (ResolvingProxyResolver<I>)
+                    new BatchingProxyResolver(
+                            catalog, onNotFound, batchLookup, new ConcurrentHashMap<>());
+        }
+
+        private BatchingProxyResolver callScoped() {
+            return new BatchingProxyResolver(catalog, onNotFound, batchLookup, new HashMap<>());
+        }
+
+        public @Override <I extends Info> I resolve(final I orig) {
+            if (resolved == null) {
+                return callScoped().resolve(orig);
+            }
+            if (orig != null && getResolvingProxy(orig) == null) {
+                prefetch(List.of(orig));
+            }
+            return super.resolve(orig);
+        }
+
+        public @Override <I extends Info> List<I> resolveAll(@NonNull List<I> objects) {
+            if (resolved == null) {
+                return callScoped().resolveAll(objects);
+            }
+            prefetch(objects);
+            return super.resolveAll(objects);
+        }
+
+        @SuppressWarnings("unchecked")
+        protected @Override <I extends Info> I doResolveProxy(final I orig) {
+            final String id = orig.getId();
+            I found = (I) resolved.get(id);
+            if (found == null) {
+                found = super.doResolveProxy(orig);
+                if (found != null) resolved.put(id, found);
+            }
+            return found;
+        }
+
+        private void prefetch(List<? extends Info> objects) {
+            Map<Class<? extends CatalogInfo>, Set<String>> missing = new HashMap<>();
+            Consumer<Info> collector =
+                    ref -> {
+                        if (ref == null || getResolvingProxy(ref) == null) return;
+                        final String id = ref.getId();
+                        if (id == null || resolved.containsKey(id)) return;
+                        TYPES.stream()
+                                .filter(t -> t.isInstance(ref))
+                                .findFirst()
+                                .ifPresent(
+                                        t ->
+                                                missing.computeIfAbsent(t, k -> new HashSet<>())
+                                                        .add(id));
+                    };
+            for (Info o : objects) {
+                if (o != null) references(o, collector);
+            }
+            missing.forEach(
+                    (type, ids) -> {
+                        // a single reference is not worth a batch
+                        if (ids.size() > 1) prefetch(type, ids);
+                    });
+        }
+
+        private <C extends CatalogInfo> void prefetch(Class<C> type, Set<String> ids) {
+            log.debug("Looking up {} {} references at once", ids.size(), type.getSimpleName());
+            try (Stream<C> found = batchLookup.findAllById(type, ids)) {
+                // objects come straight from the back-end, decorate them as the catalog would
+                found.map(ModificationProxyDecorator::wrap)
+                        .forEach(i -> resolved.put(i.getId(), i));
+            } catch (RuntimeException e) {
+                log.warn(
+                        "Error looking up {} {} references at once, resolving them one by one",
+                        ids.size(),
+                        type.getSimpleName(),
+                        e);
+            }
+        }
+
+        /** Feeds {@code consumer} with the references {@link #resolve} would resolve */
+        private static void references(Info info, Consumer<Info> consumer) {
+            if (info instanceof LayerInfo) {
+                LayerInfo layer = (LayerInfo) info;
+                consumer.accept(layer.getResource());
+                consumer.accept(layer.getDefaultStyle());
+                layer.getStyles().forEach(consumer);
+            } else if (info instanceof LayerGroupInfo) {
+                LayerGroupInfo lg = (LayerGroupInfo) info;
+                lg.getLayers().forEach(consumer);
+                lg.getStyles().forEach(consumer);
+                consumer.accept(lg.getWorkspace());
+            } else if (info instanceof ResourceInfo) {
+                ResourceInfo resource = (ResourceInfo) info;
+                consumer.accept(resource.getStore());
+                consumer.accept(resource.getNamespace());
+            } else if (info instanceof StoreInfo) {
+                consumer.accept(((StoreInfo) info).getWorkspace());
+            } else if (info instanceof StyleInfo) {
+                consumer.accept(((StyleInfo) info).getWorkspace());
+            }
+        }
+    }
 }
@@ -15,6 +15,8 @@ import org.geoserver.config.ServiceInfo;
 import org.geoserver.config.SettingsInfo;
 
 import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -23,14 +25,62 @@ import java.util.stream.Stream;
 /**
  * Purely in-memory {@link ConfigRepository} implementation holding live-objects (no serialization
  * nor {@link Proxy proxying} involved)
+ *
+ * <p>{@link SettingsInfo settings} and {@link ServiceInfo services} are additionally indexed by
+ * workspace id, so that per-workspace lookups (performed on every OWS request for virtual services)
+ * don't need to scan all the settings and services. Lookups by type only scan the handful of
+ * services of the requested workspace.
  */
 public class MemoryConfigRepository implements ConfigRepository {
 
+    /** Index key for global services, since {@link ConcurrentMap} does not allow null keys */
+    private static final String NO_WORKSPACE = "";
+
     protected GeoServerInfo global;
     protected LoggingInfo logging;
     protected final ConcurrentMap<String, SettingsInfo> settings = new ConcurrentHashMap<>();
     protected final ConcurrentMap<String, ServiceInfo> services = new ConcurrentHashMap<>();
 
+    /** Settings index by workspace id */
+    private final ConcurrentMap<String, SettingsInfo> settingsByWorkspace =
+            new ConcurrentHashMap<>();
+
+    /** Services index by workspace id ({@link #NO_WORKSPACE} for global services) and id */
+    private final ConcurrentMap<String, ConcurrentMap<String, ServiceInfo>> servicesByWorkspace =
+            new ConcurrentHashMap<>();
+
+    private static String workspaceKey(WorkspaceInfo workspace) {
+        return workspace == null ? NO_WORKSPACE : workspace.getId();
+    }
+
+    private Map<String, ServiceInfo> servicesOf(WorkspaceInfo workspace) {
+        Map<String, ServiceInfo> wsServices = servicesByWorkspace.get(workspaceKey(workspace));
+        return wsServices == null ? Map.of() : wsServices;
+    }
+
+    /**
+     * Adds {@code service} to the index, atomically with respect to {@link #unindexService}, which
+     * could otherwise drop the workspace services map it's being added to
+     */
+    private void indexService(ServiceInfo service) {
+        servicesByWorkspace.compute(
+                workspaceKey(service.getWorkspace()),
+                (ws, wsServices) -> {
+                    if (wsServices == null) wsServices = new ConcurrentHashMap<>();
+                    wsServices.put(service.getId(), service);
+                    return wsServices;
+                });
+    }
+
+    private void unindexService(String workspaceKey, String serviceId) {
+        servicesByWorkspace.computeIfPresent(
+                workspaceKey,
+                (ws, wsServices) -> {
+                    wsServices.remove(serviceId);
+                    return wsServices.isEmpty() ? null : wsServices;
+                });
+    }
+
     public @Override Optional<GeoServerInfo> getGlobal() {
         return Optional.ofNullable(global);
     }
@@ -55,9 +105,7 @@ public class MemoryConfigRepository implements ConfigRepository {
     public @Override Optional<SettingsInfo> getSettingsByWorkspace(WorkspaceInfo workspace) {
         requireNonNull(workspace);
         requireNonNull(workspace.getId());
-        return settings.values().stream()
-                .filter(s -> s.getWorkspace().getId().equals(workspace.getId()))
-                .findFirst();
+        return Optional.ofNullable(settingsByWorkspace.get(workspace.getId()));
     }
 
     public @Override void add(SettingsInfo settings) {
@@ -65,6 +113,7 @@ public class MemoryConfigRepository implements ConfigRepository {
         requireNonNull(settings.getId());
         checkNotAProxy(settings);
         this.settings.put(settings.getId(), settings);
+        this.settingsByWorkspace.put(settings.getWorkspace().getId(), settings);
     }
 
     public @Override SettingsInfo update(SettingsInfo settings, Patch patch) {
@@ -76,7 +125,13 @@ public class MemoryConfigRepository implements ConfigRepository {
 
         SettingsInfo localCopy = this.settings.get(settings.getId());
         synchronized (localCopy) {
+            final String oldWorkspaceId = localCopy.getWorkspace().getId();
             patch.applyTo(localCopy, SettingsInfo.class);
+            final String newWorkspaceId = localCopy.getWorkspace().getId();
+            if (!oldWorkspaceId.equals(newWorkspaceId)) {
+                settingsByWorkspace.remove(oldWorkspaceId, localCopy);
+                settingsByWorkspace.put(newWorkspaceId, localCopy);
+            }
         }
         return localCopy;
     }
@@ -84,7 +139,10 @@ public class MemoryConfigRepository implements ConfigRepository {
     public @Override void remove(SettingsInfo settings) {
         requireNonNull(settings);
         requireNonNull(settings.getId());
-        this.settings.remove(settings.getId());
+        SettingsInfo removed = this.settings.remove(settings.getId());
+        if (removed != null) {
+            settingsByWorkspace.remove(removed.getWorkspace().getId(), removed);
+        }
     }
 
     public @Override Optional<LoggingInfo> getLogging() {
@@ -103,12 +161,16 @@ public class MemoryConfigRepository implements ConfigRepository {
         checkNotAProxy(service);
 
         this.services.put(service.getId(), service);
+        indexService(service);
     }
 
     public @Override void remove(ServiceInfo service) {
         requireNonNull(service);
         requireNonNull(service.getId());
-        this.services.remove(service.getId());
+        ServiceInfo removed = this.services.remove(service.getId());
+        if (removed != null) {
+            unindexService(workspaceKey(removed.getWorkspace()), removed.getId());
+        }
     }
 
     public @Override <S extends ServiceInfo> S update(S service, Patch patch) {
@@ -120,30 +182,30 @@ public class MemoryConfigRepository implements ConfigRepository {
         @SuppressWarnings("unchecked")
         S localCopy = (S) this.services.get(service.getId());
         synchronized (localCopy) {
+            final String oldWorkspaceKey = workspaceKey(localCopy.getWorkspace());
             patch.applyTo(localCopy);
+            if (!Objects.equals(oldWorkspaceKey, workspaceKey(localCopy.getWorkspace()))) {
+                unindexService(oldWorkspaceKey, localCopy.getId());
+                indexService(localCopy);
+            }
         }
         return localCopy;
     }
 
     public @Override Stream<? extends ServiceInfo> getGlobalServices() {
-        return this.services.values().stream().filter(s -> s.getWorkspace() == null);
+        return servicesOf(null).values().stream();
     }
 
     public @Override Stream<? extends ServiceInfo> getServicesByWorkspace(WorkspaceInfo workspace) {
         requireNonNull(workspace);
         requireNonNull(workspace.getId());
-        return this.services.values().stream()
-                .filter(
-                        s ->
-                                s.getWorkspace() != null
-                                        && workspace.getId().equals(s.getWorkspace().getId()));
+        return servicesOf(workspace).values().stream();
     }
 
     public @Override <T extends ServiceInfo> Optional<T> getGlobalService(Class<T> clazz) {
         requireNonNull(clazz);
-        return this.services.values().stream()
+        return servicesOf(null).values().stream()
                 .filter(clazz::isInstance)
-                .filter(s -> s.getWorkspace() == null)
                 .map(clazz::cast)
                 .findFirst();
     }
@@ -153,12 +215,8 @@ public class MemoryConfigRepository implements ConfigRepository {
         requireNonNull(workspace);
         requireNonNull(workspace.getId());
         requireNonNull(clazz);
-        return this.services.values().stream()
+        return servicesOf(workspace).values().stream()
                 .filter(clazz::isInstance)
-                .filter(
-                        s ->
-                                s.getWorkspace() != null
-                                        && s.getWorkspace().getId().equals(workspace.getId()))
                 .map(clazz::cast)
                 .findFirst();
     }
@@ -187,13 +245,9 @@ public class MemoryConfigRepository implements ConfigRepository {
         requireNonNull(workspace);
         requireNonNull(workspace.getId());
         requireNonNull(clazz);
-        return this.services.values().stream()
+        return servicesOf(workspace).values().stream()
                 .filter(clazz::isInstance)
-                .filter(
-                        s ->
-                                s.getWorkspace() != null
-                                        && s.getWorkspace().getId().equals(workspace.getId())
-                                        && name.equals(s.getName()))
+                .filter(s -> name.equals(s.getName()))
                 .map(clazz::cast)
                 .findFirst();
     }
@@ -203,5 +257,7 @@ public class MemoryConfigRepository implements ConfigRepository {
         logging = null;
         settings.clear();
         services.clear();
+        settingsByWorkspace.clear();
+        servicesByWorkspace.clear();
     }
 }
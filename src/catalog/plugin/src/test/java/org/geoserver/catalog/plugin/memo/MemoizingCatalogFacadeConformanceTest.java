@@ -0,0 +1,83 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin.memo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.plugin.CatalogConformanceTest;
+import org.geoserver.catalog.plugin.CatalogPlugin;
+import org.geoserver.catalog.plugin.DefaultMemoryCatalogFacade;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the {@link CatalogConformanceTest} with a {@link CatalogLookupMemo} bound to the test
+ * thread, to verify the {@link MemoizingCatalogFacade} never serves stale results for changes
+ * performed through it.
+ */
+public class MemoizingCatalogFacadeConformanceTest extends CatalogConformanceTest {
+
+    private CatalogLookupMemo memo;
+
+    protected @Override CatalogPlugin createCatalog() {
+        return new CatalogPlugin(new MemoizingCatalogFacade(new DefaultMemoryCatalogFacade()));
+    }
+
+    @BeforeEach
+    void bindMemo() {
+        memo = CatalogLookupMemo.bind();
+    }
+
+    @AfterEach
+    void releaseMemo() {
+        CatalogLookupMemo.release();
+    }
+
+    public @Test void testLookupsAreMemoized() {
+        data.addObjects();
+        memo.clear();
+        final long misses = memo.getMisses();
+        final long hits = memo.getHits();
+
+        catalog.getWorkspaceByName(data.workspaceA.getName());
+        catalog.getWorkspaceByName(data.workspaceA.getName());
+        catalog.getWorkspace(data.workspaceA.getId());
+        catalog.getWorkspace(data.workspaceA.getId());
+
+        assertEquals(misses + 2, memo.getMisses());
+        assertEquals(hits + 2, memo.getHits());
+    }
+
+    public @Test void testNegativeLookupsAreMemoized() {
+        assertNull(catalog.getWorkspaceByName("nonexistent"));
+        final long misses = memo.getMisses();
+        assertNull(catalog.getWorkspaceByName("nonexistent"));
+        assertEquals(misses, memo.getMisses());
+    }
+
+    public @Test void testWritesClearMemo() {
+        data.addObjects();
+        catalog.getWorkspaceByName(data.workspaceA.getName());
+        assertTrue(memo.size() > 0);
+
+        WorkspaceInfo ws = catalog.getWorkspaceByName(data.workspaceA.getName());
+        ws.setName("renamed");
+        catalog.save(ws);
+
+        assertNull(catalog.getWorkspaceByName(data.workspaceA.getName()));
+        assertEquals(ws.getId(), catalog.getWorkspaceByName("renamed").getId());
+    }
+
+    public @Test void testNoMemoBound() {
+        CatalogLookupMemo.release();
+        data.addObjects();
+        catalog.getWorkspaceByName(data.workspaceA.getName());
+        assertEquals(0, memo.size());
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin.resolving;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.impl.LayerInfoImpl;
+import org.geoserver.catalog.impl.ResolvingProxy;
+import org.geoserver.catalog.plugin.BatchIdLookup;
+import org.geoserver.catalog.plugin.CatalogPlugin;
+import org.geoserver.catalog.plugin.DefaultMemoryCatalogFacade;
+import org.geoserver.catalog.plugin.ExtendedCatalogFacade;
+import org.geoserver.catalog.plugin.forwarding.ForwardingExtendedCatalogFacade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/** @since 1.0 */
+class ResolvingProxyResolverTest {
+
+    private CountingFacade facade;
+    private CatalogPlugin catalog;
+    private CatalogTestData data;
+
+    @BeforeEach
+    void setUp() {
+        facade = new CountingFacade(new DefaultMemoryCatalogFacade());
+        catalog = new CatalogPlugin(facade, false);
+        data = CatalogTestData.empty(() -> catalog, () -> null).initCatalog();
+        facade.lookups.clear();
+    }
+
+    private static <T extends CatalogInfo> T proxy(T info, Class<T> type) {
+        return ResolvingProxy.create(info.getId(), type);
+    }
+
+    /** A layer as decoded from the wire, with all its references proxied */
+    private LayerInfo proxiedLayer(String id) {
+        LayerInfo layer = new LayerInfoImpl();
+        layer.setId(id);
+        layer.setResource(proxy(data.featureTypeA, ResourceInfo.class));
+        layer.setDefaultStyle(proxy(data.style1, StyleInfo.class));
+        layer.getStyles().add(proxy(data.style2, StyleInfo.class));
+        return layer;
+    }
+
+    @Test
+    void testResolveWithoutBatching() {
+        LayerInfo layer = ResolvingProxyResolver.of(catalog).resolve(proxiedLayer("layer-id"));
+        assertResolved(layer);
+        assertTrue(facade.batches.isEmpty());
+        assertEquals(3, facade.lookups.size());
+    }
+
+    @Test
+    void testBatchingResolve() {
+        ResolvingProxyResolver<LayerInfo> resolver =
+                ResolvingProxyResolver.<LayerInfo>of(catalog).batching(facade);
+
+        LayerInfo layer = resolver.resolve(proxiedLayer("layer-id"));
+        assertResolved(layer);
+        // a single resource is not worth a batch
+        assertEquals(List.of(Set.of(data.style1.getId(), data.style2.getId())), facade.batches);
+        assertEquals(List.of(data.featureTypeA.getId()), facade.lookups);
+
+        // the stateless resolver doesn't keep references across calls
+        resolver.resolve(proxiedLayer("layer-id"));
+        assertEquals(2, facade.batches.size());
+    }
+
+    @Test
+    void testBatchingResolveAll() {
+        ResolvingProxyResolver<LayerInfo> resolver =
+                ResolvingProxyResolver.<LayerInfo>of(catalog).batching(facade);
+
+        List<LayerInfo> layers =
+                resolver.resolveAll(List.of(proxiedLayer("layer-1"), proxiedLayer("layer-2")));
+        assertEquals(2, layers.size());
+        layers.forEach(this::assertResolved);
+        // a single lookup per type for both layers
+        assertEquals(1, facade.batches.size());
+        assertEquals(List.of(data.featureTypeA.getId()), facade.lookups);
+    }
+
+    @Test
+    void testBatchingMemoizing() {
+        ResolvingProxyResolver<LayerInfo> resolver =
+                ResolvingProxyResolver.<LayerInfo>of(catalog).batching(facade).memoizing();
+
+        assertResolved(resolver.resolve(proxiedLayer("layer-1")));
+        assertResolved(resolver.resolve(proxiedLayer("layer-2")));
+        assertEquals(1, facade.batches.size());
+        assertEquals(List.of(data.featureTypeA.getId()), facade.lookups);
+    }
+
+    @Test
+    void testBatchLookupErrorFallsBackToSingleLookups() {
+        facade.failBatches = true;
+        ResolvingProxyResolver<LayerInfo> resolver =
+                ResolvingProxyResolver.<LayerInfo>of(catalog).batching(facade);
+
+        assertResolved(resolver.resolve(proxiedLayer("layer-id")));
+        assertEquals(3, facade.lookups.size());
+    }
+
+    private void assertResolved(LayerInfo layer) {
+        assertFalse(isProxy(layer.getResource()));
+        assertFalse(isProxy(layer.getDefaultStyle()));
+        assertFalse(layer.getStyles().stream().anyMatch(ResolvingProxyResolverTest::isProxy));
+        assertEquals(data.featureTypeA.getId(), layer.getResource().getId());
+        assertEquals(data.style1.getName(), layer.getDefaultStyle().getName());
+        assertEquals(data.style2.getName(), layer.getStyles().iterator().next().getName());
+    }
+
+    private static boolean isProxy(CatalogInfo info) {
+        return Proxy.isProxyClass(info.getClass())
+                && Proxy.getInvocationHandler(info) instanceof ResolvingProxy;
+    }
+
+    /** Records single lookups by id, and supports batch lookups */
+    private static class CountingFacade extends ForwardingExtendedCatalogFacade
+            implements BatchIdLookup {
+
+        final List<String> lookups = new ArrayList<>();
+        final List<Set<String>> batches = new ArrayList<>();
+        boolean failBatches;
+
+        CountingFacade(ExtendedCatalogFacade facade) {
+            super(facade);
+        }
+
+        public @Override <T extends ResourceInfo> T getResource(String id, Class<T> clazz) {
+            lookups.add(id);
+            return super.getResource(id, clazz);
+        }
+
+        public @Override StyleInfo getStyle(String id) {
+            lookups.add(id);
+            return super.getStyle(id);
+        }
+
+        public @Override <T extends CatalogInfo> Stream<T> findAllById(
+                Class<T> type, Set<String> ids) {
+            batches.add(Set.copyOf(ids));
+            if (failBatches) throw new IllegalStateException("batch lookup failed");
+            // only styles are batched by these tests
+            return ids.stream().map(facade::getStyle).filter(Objects::nonNull).map(type::cast);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.config.plugin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.impl.WorkspaceInfoImpl;
+import org.geoserver.config.ServiceInfo;
+import org.geoserver.config.impl.ServiceInfoImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/** @since 1.0 */
+class MemoryConfigRepositoryTest {
+
+    private ServiceInfo service(String id, WorkspaceInfo workspace) {
+        ServiceInfoImpl service = new ServiceInfoImpl();
+        service.setId(id);
+        service.setName(id);
+        service.setWorkspace(workspace);
+        return service;
+    }
+
+    private List<String> servicesOf(MemoryConfigRepository repository, WorkspaceInfo ws) {
+        return repository
+                .getServicesByWorkspace(ws)
+                .map(ServiceInfo::getId)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Removing the last service of a workspace drops its index entry, which shall not make a
+     * service concurrently added to the same workspace go missing from the index
+     */
+    @Test
+    void testConcurrentAddAndRemoveKeepTheIndexConsistent() throws Exception {
+        WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+        ws.setId("ws1");
+        ws.setName("ws1");
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 2_000; i++) {
+                MemoryConfigRepository repository = new MemoryConfigRepository();
+                ServiceInfo removed = service("removed-" + i, ws);
+                ServiceInfo added = service("added-" + i, ws);
+                repository.add(removed);
+
+                CyclicBarrier start = new CyclicBarrier(2);
+                CompletableFuture<Void> add =
+                        CompletableFuture.runAsync(
+                                () -> {
+                                    await(start);
+                                    repository.add(added);
+                                },
+                                threads);
+                CompletableFuture<Void> remove =
+                        CompletableFuture.runAsync(
+                                () -> {
+                                    await(start);
+                                    repository.remove(removed);
+                                },
+                                threads);
+                CompletableFuture.allOf(add, remove).get(10, TimeUnit.SECONDS);
+
+                assertEquals(List.of(added.getId()), servicesOf(repository, ws), "iteration " + i);
+                assertTrue(repository.getServiceByWorkspace(ws, ServiceInfo.class).isPresent());
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRemovingTheLastServiceOfAWorkspace() {
+        WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+        ws.setId("ws1");
+        MemoryConfigRepository repository = new MemoryConfigRepository();
+        ServiceInfo service = service("s1", ws);
+        repository.add(service);
+        assertEquals(List.of("s1"), servicesOf(repository, ws));
+
+        repository.remove(service);
+        assertEquals(List.of(), servicesOf(repository, ws));
+
+        repository.add(service);
+        assertEquals(List.of("s1"), servicesOf(repository, ws));
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
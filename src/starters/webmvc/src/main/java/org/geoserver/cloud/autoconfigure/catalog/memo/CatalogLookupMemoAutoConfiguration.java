@@ -0,0 +1,83 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.autoconfigure.catalog.memo;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogFacade;
+import org.geoserver.catalog.plugin.CatalogPlugin;
+import org.geoserver.catalog.plugin.ExtendedCatalogFacade;
+import org.geoserver.catalog.plugin.memo.CatalogLookupMemo;
+import org.geoserver.catalog.plugin.memo.MemoizingCatalogFacade;
+import org.geoserver.cloud.autoconfigure.core.GeoServerWebMvcMainAutoConfiguration;
+import org.geoserver.cloud.catalog.memo.CatalogLookupMemoDispatcherCallback;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * {@link EnableAutoConfiguration @EnableAutoConfiguration} auto configuration for request-scoped
+ * memoization of catalog lookups during OWS dispatches.
+ *
+ * <p>Enabled conditionally on property {@code geoserver.catalog.request-memo.enabled=true},
+ * defaults to {@code false}.
+ *
+ * <p>The {@link MemoizingCatalogFacade} is installed once all singletons are instantiated, so it
+ * decorates whatever facade the {@code rawCatalog} ended up with (e.g. the caching facade, if
+ * enabled), regardless of bean post-processing order. Legacy facades that are not an {@link
+ * ExtendedCatalogFacade} are left alone, since adapting them after the fact would re-bind them to a
+ * catalog decorator that doesn't publish events.
+ *
+ * @see CatalogLookupMemo
+ * @see CatalogLookupMemoDispatcherCallback
+ */
+@Configuration(proxyBeanMethods = false)
+@AutoConfigureAfter(GeoServerWebMvcMainAutoConfiguration.class)
+@ConditionalOnProperty(
+        name = "geoserver.catalog.request-memo.enabled",
+        havingValue = "true",
+        matchIfMissing = false)
+@Slf4j(topic = "org.geoserver.cloud.catalog.memo")
+public class CatalogLookupMemoAutoConfiguration {
+
+    @Bean
+    CatalogLookupMemoDispatcherCallback catalogLookupMemoDispatcherCallback() {
+        return new CatalogLookupMemoDispatcherCallback();
+    }
+
+    @Bean
+    SmartInitializingSingleton memoizingCatalogFacadeInstaller(
+            @Qualifier("rawCatalog") Catalog rawCatalog) {
+        return () -> install(rawCatalog);
+    }
+
+    private void install(Catalog rawCatalog) {
+        if (!(rawCatalog instanceof CatalogPlugin)) {
+            log.warn(
+                    "rawCatalog is not a CatalogPlugin, catalog lookup memoization disabled: {}",
+                    rawCatalog.getClass().getName());
+            return;
+        }
+        CatalogPlugin catalog = (CatalogPlugin) rawCatalog;
+        CatalogFacade raw = catalog.getRawFacade();
+        if (raw instanceof MemoizingCatalogFacade) {
+            return;
+        }
+        if (!(raw instanceof ExtendedCatalogFacade)) {
+            log.warn(
+                    "CatalogFacade is not an ExtendedCatalogFacade,"
+                            + " catalog lookup memoization disabled: {}",
+                    raw.getClass().getName());
+            return;
+        }
+        catalog.setFacade(new MemoizingCatalogFacade((ExtendedCatalogFacade) raw));
+        log.info("Decorated CatalogFacade with request-scoped MemoizingCatalogFacade");
+    }
+}
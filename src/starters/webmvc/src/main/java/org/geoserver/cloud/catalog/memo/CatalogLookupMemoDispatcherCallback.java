@@ -0,0 +1,44 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.memo;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.catalog.plugin.memo.CatalogLookupMemo;
+import org.geoserver.catalog.plugin.memo.MemoizingCatalogFacade;
+import org.geoserver.ows.AbstractDispatcherCallback;
+import org.geoserver.ows.Dispatcher;
+import org.geoserver.ows.DispatcherCallback;
+import org.geoserver.ows.Request;
+
+/**
+ * {@link DispatcherCallback} that binds a {@link CatalogLookupMemo} to the calling thread for the
+ * duration of an OWS request, from {@link Dispatcher} request initialization until the request is
+ * {@link #finished finished}, so that the {@link MemoizingCatalogFacade} can short-circuit repeated
+ * catalog lookups within the request.
+ *
+ * @since 1.0
+ */
+@Slf4j(topic = "org.geoserver.cloud.catalog.memo")
+public class CatalogLookupMemoDispatcherCallback extends AbstractDispatcherCallback {
+
+    @Override
+    public Request init(Request request) {
+        CatalogLookupMemo.bind();
+        return request;
+    }
+
+    @Override
+    public void finished(Request request) {
+        CatalogLookupMemo.release()
+                .ifPresent(
+                        memo ->
+                                log.debug(
+                                        "Released catalog lookup memo for {}.{}: {}",
+                                        request.getService(),
+                                        request.getRequest(),
+                                        memo));
+    }
+}